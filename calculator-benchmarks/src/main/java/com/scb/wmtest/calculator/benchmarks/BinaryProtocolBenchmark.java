@@ -0,0 +1,141 @@
+package com.scb.wmtest.calculator.benchmarks;
+
+import com.scb.wmtest.calculator.CalculatorApplication;
+import com.scb.wmtest.calculator.CalculatorOperation;
+import com.scb.wmtest.calculator.binary.BinaryCalculatorClient;
+import com.scb.wmtest.calculator.binary.BinaryCalculatorServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Round trip latency of one calculation over REST and over the binary protocol,
+ * against an in-process calculator on loopback
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class BinaryProtocolBenchmark {
+
+    private static final int PIPELINE_DEPTH = 64;
+    
+    private ConfigurableApplicationContext context;
+    private BinaryCalculatorClient client;
+    private URL restUrl;
+    private String authorization;
+    private final byte[] buffer = new byte[8192];
+    
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        context = SpringApplication.run(CalculatorApplication.class,
+                "--server.port=0",
+                "--calculator.binary.enabled=true",
+                "--calculator.binary.port=0",
+                "--calculator.audit.enabled=false",
+                "--logging.level.root=WARN");
+        int httpPort = ((WebServerApplicationContext) context).getWebServer().getPort();
+        int binaryPort = context.getBean(BinaryCalculatorServer.class).getPort();
+        
+        client = new BinaryCalculatorClient("localhost", binaryPort);
+        restUrl = new URL("http://localhost:" + httpPort + "/api/v1/calculator/calculate?action=sum&val1=12.5&val2=7.25");
+        authorization = "Bearer " + login(httpPort);
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        client.close();
+        context.close();
+    }
+    
+    /**
+     * GET on a keep-alive connection, including the JWT check and the JSON response
+     */
+    @Benchmark
+    public int rest() throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) restUrl.openConnection();
+        connection.setRequestProperty("Authorization", authorization);
+        int status = connection.getResponseCode();
+        drain(connection.getInputStream());
+        return status;
+    }
+    
+    @Benchmark
+    public double binary() {
+        return client.calculate(CalculatorOperation.SUM, 12.5, 7.25);
+    }
+    
+    /**
+     * Per calculation latency when a client keeps {@value #PIPELINE_DEPTH} requests in flight
+     */
+    @Benchmark
+    @OperationsPerInvocation(PIPELINE_DEPTH)
+    public double binaryPipelined() {
+        @SuppressWarnings("unchecked")
+        CompletableFuture<Double>[] results = new CompletableFuture[PIPELINE_DEPTH];
+        for (int i = 0; i < PIPELINE_DEPTH; i++) {
+            results[i] = client.submit(CalculatorOperation.SUM, i, 7.25);
+        }
+        double sum = 0;
+        for (CompletableFuture<Double> result : results) {
+            sum += result.join();
+        }
+        return sum;
+    }
+    
+    private String login(int httpPort) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL("http://localhost:" + httpPort + "/login").openConnection();
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        connection.setRequestProperty("Content-Type", "application/json");
+        try (OutputStream body = connection.getOutputStream()) {
+            body.write("{\"username\":\"user\",\"password\":\"password\"}".getBytes(StandardCharsets.UTF_8));
+        }
+        ByteArrayOutputStream response = new ByteArrayOutputStream();
+        try (InputStream in = connection.getInputStream()) {
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                response.write(buffer, 0, read);
+            }
+        }
+        String json = response.toString("UTF-8");
+        int start = json.indexOf('"', json.indexOf(':', json.indexOf("\"token\"")) + 1) + 1;
+        return json.substring(start, json.indexOf('"', start));
+    }
+    
+    /**
+     * Reads the body to the end so the connection goes back to the keep-alive cache
+     */
+    private void drain(InputStream in) throws IOException {
+        try (InputStream body = in) {
+            while (body.read(buffer) > 0) {
+                // discard
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.scb.wmtest.calculator.benchmarks;
+
+import com.scb.wmtest.calculator.services.CalculateService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a single calculation through {@link CalculateService}, per operation.
+ * <p>
+ * The service is built without result cache and audit log, so this measures the
+ * engine itself: name lookup, dispatch and the arithmetic. Operands cycle through
+ * a table of random values so the JIT cannot fold the calculation away.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class CalculateServiceBenchmark {
+    
+    private static final int OPERANDS = 1024;
+    
+    @State(Scope.Thread)
+    public static class BinaryState {
+        
+        @Param({"sum", "subtract", "multiply", "divide", "power", "percentage"})
+        String action;
+        
+        CalculateService calculateService;
+        double[] val1;
+        double[] val2;
+        int next;
+        
+        @Setup
+        public void setUp() {
+            calculateService = CalculateService.standalone();
+            Random random = new Random(42);
+            val1 = new double[OPERANDS];
+            val2 = new double[OPERANDS];
+            for (int i = 0; i < OPERANDS; i++) {
+                val1[i] = 1 + random.nextDouble() * 1000;
+                val2[i] = 1 + random.nextDouble() * 10;
+            }
+        }
+    }
+    
+    @State(Scope.Thread)
+    public static class UnaryState {
+        
+        @Param({"sqrt", "square", "cube", "sin", "cos", "tan", "log", "ln", "abs", "factorial", "reciprocal"})
+        String action;
+        
+        CalculateService calculateService;
+        double[] val;
+        int next;
+        
+        @Setup
+        public void setUp() {
+            calculateService = CalculateService.standalone();
+            Random random = new Random(42);
+            val = new double[OPERANDS];
+            for (int i = 0; i < OPERANDS; i++) {
+                // Whole numbers up to 170 keep factorial within the double range
+                val[i] = 1 + random.nextInt(170);
+            }
+        }
+    }
+    
+    @Benchmark
+    public double performAction(BinaryState state) {
+        int i = state.next++ & (OPERANDS - 1);
+        return state.calculateService.performAction(state.action, state.val1[i], state.val2[i]);
+    }
+    
+    @Benchmark
+    public double performSingleAction(UnaryState state) {
+        int i = state.next++ & (OPERANDS - 1);
+        return state.calculateService.performSingleAction(state.action, state.val[i]);
+    }
+}
@@ -0,0 +1,57 @@
+package com.scb.wmtest.calculator.benchmarks;
+
+import com.scb.wmtest.calculator.coalescing.RequestCoalescer;
+import com.scb.wmtest.calculator.services.FactorialService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of exact factorial requests when every thread asks for the same n at
+ * once, with and without request coalescing
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@Threads(16)
+@State(Scope.Benchmark)
+public class CoalescingBenchmark {
+
+    @Param({"true", "false"})
+    boolean coalescing;
+    
+    @Param({"5000"})
+    int n;
+    
+    private FactorialService factorialService;
+    
+    @Setup
+    public void setUp() {
+        RequestCoalescer coalescer = new RequestCoalescer(coalescing, new String[0]);
+        factorialService = new FactorialService(100_000, coalescer);
+    }
+    
+    @TearDown
+    public void tearDown() {
+        factorialService.shutdown();
+    }
+    
+    @Benchmark
+    public String exactFactorial() {
+        return factorialService.exactFactorialString(n);
+    }
+}
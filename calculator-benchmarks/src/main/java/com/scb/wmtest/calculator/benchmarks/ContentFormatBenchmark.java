@@ -0,0 +1,91 @@
+package com.scb.wmtest.calculator.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scb.wmtest.calculator.model.BatchCalculateResponse;
+import com.scb.wmtest.calculator.model.BatchResult;
+import com.scb.wmtest.calculator.model.CalculateResponse;
+import com.scb.wmtest.calculator.model.Data;
+import com.scb.wmtest.calculator.model.Params;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON against CBOR for a single calculate response and a batch response, with the
+ * object mappers configured as the application configures them. Results are random
+ * doubles, so JSON pays for their full decimal digits. The payload sizes are printed
+ * when each trial starts.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Thread)
+public class ContentFormatBenchmark {
+
+    @Param({"json", "cbor"})
+    private String format;
+    
+    @Param({"100"})
+    private int batchSize;
+    
+    private ObjectMapper objectMapper;
+    private CalculateResponse single;
+    private BatchCalculateResponse batch;
+    private byte[] singleBytes;
+    private byte[] batchBytes;
+    
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = "cbor".equals(format)
+                ? Jackson2ObjectMapperBuilder.cbor().build()
+                : Jackson2ObjectMapperBuilder.json().build();
+        Random random = new Random(42);
+        single = new CalculateResponse("1.0", new Params("divide"), new Data(random.nextDouble() * 1000));
+        List<BatchResult> results = new ArrayList<>();
+        for (int i = 0; i < batchSize; i++) {
+            results.add(BatchResult.success(i, random.nextDouble() * 1000));
+        }
+        batch = new BatchCalculateResponse("1.0", results);
+        singleBytes = objectMapper.writeValueAsBytes(single);
+        batchBytes = objectMapper.writeValueAsBytes(batch);
+        System.out.printf("%n%s payload: single %d bytes, batch of %d %d bytes%n",
+                format, singleBytes.length, batchSize, batchBytes.length);
+    }
+    
+    @Benchmark
+    public byte[] writeSingle() throws IOException {
+        return objectMapper.writeValueAsBytes(single);
+    }
+    
+    @Benchmark
+    public byte[] writeBatch() throws IOException {
+        return objectMapper.writeValueAsBytes(batch);
+    }
+    
+    @Benchmark
+    public CalculateResponse readSingle() throws IOException {
+        return objectMapper.readValue(singleBytes, CalculateResponse.class);
+    }
+    
+    @Benchmark
+    public BatchCalculateResponse readBatch() throws IOException {
+        return objectMapper.readValue(batchBytes, BatchCalculateResponse.class);
+    }
+}
@@ -0,0 +1,90 @@
+package com.scb.wmtest.calculator.benchmarks;
+
+import com.scb.wmtest.calculator.services.DecimalCalculateService;
+import com.scb.wmtest.calculator.services.FactorialService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of decimal precision calculations per precision level
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Thread)
+public class DecimalBenchmark {
+    
+    @Param({"16", "34", "100", "1000"})
+    int precision;
+    
+    private DecimalCalculateService decimalCalculateService;
+    private MathContext mc;
+    private BigDecimal amount;
+    private BigDecimal rate;
+    private BigDecimal integer1;
+    private BigDecimal integer2;
+    
+    @Setup
+    public void setUp() {
+        decimalCalculateService = new DecimalCalculateService(new FactorialService(100_000));
+        mc = new MathContext(precision, RoundingMode.HALF_EVEN);
+        amount = new BigDecimal("1234567.89");
+        rate = new BigDecimal("0.0375");
+        integer1 = new BigDecimal("1234567");
+        integer2 = new BigDecimal("89");
+    }
+    
+    /**
+     * Takes the long fast path
+     */
+    @Benchmark
+    public BigDecimal sumOfIntegers() {
+        return decimalCalculateService.performAction("sum", integer1, integer2, mc);
+    }
+    
+    @Benchmark
+    public BigDecimal multiply() {
+        return decimalCalculateService.performAction("multiply", amount, rate, mc);
+    }
+    
+    @Benchmark
+    public BigDecimal divide() {
+        return decimalCalculateService.performAction("divide", amount, integer2, mc);
+    }
+    
+    @Benchmark
+    public BigDecimal sqrt() {
+        return decimalCalculateService.performSingleAction("sqrt", amount, mc);
+    }
+    
+    @Benchmark
+    public BigDecimal ln() {
+        return decimalCalculateService.performSingleAction("ln", amount, mc);
+    }
+    
+    @Benchmark
+    public BigDecimal powerFractional() {
+        return decimalCalculateService.performAction("power", amount, rate, mc);
+    }
+    
+    @Benchmark
+    public BigDecimal sin() {
+        return decimalCalculateService.performSingleAction("sin", rate, mc);
+    }
+}
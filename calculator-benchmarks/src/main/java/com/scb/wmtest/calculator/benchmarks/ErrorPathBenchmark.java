@@ -0,0 +1,104 @@
+package com.scb.wmtest.calculator.benchmarks;
+
+import com.scb.wmtest.calculator.exception.CalculatorException;
+import com.scb.wmtest.calculator.exception.GlobalExceptionHandler;
+import com.scb.wmtest.calculator.model.ErrorResponse;
+import com.scb.wmtest.calculator.services.CalculateService;
+import com.scb.wmtest.calculator.services.CalculationResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a failing calculation, from the exception being thrown in the service to
+ * the error response built by {@link GlobalExceptionHandler}, against the error
+ * returned as a {@link CalculationResult} value
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Thread)
+public class ErrorPathBenchmark {
+    
+    private CalculateService calculateService;
+    private GlobalExceptionHandler exceptionHandler;
+    private CalculatorException exception;
+    
+    @Setup
+    public void setUp() {
+        calculateService = CalculateService.standalone();
+        exceptionHandler = new GlobalExceptionHandler();
+        exception = new CalculatorException("Division by zero is not allowed", "DIVISION_BY_ZERO");
+    }
+    
+    /**
+     * Only the handler, given an exception that already exists
+     */
+    @Benchmark
+    public ResponseEntity<ErrorResponse> handleCalculatorException() {
+        return exceptionHandler.handleCalculatorException(exception);
+    }
+    
+    /**
+     * Creating an exception with a stack trace, as every domain error used to
+     */
+    @Benchmark
+    public CalculatorException newException() {
+        return new CalculatorException("Division by zero is not allowed", "DIVISION_BY_ZERO");
+    }
+    
+    @Benchmark
+    public CalculatorException divisionByZero() {
+        try {
+            calculateService.performAction("divide", 1, 0);
+            return null;
+        } catch (CalculatorException e) {
+            return e;
+        }
+    }
+    
+    @Benchmark
+    public CalculatorException invalidOperation() {
+        try {
+            calculateService.performAction("modulo", 1, 2);
+            return null;
+        } catch (CalculatorException e) {
+            return e;
+        }
+    }
+    
+    /**
+     * The whole error path of a request that divides by zero
+     */
+    @Benchmark
+    public ResponseEntity<ErrorResponse> divisionByZeroHandled() {
+        try {
+            calculateService.performAction("divide", 1, 0);
+            return null;
+        } catch (CalculatorException e) {
+            return exceptionHandler.handleCalculatorException(e);
+        }
+    }
+    
+    @Benchmark
+    public CalculationResult divisionByZeroResult() {
+        return calculateService.tryPerformAction("divide", 1, 0);
+    }
+    
+    @Benchmark
+    public CalculationResult invalidOperationResult() {
+        return calculateService.tryPerformAction("modulo", 1, 2);
+    }
+}
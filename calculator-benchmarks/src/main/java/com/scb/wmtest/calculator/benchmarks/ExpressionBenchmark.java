@@ -0,0 +1,69 @@
+package com.scb.wmtest.calculator.benchmarks;
+
+import com.scb.wmtest.calculator.expression.Expression;
+import com.scb.wmtest.calculator.services.ExpressionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of evaluating an expression compiled to bytecode against walking its syntax tree
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Thread)
+public class ExpressionBenchmark {
+    
+    private static final String TEXT = "(a + b) * sqrt(c) / 100 + power(a, 2) - percentage(b, 15)";
+    
+    private ExpressionService expressionService;
+    private Expression expression;
+    private Map<String, Double> variables;
+    private double[] values;
+    
+    @Setup
+    public void setUp() {
+        expressionService = new ExpressionService(1000);
+        expression = expressionService.compile(TEXT);
+        variables = new HashMap<>();
+        variables.put("a", 10.0);
+        variables.put("b", 5.0);
+        variables.put("c", 16.0);
+        values = new double[expression.getVariables().size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = variables.get(expression.getVariables().get(i));
+        }
+    }
+    
+    @Benchmark
+    public double compiled() {
+        return expression.getCompiled().evaluate(values);
+    }
+    
+    @Benchmark
+    public double interpreted() {
+        return expression.interpret(variables);
+    }
+    
+    /**
+     * What the expression endpoint does: cache lookup, variable binding and compiled evaluation
+     */
+    @Benchmark
+    public double service() {
+        return expressionService.evaluate(TEXT, variables);
+    }
+}
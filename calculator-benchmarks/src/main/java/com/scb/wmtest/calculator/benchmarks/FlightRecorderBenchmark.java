@@ -0,0 +1,62 @@
+package com.scb.wmtest.calculator.benchmarks;
+
+import com.scb.wmtest.calculator.profiling.CalculationEvent;
+import com.scb.wmtest.calculator.services.CalculateService;
+import jdk.jfr.Recording;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the {@link CalculationEvent} on a calculation through {@link CalculateService}:
+ * with no recording, when the event costs nothing but the check whether it is enabled,
+ * and with a recording that records every calculation
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class FlightRecorderBenchmark {
+
+    @Param({"off", "recording"})
+    String recording;
+
+    private final CalculateService calculateService = CalculateService.standalone();
+    private Recording jfr;
+    private double val = 1;
+
+    @Setup
+    public void setUp() {
+        if ("recording".equals(recording)) {
+            jfr = new Recording();
+            jfr.enable(CalculationEvent.class).withThreshold(Duration.ZERO);
+            jfr.start();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (jfr != null) {
+            jfr.close();
+        }
+    }
+
+    @Benchmark
+    public double performAction() {
+        return calculateService.performAction("sum", val++, 2);
+    }
+}
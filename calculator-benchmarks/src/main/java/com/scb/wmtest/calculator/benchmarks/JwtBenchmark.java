@@ -0,0 +1,75 @@
+package com.scb.wmtest.calculator.benchmarks;
+
+import com.scb.wmtest.calculator.security.JwtUtil;
+import com.scb.wmtest.calculator.security.VerifiedToken;
+import com.scb.wmtest.calculator.security.VerifiedTokenCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the token work the security filter does on every authenticated request
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Thread)
+public class JwtBenchmark {
+    
+    private JwtUtil jwtUtil;
+    private JwtUtil cachingJwtUtil;
+    private String token;
+    
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        cachingJwtUtil = new JwtUtil(new VerifiedTokenCache(true, 10_000));
+        token = jwtUtil.generateToken("user");
+    }
+    
+    /**
+     * What the filter does per request: read the subject, then validate the token against it
+     */
+    @Benchmark
+    public boolean extractAndValidate() {
+        String username = jwtUtil.extractUsername(token);
+        return jwtUtil.validateToken(token, username);
+    }
+    
+    /**
+     * What the filter does per request now: verify and read the claims in one parse
+     */
+    @Benchmark
+    public VerifiedToken verify() {
+        return jwtUtil.verify(token);
+    }
+    
+    /**
+     * A client sending the same token again, served from the verified token cache
+     */
+    @Benchmark
+    public VerifiedToken verifyCached() {
+        return cachingJwtUtil.verify(token);
+    }
+    
+    @Benchmark
+    public Boolean validateToken() {
+        return jwtUtil.validateToken(token, "user");
+    }
+    
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken("user");
+    }
+}
@@ -0,0 +1,66 @@
+package com.scb.wmtest.calculator.benchmarks;
+
+import com.scb.wmtest.calculator.audit.CalculationAuditLog;
+import com.scb.wmtest.calculator.cache.ResultCache;
+import com.scb.wmtest.calculator.coalescing.RequestCoalescer;
+import com.scb.wmtest.calculator.metrics.CalculatorMetrics;
+import com.scb.wmtest.calculator.operation.OperationRegistry;
+import com.scb.wmtest.calculator.services.CalculateService;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of recording calculation metrics, as a calculation through
+ * {@link CalculateService} without metrics, with client-side percentiles only and with
+ * percentiles and the Prometheus percentile histogram. All threads calculate the same
+ * operation and so record into the same timer.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@Threads(4)
+@State(Scope.Benchmark)
+public class MetricsBenchmark {
+
+    @Param({"off", "percentiles", "histogram"})
+    String metrics;
+    
+    private CalculateService calculateService;
+    
+    @State(Scope.Thread)
+    public static class Operands {
+        double val = 1;
+    }
+    
+    @Setup
+    public void setUp() {
+        OperationRegistry operationRegistry = new OperationRegistry();
+        CalculatorMetrics calculatorMetrics = "off".equals(metrics)
+                ? CalculatorMetrics.disabled()
+                : new CalculatorMetrics(operationRegistry, true, "histogram".equals(metrics));
+        calculatorMetrics.bindTo(new PrometheusMeterRegistry(PrometheusConfig.DEFAULT));
+        calculateService = new CalculateService(operationRegistry, ResultCache.disabled(),
+                CalculationAuditLog.disabled(), RequestCoalescer.disabled(), calculatorMetrics);
+    }
+    
+    @Benchmark
+    public double performAction(Operands operands) {
+        return calculateService.performAction("sum", operands.val++, 2);
+    }
+}
@@ -0,0 +1,54 @@
+package com.scb.wmtest.calculator.benchmarks;
+
+import com.scb.wmtest.calculator.CalculatorOperation;
+import com.scb.wmtest.calculator.operation.OperationRegistry;
+import com.scb.wmtest.calculator.operation.OperationStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of resolving an operation name, cycling through every operation in mixed case
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Thread)
+public class OperationLookupBenchmark {
+    
+    private String[] names;
+    private OperationRegistry registry;
+    private int next;
+    
+    @Setup
+    public void setUp() {
+        registry = new OperationRegistry();
+        CalculatorOperation[] operations = CalculatorOperation.values();
+        names = new String[32];
+        for (int i = 0; i < names.length; i++) {
+            String value = operations[i % operations.length].getValue();
+            names[i] = i % 2 == 0 ? value : value.toUpperCase();
+        }
+    }
+    
+    @Benchmark
+    public CalculatorOperation fromValue() {
+        return CalculatorOperation.fromValue(names[next++ & 31]);
+    }
+    
+    @Benchmark
+    public OperationStrategy registryFind() {
+        return registry.find(names[next++ & 31]);
+    }
+}
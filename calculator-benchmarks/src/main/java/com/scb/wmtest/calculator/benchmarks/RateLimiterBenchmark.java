@@ -0,0 +1,64 @@
+package com.scb.wmtest.calculator.benchmarks;
+
+import com.scb.wmtest.calculator.ratelimit.CostClass;
+import com.scb.wmtest.calculator.ratelimit.RateLimiter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Cost of a rate limit check on the request path, with every thread checking the same
+ * client and with each thread its own client. Limits are high enough that every
+ * request is granted.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@Threads(4)
+@State(Scope.Benchmark)
+public class RateLimiterBenchmark {
+
+    private static final AtomicInteger CLIENTS = new AtomicInteger();
+    
+    private RateLimiter rateLimiter;
+    
+    @State(Scope.Thread)
+    public static class Client {
+        String name = "user-" + CLIENTS.incrementAndGet();
+    }
+    
+    @Setup
+    public void setUp() {
+        rateLimiter = new RateLimiter(true, 1e9, 1_000_000, 1e9, 1_000_000, 1e9, 1_000_000, 100_000, Duration.ofMinutes(1));
+    }
+    
+    @TearDown
+    public void tearDown() {
+        rateLimiter.shutdown();
+    }
+    
+    @Benchmark
+    public long sameClient() {
+        return rateLimiter.tryAcquire(CostClass.STANDARD, "user");
+    }
+    
+    @Benchmark
+    public long ownClient(Client client) {
+        return rateLimiter.tryAcquire(CostClass.STANDARD, client.name);
+    }
+}
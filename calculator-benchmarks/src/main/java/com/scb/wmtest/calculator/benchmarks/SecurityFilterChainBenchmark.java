@@ -0,0 +1,82 @@
+package com.scb.wmtest.calculator.benchmarks;
+
+import com.scb.wmtest.calculator.CalculatorApplication;
+import com.scb.wmtest.calculator.security.JwtUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the Spring Security filter chain for an authenticated calculation request,
+ * without the network, the dispatcher servlet or the controller. Run with
+ * {@code -prof gc} to see the allocation per request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class SecurityFilterChainBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private Filter securityFilterChain;
+    private String authorization;
+    
+    /**
+     * Stands in for the dispatcher servlet and checks the request was authenticated
+     */
+    private final FilterChain application = (request, response) -> {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            throw new IllegalStateException("Request was not authenticated");
+        }
+    };
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = SpringApplication.run(CalculatorApplication.class,
+                "--server.port=0",
+                "--calculator.audit.enabled=false",
+                // Keeps the rate limit check in the chain without ever answering 429
+                "--calculator.rate-limit.standard.rate=1000000000",
+                "--logging.level.root=WARN");
+        securityFilterChain = context.getBean("springSecurityFilterChain", Filter.class);
+        authorization = "Bearer " + context.getBean(JwtUtil.class).generateToken("user");
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+    
+    @Benchmark
+    public int authenticatedRequest() throws IOException, ServletException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/calculator/calculate");
+        request.addHeader("Authorization", authorization);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        securityFilterChain.doFilter(request, response, application);
+        return response.getStatus();
+    }
+}
@@ -0,0 +1,108 @@
+package com.scb.wmtest.calculator.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scb.wmtest.calculator.json.CalculatorJsonCodec;
+import com.scb.wmtest.calculator.json.JsonWriter;
+import com.scb.wmtest.calculator.model.CalculateRequest;
+import com.scb.wmtest.calculator.model.CalculateResponse;
+import com.scb.wmtest.calculator.model.Data;
+import com.scb.wmtest.calculator.model.ErrorResponse;
+import com.scb.wmtest.calculator.model.Params;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of writing the response bodies and reading the request body with an object
+ * mapper configured the way Spring Boot configures the one used by the controllers,
+ * and with the hand-written {@link CalculatorJsonCodec} that replaces it for these types.
+ * Run with {@code -prof gc} to compare allocation per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Thread)
+public class SerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private CalculateResponse response;
+    private ErrorResponse errorResponse;
+    private double result;
+    private JsonWriter writer;
+    private byte[] requestBody;
+    
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        response = new CalculateResponse("1.0", new Params("sum"), new Data(15.0));
+        errorResponse = new ErrorResponse("DIVISION_BY_ZERO", "Division by zero is not allowed", LocalDateTime.now());
+        writer = new JsonWriter();
+        requestBody = "{\"action\":\"divide\",\"val1\":10.5,\"val2\":2}".getBytes(StandardCharsets.UTF_8);
+    }
+    
+    @Benchmark
+    public byte[] calculateResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+    
+    /**
+     * Response built per call, as the controller does, including its timestamp
+     */
+    @Benchmark
+    public byte[] newCalculateResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(new CalculateResponse("1.0", new Params("sum"), new Data(result++)));
+    }
+    
+    @Benchmark
+    public byte[] errorResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(errorResponse);
+    }
+    
+    @Benchmark
+    public CalculateRequest readCalculateRequest() throws IOException {
+        return objectMapper.readValue(requestBody, CalculateRequest.class);
+    }
+    
+    /**
+     * The codec writes into a reused buffer, as the message converter does per request thread
+     */
+    @Benchmark
+    public int codecCalculateResponse() {
+        CalculatorJsonCodec.writeCalculateResponse(writer.reset(), response);
+        return writer.size();
+    }
+    
+    @Benchmark
+    public int codecNewCalculateResponse() {
+        CalculatorJsonCodec.writeCalculateResponse(writer.reset(),
+                new CalculateResponse("1.0", new Params("sum"), new Data(result++)));
+        return writer.size();
+    }
+    
+    @Benchmark
+    public int codecErrorResponse() {
+        CalculatorJsonCodec.writeErrorResponse(writer.reset(), errorResponse);
+        return writer.size();
+    }
+    
+    @Benchmark
+    public CalculateRequest codecReadCalculateRequest() {
+        return CalculatorJsonCodec.readCalculateRequest(requestBody, requestBody.length);
+    }
+}
@@ -0,0 +1,148 @@
+package com.scb.wmtest.calculator.benchmarks;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.ByteBufFlux;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Holds a fixed number of concurrent keep-alive connections against a running
+ * calculator and reports throughput and latency percentiles, to compare the servlet
+ * stack with the reactive profile under connection-heavy load.
+ * <p>
+ * Every connection is a closed loop issuing one calculation after another until
+ * the run ends. All connections use the same user, so start the calculator with
+ * {@code --calculator.rate-limit.enabled=false}, with and without
+ * {@code --spring.profiles.active=reactive}, and run:
+ * <pre>
+ * java -cp calculator-benchmarks/target/benchmarks.jar \
+ *     com.scb.wmtest.calculator.benchmarks.WebStackLoadComparison http://localhost:8080 10000 30
+ * </pre>
+ * Client and server each need a file descriptor per connection.
+ */
+public final class WebStackLoadComparison {
+
+    private WebStackLoadComparison() {
+    }
+
+    public static void main(String[] args) {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int connections = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+
+        ConnectionProvider provider = ConnectionProvider.builder("load")
+                .maxConnections(connections)
+                .pendingAcquireMaxCount(-1)
+                .pendingAcquireTimeout(Duration.ofMinutes(5))
+                .build();
+        HttpClient client = HttpClient.create(provider)
+                .baseUrl(baseUrl)
+                .responseTimeout(Duration.ofSeconds(60));
+
+        String token = login(client);
+        HttpClient authorized = client.headers(headers -> headers.set(HttpHeaderNames.AUTHORIZATION, "Bearer " + token));
+
+        int warmup = Math.max(5, seconds / 3);
+        System.out.printf("Warming up %s with %d connections for %d s%n", baseUrl, connections, warmup);
+        run(authorized, connections, warmup);
+
+        System.out.printf("Measuring for %d s%n", seconds);
+        Recorder recorder = run(authorized, connections, seconds);
+        recorder.report(seconds);
+        provider.disposeLater().block();
+    }
+
+    private static String login(HttpClient client) {
+        String body = client.headers(headers -> headers.set(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON))
+                .post()
+                .uri("/login")
+                .send(ByteBufFlux.fromString(Mono.just("{\"username\":\"user\",\"password\":\"password\"}")))
+                .responseSingle((response, content) -> content.asString())
+                .block(Duration.ofSeconds(60));
+        if (body == null || !body.contains("\"token\"")) {
+            throw new IllegalStateException("Login failed: " + body);
+        }
+        int start = body.indexOf(':', body.indexOf("\"token\"")) + 1;
+        start = body.indexOf('"', start) + 1;
+        return body.substring(start, body.indexOf('"', start));
+    }
+
+    private static Recorder run(HttpClient client, int connections, int seconds) {
+        Recorder recorder = new Recorder();
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        BooleanSupplier running = () -> System.nanoTime() < deadline;
+        Flux.range(0, connections)
+                .flatMap(i -> connection(client, i, recorder, running), connections)
+                .blockLast();
+        return recorder;
+    }
+
+    private static Mono<Void> connection(HttpClient client, int index, Recorder recorder, BooleanSupplier running) {
+        String uri = "/api/v1/calculator/calculate?action=sum&val1=" + index + "&val2=" + (index % 97);
+        return Mono.defer(() -> {
+                    long start = System.nanoTime();
+                    return client.get()
+                            .uri(uri)
+                            .responseSingle((response, content) -> content.asString()
+                                    .defaultIfEmpty("")
+                                    .map(body -> response.status().code()))
+                            .doOnNext(status -> recorder.record(status, System.nanoTime() - start))
+                            .onErrorResume(e -> {
+                                recorder.recordError();
+                                return Mono.empty();
+                            });
+                })
+                .repeat(running)
+                .then();
+    }
+
+    /**
+     * Collects latencies of successful responses in microseconds
+     */
+    private static final class Recorder {
+
+        private long[] latencies = new long[1 << 16];
+        private int count;
+        private final AtomicLong failedResponses = new AtomicLong();
+        private final AtomicLong errors = new AtomicLong();
+
+        synchronized void record(int status, long nanos) {
+            if (status != 200) {
+                failedResponses.incrementAndGet();
+                return;
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos / 1000;
+        }
+
+        void recordError() {
+            errors.incrementAndGet();
+        }
+
+        synchronized void report(int seconds) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            System.out.printf("requests: %d ok, %d non-200, %d connection errors or timeouts%n",
+                    count, failedResponses.get(), errors.get());
+            System.out.printf("throughput: %.0f req/s%n", count / (double) seconds);
+            if (count > 0) {
+                System.out.printf("latency us: p50 %d, p99 %d, p99.9 %d, max %d%n",
+                        percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 0.999), sorted[count - 1]);
+            }
+        }
+
+        private static long percentile(long[] sorted, double p) {
+            return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)];
+        }
+    }
+}
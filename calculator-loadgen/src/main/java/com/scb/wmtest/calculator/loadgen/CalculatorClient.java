@@ -0,0 +1,121 @@
+package com.scb.wmtest.calculator.loadgen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import reactor.core.publisher.Mono;
+import reactor.netty.ByteBufFlux;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.util.context.Context;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Non-blocking HTTP client of the calculator. Requests are sent on a pool of at most
+ * {@code connections} keep-alive connections; further requests wait for a free one.
+ * The client logs in once and renews its access token with the refresh token.
+ */
+final class CalculatorClient implements AutoCloseable {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    
+    private static final String ON_SENT = "onSent";
+    
+    private final ConnectionProvider provider;
+    private final HttpClient client;
+    private volatile HttpClient authorized;
+    private volatile String refreshToken;
+    
+    CalculatorClient(String url, int connections, Duration timeout) {
+        this.provider = ConnectionProvider.builder("calculator-loadgen")
+                .maxConnections(connections)
+                .pendingAcquireMaxCount(-1)
+                .pendingAcquireTimeout(timeout)
+                .build();
+        this.client = HttpClient.create(provider)
+                .baseUrl(url)
+                .responseTimeout(timeout)
+                .headers(headers -> headers.set(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON))
+                .doOnRequest((request, connection) -> request.currentContextView()
+                        .<Runnable>getOrEmpty(ON_SENT)
+                        .ifPresent(Runnable::run));
+    }
+    
+    void login(String username, String password) {
+        Map<String, String> credentials = new LinkedHashMap<>();
+        credentials.put("username", username);
+        credentials.put("password", password);
+        useTokens(postJson("/login", credentials));
+    }
+    
+    /**
+     * Renews the access token before it expires
+     */
+    void refresh() {
+        useTokens(postJson("/refresh", Collections.singletonMap("refreshToken", refreshToken)));
+    }
+    
+    private void useTokens(JsonNode tokens) {
+        String token = tokens.path("token").asText(null);
+        if (token == null) {
+            throw new IllegalStateException("No token in " + tokens);
+        }
+        if (tokens.hasNonNull("refreshToken")) {
+            refreshToken = tokens.get("refreshToken").asText();
+        }
+        authorized = client.headers(headers -> headers.set(HttpHeaderNames.AUTHORIZATION, "Bearer " + token));
+    }
+    
+    private JsonNode postJson(String uri, Map<String, String> body) {
+        String json;
+        try {
+            json = MAPPER.writeValueAsString(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        String response = client.post()
+                .uri(uri)
+                .send(ByteBufFlux.fromString(Mono.just(json)))
+                .responseSingle((head, content) -> content.asString()
+                        .defaultIfEmpty("")
+                        .map(text -> {
+                            if (head.status().code() != 200) {
+                                throw new IllegalStateException("POST " + uri + " answered " + head.status() + ": " + text);
+                            }
+                            return text;
+                        }))
+                .block();
+        try {
+            return MAPPER.readTree(response);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    /**
+     * Sends a request with the current access token
+     *
+     * @param onSent called when the request is written to a connection
+     * @return the response status, once the whole response has arrived
+     */
+    Mono<Integer> send(Scenario.Request request, Runnable onSent) {
+        HttpClient.ResponseReceiver<?> receiver = request.getBody() == null
+                ? authorized.get().uri(request.getUri())
+                : authorized.post().uri(request.getUri()).send(ByteBufFlux.fromString(Mono.just(request.getBody())));
+        return receiver
+                .responseSingle((head, content) -> content.asByteArray().then(Mono.just(head.status().code())))
+                .contextWrite(Context.of(ON_SENT, onSent));
+    }
+    
+    @Override
+    public void close() {
+        provider.disposeLater().block();
+    }
+}
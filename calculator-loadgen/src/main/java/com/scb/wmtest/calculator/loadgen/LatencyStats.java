@@ -0,0 +1,114 @@
+package com.scb.wmtest.calculator.loadgen;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies of every request per scenario, in microseconds, and counts of failed ones.
+ * Latency runs from when a request was due to be sent, so time a request spent waiting
+ * behind earlier ones, for a connection or for the generator itself, counts against
+ * the server as it would for a real client. Failed requests are recorded too, until
+ * their error response, connection error or timeout, so a server that fails slowly or
+ * stops answering shows in the percentiles instead of dropping out of them. The time
+ * from actually writing the request is recorded as well, to show how much the
+ * correction matters.
+ */
+final class LatencyStats {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+    
+    private final Map<Scenario, ScenarioStats> scenarios = new EnumMap<>(Scenario.class);
+    private final Recorder interval = new Recorder(SIGNIFICANT_DIGITS);
+    private final ConcurrentHashMap<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    private final LongAdder errors = new LongAdder();
+    
+    LatencyStats(List<Scenario> scenarios) {
+        for (Scenario scenario : scenarios) {
+            this.scenarios.put(scenario, new ScenarioStats());
+        }
+    }
+    
+    /**
+     * Records a complete response. Responses other than 2xx are counted as failures.
+     *
+     * @param due when the request was due to be sent, in {@link System#nanoTime()}
+     * @param sent when it was written to a connection
+     * @param received when the whole response had arrived
+     */
+    void recordResponse(Scenario scenario, int status, long due, long sent, long received) {
+        ScenarioStats stats = scenarios.get(scenario);
+        if (status < 200 || status >= 300) {
+            statuses.computeIfAbsent(status, code -> new LongAdder()).increment();
+            stats.failures.increment();
+        }
+        recordLatency(stats, due, sent, received);
+    }
+    
+    /**
+     * Records a request that got no response, because of a connection error or a timeout
+     *
+     * @param due when the request was due to be sent, in {@link System#nanoTime()}
+     * @param sent when it was written to a connection, {@code due} if it never was
+     * @param failed when the error or the timeout happened
+     */
+    void recordError(Scenario scenario, long due, long sent, long failed) {
+        ScenarioStats stats = scenarios.get(scenario);
+        stats.failures.increment();
+        errors.increment();
+        recordLatency(stats, due, sent, failed);
+    }
+    
+    private void recordLatency(ScenarioStats stats, long due, long sent, long now) {
+        long latency = TimeUnit.NANOSECONDS.toMicros(now - due);
+        stats.corrected.recordValue(latency);
+        stats.uncorrected.recordValue(TimeUnit.NANOSECONDS.toMicros(now - Math.max(sent, due)));
+        interval.recordValue(latency);
+    }
+    
+    /**
+     * Latencies of the requests completed since the previous call
+     */
+    Histogram intervalHistogram() {
+        return interval.getIntervalHistogram();
+    }
+    
+    /**
+     * Summarizes everything recorded, which is then reset
+     */
+    LoadReport toReport(double seconds) {
+        LoadReport report = new LoadReport(seconds);
+        Histogram allCorrected = new Histogram(SIGNIFICANT_DIGITS);
+        Histogram allUncorrected = new Histogram(SIGNIFICANT_DIGITS);
+        long allFailures = 0;
+        for (Map.Entry<Scenario, ScenarioStats> entry : scenarios.entrySet()) {
+            ScenarioStats stats = entry.getValue();
+            Histogram corrected = stats.corrected.getIntervalHistogram();
+            Histogram uncorrected = stats.uncorrected.getIntervalHistogram();
+            long failures = stats.failures.sumThenReset();
+            report.add(entry.getKey().getName(), corrected, uncorrected, failures);
+            allCorrected.add(corrected);
+            allUncorrected.add(uncorrected);
+            allFailures += failures;
+        }
+        report.add(LoadReport.ALL, allCorrected, allUncorrected, allFailures);
+        Map<Integer, Long> statusCounts = new TreeMap<>();
+        statuses.forEach((status, count) -> statusCounts.put(status, count.sum()));
+        report.setFailures(statusCounts, errors.sum());
+        return report;
+    }
+    
+    private static final class ScenarioStats {
+    
+        private final Recorder corrected = new Recorder(SIGNIFICANT_DIGITS);
+        private final Recorder uncorrected = new Recorder(SIGNIFICANT_DIGITS);
+        private final LongAdder failures = new LongAdder();
+    }
+}
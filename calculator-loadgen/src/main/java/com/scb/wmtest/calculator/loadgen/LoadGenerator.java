@@ -0,0 +1,158 @@
+package com.scb.wmtest.calculator.loadgen;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load generator for a running calculator.
+ * <p>
+ * Requests are sent on a fixed schedule at the configured rate, whether or not
+ * earlier responses have arrived, and each request's latency is measured from when
+ * it was due. A closed-loop client that waits for a response before sending the next
+ * request sends fewer requests exactly when the server is slow, and so hides the
+ * stalls it should measure. Here a stall shows up in the latency of every request
+ * that was due during it.
+ * <p>
+ * The generator logs in through {@code /login} and renews its token through
+ * {@code /refresh}. All requests are sent as the same user, so start the calculator
+ * with {@code --calculator.rate-limit.enabled=false}, then run for example:
+ * <pre>
+ * java -jar calculator-loadgen/target/loadgen.jar --rate=5000 --duration=60 --mix=calculate=90,batch=10
+ * </pre>
+ * Run it without options to use the defaults in {@link LoadOptions#USAGE}.
+ */
+public final class LoadGenerator {
+
+    private static final long TOKEN_REFRESH_MINUTES = 30;
+    
+    private final LoadOptions options;
+    
+    LoadGenerator(LoadOptions options) {
+        this.options = options;
+    }
+    
+    public static void main(String[] args) throws IOException {
+        LoadOptions options;
+        try {
+            options = LoadOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(LoadOptions.USAGE);
+            System.exit(2);
+            return;
+        }
+        LoadReport report = new LoadGenerator(options).run(System.out);
+        report.print(System.out);
+        if (options.report != null) {
+            report.write(Paths.get(options.report));
+        }
+    }
+    
+    /**
+     * Logs in, warms up, measures and waits for the last responses
+     *
+     * @param out where to print progress, once a second
+     */
+    LoadReport run(PrintStream out) {
+        ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "calculator-loadgen-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try (CalculatorClient client = new CalculatorClient(options.url, options.connections, options.timeout)) {
+            client.login(options.username, options.password);
+            timer.scheduleAtFixedRate(() -> refresh(client, out), TOKEN_REFRESH_MINUTES, TOKEN_REFRESH_MINUTES,
+                    TimeUnit.MINUTES);
+            out.printf("Sending %.0f req/s to %s on up to %d connections, mix %s%n",
+                    options.rate, options.url, options.connections, options.mix);
+            if (!options.warmup.isZero()) {
+                out.printf("Warming up for %d s%n", options.warmup.getSeconds());
+                drive(client, options.warmup, new LatencyStats(options.mix.getScenarios()), timer, out);
+            }
+            out.printf("Measuring for %d s%n", options.duration.getSeconds());
+            LatencyStats stats = new LatencyStats(options.mix.getScenarios());
+            long elapsed = drive(client, options.duration, stats, timer, out);
+            return stats.toReport(elapsed / 1e9);
+        } finally {
+            timer.shutdownNow();
+        }
+    }
+    
+    private static void refresh(CalculatorClient client, PrintStream out) {
+        try {
+            client.refresh();
+        } catch (RuntimeException e) {
+            out.println("Token refresh failed: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Sends requests on schedule for the duration, then waits for their responses
+     *
+     * @return nanoseconds from the first request until the last response, or until
+     *         the remaining requests were given up
+     */
+    private long drive(CalculatorClient client, Duration duration, LatencyStats stats,
+                       ScheduledExecutorService timer, PrintStream out) {
+        Random random = new Random();
+        AtomicInteger inFlight = new AtomicInteger();
+        double nanosPerRequest = TimeUnit.SECONDS.toNanos(1) / options.rate;
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        ScheduledFuture<?> progress = timer.scheduleAtFixedRate(
+                () -> printProgress(out, stats.intervalHistogram(), start, inFlight.get()), 1, 1, TimeUnit.SECONDS);
+        try {
+            for (long i = 0; ; i++) {
+                long due = start + (long) (i * nanosPerRequest);
+                if (due >= end) {
+                    break;
+                }
+                long now;
+                while ((now = System.nanoTime()) < due) {
+                    LockSupport.parkNanos(due - now);
+                }
+                Scenario scenario = options.mix.next(random);
+                send(client, scenario, scenario.create(random, options.batchSize), due, stats, inFlight);
+            }
+            long deadline = System.nanoTime() + options.timeout.toNanos() + TimeUnit.SECONDS.toNanos(1);
+            while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+            }
+            return Math.max(System.nanoTime(), end) - start;
+        } finally {
+            progress.cancel(false);
+        }
+    }
+    
+    private static void send(CalculatorClient client, Scenario scenario, Scenario.Request request, long due,
+                             LatencyStats stats, AtomicInteger inFlight) {
+        inFlight.incrementAndGet();
+        long[] sent = {due};
+        client.send(request, () -> sent[0] = System.nanoTime())
+                .subscribe(
+                        status -> stats.recordResponse(scenario, status, due, sent[0], System.nanoTime()),
+                        error -> {
+                            stats.recordError(scenario, due, sent[0], System.nanoTime());
+                            inFlight.decrementAndGet();
+                        },
+                        inFlight::decrementAndGet);
+    }
+    
+    private static void printProgress(PrintStream out, Histogram interval, long start, int inFlight) {
+        out.printf("%5d s %8d responses   p50 %8.3f ms   p99 %8.3f ms   max %8.3f ms   %6d in flight%n",
+                TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start), interval.getTotalCount(),
+                interval.getValueAtPercentile(50) / 1000.0, interval.getValueAtPercentile(99) / 1000.0,
+                interval.getMaxValue() / 1000.0, inFlight);
+    }
+}
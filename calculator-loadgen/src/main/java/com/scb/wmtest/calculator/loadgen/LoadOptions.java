@@ -0,0 +1,97 @@
+package com.scb.wmtest.calculator.loadgen;
+
+import java.time.Duration;
+
+/**
+ * Command line options of the {@link LoadGenerator}, each given as {@code --name=value}
+ */
+final class LoadOptions {
+
+    static final String USAGE = String.join(System.lineSeparator(),
+            "Usage: java -jar calculator-loadgen/target/loadgen.jar [--name=value ...]",
+            "  --url=http://localhost:8080           calculator to drive",
+            "  --rate=1000                           requests per second, sent on schedule whatever the latency",
+            "  --duration=30                         seconds to measure",
+            "  --warmup=10                           seconds to send at the same rate before measuring",
+            "  --connections=64                      most connections open at once; further requests wait for one",
+            "  --mix=calculate=80,single=10,post=10  weights of calculate, single, post, batch, expression, decimal, factorial",
+            "  --batch-size=100                      operations per batch request",
+            "  --timeout=30                          seconds before a request counts as failed",
+            "  --username=user --password=password   credentials for /login",
+            "  --report=FILE                         also write the results as JSON");
+    
+    String url = "http://localhost:8080";
+    double rate = 1000;
+    Duration duration = Duration.ofSeconds(30);
+    Duration warmup = Duration.ofSeconds(10);
+    int connections = 64;
+    OperationMix mix = OperationMix.parse("calculate=80,single=10,post=10");
+    int batchSize = 100;
+    Duration timeout = Duration.ofSeconds(30);
+    String username = "user";
+    String password = "password";
+    String report;
+    
+    static LoadOptions parse(String... args) {
+        LoadOptions options = new LoadOptions();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got '" + arg + "'");
+            }
+            options.set(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+    
+    private void set(String name, String value) {
+        switch (name) {
+            case "url":
+                url = value;
+                break;
+            case "rate":
+                rate = positive(name, Double.parseDouble(value));
+                break;
+            case "duration":
+                duration = seconds(name, value);
+                break;
+            case "warmup":
+                warmup = Duration.ofMillis((long) (Double.parseDouble(value) * 1000));
+                break;
+            case "connections":
+                connections = (int) positive(name, Integer.parseInt(value));
+                break;
+            case "mix":
+                mix = OperationMix.parse(value);
+                break;
+            case "batch-size":
+                batchSize = (int) positive(name, Integer.parseInt(value));
+                break;
+            case "timeout":
+                timeout = seconds(name, value);
+                break;
+            case "username":
+                username = value;
+                break;
+            case "password":
+                password = value;
+                break;
+            case "report":
+                report = value;
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown option --" + name);
+        }
+    }
+    
+    private static Duration seconds(String name, String value) {
+        return Duration.ofMillis((long) (positive(name, Double.parseDouble(value)) * 1000));
+    }
+    
+    private static double positive(String name, double value) {
+        if (!(value > 0)) {
+            throw new IllegalArgumentException("--" + name + " must be positive");
+        }
+        return value;
+    }
+}
@@ -0,0 +1,132 @@
+package com.scb.wmtest.calculator.loadgen;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Throughput and latency percentiles of a run, per scenario and for all scenarios
+ * together, printed as a table and written as JSON. Latencies are in milliseconds and
+ * include failed requests; throughput counts successful responses over the time from
+ * the first request until the last response.
+ */
+final class LoadReport {
+
+    static final String ALL = "all";
+    
+    @JsonProperty
+    private final double seconds;
+    
+    @JsonProperty
+    private final Map<String, Summary> scenarios = new LinkedHashMap<>();
+    
+    /**
+     * Count of each non-2xx status
+     */
+    @JsonProperty
+    private Map<Integer, Long> statuses = Collections.emptyMap();
+    
+    /**
+     * Requests without a response, from connection errors or timeouts
+     */
+    @JsonProperty
+    private long errors;
+    
+    LoadReport(double seconds) {
+        this.seconds = seconds;
+    }
+    
+    void add(String scenario, Histogram corrected, Histogram uncorrected, long failures) {
+        scenarios.put(scenario, new Summary(corrected, uncorrected, failures, seconds));
+    }
+    
+    void setFailures(Map<Integer, Long> statuses, long errors) {
+        this.statuses = statuses;
+        this.errors = errors;
+    }
+    
+    Summary get(String scenario) {
+        return scenarios.get(scenario);
+    }
+    
+    Map<Integer, Long> getStatuses() {
+        return statuses;
+    }
+    
+    long getErrors() {
+        return errors;
+    }
+    
+    void print(PrintStream out) {
+        out.println("Latency in ms from when each request was due, corrected for coordinated omission, failures included");
+        out.printf("%-12s %10s %8s %10s %9s %9s %9s %9s %16s%n",
+                "scenario", "ok", "failed", "req/s", "p50", "p99", "p99.9", "max", "p99 uncorrected");
+        scenarios.forEach((name, summary) -> out.printf("%-12s %10d %8d %10.1f %9.3f %9.3f %9.3f %9.3f %16.3f%n",
+                name, summary.responses, summary.failures, summary.throughput,
+                summary.p50, summary.p99, summary.p999, summary.max, summary.uncorrectedP99));
+        if (!statuses.isEmpty()) {
+            out.println("Non-2xx responses: " + statuses);
+            if (statuses.containsKey(429)) {
+                out.println("The calculator rate limited the run; start it with --calculator.rate-limit.enabled=false");
+            }
+        }
+        if (errors > 0) {
+            out.println("Connection errors and timeouts: " + errors);
+        }
+    }
+    
+    void write(Path file) throws IOException {
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(file.toFile(), this);
+    }
+    
+    @JsonPropertyOrder({"responses", "failures", "throughput", "p50", "p99", "p99.9", "max", "uncorrectedP99"})
+    static final class Summary {
+    
+        @JsonProperty
+        final long responses;
+        
+        @JsonProperty
+        final long failures;
+        
+        @JsonProperty
+        final double throughput;
+        
+        @JsonProperty
+        final double p50;
+        
+        @JsonProperty
+        final double p99;
+        
+        @JsonProperty("p99.9")
+        final double p999;
+        
+        @JsonProperty
+        final double max;
+        
+        @JsonProperty
+        final double uncorrectedP99;
+        
+        Summary(Histogram corrected, Histogram uncorrected, long failures, double seconds) {
+            this.responses = corrected.getTotalCount() - failures;
+            this.failures = failures;
+            this.throughput = responses / seconds;
+            this.p50 = millis(corrected.getValueAtPercentile(50));
+            this.p99 = millis(corrected.getValueAtPercentile(99));
+            this.p999 = millis(corrected.getValueAtPercentile(99.9));
+            this.max = millis(corrected.getMaxValue());
+            this.uncorrectedP99 = millis(uncorrected.getValueAtPercentile(99));
+        }
+        
+        private static double millis(long micros) {
+            return micros / 1000.0;
+        }
+    }
+}
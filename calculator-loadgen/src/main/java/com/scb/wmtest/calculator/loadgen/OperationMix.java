@@ -0,0 +1,73 @@
+package com.scb.wmtest.calculator.loadgen;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Weighted choice of {@link Scenario}s, parsed from a list such as
+ * {@code calculate=80,single=10,batch=10}. Weights need not add up to 100.
+ */
+final class OperationMix {
+
+    private final Map<Scenario, Integer> weights;
+    private final Scenario[] scenarios;
+    private final int[] cumulativeWeights;
+    
+    private OperationMix(Map<Scenario, Integer> weights) {
+        this.weights = Collections.unmodifiableMap(weights);
+        this.scenarios = weights.keySet().toArray(new Scenario[0]);
+        this.cumulativeWeights = new int[scenarios.length];
+        int total = 0;
+        for (int i = 0; i < scenarios.length; i++) {
+            total += weights.get(scenarios[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+    
+    static OperationMix parse(String mix) {
+        Map<Scenario, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected scenario=weight in the mix but got '" + entry + "'");
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight for " + parts[0]);
+            }
+            if (weight > 0) {
+                weights.merge(Scenario.forName(parts[0].trim()), weight, Integer::sum);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("The mix has no scenario with a positive weight");
+        }
+        return new OperationMix(weights);
+    }
+    
+    Scenario next(Random random) {
+        int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < scenarios.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return scenarios[i];
+            }
+        }
+        throw new IllegalStateException();
+    }
+    
+    List<Scenario> getScenarios() {
+        return new ArrayList<>(weights.keySet());
+    }
+    
+    @Override
+    public String toString() {
+        StringBuilder value = new StringBuilder();
+        weights.forEach((scenario, weight) -> value.append(value.length() > 0 ? "," : "")
+                .append(scenario.getName()).append('=').append(weight));
+        return value.toString();
+    }
+}
@@ -0,0 +1,166 @@
+package com.scb.wmtest.calculator.loadgen;
+
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * The kinds of request the load generator sends, one per calculator endpoint. Each
+ * request has random operands, so the server's result cache sees realistic traffic.
+ */
+enum Scenario {
+
+    /**
+     * {@code GET /calculate} with a binary operation
+     */
+    CALCULATE {
+        @Override
+        Request create(Random random, int batchSize) {
+            return Request.get(BASE_PATH + "/calculate?action=" + pick(random, BINARY_OPERATIONS)
+                    + "&val1=" + operand(random) + "&val2=" + operand(random));
+        }
+    },
+    
+    /**
+     * {@code GET /calculate/single} with a single operand operation
+     */
+    SINGLE {
+        @Override
+        Request create(Random random, int batchSize) {
+            return Request.get(BASE_PATH + "/calculate/single?action=" + pick(random, UNARY_OPERATIONS)
+                    + "&val=" + operand(random));
+        }
+    },
+    
+    /**
+     * {@code POST /calculate} with a JSON body
+     */
+    POST {
+        @Override
+        Request create(Random random, int batchSize) {
+            return Request.post(BASE_PATH + "/calculate", operation(random));
+        }
+    },
+    
+    /**
+     * {@code POST /batch} with {@code batchSize} operations
+     */
+    BATCH {
+        @Override
+        Request create(Random random, int batchSize) {
+            StringBuilder body = new StringBuilder(batchSize * 48).append("{\"operations\":[");
+            for (int i = 0; i < batchSize; i++) {
+                if (i > 0) {
+                    body.append(',');
+                }
+                body.append(operation(random));
+            }
+            return Request.post(BASE_PATH + "/batch", body.append("]}").toString());
+        }
+    },
+    
+    /**
+     * {@code POST /expression} with one expression and random variables
+     */
+    EXPRESSION {
+        @Override
+        Request create(Random random, int batchSize) {
+            return Request.post(BASE_PATH + "/expression", "{\"expression\":\"(a + b) * sqrt(c) / 100\","
+                    + "\"variables\":{\"a\":" + operand(random) + ",\"b\":" + operand(random)
+                    + ",\"c\":" + operand(random) + "}}");
+        }
+    },
+    
+    /**
+     * {@code POST /decimal} with a 50 digit division
+     */
+    DECIMAL {
+        @Override
+        Request create(Random random, int batchSize) {
+            return Request.post(BASE_PATH + "/decimal", "{\"action\":\"divide\",\"val1\":\"" + operand(random)
+                    + "\",\"val2\":\"" + operand(random) + "\",\"precision\":50}");
+        }
+    },
+    
+    /**
+     * {@code GET /factorial} of a number up to 1000
+     */
+    FACTORIAL {
+        @Override
+        Request create(Random random, int batchSize) {
+            return Request.get(BASE_PATH + "/factorial?n=" + random.nextInt(1001));
+        }
+    };
+    
+    static final String BASE_PATH = "/api/v1/calculator";
+    
+    private static final String[] BINARY_OPERATIONS = {"sum", "subtract", "multiply", "divide", "power", "percentage"};
+    private static final String[] UNARY_OPERATIONS = {"sqrt", "square", "cube", "sin", "cos", "log", "ln", "abs"};
+    
+    abstract Request create(Random random, int batchSize);
+    
+    /**
+     * The name used in the operation mix and in reports
+     */
+    String getName() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+    
+    static Scenario forName(String name) {
+        for (Scenario scenario : values()) {
+            if (scenario.getName().equals(name)) {
+                return scenario;
+            }
+        }
+        throw new IllegalArgumentException("Unknown scenario '" + name + "', expected one of calculate, single, post, "
+                + "batch, expression, decimal, factorial");
+    }
+    
+    private static String operation(Random random) {
+        return "{\"action\":\"" + pick(random, BINARY_OPERATIONS) + "\",\"val1\":" + operand(random)
+                + ",\"val2\":" + operand(random) + "}";
+    }
+    
+    /**
+     * A positive operand with up to two decimals, so every operation is defined
+     */
+    private static String operand(Random random) {
+        return String.valueOf((1 + random.nextInt(100_000)) / 100.0);
+    }
+    
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+    
+    /**
+     * One request: a GET without a body or a POST with a JSON body
+     */
+    static final class Request {
+    
+        private final String uri;
+        private final String body;
+        
+        private Request(String uri, String body) {
+            this.uri = uri;
+            this.body = body;
+        }
+        
+        static Request get(String uri) {
+            return new Request(uri, null);
+        }
+        
+        static Request post(String uri, String body) {
+            return new Request(uri, body);
+        }
+        
+        String getUri() {
+            return uri;
+        }
+        
+        /**
+         * The JSON body, or {@code null} for a GET
+         */
+        String getBody() {
+            return body;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.scb.wmtest.calculator.loadgen;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for LoadGenerator against a stub of the calculator
+ */
+class LoadGeneratorTest {
+
+    private final AtomicInteger calculations = new AtomicInteger();
+    private volatile int stallAt = -1;
+    private volatile String authorization;
+    private ExecutorService executor;
+    private HttpServer server;
+
+    @BeforeAll
+    static void disableNagle() {
+        // Otherwise each response waits for a delayed ACK and the stub serves about 25 a second
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    @BeforeEach
+    void setUp() throws IOException {
+        executor = Executors.newSingleThreadExecutor();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/login", exchange -> respond(exchange, "{\"token\":\"access\",\"refreshToken\":\"refresh\"}"));
+        server.createContext(Scenario.BASE_PATH, exchange -> {
+            authorization = exchange.getRequestHeaders().getFirst("Authorization");
+            if (calculations.incrementAndGet() == stallAt) {
+                sleep(400);
+            }
+            respond(exchange, "{\"success\":true,\"data\":{\"result\":1.0}}");
+        });
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should charge a server stall to every request that was due during it")
+    void testCoordinatedOmission() {
+        // Given: one connection and a server that stalls for 400 ms halfway through the measurement
+        stallAt = 100;
+        LoadOptions options = LoadOptions.parse("--url=http://127.0.0.1:" + server.getAddress().getPort(),
+                "--rate=50", "--duration=2", "--warmup=1", "--connections=1", "--mix=calculate=1");
+
+        // When
+        LoadReport report = new LoadGenerator(options).run(new PrintStream(new NullOutputStream()));
+
+        // Then: every request was sent on schedule and answered
+        LoadReport.Summary all = report.get(LoadReport.ALL);
+        assertEquals(100, all.responses);
+        assertEquals(0, all.failures);
+        assertEquals("Bearer access", authorization);
+
+        // Then: about 20 requests were due during the stall, so it dominates the p99, while
+        // timed from when each request was written only the stalled one was slow
+        assertTrue(all.max >= 390, "max " + all.max);
+        assertTrue(all.p99 >= 200, "p99 " + all.p99);
+        assertTrue(all.uncorrectedP99 < all.p99 / 2, "uncorrected p99 " + all.uncorrectedP99);
+    }
+
+    @Test
+    @DisplayName("Should count failed and timed out requests in the latencies")
+    void testFailuresInLatencies() {
+        // Given: 98 fast responses, a slow 503 and a timeout
+        LatencyStats stats = new LatencyStats(Collections.singletonList(Scenario.CALCULATE));
+        long ms = TimeUnit.MILLISECONDS.toNanos(1);
+        for (int i = 0; i < 98; i++) {
+            stats.recordResponse(Scenario.CALCULATE, 200, 0, 0, ms);
+        }
+        stats.recordResponse(Scenario.CALCULATE, 503, 0, 0, 800 * ms);
+        stats.recordError(Scenario.CALCULATE, 0, 0, 2000 * ms);
+
+        // When
+        LoadReport report = stats.toReport(1);
+
+        // Then
+        LoadReport.Summary all = report.get(LoadReport.ALL);
+        assertEquals(98, all.responses);
+        assertEquals(2, all.failures);
+        assertEquals(1, all.p50, 0.01);
+        assertEquals(800, all.p99, 1);
+        assertEquals(2000, all.max, 2);
+        assertEquals(1, report.getStatuses().get(503));
+        assertEquals(1, report.getErrors());
+    }
+
+    @Test
+    @DisplayName("Should pick scenarios by weight")
+    void testOperationMix() {
+        // Given
+        OperationMix mix = OperationMix.parse("calculate=80, batch=20, decimal=0");
+        Random random = new Random(42);
+
+        // When
+        Map<Scenario, Integer> counts = new EnumMap<>(Scenario.class);
+        for (int i = 0; i < 10_000; i++) {
+            counts.merge(mix.next(random), 1, Integer::sum);
+        }
+
+        // Then
+        assertEquals(2, counts.size());
+        assertEquals(8_000, counts.get(Scenario.CALCULATE), 300);
+        assertEquals(2_000, counts.get(Scenario.BATCH), 300);
+        assertEquals("calculate=80,batch=20", mix.toString());
+        assertThrows(IllegalArgumentException.class, () -> OperationMix.parse("sum=1"));
+        assertThrows(IllegalArgumentException.class, () -> LoadOptions.parse("--rate=0"));
+    }
+
+    private static void respond(HttpExchange exchange, String body) throws IOException {
+        try (InputStream request = exchange.getRequestBody()) {
+            byte[] buffer = new byte[1024];
+            while (request.read(buffer) >= 0) {
+                // Drain the request body
+            }
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream response = exchange.getResponseBody()) {
+            response.write(bytes);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class NullOutputStream extends OutputStream {
+
+        @Override
+        public void write(int b) {
+        }
+    }
+}
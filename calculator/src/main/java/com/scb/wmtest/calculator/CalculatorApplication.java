@@ -1,11 +1,18 @@
 package com.scb.wmtest.calculator;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.web.embedded.netty.NettyServerCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 
+import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type.REACTIVE;
+import static org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type.SERVLET;
+
 @SpringBootApplication
 public class CalculatorApplication {
 
@@ -14,7 +21,20 @@ public class CalculatorApplication {
 	}
 
 	@Bean
+	@ConditionalOnWebApplication(type = SERVLET)
 	public AuthenticationManager authenticationManager(AuthenticationConfiguration authenticationConfiguration) throws Exception {
 		return authenticationConfiguration.getAuthenticationManager();
 	}
+
+	/**
+	 * Serves the reactive profile from Netty. Tomcat is on the classpath for the servlet
+	 * stack and would otherwise be picked for the reactive server as well.
+	 */
+	@Bean
+	@ConditionalOnWebApplication(type = REACTIVE)
+	public NettyReactiveWebServerFactory nettyReactiveWebServerFactory(ObjectProvider<NettyServerCustomizer> serverCustomizers) {
+		NettyReactiveWebServerFactory factory = new NettyReactiveWebServerFactory();
+		serverCustomizers.orderedStream().forEach(factory::addServerCustomizers);
+		return factory;
+	}
 }
@@ -1,7 +1,15 @@
 package com.scb.wmtest.calculator;
 
+import com.scb.wmtest.calculator.operation.CaseInsensitiveIndex;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
- * Enum representing calculator operations
+ * Enum representing calculator operations.
+ * <p>
+ * The ordinal is the opcode of the operation in the binary protocol, so new
+ * operations must be added at the end.
  */
 public enum CalculatorOperation {
     // Basic operations
@@ -25,6 +33,16 @@ public enum CalculatorOperation {
     PERCENTAGE("percentage"),
     RECIPROCAL("reciprocal");
     
+    private static final CaseInsensitiveIndex<CalculatorOperation> BY_VALUE;
+    
+    static {
+        Map<String, CalculatorOperation> operations = new LinkedHashMap<>();
+        for (CalculatorOperation operation : values()) {
+            operations.put(operation.value, operation);
+        }
+        BY_VALUE = new CaseInsensitiveIndex<>(operations);
+    }
+    
     private final String value;
     
     CalculatorOperation(String value) {
@@ -41,16 +59,11 @@ public enum CalculatorOperation {
     }
     
     /**
-     * Get operation from string value
+     * Get operation from string value, ignoring case
      * @param value the string value
      * @return the corresponding operation or null if not found
      */
     public static CalculatorOperation fromValue(String value) {
-        for (CalculatorOperation operation : values()) {
-            if (operation.value.equalsIgnoreCase(value)) {
-                return operation;
-            }
-        }
-        return null;
+        return BY_VALUE.get(value);
     }
 } 
\ No newline at end of file
@@ -0,0 +1,35 @@
+package com.scb.wmtest.calculator.audit;
+
+/**
+ * Mutable slot of the audit ring buffer describing one calculation
+ */
+final class AuditEvent {
+
+    String action;
+    boolean single;
+    double val1;
+    double val2;
+    double result;
+    String errorCode;
+    String message;
+    
+    void set(String action, boolean single, double val1, double val2, double result, String errorCode, String message) {
+        this.action = action;
+        this.single = single;
+        this.val1 = val1;
+        this.val2 = val2;
+        this.result = result;
+        this.errorCode = errorCode;
+        this.message = message;
+    }
+    
+    void clear() {
+        this.action = null;
+        this.errorCode = null;
+        this.message = null;
+    }
+    
+    boolean isFailure() {
+        return errorCode != null;
+    }
+}
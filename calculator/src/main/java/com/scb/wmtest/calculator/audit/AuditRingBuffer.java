@@ -0,0 +1,89 @@
+package com.scb.wmtest.calculator.audit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free ring buffer of audit events, for many producers and one consumer.
+ * <p>
+ * Slots are preallocated and reused, so recording an event does not allocate.
+ * Each slot has a sequence number that tells producers and the consumer whose turn
+ * it is: a producer claims position {@code p} by advancing the shared tail once the
+ * slot's sequence equals {@code p}, fills the slot and publishes it by setting the
+ * sequence to {@code p + 1}. The consumer reads the slot once it sees {@code p + 1}
+ * and hands it back by setting it to {@code p + capacity}. A producer that finds
+ * the ring full gives up instead of waiting.
+ */
+final class AuditRingBuffer {
+
+    private final AuditEvent[] events;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private long head;
+    
+    AuditRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        this.events = new AuditEvent[size];
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            events[i] = new AuditEvent();
+            sequences.set(i, i);
+        }
+        this.mask = size - 1;
+    }
+    
+    /**
+     * Records an event
+     *
+     * @return false if the ring was full and the event was not recorded
+     */
+    boolean offer(String action, boolean single, double val1, double val2, double result, String errorCode, String message) {
+        long position;
+        int index;
+        while (true) {
+            position = tail.get();
+            index = (int) position & mask;
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+            } else if (difference < 0) {
+                return false;
+            }
+        }
+        events[index].set(action, single, val1, val2, result, errorCode, message);
+        sequences.lazySet(index, position + 1);
+        return true;
+    }
+    
+    /**
+     * Passes up to {@code limit} recorded events to the sink, in order. Only the consumer thread may call this.
+     *
+     * @return the number of events drained
+     */
+    int drain(AuditSink sink, int limit) {
+        int drained = 0;
+        while (drained < limit) {
+            int index = (int) head & mask;
+            if (sequences.get(index) != head + 1) {
+                break;
+            }
+            AuditEvent event = events[index];
+            try {
+                sink.accept(event);
+            } finally {
+                event.clear();
+                sequences.lazySet(index, head + mask + 1);
+                head++;
+                drained++;
+            }
+        }
+        return drained;
+    }
+    
+    int capacity() {
+        return events.length;
+    }
+}
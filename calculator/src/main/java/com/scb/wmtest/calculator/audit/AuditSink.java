@@ -0,0 +1,10 @@
+package com.scb.wmtest.calculator.audit;
+
+/**
+ * Receives drained audit events. The event is only valid for the duration of the call.
+ */
+@FunctionalInterface
+interface AuditSink {
+
+    void accept(AuditEvent event);
+}
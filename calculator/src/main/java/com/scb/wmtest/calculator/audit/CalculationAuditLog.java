@@ -0,0 +1,261 @@
+package com.scb.wmtest.calculator.audit;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Audit channel for individual calculations.
+ * <p>
+ * Request threads only copy the calculation into a lock-free ring buffer; a
+ * background thread drains the buffer and does the formatting and logging, so a
+ * slow appender never blocks a request. Successful calculations are sampled and
+ * rate limited per operation and are dropped if the buffer is full. Failed
+ * calculations bypass sampling and rate limits, and are logged on the calling
+ * thread if the buffer is full, so they are never lost.
+ */
+@Component
+public class CalculationAuditLog implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(CalculationAuditLog.class);
+    
+    private static final int DRAIN_BATCH = 256;
+    /**
+     * Longest idle park of the drain thread. Producers wake it up as soon as they record
+     * an event; the timeout only bounds the delay of an event whose wakeup raced with
+     * the drain thread going idle.
+     */
+    private static final long IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    
+    private final boolean enabled;
+    private final double sampleRate;
+    private final int maxPerSecond;
+    private final AuditRingBuffer buffer;
+    private final AuditSink sink;
+    private final ConcurrentHashMap<String, AtomicLong> rateWindows = new ConcurrentHashMap<>();
+    private final Thread drainer;
+    private volatile boolean running;
+    private volatile boolean idle;
+    
+    private final LongAdder recorded = new LongAdder();
+    private final LongAdder sampledOut = new LongAdder();
+    private final LongAdder rateLimited = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    
+    @Autowired
+    public CalculationAuditLog(@Value("${calculator.audit.enabled:true}") boolean enabled,
+                               @Value("${calculator.audit.buffer-size:8192}") int bufferSize,
+                               @Value("${calculator.audit.sample-rate:1.0}") double sampleRate,
+                               @Value("${calculator.audit.max-per-second:100}") int maxPerSecond) {
+        this(enabled, bufferSize, sampleRate, maxPerSecond, CalculationAuditLog::write);
+    }
+    
+    CalculationAuditLog(boolean enabled, int bufferSize, double sampleRate, int maxPerSecond, AuditSink sink) {
+        this.enabled = enabled;
+        this.sampleRate = sampleRate;
+        this.maxPerSecond = maxPerSecond;
+        this.sink = sink;
+        this.buffer = enabled ? new AuditRingBuffer(bufferSize) : null;
+        if (enabled) {
+            this.running = true;
+            this.drainer = new Thread(this::drainLoop, "calculation-audit");
+            this.drainer.setDaemon(true);
+            this.drainer.start();
+        } else {
+            this.drainer = null;
+        }
+    }
+    
+    /**
+     * An audit log that records nothing
+     */
+    public static CalculationAuditLog disabled() {
+        return new CalculationAuditLog(false, 0, 0, 0, event -> { });
+    }
+    
+    /**
+     * Records a successful calculation, subject to sampling and the per-operation rate limit
+     *
+     * @param operation the canonical operation name
+     * @param single whether the operation was applied to a single operand
+     * @param val1 the first operand
+     * @param val2 the second operand, ignored for single operand calculations
+     * @param result the result
+     */
+    public void recordSuccess(String operation, boolean single, double val1, double val2, double result) {
+        if (!enabled) {
+            return;
+        }
+        if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            sampledOut.increment();
+            return;
+        }
+        if (maxPerSecond > 0 && !acquire(operation)) {
+            rateLimited.increment();
+            return;
+        }
+        if (buffer.offer(operation, single, val1, val2, result, null, null)) {
+            recorded.increment();
+            wakeDrainer();
+        } else {
+            dropped.increment();
+        }
+    }
+    
+    /**
+     * Records a failed calculation. Failures are never sampled, rate limited or dropped.
+     *
+     * @param action the requested action
+     * @param single whether the operation was applied to a single operand
+     * @param val1 the first operand
+     * @param val2 the second operand, ignored for single operand calculations
+     * @param errorCode the error code of the failure
+     * @param message the error message of the failure
+     */
+    public void recordFailure(String action, boolean single, double val1, double val2, String errorCode, String message) {
+        if (!enabled) {
+            return;
+        }
+        recorded.increment();
+        if (buffer.offer(action, single, val1, val2, Double.NaN, errorCode, message)) {
+            wakeDrainer();
+        } else {
+            AuditEvent event = new AuditEvent();
+            event.set(action, single, val1, val2, Double.NaN, errorCode, message);
+            sink.accept(event);
+        }
+    }
+    
+    private void wakeDrainer() {
+        if (idle) {
+            idle = false;
+            LockSupport.unpark(drainer);
+        }
+    }
+    
+    /**
+     * Takes a permit from the operation's window of the current second
+     */
+    private boolean acquire(String operation) {
+        AtomicLong window = rateWindows.get(operation);
+        if (window == null) {
+            window = rateWindows.computeIfAbsent(operation, key -> new AtomicLong());
+        }
+        // High 32 bits hold the second of the window, low 32 bits the permits taken in it
+        long second = System.currentTimeMillis() / 1000;
+        while (true) {
+            long state = window.get();
+            boolean sameSecond = (state >>> 32) == second;
+            if (sameSecond && (int) state >= maxPerSecond) {
+                return false;
+            }
+            long next = sameSecond ? state + 1 : (second << 32) | 1;
+            if (window.compareAndSet(state, next)) {
+                return true;
+            }
+        }
+    }
+    
+    private void drainLoop() {
+        while (running) {
+            if (drainSafely() == 0) {
+                // Flag idle before the last look, so that a producer either sees the flag or its event is drained
+                idle = true;
+                if (drainSafely() == 0 && running) {
+                    LockSupport.parkNanos(this, IDLE_NANOS);
+                }
+                idle = false;
+            }
+        }
+        while (drainSafely() > 0) {
+            // flush what was recorded before shutdown
+        }
+    }
+    
+    private int drainSafely() {
+        try {
+            return buffer.drain(sink, DRAIN_BATCH);
+        } catch (RuntimeException e) {
+            logger.error("Failed to write calculation audit event: {}", e.getMessage());
+            return 1;
+        }
+    }
+    
+    private static void write(AuditEvent event) {
+        if (event.isFailure()) {
+            if (event.single) {
+                logger.warn("{}({}) failed with {}: {}", event.action, event.val1, event.errorCode, event.message);
+            } else {
+                logger.warn("{} {} {} failed with {}: {}", event.val1, event.action, event.val2, event.errorCode, event.message);
+            }
+        } else if (logger.isInfoEnabled()) {
+            if (event.single) {
+                logger.info("{}({}) = {}", event.action, event.val1, event.result);
+            } else {
+                logger.info("{} {} {} = {}", event.val1, event.action, event.val2, event.result);
+            }
+        }
+    }
+    
+    /**
+     * Stops the drain thread after writing out the events already recorded
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (drainer == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(drainer);
+        try {
+            drainer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    public long getRecordedCount() {
+        return recorded.sum();
+    }
+    
+    public long getSampledOutCount() {
+        return sampledOut.sum();
+    }
+    
+    public long getRateLimitedCount() {
+        return rateLimited.sum();
+    }
+    
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!enabled) {
+            return;
+        }
+        bind(registry, "recorded", recorded);
+        bind(registry, "sampled_out", sampledOut);
+        bind(registry, "rate_limited", rateLimited);
+        bind(registry, "dropped", dropped);
+    }
+    
+    private static void bind(MeterRegistry registry, String outcome, LongAdder counter) {
+        FunctionCounter.builder("calculator.audit.events", counter, LongAdder::sum)
+                .tag("outcome", outcome).description("Calculation audit events").register(registry);
+    }
+}
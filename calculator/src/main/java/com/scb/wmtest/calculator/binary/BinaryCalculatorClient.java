@@ -0,0 +1,194 @@
+package com.scb.wmtest.calculator.binary;
+
+import com.scb.wmtest.calculator.CalculatorOperation;
+import com.scb.wmtest.calculator.exception.CalculatorException;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Client for the {@link BinaryProtocol}.
+ * <p>
+ * A client owns one connection and may be shared by any number of threads. Requests
+ * are pipelined: {@link #submit(CalculatorOperation, double, double) submit} writes
+ * the request and returns at once, and a reader thread completes the returned
+ * future when the response with the same request id arrives. The blocking
+ * {@link #calculate(CalculatorOperation, double, double) calculate} methods wait for
+ * the response and throw a {@link CalculatorException} with the server's error code
+ * if the calculation failed.
+ */
+public class BinaryCalculatorClient implements Closeable {
+
+    private static final int BUFFER_SIZE = 16 * 1024;
+    
+    private final SocketChannel channel;
+    private final ByteBuffer request = ByteBuffer.allocateDirect(4 + BinaryProtocol.BINARY_REQUEST_LENGTH);
+    private final ConcurrentHashMap<Long, CompletableFuture<Double>> pending = new ConcurrentHashMap<>();
+    private final AtomicLong nextRequestId = new AtomicLong();
+    private final Thread reader;
+    private volatile boolean closed;
+    
+    public BinaryCalculatorClient(String host, int port) throws IOException {
+        this.channel = SocketChannel.open();
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        channel.connect(new InetSocketAddress(host, port));
+        this.reader = new Thread(this::readLoop, "calculator-binary-client");
+        this.reader.setDaemon(true);
+        this.reader.start();
+    }
+    
+    /**
+     * Performs a binary operation and waits for the result
+     *
+     * @throws CalculatorException if the calculation failed
+     * @throws UncheckedIOException if the connection failed
+     */
+    public double calculate(CalculatorOperation operation, double val1, double val2) {
+        return await(submit(operation, val1, val2));
+    }
+    
+    /**
+     * Performs a single operand operation and waits for the result
+     *
+     * @throws CalculatorException if the calculation failed
+     * @throws UncheckedIOException if the connection failed
+     */
+    public double calculate(CalculatorOperation operation, double val) {
+        return await(submit(operation, val));
+    }
+    
+    /**
+     * Sends a binary operation without waiting for the result
+     *
+     * @return the result, completed with a {@link CalculatorException} if the calculation failed
+     */
+    public CompletableFuture<Double> submit(CalculatorOperation operation, double val1, double val2) {
+        return send(operation, false, val1, val2);
+    }
+    
+    /**
+     * Sends a single operand operation without waiting for the result
+     *
+     * @return the result, completed with a {@link CalculatorException} if the calculation failed
+     */
+    public CompletableFuture<Double> submit(CalculatorOperation operation, double val) {
+        return send(operation, true, val, 0);
+    }
+    
+    /**
+     * Number of requests that were sent and are waiting for their response
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+    
+    private CompletableFuture<Double> send(CalculatorOperation operation, boolean single, double val1, double val2) {
+        long requestId = nextRequestId.incrementAndGet();
+        CompletableFuture<Double> result = new CompletableFuture<>();
+        pending.put(requestId, result);
+        try {
+            synchronized (request) {
+                if (closed) {
+                    throw new IOException("Client is closed");
+                }
+                request.clear();
+                request.putInt(single ? BinaryProtocol.SINGLE_REQUEST_LENGTH : BinaryProtocol.BINARY_REQUEST_LENGTH);
+                request.putLong(requestId);
+                request.put((byte) BinaryProtocol.opcode(operation));
+                request.putDouble(val1);
+                if (!single) {
+                    request.putDouble(val2);
+                }
+                request.flip();
+                while (request.hasRemaining()) {
+                    channel.write(request);
+                }
+            }
+        } catch (IOException e) {
+            pending.remove(requestId);
+            result.completeExceptionally(new UncheckedIOException(e));
+        }
+        return result;
+    }
+    
+    private static double await(CompletableFuture<Double> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+    
+    private void readLoop() {
+        ByteBuffer in = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        IOException failure = null;
+        try {
+            while (!closed) {
+                if (channel.read(in) < 0) {
+                    throw new EOFException("Connection closed by server");
+                }
+                in.flip();
+                while (in.remaining() >= 4 && in.remaining() >= 4 + in.getInt(in.position())) {
+                    int length = in.getInt();
+                    complete(in, length);
+                }
+                in.compact();
+            }
+        } catch (IOException e) {
+            failure = e;
+        } finally {
+            closed = true;
+            UncheckedIOException error = new UncheckedIOException(failure != null ? failure : new IOException("Client is closed"));
+            pending.values().forEach(result -> result.completeExceptionally(error));
+            pending.clear();
+        }
+    }
+    
+    private void complete(ByteBuffer in, int length) {
+        long requestId = in.getLong();
+        byte status = in.get();
+        CompletableFuture<Double> result = pending.remove(requestId);
+        if (status == BinaryProtocol.STATUS_SUCCESS) {
+            double value = in.getDouble();
+            if (result != null) {
+                result.complete(value);
+            }
+            return;
+        }
+        byte[] code = new byte[in.get() & 0xFF];
+        in.get(code);
+        byte[] message = new byte[length - 8 - 1 - 1 - code.length];
+        in.get(message);
+        if (result != null) {
+            result.completeExceptionally(new CalculatorException(
+                    new String(message, StandardCharsets.UTF_8), new String(code, StandardCharsets.US_ASCII)));
+        }
+    }
+    
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        synchronized (request) {
+            channel.close();
+        }
+        try {
+            reader.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package com.scb.wmtest.calculator.binary;
+
+import com.scb.wmtest.calculator.CalculatorOperation;
+import com.scb.wmtest.calculator.exception.CalculatorException;
+import com.scb.wmtest.calculator.services.CalculateService;
+import com.scb.wmtest.calculator.services.CalculationResult;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Optional TCP server for the {@link BinaryProtocol}, for clients in the data center
+ * that do not want to pay for HTTP and JSON on every calculation.
+ * <p>
+ * One selector thread accepts connections, decodes requests, dispatches them into
+ * {@link CalculateService} and encodes the responses. Each connection gets a direct
+ * input and output buffer when it is accepted; decoding and encoding a message
+ * allocates nothing beyond the {@link CalculationResult} of its calculation. All pipelined requests that arrived in
+ * one read are answered with one write. When a client stops reading its responses
+ * the server stops reading its requests until the output buffer drains.
+ * <p>
+ * The server has no authentication and is meant for trusted networks only; it is
+ * disabled unless {@code calculator.binary.enabled} is set, and listens on loopback
+ * unless {@code calculator.binary.address} names another interface.
+ */
+@Component
+public class BinaryCalculatorServer implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(BinaryCalculatorServer.class);
+    
+    private static final int BUFFER_SIZE = 16 * 1024;
+    
+    private final CalculateService calculateService;
+    private final boolean enabled;
+    private final ServerSocketChannel serverChannel;
+    private final Selector selector;
+    private final Thread eventLoop;
+    private volatile boolean running;
+    
+    private final AtomicInteger connections = new AtomicInteger();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    
+    @Autowired
+    public BinaryCalculatorServer(CalculateService calculateService,
+                                  @Value("${calculator.binary.enabled:false}") boolean enabled,
+                                  @Value("${calculator.binary.address:127.0.0.1}") String address,
+                                  @Value("${calculator.binary.port:9090}") int port) {
+        this.calculateService = calculateService;
+        this.enabled = enabled;
+        if (!enabled) {
+            this.serverChannel = null;
+            this.selector = null;
+            this.eventLoop = null;
+            return;
+        }
+        try {
+            this.selector = Selector.open();
+            this.serverChannel = ServerSocketChannel.open();
+            serverChannel.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+            serverChannel.bind(new InetSocketAddress(address, port));
+            serverChannel.configureBlocking(false);
+            serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot start binary calculator server on " + address + ":" + port, e);
+        }
+        this.running = true;
+        this.eventLoop = new Thread(this::eventLoop, "calculator-binary");
+        this.eventLoop.setDaemon(true);
+        this.eventLoop.start();
+        logger.info("Binary calculator server listening on {}", serverChannel.socket().getLocalSocketAddress());
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    /**
+     * The port the server listens on, which is the chosen port if configured with port 0
+     */
+    public int getPort() {
+        return enabled ? serverChannel.socket().getLocalPort() : -1;
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        if (!enabled || !running) {
+            return;
+        }
+        running = false;
+        selector.wakeup();
+        try {
+            eventLoop.join(5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private void eventLoop() {
+        try {
+            while (running) {
+                selector.select();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    try {
+                        if (key.isAcceptable()) {
+                            accept();
+                        } else {
+                            Connection connection = (Connection) key.attachment();
+                            if (key.isWritable()) {
+                                connection.onWritable();
+                            }
+                            if (key.isValid() && key.isReadable()) {
+                                connection.onReadable();
+                            }
+                        }
+                    } catch (IOException e) {
+                        logger.debug("Closing binary connection: {}", e.getMessage());
+                        close(key);
+                    }
+                }
+            }
+        } catch (IOException | ClosedSelectorException e) {
+            logger.error("Binary calculator server stopped: {}", e.getMessage());
+        } finally {
+            for (SelectionKey key : selector.keys()) {
+                close(key);
+            }
+            try {
+                selector.close();
+            } catch (IOException e) {
+                logger.debug("Cannot close selector: {}", e.getMessage());
+            }
+        }
+    }
+    
+    private void accept() throws IOException {
+        SocketChannel channel = serverChannel.accept();
+        if (channel == null) {
+            return;
+        }
+        channel.configureBlocking(false);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+        key.attach(new Connection(channel, key));
+        connections.incrementAndGet();
+    }
+    
+    private void close(SelectionKey key) {
+        key.cancel();
+        try {
+            key.channel().close();
+        } catch (IOException e) {
+            logger.debug("Cannot close binary connection: {}", e.getMessage());
+        }
+        if (key.attachment() instanceof Connection) {
+            connections.decrementAndGet();
+        }
+    }
+    
+    /**
+     * Per connection buffers. Both buffers are kept in write mode between events.
+     */
+    private final class Connection {
+    
+        private final SocketChannel channel;
+        private final SelectionKey key;
+        private final ByteBuffer in = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        private final ByteBuffer out = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        
+        Connection(SocketChannel channel, SelectionKey key) {
+            this.channel = channel;
+            this.key = key;
+        }
+        
+        void onReadable() throws IOException {
+            if (channel.read(in) < 0) {
+                throw new IOException("Connection closed by client");
+            }
+            process();
+        }
+        
+        void onWritable() throws IOException {
+            if (!flush() && in.position() > 0) {
+                process();
+            }
+        }
+        
+        /**
+         * Answers the complete requests in the input buffer, a buffer full of responses at a time
+         */
+        private void process() throws IOException {
+            boolean more;
+            do {
+                in.flip();
+                more = decode();
+                in.compact();
+            } while (!flush() && more);
+        }
+        
+        /**
+         * Answers complete requests until the input is exhausted or the output buffer is full
+         *
+         * @return whether requests were left because the output buffer is full
+         */
+        private boolean decode() throws IOException {
+            while (in.remaining() >= 4) {
+                if (out.remaining() < 4 + BinaryProtocol.MAX_FAILURE_RESPONSE_LENGTH) {
+                    return true;
+                }
+                int length = in.getInt(in.position());
+                if (length != BinaryProtocol.SINGLE_REQUEST_LENGTH && length != BinaryProtocol.BINARY_REQUEST_LENGTH) {
+                    throw new IOException("Malformed frame of length " + length);
+                }
+                if (in.remaining() < 4 + length) {
+                    return false;
+                }
+                in.getInt();
+                long requestId = in.getLong();
+                int opcode = in.get() & 0xFF;
+                double val1 = in.getDouble();
+                boolean single = length == BinaryProtocol.SINGLE_REQUEST_LENGTH;
+                double val2 = single ? 0 : in.getDouble();
+                calculate(requestId, opcode, single, val1, val2);
+            }
+            return false;
+        }
+        
+        /**
+         * Calculates and encodes the response. Errors come back as a failed
+         * {@link CalculationResult}, so a failed calculation does not unwind the stack.
+         */
+        private void calculate(long requestId, int opcode, boolean single, double val1, double val2) {
+            requests.increment();
+            CalculatorOperation operation = BinaryProtocol.operation(opcode);
+            if (operation == null) {
+                respondFailure(requestId, "INVALID_OPERATION", "Invalid opcode: " + opcode);
+                return;
+            }
+            CalculationResult result = single
+                    ? calculateService.tryPerformSingleAction(operation.getValue(), val1)
+                    : calculateService.tryPerformAction(operation.getValue(), val1, val2);
+            if (!result.isSuccessful()) {
+                CalculatorException error = result.getError();
+                respondFailure(requestId, error.getErrorCode(), error.getMessage());
+                return;
+            }
+            out.putInt(BinaryProtocol.SUCCESS_RESPONSE_LENGTH);
+            out.putLong(requestId);
+            out.put(BinaryProtocol.STATUS_SUCCESS);
+            out.putDouble(result.getValue());
+        }
+        
+        private void respondFailure(long requestId, String errorCode, String errorMessage) {
+            failures.increment();
+            byte[] code = errorCode.getBytes(StandardCharsets.US_ASCII);
+            byte[] message = String.valueOf(errorMessage).getBytes(StandardCharsets.UTF_8);
+            int codeLength = Math.min(code.length, 255);
+            int messageLength = Math.min(message.length, BinaryProtocol.MAX_FAILURE_RESPONSE_LENGTH - 10 - codeLength);
+            out.putInt(8 + 1 + 1 + codeLength + messageLength);
+            out.putLong(requestId);
+            out.put(BinaryProtocol.STATUS_FAILURE);
+            out.put((byte) codeLength);
+            out.put(code, 0, codeLength);
+            out.put(message, 0, messageLength);
+        }
+        
+        /**
+         * Writes as much output as the socket takes, and stops reading requests
+         * while responses are still waiting to be written
+         *
+         * @return whether responses are still waiting to be written
+         */
+        private boolean flush() throws IOException {
+            out.flip();
+            if (out.hasRemaining()) {
+                channel.write(out);
+            }
+            boolean pending = out.hasRemaining();
+            out.compact();
+            key.interestOps(pending ? SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+            return pending;
+        }
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!enabled) {
+            return;
+        }
+        Gauge.builder("calculator.binary.connections", connections, AtomicInteger::get)
+                .description("Open binary protocol connections")
+                .register(registry);
+        FunctionCounter.builder("calculator.binary.requests", requests, LongAdder::sum)
+                .description("Calculations served over the binary protocol")
+                .register(registry);
+        FunctionCounter.builder("calculator.binary.failures", failures, LongAdder::sum)
+                .description("Binary protocol calculations answered with an error")
+                .register(registry);
+    }
+}
@@ -0,0 +1,64 @@
+package com.scb.wmtest.calculator.binary;
+
+import com.scb.wmtest.calculator.CalculatorOperation;
+
+/**
+ * Wire format of the binary calculation protocol spoken by {@link BinaryCalculatorServer}
+ * and {@link BinaryCalculatorClient}.
+ * <p>
+ * Every frame is an {@code int32} length followed by that many bytes. All numbers are
+ * big-endian and operands and results are raw IEEE-754 doubles.
+ * <pre>
+ * request   length | request id (int64) | opcode (uint8) | val1 (float64) [| val2 (float64)]
+ * success   length | request id (int64) | 0 (uint8) | result (float64)
+ * failure   length | request id (int64) | 1 (uint8) | code length (uint8) | error code (ASCII) | message (UTF-8)
+ * </pre>
+ * The opcode is the ordinal of the {@link CalculatorOperation}. A request with one
+ * operand is a single operand operation, one with two operands a binary operation.
+ * Request ids are chosen by the client and echoed in the response, so a client may
+ * pipeline any number of requests on one connection. Responses on a connection come
+ * back in request order. A frame with any other length is a protocol violation and
+ * closes the connection.
+ */
+public final class BinaryProtocol {
+
+    /**
+     * Length of a request with one operand, excluding the length field
+     */
+    public static final int SINGLE_REQUEST_LENGTH = 8 + 1 + 8;
+    
+    /**
+     * Length of a request with two operands, excluding the length field
+     */
+    public static final int BINARY_REQUEST_LENGTH = SINGLE_REQUEST_LENGTH + 8;
+    
+    /**
+     * Length of a success response, excluding the length field
+     */
+    public static final int SUCCESS_RESPONSE_LENGTH = 8 + 1 + 8;
+    
+    /**
+     * Longest failure response, excluding the length field. Longer messages are truncated.
+     */
+    public static final int MAX_FAILURE_RESPONSE_LENGTH = 1024;
+    
+    public static final byte STATUS_SUCCESS = 0;
+    
+    public static final byte STATUS_FAILURE = 1;
+    
+    private static final CalculatorOperation[] OPERATIONS = CalculatorOperation.values();
+    
+    private BinaryProtocol() {
+    }
+    
+    public static int opcode(CalculatorOperation operation) {
+        return operation.ordinal();
+    }
+    
+    /**
+     * The operation for an opcode, or {@code null} if there is none
+     */
+    public static CalculatorOperation operation(int opcode) {
+        return opcode >= 0 && opcode < OPERATIONS.length ? OPERATIONS[opcode] : null;
+    }
+}
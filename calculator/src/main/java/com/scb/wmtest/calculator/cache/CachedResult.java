@@ -0,0 +1,53 @@
+package com.scb.wmtest.calculator.cache;
+
+import com.scb.wmtest.calculator.exception.CalculatorException;
+
+/**
+ * Outcome of a calculation as held by {@link ResultCache}: either a value or the
+ * error the calculation failed with.
+ */
+public final class CachedResult {
+
+    private final double value;
+    private final CalculatorException error;
+    
+    private CachedResult(double value, CalculatorException error) {
+        this.value = value;
+        this.error = error;
+    }
+    
+    static CachedResult success(double value) {
+        return new CachedResult(value, null);
+    }
+    
+    /**
+     * Holds a stackless copy of the error, which is safe to share between every
+     * request that hits this entry
+     */
+    static CachedResult failure(CalculatorException e) {
+        return new CachedResult(Double.NaN, CalculatorException.stackless(e.getMessage(), e.getErrorCode()));
+    }
+    
+    public boolean isSuccessful() {
+        return error == null;
+    }
+    
+    /**
+     * Returns the cached value, or throws the cached error
+     *
+     * @throws CalculatorException if the calculation failed
+     */
+    public double getValue() {
+        if (error != null) {
+            throw error;
+        }
+        return value;
+    }
+    
+    /**
+     * The cached error, or {@code null} if the calculation succeeded
+     */
+    public CalculatorException getError() {
+        return error;
+    }
+}
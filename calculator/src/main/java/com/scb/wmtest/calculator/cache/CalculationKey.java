@@ -0,0 +1,44 @@
+package com.scb.wmtest.calculator.cache;
+
+import com.scb.wmtest.calculator.operation.OperationStrategy;
+
+/**
+ * Identity of a double calculation: the operation and the raw bits of its operands,
+ * so {@code 0.0} and {@code -0.0} are distinct keys. The second operand of a single
+ * operand calculation is ignored.
+ */
+public final class CalculationKey {
+
+    private final OperationStrategy operation;
+    private final boolean single;
+    private final long bits1;
+    private final long bits2;
+    final int hash;
+    
+    public CalculationKey(OperationStrategy operation, boolean single, double val1, double val2) {
+        this.operation = operation;
+        this.single = single;
+        this.bits1 = Double.doubleToRawLongBits(val1);
+        this.bits2 = single ? 0 : Double.doubleToRawLongBits(val2);
+        long h = bits1 * 0x9e3779b97f4a7c15L + Long.rotateLeft(bits2 * 0xc2b2ae3d27d4eb4fL, 31);
+        h ^= h >>> 32;
+        this.hash = ((int) h * 31 + operation.getName().hashCode()) * 2 + (single ? 1 : 0);
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CalculationKey)) {
+            return false;
+        }
+        CalculationKey other = (CalculationKey) o;
+        return operation == other.operation && single == other.single && bits1 == other.bits1 && bits2 == other.bits2;
+    }
+    
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
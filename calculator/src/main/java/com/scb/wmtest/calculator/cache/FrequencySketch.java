@@ -0,0 +1,83 @@
+package com.scb.wmtest.calculator.cache;
+
+/**
+ * Approximate access frequencies for the TinyLFU admission policy.
+ * <p>
+ * A count-min sketch of 4-bit counters packed sixteen to a long. Each key maps to
+ * four counters and its frequency is the smallest of them, so collisions can only
+ * overestimate. After a number of increments proportional to the table size every
+ * counter is halved, which lets the sketch forget keys that were popular long ago.
+ * Not thread safe; the owning cache segment guards it.
+ */
+final class FrequencySketch {
+
+    private static final long[] SEEDS = {
+        0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+    };
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final int MAX_COUNT = 15;
+    
+    private final long[] table;
+    private final int mask;
+    private final int sampleSize;
+    private int additions;
+    
+    FrequencySketch(int capacity) {
+        int length = Integer.highestOneBit(Math.max(capacity, 8) - 1) << 1;
+        this.table = new long[length];
+        this.mask = length - 1;
+        this.sampleSize = 10 * length;
+    }
+    
+    /**
+     * Estimated number of recent accesses of a key, from 0 to 15
+     */
+    int frequency(int hash) {
+        int frequency = MAX_COUNT;
+        for (int i = 0; i < SEEDS.length; i++) {
+            long h = spread(hash, i);
+            int shift = slot(h);
+            frequency = Math.min(frequency, (int) (table[index(h)] >>> shift) & MAX_COUNT);
+        }
+        return frequency;
+    }
+    
+    void increment(int hash) {
+        boolean added = false;
+        for (int i = 0; i < SEEDS.length; i++) {
+            long h = spread(hash, i);
+            int index = index(h);
+            int shift = slot(h);
+            if (((table[index] >>> shift) & MAX_COUNT) != MAX_COUNT) {
+                table[index] += 1L << shift;
+                added = true;
+            }
+        }
+        if (added && ++additions == sampleSize) {
+            reset();
+        }
+    }
+    
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        additions >>>= 1;
+    }
+    
+    private static long spread(int hash, int row) {
+        long h = (hash + SEEDS[row]) * SEEDS[row];
+        return h ^ (h >>> 29);
+    }
+    
+    private int index(long h) {
+        return (int) (h >>> 32) & mask;
+    }
+    
+    /**
+     * Bit offset of the 4-bit counter within its long
+     */
+    private static int slot(long h) {
+        return ((int) h & 15) << 2;
+    }
+}
@@ -0,0 +1,212 @@
+package com.scb.wmtest.calculator.cache;
+
+import com.scb.wmtest.calculator.exception.CalculatorException;
+import com.scb.wmtest.calculator.operation.OperationStrategy;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded memoization cache for calculation results.
+ * <p>
+ * Entries are keyed on the operation and the raw bits of its operands, so
+ * {@code 0.0} and {@code -0.0} are distinct keys. Only the configured operations are
+ * cached, since for cheap ones like {@code sum} a lookup costs more than the
+ * calculation. Failed calculations can be cached as well and are rethrown on a hit.
+ * <p>
+ * The cache is split into segments, each an LRU map guarded by its own lock. A
+ * segment that is full uses TinyLFU admission: a new entry only replaces the least
+ * recently used one if the {@link FrequencySketch} has seen it more often. One-off
+ * operands therefore cannot flush the entries that dashboards request repeatedly.
+ */
+@Component
+public class ResultCache implements MeterBinder {
+
+    private static final int MAX_SEGMENTS = 64;
+    
+    private final boolean enabled;
+    private final boolean cacheErrors;
+    private final Set<String> operations;
+    private final Segment[] segments;
+    private final int segmentMask;
+    
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+    
+    @Autowired
+    public ResultCache(@Value("${calculator.result-cache.enabled:false}") boolean enabled,
+                       @Value("${calculator.result-cache.maximum-size:10000}") int maximumSize,
+                       @Value("${calculator.result-cache.operations:power,sqrt,sin,cos,tan,log,ln}") String[] operations,
+                       @Value("${calculator.result-cache.cache-errors:true}") boolean cacheErrors) {
+        this.enabled = enabled && maximumSize > 0;
+        this.cacheErrors = cacheErrors;
+        this.operations = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        for (String operation : operations) {
+            this.operations.add(operation.trim());
+        }
+        
+        // Enough segments to keep lock contention low, but at least 16 entries each
+        int segmentCount = Math.min(MAX_SEGMENTS, Integer.highestOneBit(4 * Runtime.getRuntime().availableProcessors()));
+        while (segmentCount > 1 && maximumSize / segmentCount < 16) {
+            segmentCount >>>= 1;
+        }
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = new Segment(Math.max(1, maximumSize / segments.length));
+        }
+        this.segmentMask = segments.length - 1;
+    }
+    
+    /**
+     * A cache that caches nothing
+     */
+    public static ResultCache disabled() {
+        return new ResultCache(false, 0, new String[0], false);
+    }
+    
+    /**
+     * Whether results of the given operation are cached, matching its name regardless of case
+     */
+    public boolean isCached(OperationStrategy operation) {
+        return enabled && operations.contains(operation.getName());
+    }
+    
+    /**
+     * Looks up a calculation
+     *
+     * @param operation the operation
+     * @param single whether the operation was applied to a single operand
+     * @param val1 the first operand
+     * @param val2 the second operand, ignored for single operand calculations
+     * @return the cached outcome, or null on a miss
+     */
+    public CachedResult get(OperationStrategy operation, boolean single, double val1, double val2) {
+        CalculationKey key = new CalculationKey(operation, single, val1, val2);
+        CachedResult result = segmentFor(key).get(key);
+        if (result == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return result;
+    }
+    
+    public void put(OperationStrategy operation, boolean single, double val1, double val2, double result) {
+        CalculationKey key = new CalculationKey(operation, single, val1, val2);
+        segmentFor(key).put(key, CachedResult.success(result));
+    }
+    
+    /**
+     * Caches a failed calculation, unless caching of errors is turned off
+     */
+    public void putFailure(OperationStrategy operation, boolean single, double val1, double val2, CalculatorException error) {
+        if (cacheErrors) {
+            CalculationKey key = new CalculationKey(operation, single, val1, val2);
+            segmentFor(key).put(key, CachedResult.failure(error));
+        }
+    }
+    
+    private Segment segmentFor(CalculationKey key) {
+        return segments[(key.hash ^ (key.hash >>> 16)) & segmentMask];
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.map.size();
+            }
+        }
+        return size;
+    }
+    
+    public long getHitCount() {
+        return hits.sum();
+    }
+    
+    public long getMissCount() {
+        return misses.sum();
+    }
+    
+    /**
+     * Entries removed to make room for more frequently used ones
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+    
+    /**
+     * New entries that were not admitted because they were used less often than the eviction candidate
+     */
+    public long getRejectionCount() {
+        return rejections.sum();
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!enabled) {
+            return;
+        }
+        FunctionCounter.builder("calculator.result.cache.requests", hits, LongAdder::sum)
+                .tag("result", "hit").description("Result cache lookups").register(registry);
+        FunctionCounter.builder("calculator.result.cache.requests", misses, LongAdder::sum)
+                .tag("result", "miss").description("Result cache lookups").register(registry);
+        FunctionCounter.builder("calculator.result.cache.evictions", evictions, LongAdder::sum)
+                .description("Entries evicted for more frequently used ones").register(registry);
+        FunctionCounter.builder("calculator.result.cache.rejections", rejections, LongAdder::sum)
+                .description("Entries not admitted because they were used too rarely").register(registry);
+        Gauge.builder("calculator.result.cache.size", this, ResultCache::size)
+                .description("Cached results").register(registry);
+    }
+    
+    private final class Segment {
+    
+        private final int capacity;
+        private final LinkedHashMap<CalculationKey, CachedResult> map;
+        private final FrequencySketch sketch;
+        
+        Segment(int capacity) {
+            this.capacity = capacity;
+            this.map = new LinkedHashMap<>(16, 0.75f, true);
+            this.sketch = new FrequencySketch(capacity);
+        }
+        
+        synchronized CachedResult get(CalculationKey key) {
+            sketch.increment(key.hash);
+            return map.get(key);
+        }
+        
+        synchronized void put(CalculationKey key, CachedResult result) {
+            if (map.size() < capacity || map.containsKey(key)) {
+                map.put(key, result);
+                return;
+            }
+            Iterator<Map.Entry<CalculationKey, CachedResult>> eldest = map.entrySet().iterator();
+            CalculationKey victim = eldest.next().getKey();
+            if (sketch.frequency(key.hash) > sketch.frequency(victim.hash)) {
+                eldest.remove();
+                map.put(key, result);
+                evictions.increment();
+            } else {
+                rejections.increment();
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.scb.wmtest.calculator.coalescing;
+
+import com.scb.wmtest.calculator.cache.CalculationKey;
+import com.scb.wmtest.calculator.operation.OperationStrategy;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Coalesces identical calculations that are requested concurrently, so that a burst
+ * of clients asking for the same result pays for one computation.
+ * <p>
+ * Unlike the {@link com.scb.wmtest.calculator.cache.ResultCache} nothing outlives the
+ * computation, so coalescing needs no memory budget and never serves a stale
+ * result. It is worth its bookkeeping only for expensive calculations: exact
+ * factorials, decimal calculations and the double operations listed in
+ * {@code calculator.coalescing.operations}. Built-in double operations complete in
+ * nanoseconds and are not coalesced by default; slow operations contributed through
+ * an {@link com.scb.wmtest.calculator.operation.OperationProvider} are candidates.
+ */
+@Component
+public class RequestCoalescer implements MeterBinder {
+
+    private final boolean enabled;
+    private final Set<String> operations;
+    private final SingleFlight<CalculationKey, Double> calculations;
+    private final SingleFlight<List<Object>, BigDecimal> decimals;
+    private final SingleFlight<Integer, String> factorials;
+    
+    @Autowired
+    public RequestCoalescer(@Value("${calculator.coalescing.enabled:true}") boolean enabled,
+                            @Value("${calculator.coalescing.operations:}") String[] operations) {
+        this.enabled = enabled;
+        this.operations = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        for (String operation : operations) {
+            if (!operation.trim().isEmpty()) {
+                this.operations.add(operation.trim());
+            }
+        }
+        this.calculations = new SingleFlight<>("calculation", enabled && !this.operations.isEmpty());
+        this.decimals = new SingleFlight<>("decimal", enabled);
+        this.factorials = new SingleFlight<>("factorial", enabled);
+    }
+    
+    /**
+     * A coalescer that lets every caller compute
+     */
+    public static RequestCoalescer disabled() {
+        return new RequestCoalescer(false, new String[0]);
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    /**
+     * Whether double calculations of the given operation are coalesced, matching its name regardless of case
+     */
+    public boolean isCoalesced(OperationStrategy operation) {
+        return calculations.isEnabled() && operations.contains(operation.getName());
+    }
+    
+    /**
+     * Double calculations of the configured operations, keyed on the operation and operand bits
+     */
+    public SingleFlight<CalculationKey, Double> calculations() {
+        return calculations;
+    }
+    
+    /**
+     * Decimal calculations, keyed on the operation, the operands and the math context
+     */
+    public SingleFlight<List<Object>, BigDecimal> decimals() {
+        return decimals;
+    }
+    
+    /**
+     * Exact factorials as decimal strings, keyed on n, so concurrent requests share
+     * both the multiplication and the conversion to decimal
+     */
+    public SingleFlight<Integer, String> factorials() {
+        return factorials;
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!enabled) {
+            return;
+        }
+        for (SingleFlight<?, ?> flight : Arrays.asList(calculations, decimals, factorials)) {
+            if (!flight.isEnabled()) {
+                continue;
+            }
+            FunctionCounter.builder("calculator.coalescing.requests", flight, SingleFlight::getExecutionCount)
+                    .tag("flight", flight.getName()).tag("result", "executed")
+                    .description("Requests that ran their calculation").register(registry);
+            FunctionCounter.builder("calculator.coalescing.requests", flight, SingleFlight::getCoalescedCount)
+                    .tag("flight", flight.getName()).tag("result", "coalesced")
+                    .description("Requests that shared a calculation already running").register(registry);
+            Gauge.builder("calculator.coalescing.ratio", flight, SingleFlight::getCoalescingRatio)
+                    .tag("flight", flight.getName())
+                    .description("Share of requests that shared a running calculation").register(registry);
+            Gauge.builder("calculator.coalescing.in.flight", flight, SingleFlight::getInFlightCount)
+                    .tag("flight", flight.getName())
+                    .description("Calculations running").register(registry);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.scb.wmtest.calculator.coalescing;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Runs at most one computation per key at a time. A caller that asks for a key whose
+ * computation is already running waits for it and gets the same value, or the same
+ * exception, instead of computing it again. Nothing is remembered once the
+ * computation completes; the next caller computes afresh.
+ *
+ * @param <K> the key, which must implement {@code equals} and {@code hashCode}
+ * @param <V> the computed value, shared between all callers of one computation
+ */
+public final class SingleFlight<K, V> {
+
+    private final String name;
+    private final boolean enabled;
+    private final ConcurrentHashMap<K, CompletableFuture<V>> calls = new ConcurrentHashMap<>();
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    
+    SingleFlight(String name, boolean enabled) {
+        this.name = name;
+        this.enabled = enabled;
+    }
+    
+    /**
+     * Computes the value for a key, or waits for the computation already running for it
+     *
+     * @throws RuntimeException whatever the computation threw, to every waiting caller
+     */
+    public V execute(K key, Supplier<V> computation) {
+        if (!enabled) {
+            return computation.get();
+        }
+        CompletableFuture<V> running = calls.get(key);
+        if (running == null) {
+            CompletableFuture<V> call = new CompletableFuture<>();
+            running = calls.putIfAbsent(key, call);
+            if (running == null) {
+                return run(key, call, computation);
+            }
+        }
+        coalesced.increment();
+        return await(running);
+    }
+    
+    /**
+     * Runs the computation for the callers waiting on it. The call is removed before it
+     * completes, so a caller arriving afterwards computes afresh rather than getting a
+     * result that has already been handed out.
+     */
+    private V run(K key, CompletableFuture<V> call, Supplier<V> computation) {
+        executions.increment();
+        V value;
+        try {
+            value = computation.get();
+        } catch (RuntimeException | Error e) {
+            calls.remove(key, call);
+            call.completeExceptionally(e);
+            throw e;
+        }
+        calls.remove(key, call);
+        call.complete(value);
+        return value;
+    }
+    
+    private static <V> V await(CompletableFuture<V> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    /**
+     * Computations that ran
+     */
+    public long getExecutionCount() {
+        return executions.sum();
+    }
+    
+    /**
+     * Callers that shared a computation started by another caller
+     */
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+    
+    /**
+     * Share of callers that did not have to compute, from 0 to 1
+     */
+    public double getCoalescingRatio() {
+        long shared = coalesced.sum();
+        long total = shared + executions.sum();
+        return total == 0 ? 0 : (double) shared / total;
+    }
+    
+    /**
+     * Computations running right now
+     */
+    public int getInFlightCount() {
+        return calls.size();
+    }
+}
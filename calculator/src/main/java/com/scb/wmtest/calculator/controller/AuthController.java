@@ -1,43 +1,68 @@
 package com.scb.wmtest.calculator.controller;
 
+import com.scb.wmtest.calculator.exception.CalculatorErrors;
 import com.scb.wmtest.calculator.security.JwtUtil;
+import com.scb.wmtest.calculator.security.PasswordVerifier;
+import com.scb.wmtest.calculator.security.VerifiedToken;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
+/**
+ * Issues tokens. The password check runs on the {@link PasswordVerifier} pool and the
+ * request thread is released while it waits; a refresh token renews the access token
+ * without checking the password again.
+ */
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class AuthController {
 
     @Autowired
     private AuthenticationManager authenticationManager;
-
+    
     @Autowired
     private UserDetailsService userDetailsService;
-
+    
+    @Autowired
+    private PasswordVerifier passwordVerifier;
+    
     @Autowired
     private JwtUtil jwtUtil;
-
+    
     @PostMapping("/login")
-    public Map<String, String> login(@RequestBody Map<String, String> loginRequest) {
+    public CompletableFuture<Map<String, String>> login(@RequestBody Map<String, String> loginRequest) {
         String username = loginRequest.get("username");
         String password = loginRequest.get("password");
-        try {
-            Authentication auth = authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(username, password)
-            );
-        } catch (BadCredentialsException e) {
-            throw new RuntimeException("Invalid username or password");
+        return passwordVerifier.verify(() -> {
+            try {
+                authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(username, password));
+            } catch (BadCredentialsException e) {
+                throw new RuntimeException("Invalid username or password");
+            }
+            Map<String, String> response = new HashMap<>();
+            response.put("token", jwtUtil.generateToken(username));
+            response.put("refreshToken", jwtUtil.generateRefreshToken(username));
+            return response;
+        });
+    }
+    
+    @PostMapping("/refresh")
+    public Map<String, String> refresh(@RequestBody Map<String, String> refreshRequest) {
+        String refreshToken = refreshRequest.get("refreshToken");
+        VerifiedToken verified = refreshToken == null ? null : jwtUtil.verifyRefreshToken(refreshToken);
+        if (verified == null) {
+            throw CalculatorErrors.INVALID_REFRESH_TOKEN;
         }
-        String token = jwtUtil.generateToken(username);
         Map<String, String> response = new HashMap<>();
-        response.put("token", token);
+        response.put("token", jwtUtil.generateToken(verified.getUsername()));
         return response;
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,56 @@
+package com.scb.wmtest.calculator.controller;
+
+import com.scb.wmtest.calculator.model.BatchResult;
+import com.scb.wmtest.calculator.services.BatchStreamService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Streams calculations of arbitrarily large uploads. The body is never bound as a
+ * whole; see {@link BatchStreamService} for how records are read and results written.
+ */
+@RestController
+@RequestMapping("/api/v1/calculator")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Tag(name = "Calculator", description = "Calculator API endpoints")
+public class BatchStreamController {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchStreamController.class);
+    
+    @Autowired
+    private BatchStreamService batchStreamService;
+    
+    /**
+     * Calculate a newline delimited stream of operations
+     */
+    @PostMapping(value = "/batch/stream", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+        summary = "Perform a stream of calculations",
+        description = "Reads one {action, val1, val2} operation per line and writes one batch result per line as each operation is evaluated. Input of any size is processed in bounded memory. A malformed or oversized record is reported in its own result and does not end the stream"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Results, one per input record, in record order",
+            content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = BatchResult.class)))
+    })
+    public void calculateStream(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        logger.debug("Received streamed batch calculation request");
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        batchStreamService.calculate(request.getInputStream(), response.getOutputStream());
+    }
+}
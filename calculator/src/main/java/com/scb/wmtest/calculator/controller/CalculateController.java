@@ -1,10 +1,16 @@
 package com.scb.wmtest.calculator.controller;
 
+import com.scb.wmtest.calculator.exception.CalculatorException;
+import com.scb.wmtest.calculator.exception.GlobalExceptionHandler;
+import com.scb.wmtest.calculator.metrics.CalculatorMetrics;
 import com.scb.wmtest.calculator.model.CalculateRequest;
 import com.scb.wmtest.calculator.model.CalculateResponse;
 import com.scb.wmtest.calculator.model.Data;
+import com.scb.wmtest.calculator.model.ErrorResponse;
 import com.scb.wmtest.calculator.model.Params;
+import com.scb.wmtest.calculator.operation.OperationRegistry;
 import com.scb.wmtest.calculator.services.CalculateService;
+import com.scb.wmtest.calculator.services.CalculationResult;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -23,9 +29,12 @@ import org.springframework.web.bind.annotation.*;
 import javax.validation.Valid;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
+import java.time.LocalDateTime;
 
 /**
- * REST controller for calculator operations
+ * REST controller for calculator operations. The slower decimal, batch, expression and
+ * factorial endpoints are served by {@link HeavyCalculateController}, or by
+ * {@link ReactiveHeavyCalculateController} on the reactive stack.
  */
 @RestController
 @RequestMapping("/api/v1/calculator")
@@ -37,11 +46,17 @@ public class CalculateController {
     
     private final CalculateService calculateService;
     
+    private final OperationRegistry operationRegistry;
+    
+    private final CalculatorMetrics metrics;
+    
     @Autowired
-    public CalculateController(CalculateService calculateService) {
+    public CalculateController(CalculateService calculateService, OperationRegistry operationRegistry, CalculatorMetrics metrics) {
         this.calculateService = calculateService;
+        this.operationRegistry = operationRegistry;
+        this.metrics = metrics;
     }
-
+    
     /**
      * Calculate using query parameters
      */
@@ -53,10 +68,11 @@ public class CalculateController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Calculation successful",
             content = @Content(schema = @Schema(implementation = CalculateResponse.class))),
-        @ApiResponse(responseCode = "400", description = "Invalid input or operation"),
+        @ApiResponse(responseCode = "400", description = "Invalid input or operation",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<CalculateResponse> calculate(
+    public ResponseEntity<?> calculate(
             @Parameter(description = "Mathematical operation", example = "sum", required = true)
             @RequestParam @NotBlank(message = "Action cannot be blank") String action,
             
@@ -66,17 +82,17 @@ public class CalculateController {
             @Parameter(description = "Second operand", example = "5", required = true)
             @RequestParam @NotNull(message = "Second value cannot be null") Double val2) {
         
-        logger.info("Received calculation request: action={}, val1={}, val2={}", action, val1, val2);
+        logger.debug("Received calculation request: action={}, val1={}, val2={}", action, val1, val2);
         
         // Perform calculation
-        double result = calculateService.performAction(action, val1, val2);
+        CalculationResult result = calculateService.tryPerformAction(action, val1, val2);
+        if (result.isSuccessful()) {
+            logger.debug("Calculation completed successfully: {} {} {} = {}", val1, action, val2, result.getValue());
+        }
         
-        CalculateResponse response = new CalculateResponse("1.0", new Params(action), new Data(result));
-        logger.info("Calculation completed successfully: {} {} {} = {}", val1, action, val2, result);
-        
-        return ResponseEntity.ok(response);
+        return toResponse(action, result);
     }
-
+    
     /**
      * Calculate single operand operations
      */
@@ -88,25 +104,26 @@ public class CalculateController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Calculation successful",
             content = @Content(schema = @Schema(implementation = CalculateResponse.class))),
-        @ApiResponse(responseCode = "400", description = "Invalid input or operation"),
+        @ApiResponse(responseCode = "400", description = "Invalid input or operation",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<CalculateResponse> calculateSingle(
+    public ResponseEntity<?> calculateSingle(
             @Parameter(description = "Mathematical operation", example = "sqrt", required = true)
             @RequestParam @NotBlank(message = "Action cannot be blank") String action,
             
             @Parameter(description = "Operand", example = "16", required = true)
             @RequestParam @NotNull(message = "Value cannot be null") Double val) {
         
-        logger.info("Received single calculation request: action={}, val={}", action, val);
+        logger.debug("Received single calculation request: action={}, val={}", action, val);
         
         // Perform calculation
-        double result = calculateService.performSingleAction(action, val);
+        CalculationResult result = calculateService.tryPerformSingleAction(action, val);
+        if (result.isSuccessful()) {
+            logger.debug("Single calculation completed successfully: {} {} = {}", action, val, result.getValue());
+        }
         
-        CalculateResponse response = new CalculateResponse("1.0", new Params(action), new Data(result));
-        logger.info("Single calculation completed successfully: {} {} = {}", action, val, result);
-        
-        return ResponseEntity.ok(response);
+        return toResponse(action, result);
     }
     
     /**
@@ -120,23 +137,39 @@ public class CalculateController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Calculation successful",
             content = @Content(schema = @Schema(implementation = CalculateResponse.class))),
-        @ApiResponse(responseCode = "400", description = "Invalid input or operation"),
+        @ApiResponse(responseCode = "400", description = "Invalid input or operation",
+            content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<CalculateResponse> calculateWithBody(
+    public ResponseEntity<?> calculateWithBody(
             @Parameter(description = "Calculation request", required = true)
             @Valid @RequestBody CalculateRequest request) {
         
-        logger.info("Received calculation request: {}", request);
+        logger.debug("Received calculation request: {}", request);
         
         // Perform calculation
-        double result = calculateService.performAction(request.getAction(), request.getVal1(), request.getVal2());
-        
-        CalculateResponse response = new CalculateResponse("1.0", new Params(request.getAction()), new Data(result));
-        logger.info("Calculation completed successfully: {} {} {} = {}", 
-                   request.getVal1(), request.getAction(), request.getVal2(), result);
+        CalculationResult result = calculateService.tryPerformAction(request.getAction(), request.getVal1(), request.getVal2());
+        if (result.isSuccessful()) {
+            logger.debug("Calculation completed successfully: {} {} {} = {}", 
+                       request.getVal1(), request.getAction(), request.getVal2(), result.getValue());
+        }
         
-        return ResponseEntity.ok(response);
+        return toResponse(request.getAction(), result);
+    }
+    
+    /**
+     * Maps a calculation result to its response. A failed result is mapped straight
+     * to the error response {@link GlobalExceptionHandler} would produce, without
+     * throwing; the failure is already recorded by the calculation audit log.
+     */
+    private ResponseEntity<?> toResponse(String action, CalculationResult result) {
+        if (!result.isSuccessful()) {
+            CalculatorException error = result.getError();
+            metrics.recordError(error.getErrorCode());
+            ErrorResponse errorResponse = new ErrorResponse(error.getErrorCode(), error.getMessage(), LocalDateTime.now());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        }
+        return ResponseEntity.ok(new CalculateResponse("1.0", new Params(action), new Data(result.getValue())));
     }
     
     /**
@@ -158,10 +191,7 @@ public class CalculateController {
     @ApiResponse(responseCode = "200", description = "List of supported operations")
     public ResponseEntity<String[]> getSupportedOperations() {
         logger.debug("Supported operations requested");
-        String[] operations = {
-            "sum", "subtract", "multiply", "divide", "power", "percentage",
-            "sqrt", "square", "cube", "sin", "cos", "tan", "log", "ln", "abs", "factorial", "reciprocal"
-        };
+        String[] operations = operationRegistry.getOperationNames().toArray(new String[0]);
         return ResponseEntity.ok(operations);
     }
 }
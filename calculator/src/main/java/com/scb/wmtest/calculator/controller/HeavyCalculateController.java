@@ -0,0 +1,183 @@
+package com.scb.wmtest.calculator.controller;
+
+import com.scb.wmtest.calculator.model.BatchCalculateRequest;
+import com.scb.wmtest.calculator.model.BatchCalculateResponse;
+import com.scb.wmtest.calculator.model.BatchResult;
+import com.scb.wmtest.calculator.model.CalculateResponse;
+import com.scb.wmtest.calculator.model.Data;
+import com.scb.wmtest.calculator.model.DecimalCalculateRequest;
+import com.scb.wmtest.calculator.model.DecimalCalculateResponse;
+import com.scb.wmtest.calculator.model.ExpressionRequest;
+import com.scb.wmtest.calculator.model.FactorialResponse;
+import com.scb.wmtest.calculator.model.Params;
+import com.scb.wmtest.calculator.services.CalculateService;
+import com.scb.wmtest.calculator.services.DecimalCalculateService;
+import com.scb.wmtest.calculator.services.ExpressionService;
+import com.scb.wmtest.calculator.services.FactorialService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.List;
+
+/**
+ * REST controller for the calculations that take up to milliseconds: decimal precision,
+ * batches, expressions and exact factorials. On the servlet stack they run on the
+ * request thread like every other endpoint.
+ */
+@RestController
+@RequestMapping("/api/v1/calculator")
+@Validated
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Tag(name = "Calculator", description = "Calculator API endpoints")
+public class HeavyCalculateController {
+
+    private static final Logger logger = LoggerFactory.getLogger(HeavyCalculateController.class);
+    
+    private final CalculateService calculateService;
+    
+    private final DecimalCalculateService decimalCalculateService;
+    
+    private final ExpressionService expressionService;
+    
+    private final FactorialService factorialService;
+    
+    @Autowired
+    public HeavyCalculateController(CalculateService calculateService, DecimalCalculateService decimalCalculateService,
+                                    ExpressionService expressionService, FactorialService factorialService) {
+        this.calculateService = calculateService;
+        this.decimalCalculateService = decimalCalculateService;
+        this.expressionService = expressionService;
+        this.factorialService = factorialService;
+    }
+    
+    /**
+     * Calculate in decimal precision
+     */
+    @PostMapping("/decimal")
+    @Operation(
+        summary = "Perform calculation in decimal precision",
+        description = "Performs any calculator operation on decimal operands, rounding the result to the requested number of significant digits (default 34) with the requested rounding mode (default HALF_EVEN). Omit val2 for single operand operations"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Calculation successful",
+            content = @Content(schema = @Schema(implementation = DecimalCalculateResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid input, operation, precision or rounding mode"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<DecimalCalculateResponse> calculateDecimal(
+            @Parameter(description = "Decimal calculation request", required = true)
+            @Valid @RequestBody DecimalCalculateRequest request) {
+        
+        logger.debug("Received decimal calculation request: action={}, val1={}, val2={}, precision={}, roundingMode={}",
+                   request.getAction(), request.getVal1(), request.getVal2(), request.getPrecision(), request.getRoundingMode());
+        
+        int precision = request.getPrecision() != null ? request.getPrecision() : DecimalCalculateRequest.DEFAULT_PRECISION;
+        RoundingMode roundingMode = request.getRoundingMode() != null ? request.getRoundingMode() : RoundingMode.HALF_EVEN;
+        MathContext mc = new MathContext(precision, roundingMode);
+        
+        // Perform calculation
+        BigDecimal result = request.getVal2() == null
+                ? decimalCalculateService.performSingleAction(request.getAction(), request.getVal1(), mc)
+                : decimalCalculateService.performAction(request.getAction(), request.getVal1(), request.getVal2(), mc);
+        
+        DecimalCalculateResponse response = new DecimalCalculateResponse("1.0", new Params(request.getAction()),
+                result.toString(), precision, roundingMode);
+        logger.debug("Decimal calculation completed successfully: {} = {}", request.getAction(), result);
+        
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * Calculate a batch of operations in a single request
+     */
+    @PostMapping("/batch")
+    @Operation(
+        summary = "Perform a batch of calculations",
+        description = "Evaluates many operations in one request. Items without val2 are treated as single operand operations. A failing item is reported with its error code and does not abort the rest of the batch"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Batch evaluated, see per-item results",
+            content = @Content(schema = @Schema(implementation = BatchCalculateResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid batch request"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<BatchCalculateResponse> calculateBatch(
+            @Parameter(description = "Batch calculation request", required = true)
+            @Valid @RequestBody BatchCalculateRequest request) {
+        
+        List<BatchResult> results = calculateService.performBatch(request.getOperations());
+        return ResponseEntity.ok(new BatchCalculateResponse("1.0", results));
+    }
+    
+    /**
+     * Evaluate an expression
+     */
+    @PostMapping("/expression")
+    @Operation(
+        summary = "Evaluate an expression",
+        description = "Evaluates an expression such as (a + b) * sqrt(c) / 100 against bound variables. Supports + - * / ^, parentheses and every calculator operation as a function. Expressions are compiled once and cached by their text"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Evaluation successful",
+            content = @Content(schema = @Schema(implementation = CalculateResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid expression, unbound variable or invalid operand"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<CalculateResponse> evaluateExpression(
+            @Parameter(description = "Expression request", required = true)
+            @Valid @RequestBody ExpressionRequest request) {
+        
+        logger.debug("Received expression request: {}", request.getExpression());
+        
+        double result = expressionService.evaluate(request.getExpression(), request.getVariables());
+        
+        return ResponseEntity.ok(new CalculateResponse("1.0", new Params(request.getExpression()), new Data(result)));
+    }
+    
+    /**
+     * Exact factorial of a large number
+     */
+    @GetMapping("/factorial")
+    @Operation(
+        summary = "Calculate an exact factorial",
+        description = "Returns n! exactly as a decimal string. Use this for n above 170, where the factorial no longer fits in a double"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Calculation successful",
+            content = @Content(schema = @Schema(implementation = FactorialResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Negative n or n above the configured limit"),
+        @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<FactorialResponse> exactFactorial(
+            @Parameter(description = "Non-negative integer", example = "1000", required = true)
+            @RequestParam @NotNull(message = "n cannot be null") Integer n) {
+        
+        logger.debug("Received exact factorial request: n={}", n);
+        
+        String result = factorialService.exactFactorialString(n);
+        
+        FactorialResponse response = new FactorialResponse("1.0", n, result);
+        if (logger.isDebugEnabled()) {
+            logger.debug("Exact factorial completed successfully: {}! has {} digits", n, response.getDigits());
+        }
+        
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,57 @@
+package com.scb.wmtest.calculator.controller;
+
+import com.scb.wmtest.calculator.exception.CalculatorErrors;
+import com.scb.wmtest.calculator.security.JwtUtil;
+import com.scb.wmtest.calculator.security.VerifiedToken;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Reactive counterpart of {@link AuthController}, with the same request and response
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveAuthController {
+
+    @Autowired
+    private ReactiveAuthenticationManager authenticationManager;
+    
+    @Autowired
+    private JwtUtil jwtUtil;
+    
+    @PostMapping("/login")
+    public Mono<Map<String, String>> login(@RequestBody Map<String, String> loginRequest) {
+        String username = loginRequest.get("username");
+        String password = loginRequest.get("password");
+        return authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(username, password))
+                .onErrorMap(BadCredentialsException.class, e -> new RuntimeException("Invalid username or password"))
+                .onErrorMap(RejectedExecutionException.class, e -> CalculatorErrors.SERVER_BUSY)
+                .map(auth -> {
+                    Map<String, String> response = new HashMap<>();
+                    response.put("token", jwtUtil.generateToken(username));
+                    response.put("refreshToken", jwtUtil.generateRefreshToken(username));
+                    return response;
+                });
+    }
+    
+    @PostMapping("/refresh")
+    public Mono<Map<String, String>> refresh(@RequestBody Map<String, String> refreshRequest) {
+        String refreshToken = refreshRequest.get("refreshToken");
+        VerifiedToken verified = refreshToken == null ? null : jwtUtil.verifyRefreshToken(refreshToken);
+        if (verified == null) {
+            return Mono.error(CalculatorErrors.INVALID_REFRESH_TOKEN);
+        }
+        Map<String, String> response = new HashMap<>();
+        response.put("token", jwtUtil.generateToken(verified.getUsername()));
+        return Mono.just(response);
+    }
+}
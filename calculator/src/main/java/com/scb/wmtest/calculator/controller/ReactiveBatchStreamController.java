@@ -0,0 +1,34 @@
+package com.scb.wmtest.calculator.controller;
+
+import com.scb.wmtest.calculator.model.BatchOperation;
+import com.scb.wmtest.calculator.model.BatchResult;
+import com.scb.wmtest.calculator.services.CalculateService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+/**
+ * Reactive counterpart of {@link BatchStreamController}. WebFlux decodes one record
+ * at a time as the body arrives and only requests more input as results are written,
+ * so memory stays bounded and a slow reader slows the upload down. A malformed
+ * record ends the stream, since the decoder cannot resume after it.
+ */
+@RestController
+@RequestMapping("/api/v1/calculator")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveBatchStreamController {
+
+    @Autowired
+    private CalculateService calculateService;
+    
+    @PostMapping(value = "/batch/stream", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<BatchResult> calculateStream(@RequestBody Flux<BatchOperation> operations) {
+        return operations.index()
+                .map(operation -> calculateService.performBatchOperation(operation.getT1(), operation.getT2()));
+    }
+}
@@ -0,0 +1,60 @@
+package com.scb.wmtest.calculator.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.reactivestreams.Publisher;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+
+import java.util.Map;
+
+/**
+ * Adds application/cbor to the reactive stack. Spring MVC registers its CBOR converter
+ * itself when Jackson's CBOR module is present, after the JSON one. WebFlux puts custom
+ * codecs ahead of its default ones, so JSON is registered again in front of CBOR to
+ * stay the default unless a client asks for CBOR.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveCodecConfig {
+
+    @Bean
+    public CodecCustomizer cborCodecCustomizer(ObjectMapper objectMapper) {
+        return configurer -> {
+            // Without explicit MIME types the CBOR codecs would claim application/json as well
+            ObjectMapper cborMapper = Jackson2ObjectMapperBuilder.cbor().build();
+            configurer.customCodecs().registerWithDefaultConfig(new Jackson2JsonEncoder(objectMapper));
+            configurer.customCodecs().registerWithDefaultConfig(new Jackson2CborDecoder(cborMapper, MediaType.APPLICATION_CBOR));
+            configurer.customCodecs().registerWithDefaultConfig(new CborEncoder(cborMapper));
+        };
+    }
+    
+    /**
+     * Jackson's CBOR encoder only encodes single values, but WebFlux hands it response
+     * entity bodies as a publisher. Each value is encoded on its own, so a stream of
+     * values becomes a CBOR sequence.
+     */
+    static class CborEncoder extends Jackson2CborEncoder {
+    
+        CborEncoder(ObjectMapper cborMapper) {
+            super(cborMapper, MediaType.APPLICATION_CBOR);
+        }
+        
+        @Override
+        public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory,
+                                       ResolvableType elementType, MimeType mimeType, Map<String, Object> hints) {
+            return Flux.from(inputStream).map(value -> encodeValue(value, bufferFactory, elementType, mimeType, hints));
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.scb.wmtest.calculator.controller;
+
+import com.scb.wmtest.calculator.model.BatchCalculateRequest;
+import com.scb.wmtest.calculator.model.BatchCalculateResponse;
+import com.scb.wmtest.calculator.model.CalculateResponse;
+import com.scb.wmtest.calculator.model.Data;
+import com.scb.wmtest.calculator.model.DecimalCalculateRequest;
+import com.scb.wmtest.calculator.model.DecimalCalculateResponse;
+import com.scb.wmtest.calculator.model.ExpressionRequest;
+import com.scb.wmtest.calculator.model.FactorialResponse;
+import com.scb.wmtest.calculator.model.Params;
+import com.scb.wmtest.calculator.services.CalculateService;
+import com.scb.wmtest.calculator.services.DecimalCalculateService;
+import com.scb.wmtest.calculator.services.ExpressionService;
+import com.scb.wmtest.calculator.services.FactorialService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.concurrent.Callable;
+
+/**
+ * Reactive counterpart of {@link HeavyCalculateController}, with the same requests and
+ * responses. A decimal calculation, a large batch, an expression or an exact factorial
+ * can take milliseconds, during which an event loop thread could not serve any of its
+ * other connections, so each runs on the bounded elastic scheduler instead.
+ */
+@RestController
+@RequestMapping("/api/v1/calculator")
+@Validated
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveHeavyCalculateController {
+
+    private final CalculateService calculateService;
+    
+    private final DecimalCalculateService decimalCalculateService;
+    
+    private final ExpressionService expressionService;
+    
+    private final FactorialService factorialService;
+    
+    @Autowired
+    public ReactiveHeavyCalculateController(CalculateService calculateService, DecimalCalculateService decimalCalculateService,
+                                            ExpressionService expressionService, FactorialService factorialService) {
+        this.calculateService = calculateService;
+        this.decimalCalculateService = decimalCalculateService;
+        this.expressionService = expressionService;
+        this.factorialService = factorialService;
+    }
+    
+    @PostMapping("/decimal")
+    public Mono<DecimalCalculateResponse> calculateDecimal(@Valid @RequestBody DecimalCalculateRequest request) {
+        int precision = request.getPrecision() != null ? request.getPrecision() : DecimalCalculateRequest.DEFAULT_PRECISION;
+        RoundingMode roundingMode = request.getRoundingMode() != null ? request.getRoundingMode() : RoundingMode.HALF_EVEN;
+        MathContext mc = new MathContext(precision, roundingMode);
+        return offEventLoop(() -> {
+            BigDecimal result = request.getVal2() == null
+                    ? decimalCalculateService.performSingleAction(request.getAction(), request.getVal1(), mc)
+                    : decimalCalculateService.performAction(request.getAction(), request.getVal1(), request.getVal2(), mc);
+            return new DecimalCalculateResponse("1.0", new Params(request.getAction()), result.toString(), precision, roundingMode);
+        });
+    }
+    
+    @PostMapping("/batch")
+    public Mono<BatchCalculateResponse> calculateBatch(@Valid @RequestBody BatchCalculateRequest request) {
+        return offEventLoop(() -> new BatchCalculateResponse("1.0", calculateService.performBatch(request.getOperations())));
+    }
+    
+    @PostMapping("/expression")
+    public Mono<CalculateResponse> evaluateExpression(@Valid @RequestBody ExpressionRequest request) {
+        return offEventLoop(() -> new CalculateResponse("1.0", new Params(request.getExpression()),
+                new Data(expressionService.evaluate(request.getExpression(), request.getVariables()))));
+    }
+    
+    @GetMapping("/factorial")
+    public Mono<FactorialResponse> exactFactorial(@RequestParam @NotNull(message = "n cannot be null") Integer n) {
+        return offEventLoop(() -> new FactorialResponse("1.0", n, factorialService.exactFactorialString(n)));
+    }
+    
+    private static <T> Mono<T> offEventLoop(Callable<T> calculation) {
+        return Mono.fromCallable(calculation).subscribeOn(Schedulers.boundedElastic());
+    }
+}
@@ -0,0 +1,45 @@
+package com.scb.wmtest.calculator.exception;
+
+/**
+ * Preallocated {@link CalculatorException#stackless(String, String) stackless}
+ * instances for the expected domain errors of the calculator. Throwing one of these
+ * costs no allocation and no stack walk.
+ */
+public final class CalculatorErrors {
+
+    public static final CalculatorException DIVISION_BY_ZERO =
+            CalculatorException.stackless("Division by zero is not allowed", "DIVISION_BY_ZERO");
+    
+    public static final CalculatorException RECIPROCAL_OF_ZERO =
+            CalculatorException.stackless("Cannot calculate reciprocal of zero", "DIVISION_BY_ZERO");
+    
+    public static final CalculatorException NEGATIVE_SQUARE_ROOT =
+            CalculatorException.stackless("Cannot calculate square root of negative number", "INVALID_INPUT");
+    
+    public static final CalculatorException NON_POSITIVE_LOGARITHM =
+            CalculatorException.stackless("Cannot calculate logarithm of non-positive number", "INVALID_INPUT");
+    
+    public static final CalculatorException NON_POSITIVE_NATURAL_LOGARITHM =
+            CalculatorException.stackless("Cannot calculate natural logarithm of non-positive number", "INVALID_INPUT");
+    
+    public static final CalculatorException INVALID_FACTORIAL =
+            CalculatorException.stackless("Factorial is only defined for non-negative integers", "INVALID_INPUT");
+    
+    public static final CalculatorException NEGATIVE_FRACTIONAL_POWER =
+            CalculatorException.stackless("Cannot raise a negative number to a fractional power", "INVALID_INPUT");
+    
+    public static final CalculatorException UNDEFINED_TANGENT =
+            CalculatorException.stackless("Tangent is undefined for odd multiples of 90 degrees", "INVALID_INPUT");
+    
+    public static final CalculatorException RESULT_OUT_OF_RANGE =
+            CalculatorException.stackless("Result is out of range", "RESULT_OVERFLOW");
+    
+    public static final CalculatorException SERVER_BUSY =
+            CalculatorException.stackless("Too many requests in progress, try again later", "SERVER_BUSY");
+    
+    public static final CalculatorException INVALID_REFRESH_TOKEN =
+            CalculatorException.stackless("Invalid or expired refresh token", "INVALID_TOKEN");
+    
+    private CalculatorErrors() {
+    }
+}
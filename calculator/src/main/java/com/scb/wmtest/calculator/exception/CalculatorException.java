@@ -1,7 +1,12 @@
 package com.scb.wmtest.calculator.exception;
 
 /**
- * Custom exception for calculator operations
+ * Custom exception for calculator operations.
+ * <p>
+ * Expected domain errors such as division by zero are signalled with
+ * {@link #stackless(String, String) stackless} instances, most of them preallocated
+ * in {@link CalculatorErrors}, so that failing requests do not pay for filling in a
+ * stack trace nobody reads.
  */
 public class CalculatorException extends RuntimeException {
     
@@ -22,6 +27,23 @@ public class CalculatorException extends RuntimeException {
         this.errorCode = "CALC_ERROR";
     }
     
+    private CalculatorException(String message, String errorCode, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+        this.errorCode = errorCode;
+    }
+    
+    /**
+     * Creates an exception without a stack trace or suppressed exceptions. Such an
+     * instance is immutable and may be shared and rethrown from any thread.
+     *
+     * @param message the error message
+     * @param errorCode the error code reported to the client
+     * @return the stackless exception
+     */
+    public static CalculatorException stackless(String message, String errorCode) {
+        return new CalculatorException(message, errorCode, false);
+    }
+    
     public String getErrorCode() {
         return errorCode;
     }
@@ -1,8 +1,11 @@
 package com.scb.wmtest.calculator.exception;
 
+import com.scb.wmtest.calculator.metrics.CalculatorMetrics;
 import com.scb.wmtest.calculator.model.ErrorResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -21,9 +24,20 @@ import java.util.Map;
  */
 @RestControllerAdvice
 public class GlobalExceptionHandler {
-    
+
     private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
     
+    private final CalculatorMetrics metrics;
+    
+    @Autowired
+    public GlobalExceptionHandler(CalculatorMetrics metrics) {
+        this.metrics = metrics;
+    }
+    
+    public GlobalExceptionHandler() {
+        this(CalculatorMetrics.disabled());
+    }
+    
     @ExceptionHandler(CalculatorException.class)
     public ResponseEntity<ErrorResponse> handleCalculatorException(CalculatorException ex) {
         logger.error("Calculator exception occurred: {}", ex.getMessage());
@@ -34,6 +48,12 @@ public class GlobalExceptionHandler {
             LocalDateTime.now()
         );
         
+        metrics.recordError(errorResponse.getErrorCode());
+        if (ex == CalculatorErrors.SERVER_BUSY) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(errorResponse);
+        }
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
     
@@ -47,6 +67,7 @@ public class GlobalExceptionHandler {
             LocalDateTime.now()
         );
         
+        metrics.recordError(errorResponse.getErrorCode());
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
     
@@ -67,6 +88,7 @@ public class GlobalExceptionHandler {
             LocalDateTime.now()
         );
         
+        metrics.recordError(errorResponse.getErrorCode());
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
     
@@ -80,6 +102,7 @@ public class GlobalExceptionHandler {
             LocalDateTime.now()
         );
         
+        metrics.recordError(errorResponse.getErrorCode());
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
     
@@ -93,6 +116,7 @@ public class GlobalExceptionHandler {
             LocalDateTime.now()
         );
         
+        metrics.recordError(errorResponse.getErrorCode());
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
     
@@ -106,6 +130,7 @@ public class GlobalExceptionHandler {
             LocalDateTime.now()
         );
         
+        metrics.recordError(errorResponse.getErrorCode());
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
     }
 } 
\ No newline at end of file
@@ -0,0 +1,89 @@
+package com.scb.wmtest.calculator.exception;
+
+import com.scb.wmtest.calculator.metrics.CalculatorMetrics;
+import com.scb.wmtest.calculator.model.ErrorResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebInputException;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Maps the input errors of the reactive stack, which WebFlux reports with its own
+ * exception types, to the same error responses as {@link GlobalExceptionHandler}.
+ * Every other exception falls through to {@link GlobalExceptionHandler}.
+ */
+@RestControllerAdvice
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveExceptionHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveExceptionHandler.class);
+    
+    private final CalculatorMetrics metrics;
+    
+    public ReactiveExceptionHandler(CalculatorMetrics metrics) {
+        this.metrics = metrics;
+    }
+    
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ErrorResponse> handleValidationExceptions(WebExchangeBindException ex) {
+        logger.error("Validation exception occurred: {}", ex.getMessage());
+        
+        Map<String, String> errors = new HashMap<>();
+        ex.getBindingResult().getAllErrors().forEach((error) -> {
+            String fieldName = ((FieldError) error).getField();
+            String errorMessage = error.getDefaultMessage();
+            errors.put(fieldName, errorMessage);
+        });
+        
+        ErrorResponse errorResponse = new ErrorResponse(
+            "VALIDATION_ERROR",
+            "Invalid input parameters: " + errors.toString(),
+            LocalDateTime.now()
+        );
+        
+        metrics.recordError(errorResponse.getErrorCode());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+    
+    /**
+     * Type mismatches, missing parameters and unreadable bodies
+     */
+    @ExceptionHandler(ServerWebInputException.class)
+    public ResponseEntity<ErrorResponse> handleInputException(ServerWebInputException ex) {
+        MethodParameter parameter = ex.getMethodParameter();
+        ErrorResponse errorResponse;
+        if (ex.getCause() instanceof TypeMismatchException && parameter != null) {
+            logger.error("Type mismatch exception occurred: {}", ex.getMessage());
+            errorResponse = new ErrorResponse(
+                "TYPE_MISMATCH",
+                "Invalid parameter type for " + parameter.getParameterName() + ". Expected: " + parameter.getParameterType().getSimpleName(),
+                LocalDateTime.now()
+            );
+        } else {
+            logger.error("Input exception occurred: {}", ex.getMessage());
+            errorResponse = new ErrorResponse(
+                "VALIDATION_ERROR",
+                "Invalid input parameters: " + ex.getReason(),
+                LocalDateTime.now()
+            );
+        }
+        
+        metrics.recordError(errorResponse.getErrorCode());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+}
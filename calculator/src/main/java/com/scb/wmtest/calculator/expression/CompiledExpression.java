@@ -0,0 +1,16 @@
+package com.scb.wmtest.calculator.expression;
+
+/**
+ * Expression compiled to JVM bytecode. Implementations are generated at runtime
+ * by {@link ExpressionCompiler}.
+ */
+public interface CompiledExpression {
+
+    /**
+     * Evaluates the expression
+     *
+     * @param variables variable values, indexed in order of first appearance in the expression
+     * @return the result of the expression
+     */
+    double evaluate(double[] variables);
+}
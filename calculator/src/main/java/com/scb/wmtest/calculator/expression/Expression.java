@@ -0,0 +1,71 @@
+package com.scb.wmtest.calculator.expression;
+
+import com.scb.wmtest.calculator.exception.CalculatorException;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parsed and compiled expression, ready to be evaluated against bound variables.
+ * Instances are immutable and safe to share between threads.
+ */
+public class Expression {
+
+    private final ParsedExpression parsed;
+    private final CompiledExpression compiled;
+    
+    public Expression(ParsedExpression parsed, CompiledExpression compiled) {
+        this.parsed = parsed;
+        this.compiled = compiled;
+    }
+    
+    public String getText() {
+        return parsed.getText();
+    }
+    
+    public List<String> getVariables() {
+        return parsed.getVariables();
+    }
+    
+    public ParsedExpression getParsed() {
+        return parsed;
+    }
+    
+    public CompiledExpression getCompiled() {
+        return compiled;
+    }
+    
+    /**
+     * Evaluates the compiled expression
+     *
+     * @param variables values for every variable referenced by the expression
+     * @return the result of the expression
+     * @throws CalculatorException if a variable is unbound or an operation is undefined for its operands
+     */
+    public double evaluate(Map<String, Double> variables) {
+        return compiled.evaluate(bind(variables));
+    }
+    
+    /**
+     * Evaluates the expression by walking its syntax tree instead of running the compiled form
+     *
+     * @param variables values for every variable referenced by the expression
+     * @return the result of the expression
+     */
+    public double interpret(Map<String, Double> variables) {
+        return parsed.getRoot().evaluate(bind(variables));
+    }
+    
+    private double[] bind(Map<String, Double> variables) {
+        List<String> names = parsed.getVariables();
+        double[] values = new double[names.size()];
+        for (int i = 0; i < values.length; i++) {
+            Double value = variables == null ? null : variables.get(names.get(i));
+            if (value == null) {
+                throw new CalculatorException("No value bound for variable '" + names.get(i) + "'", "INVALID_INPUT");
+            }
+            values[i] = value;
+        }
+        return values;
+    }
+}
@@ -0,0 +1,159 @@
+package com.scb.wmtest.calculator.expression;
+
+import com.scb.wmtest.calculator.CalculatorOperation;
+import com.scb.wmtest.calculator.operation.BuiltInOperations;
+import org.springframework.asm.ClassWriter;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.Type;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compiles parsed expressions to JVM bytecode.
+ * <p>
+ * Each expression becomes a small final class implementing {@link CompiledExpression}
+ * whose {@code evaluate} method is straight-line code: arithmetic operators map to
+ * the corresponding double instructions and everything else to static calls into
+ * {@link BuiltInOperations}, which the JIT inlines. Every class gets its own class
+ * loader so that it can be unloaded once its expression is no longer referenced.
+ */
+public class ExpressionCompiler {
+
+    private static final String PACKAGE = "com/scb/wmtest/calculator/expression/generated/";
+    private static final String FUNCTIONS = Type.getInternalName(BuiltInOperations.class);
+    private static final String MATH = Type.getInternalName(Math.class);
+    private static final String UNARY = "(D)D";
+    private static final String BINARY = "(DD)D";
+    
+    private static final AtomicLong sequence = new AtomicLong();
+    
+    /**
+     * Compiles a parsed expression
+     *
+     * @param expression the parsed expression
+     * @return a new instance of the generated class
+     */
+    public CompiledExpression compile(ParsedExpression expression) {
+        String className = PACKAGE + "Expression" + sequence.incrementAndGet();
+        byte[] bytecode = generate(className, expression.getRoot());
+        try {
+            Class<?> type = new ExpressionClassLoader(ExpressionCompiler.class.getClassLoader())
+                    .define(className.replace('/', '.'), bytecode);
+            return (CompiledExpression) type.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to load compiled expression: " + expression.getText(), e);
+        }
+    }
+    
+    private byte[] generate(String className, ExpressionNode root) {
+        ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        writer.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL | Opcodes.ACC_SUPER, className, null,
+                "java/lang/Object", new String[] {Type.getInternalName(CompiledExpression.class)});
+        
+        MethodVisitor constructor = writer.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+        constructor.visitCode();
+        constructor.visitVarInsn(Opcodes.ALOAD, 0);
+        constructor.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+        constructor.visitInsn(Opcodes.RETURN);
+        constructor.visitMaxs(0, 0);
+        constructor.visitEnd();
+        
+        MethodVisitor evaluate = writer.visitMethod(Opcodes.ACC_PUBLIC, "evaluate", "([D)D", null, null);
+        evaluate.visitCode();
+        emit(evaluate, root);
+        evaluate.visitInsn(Opcodes.DRETURN);
+        evaluate.visitMaxs(0, 0);
+        evaluate.visitEnd();
+        
+        writer.visitEnd();
+        return writer.toByteArray();
+    }
+    
+    private void emit(MethodVisitor method, ExpressionNode node) {
+        if (node instanceof ExpressionNode.Constant) {
+            method.visitLdcInsn(((ExpressionNode.Constant) node).value);
+        } else if (node instanceof ExpressionNode.Variable) {
+            method.visitVarInsn(Opcodes.ALOAD, 1);
+            method.visitLdcInsn(((ExpressionNode.Variable) node).index);
+            method.visitInsn(Opcodes.DALOAD);
+        } else if (node instanceof ExpressionNode.Negate) {
+            emit(method, ((ExpressionNode.Negate) node).operand);
+            method.visitInsn(Opcodes.DNEG);
+        } else if (node instanceof ExpressionNode.Unary) {
+            ExpressionNode.Unary unary = (ExpressionNode.Unary) node;
+            emit(method, unary.operand);
+            emitUnary(method, unary.operation);
+        } else if (node instanceof ExpressionNode.Binary) {
+            ExpressionNode.Binary binary = (ExpressionNode.Binary) node;
+            emit(method, binary.left);
+            emit(method, binary.right);
+            emitBinary(method, binary.operation);
+        } else {
+            throw new IllegalStateException("Unknown expression node: " + node.getClass().getName());
+        }
+    }
+    
+    private void emitUnary(MethodVisitor method, CalculatorOperation operation) {
+        switch (operation) {
+            case SQUARE_ROOT:
+                method.visitMethodInsn(Opcodes.INVOKESTATIC, FUNCTIONS, "sqrt", UNARY, false);
+                break;
+            case ABS:
+                method.visitMethodInsn(Opcodes.INVOKESTATIC, MATH, "abs", UNARY, false);
+                break;
+            case SQUARE:
+            case CUBE:
+            case SIN:
+            case COS:
+            case TAN:
+            case LOG:
+            case LN:
+            case FACTORIAL:
+            case RECIPROCAL:
+                method.visitMethodInsn(Opcodes.INVOKESTATIC, FUNCTIONS, operation.getValue(), UNARY, false);
+                break;
+            default:
+                throw new IllegalStateException("Not a single operand operation: " + operation);
+        }
+    }
+    
+    private void emitBinary(MethodVisitor method, CalculatorOperation operation) {
+        switch (operation) {
+            case SUM:
+                method.visitInsn(Opcodes.DADD);
+                break;
+            case SUBTRACT:
+                method.visitInsn(Opcodes.DSUB);
+                break;
+            case MULTIPLY:
+                method.visitInsn(Opcodes.DMUL);
+                break;
+            case DIVIDE:
+                method.visitMethodInsn(Opcodes.INVOKESTATIC, FUNCTIONS, "divide", BINARY, false);
+                break;
+            case POWER:
+                method.visitMethodInsn(Opcodes.INVOKESTATIC, MATH, "pow", BINARY, false);
+                break;
+            case PERCENTAGE:
+                method.visitMethodInsn(Opcodes.INVOKESTATIC, FUNCTIONS, "percentage", BINARY, false);
+                break;
+            default:
+                throw new IllegalStateException("Not a two operand operation: " + operation);
+        }
+    }
+    
+    /**
+     * Class loader holding a single generated expression class
+     */
+    private static final class ExpressionClassLoader extends ClassLoader {
+    
+        ExpressionClassLoader(ClassLoader parent) {
+            super(parent);
+        }
+        
+        Class<?> define(String name, byte[] bytecode) {
+            return defineClass(name, bytecode, 0, bytecode.length);
+        }
+    }
+}
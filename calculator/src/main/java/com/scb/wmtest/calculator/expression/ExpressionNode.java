@@ -0,0 +1,159 @@
+package com.scb.wmtest.calculator.expression;
+
+import com.scb.wmtest.calculator.CalculatorOperation;
+import com.scb.wmtest.calculator.operation.BuiltInOperations;
+
+/**
+ * Abstract syntax tree of a parsed expression. Each node can evaluate itself by
+ * walking the tree, which is the interpreted counterpart of the bytecode produced
+ * by {@link ExpressionCompiler}.
+ */
+public abstract class ExpressionNode {
+
+    ExpressionNode() {
+    }
+    
+    /**
+     * Evaluates the subtree rooted at this node by walking it
+     *
+     * @param variables variable values, indexed in order of first appearance in the expression
+     * @return the result of the subtree
+     */
+    public abstract double evaluate(double[] variables);
+    
+    /**
+     * Numeric literal
+     */
+    static final class Constant extends ExpressionNode {
+    
+        final double value;
+        
+        Constant(double value) {
+            this.value = value;
+        }
+        
+        @Override
+        public double evaluate(double[] variables) {
+            return value;
+        }
+    }
+    
+    /**
+     * Reference to a bound variable
+     */
+    static final class Variable extends ExpressionNode {
+    
+        final int index;
+        final String name;
+        
+        Variable(int index, String name) {
+            this.index = index;
+            this.name = name;
+        }
+        
+        @Override
+        public double evaluate(double[] variables) {
+            return variables[index];
+        }
+    }
+    
+    /**
+     * Unary minus
+     */
+    static final class Negate extends ExpressionNode {
+    
+        final ExpressionNode operand;
+        
+        Negate(ExpressionNode operand) {
+            this.operand = operand;
+        }
+        
+        @Override
+        public double evaluate(double[] variables) {
+            return -operand.evaluate(variables);
+        }
+    }
+    
+    /**
+     * Single operand calculator operation
+     */
+    static final class Unary extends ExpressionNode {
+    
+        final CalculatorOperation operation;
+        final ExpressionNode operand;
+        
+        Unary(CalculatorOperation operation, ExpressionNode operand) {
+            this.operation = operation;
+            this.operand = operand;
+        }
+        
+        @Override
+        public double evaluate(double[] variables) {
+            double val = operand.evaluate(variables);
+            switch (operation) {
+                case SQUARE_ROOT:
+                    return BuiltInOperations.sqrt(val);
+                case SQUARE:
+                    return BuiltInOperations.square(val);
+                case CUBE:
+                    return BuiltInOperations.cube(val);
+                case SIN:
+                    return BuiltInOperations.sin(val);
+                case COS:
+                    return BuiltInOperations.cos(val);
+                case TAN:
+                    return BuiltInOperations.tan(val);
+                case LOG:
+                    return BuiltInOperations.log(val);
+                case LN:
+                    return BuiltInOperations.ln(val);
+                case ABS:
+                    return Math.abs(val);
+                case FACTORIAL:
+                    return BuiltInOperations.factorial(val);
+                case RECIPROCAL:
+                    return BuiltInOperations.reciprocal(val);
+                default:
+                    throw new IllegalStateException("Not a single operand operation: " + operation);
+            }
+        }
+    }
+    
+    /**
+     * Two operand calculator operation
+     */
+    static final class Binary extends ExpressionNode {
+    
+        final CalculatorOperation operation;
+        final ExpressionNode left;
+        final ExpressionNode right;
+        
+        Binary(CalculatorOperation operation, ExpressionNode left, ExpressionNode right) {
+            this.operation = operation;
+            this.left = left;
+            this.right = right;
+        }
+        
+        @Override
+        public double evaluate(double[] variables) {
+            double val1 = left.evaluate(variables);
+            double val2 = right.evaluate(variables);
+            switch (operation) {
+                case SUM:
+                    return val1 + val2;
+                case SUBTRACT:
+                    return val1 - val2;
+                case MULTIPLY:
+                    return val1 * val2;
+                case DIVIDE:
+                    return BuiltInOperations.divide(val1, val2);
+                case POWER:
+                    return Math.pow(val1, val2);
+                case PERCENTAGE:
+                    return BuiltInOperations.percentage(val1, val2);
+                default:
+                    throw new IllegalStateException("Not a two operand operation: " + operation);
+            }
+        }
+    }
+}
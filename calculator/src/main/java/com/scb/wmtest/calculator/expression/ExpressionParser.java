@@ -0,0 +1,204 @@
+package com.scb.wmtest.calculator.expression;
+
+import com.scb.wmtest.calculator.CalculatorOperation;
+import com.scb.wmtest.calculator.exception.CalculatorException;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Recursive descent parser for calculator expressions.
+ * <p>
+ * Grammar, lowest precedence first:
+ * <pre>
+ * expression := term (('+' | '-') term)*
+ * term       := unary (('*' | '/') unary)*
+ * unary      := '-' unary | power
+ * power      := primary ('^' unary)?
+ * primary    := number | variable | function '(' expression (',' expression)? ')' | '(' expression ')'
+ * </pre>
+ * Functions are the calculator operations by name, e.g. {@code sqrt(x)} or
+ * {@code percentage(a, 15)}. Any other identifier is a variable.
+ */
+public class ExpressionParser {
+
+    static final Set<CalculatorOperation> TWO_OPERAND_OPERATIONS = EnumSet.of(
+            CalculatorOperation.SUM, CalculatorOperation.SUBTRACT, CalculatorOperation.MULTIPLY,
+            CalculatorOperation.DIVIDE, CalculatorOperation.POWER, CalculatorOperation.PERCENTAGE);
+    
+    private final String text;
+    private final List<String> variables = new ArrayList<>();
+    private int position;
+    
+    private ExpressionParser(String text) {
+        this.text = text;
+    }
+    
+    /**
+     * Parses an expression
+     *
+     * @param text the expression text
+     * @return the parsed expression
+     * @throws CalculatorException if the expression is malformed
+     */
+    public static ParsedExpression parse(String text) {
+        if (text == null || text.trim().isEmpty()) {
+            throw new CalculatorException("Expression cannot be null or empty", "INVALID_EXPRESSION");
+        }
+        ExpressionParser parser = new ExpressionParser(text);
+        ExpressionNode root = parser.expression();
+        parser.skipWhitespace();
+        if (parser.position < text.length()) {
+            throw parser.error("Unexpected '" + text.charAt(parser.position) + "'");
+        }
+        return new ParsedExpression(text, root, parser.variables);
+    }
+    
+    private ExpressionNode expression() {
+        ExpressionNode node = term();
+        while (true) {
+            if (accept('+')) {
+                node = new ExpressionNode.Binary(CalculatorOperation.SUM, node, term());
+            } else if (accept('-')) {
+                node = new ExpressionNode.Binary(CalculatorOperation.SUBTRACT, node, term());
+            } else {
+                return node;
+            }
+        }
+    }
+    
+    private ExpressionNode term() {
+        ExpressionNode node = unary();
+        while (true) {
+            if (accept('*')) {
+                node = new ExpressionNode.Binary(CalculatorOperation.MULTIPLY, node, unary());
+            } else if (accept('/')) {
+                node = new ExpressionNode.Binary(CalculatorOperation.DIVIDE, node, unary());
+            } else {
+                return node;
+            }
+        }
+    }
+    
+    private ExpressionNode unary() {
+        if (accept('-')) {
+            return new ExpressionNode.Negate(unary());
+        }
+        return power();
+    }
+    
+    private ExpressionNode power() {
+        ExpressionNode base = primary();
+        if (accept('^')) {
+            return new ExpressionNode.Binary(CalculatorOperation.POWER, base, unary());
+        }
+        return base;
+    }
+    
+    private ExpressionNode primary() {
+        skipWhitespace();
+        if (position >= text.length()) {
+            throw error("Unexpected end of expression");
+        }
+        char c = text.charAt(position);
+        if (accept('(')) {
+            ExpressionNode node = expression();
+            expect(')');
+            return node;
+        }
+        if (Character.isDigit(c) || c == '.') {
+            return number();
+        }
+        if (Character.isLetter(c) || c == '_') {
+            String name = identifier();
+            if (accept('(')) {
+                return function(name);
+            }
+            return variable(name);
+        }
+        throw error("Unexpected '" + c + "'");
+    }
+    
+    private ExpressionNode number() {
+        int start = position;
+        while (position < text.length() && (Character.isDigit(text.charAt(position)) || text.charAt(position) == '.')) {
+            position++;
+        }
+        if (position < text.length() && (text.charAt(position) == 'e' || text.charAt(position) == 'E')) {
+            position++;
+            if (position < text.length() && (text.charAt(position) == '+' || text.charAt(position) == '-')) {
+                position++;
+            }
+            while (position < text.length() && Character.isDigit(text.charAt(position))) {
+                position++;
+            }
+        }
+        String literal = text.substring(start, position);
+        try {
+            return new ExpressionNode.Constant(Double.parseDouble(literal));
+        } catch (NumberFormatException e) {
+            position = start;
+            throw error("Invalid number '" + literal + "'");
+        }
+    }
+    
+    private String identifier() {
+        int start = position;
+        while (position < text.length() && (Character.isLetterOrDigit(text.charAt(position)) || text.charAt(position) == '_')) {
+            position++;
+        }
+        return text.substring(start, position);
+    }
+    
+    private ExpressionNode function(String name) {
+        CalculatorOperation operation = CalculatorOperation.fromValue(name);
+        if (operation == null) {
+            throw error("Unknown function '" + name + "'");
+        }
+        ExpressionNode first = expression();
+        if (TWO_OPERAND_OPERATIONS.contains(operation)) {
+            expect(',');
+            ExpressionNode second = expression();
+            expect(')');
+            return new ExpressionNode.Binary(operation, first, second);
+        }
+        expect(')');
+        return new ExpressionNode.Unary(operation, first);
+    }
+    
+    private ExpressionNode variable(String name) {
+        int index = variables.indexOf(name);
+        if (index < 0) {
+            index = variables.size();
+            variables.add(name);
+        }
+        return new ExpressionNode.Variable(index, name);
+    }
+    
+    private boolean accept(char expected) {
+        skipWhitespace();
+        if (position < text.length() && text.charAt(position) == expected) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+    
+    private void expect(char expected) {
+        if (!accept(expected)) {
+            throw error("Expected '" + expected + "'");
+        }
+    }
+    
+    private void skipWhitespace() {
+        while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+            position++;
+        }
+    }
+    
+    private CalculatorException error(String message) {
+        return new CalculatorException(message + " at position " + position + " in expression: " + text, "INVALID_EXPRESSION");
+    }
+}
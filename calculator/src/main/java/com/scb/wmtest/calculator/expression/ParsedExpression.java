@@ -0,0 +1,35 @@
+package com.scb.wmtest.calculator.expression;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Parsed expression: its syntax tree and the variables it references
+ */
+public class ParsedExpression {
+
+    private final String text;
+    private final ExpressionNode root;
+    private final List<String> variables;
+    
+    ParsedExpression(String text, ExpressionNode root, List<String> variables) {
+        this.text = text;
+        this.root = root;
+        this.variables = Collections.unmodifiableList(variables);
+    }
+    
+    public String getText() {
+        return text;
+    }
+    
+    public ExpressionNode getRoot() {
+        return root;
+    }
+    
+    /**
+     * Variable names, in the order of the value array passed to evaluation
+     */
+    public List<String> getVariables() {
+        return variables;
+    }
+}
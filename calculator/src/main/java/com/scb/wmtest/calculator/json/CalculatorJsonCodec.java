@@ -0,0 +1,362 @@
+package com.scb.wmtest.calculator.json;
+
+import com.scb.wmtest.calculator.model.CalculateRequest;
+import com.scb.wmtest.calculator.model.CalculateResponse;
+import com.scb.wmtest.calculator.model.Data;
+import com.scb.wmtest.calculator.model.ErrorResponse;
+import com.scb.wmtest.calculator.model.Params;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Hand-written JSON encoding of the calculate request and response models. The output
+ * is byte for byte what the application's Jackson object mapper writes for these
+ * types, with the same property order and the same number and timestamp formats.
+ * <p>
+ * Reading only understands the request shape clients actually send: an object with
+ * {@code action}, {@code val1} and {@code val2} holding a string, numbers or nulls, and
+ * unknown properties with scalar values. Anything else, including malformed JSON, is
+ * left to Jackson so that error responses do not change.
+ */
+public final class CalculatorJsonCodec {
+
+    private static final byte[] API_VERSION = ascii("{\"apiVersion\":");
+    private static final byte[] PARAMS = ascii(",\"params\":");
+    private static final byte[] ACTION = ascii("{\"action\":");
+    private static final byte[] DATA = ascii(",\"data\":");
+    private static final byte[] RESULT = ascii("{\"result\":");
+    private static final byte[] TIMESTAMP = ascii(",\"timestamp\":");
+    private static final byte[] TIMINGS = ascii(",\"timings\":{");
+    private static final byte[] ERROR_CODE = ascii("{\"errorCode\":");
+    private static final byte[] MESSAGE = ascii(",\"message\":");
+    
+    private static final byte[] ACTION_KEY = ascii("action");
+    private static final byte[] VAL1_KEY = ascii("val1");
+    private static final byte[] VAL2_KEY = ascii("val2");
+    
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    
+    private CalculatorJsonCodec() {
+    }
+    
+    public static void writeCalculateResponse(JsonWriter writer, CalculateResponse response) {
+        writer.raw(API_VERSION).string(response.getApiVersion());
+        writer.raw(PARAMS);
+        Params params = response.getParams();
+        if (params == null) {
+            writer.nullValue();
+        } else {
+            writer.raw(ACTION).string(params.getAction()).raw('}');
+        }
+        writer.raw(DATA);
+        Data data = response.getData();
+        if (data == null) {
+            writer.nullValue();
+        } else {
+            writer.raw(RESULT).number(data.getResult()).raw('}');
+        }
+        writer.raw(TIMESTAMP).timestamp(response.getTimestamp());
+        Map<String, Long> timings = response.getTimings();
+        if (timings != null) {
+            writer.raw(TIMINGS);
+            boolean first = true;
+            for (Map.Entry<String, Long> timing : timings.entrySet()) {
+                if (!first) {
+                    writer.raw(',');
+                }
+                first = false;
+                writer.string(timing.getKey()).raw(':');
+                if (timing.getValue() == null) {
+                    writer.nullValue();
+                } else {
+                    writer.number(timing.getValue().longValue());
+                }
+            }
+            writer.raw('}');
+        }
+        writer.raw('}');
+    }
+    
+    public static void writeErrorResponse(JsonWriter writer, ErrorResponse response) {
+        writer.raw(ERROR_CODE).string(response.getErrorCode());
+        writer.raw(MESSAGE).string(response.getMessage());
+        writer.raw(TIMESTAMP).timestamp(response.getTimestamp()).raw('}');
+    }
+    
+    /**
+     * Reads a calculate request
+     *
+     * @return the request, or {@code null} if the input has to be read by Jackson
+     */
+    public static CalculateRequest readCalculateRequest(byte[] input, int length) {
+        return new Reader(input, length).readRequest();
+    }
+    
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+    
+    /**
+     * Single pass over the input. Every method returns {@code false} or {@code null}
+     * as soon as the input leaves the supported subset.
+     */
+    private static final class Reader {
+    
+        private final byte[] input;
+        private final int length;
+        private int position;
+        
+        Reader(byte[] input, int length) {
+            this.input = input;
+            this.length = length;
+        }
+        
+        CalculateRequest readRequest() {
+            CalculateRequest request = new CalculateRequest();
+            if (!consume('{')) {
+                return null;
+            }
+            if (!consume('}')) {
+                do {
+                    if (!readProperty(request)) {
+                        return null;
+                    }
+                } while (consume(','));
+                if (!consume('}')) {
+                    return null;
+                }
+            }
+            skipWhitespace();
+            return position == length ? request : null;
+        }
+        
+        private boolean readProperty(CalculateRequest request) {
+            skipWhitespace();
+            if (position >= length || input[position] != '"') {
+                return false;
+            }
+            int keyStart = position + 1;
+            int keyEnd = endOfString(keyStart);
+            if (keyEnd < 0) {
+                return false;
+            }
+            position = keyEnd + 1;
+            if (!consume(':')) {
+                return false;
+            }
+            skipWhitespace();
+            if (position >= length) {
+                return false;
+            }
+            if (isKey(keyStart, keyEnd, ACTION_KEY)) {
+                if (readNull()) {
+                    request.setAction(null);
+                    return true;
+                }
+                String action = readString();
+                request.setAction(action);
+                return action != null;
+            }
+            if (isKey(keyStart, keyEnd, VAL1_KEY)) {
+                return readOperand(request, true);
+            }
+            if (isKey(keyStart, keyEnd, VAL2_KEY)) {
+                return readOperand(request, false);
+            }
+            return skipScalar();
+        }
+        
+        private boolean readOperand(CalculateRequest request, boolean first) {
+            Double value;
+            if (readNull()) {
+                value = null;
+            } else {
+                int start = position;
+                if (!skipNumber()) {
+                    return false;
+                }
+                value = parseNumber(start, position);
+            }
+            if (first) {
+                request.setVal1(value);
+            } else {
+                request.setVal2(value);
+            }
+            return true;
+        }
+        
+        private boolean skipScalar() {
+            byte b = input[position];
+            if (b == '"') {
+                int end = endOfString(position + 1);
+                position = end + 1;
+                return end >= 0;
+            }
+            if (b == '-' || (b >= '0' && b <= '9')) {
+                return skipNumber();
+            }
+            return readLiteral("true") || readLiteral("false") || readNull();
+        }
+        
+        /**
+         * Index of the closing quote of a string without escapes, or -1
+         */
+        private int endOfString(int start) {
+            for (int i = start; i < length; i++) {
+                byte b = input[i];
+                if (b == '"') {
+                    return i;
+                }
+                if (b == '\\' || (b >= 0 && b < 0x20)) {
+                    return -1;
+                }
+            }
+            return -1;
+        }
+        
+        private String readString() {
+            if (input[position] != '"') {
+                return null;
+            }
+            int end = endOfString(position + 1);
+            if (end < 0) {
+                return null;
+            }
+            String value = new String(input, position + 1, end - position - 1, StandardCharsets.UTF_8);
+            position = end + 1;
+            return value;
+        }
+        
+        /**
+         * Skips a number in strict JSON syntax
+         */
+        private boolean skipNumber() {
+            if (position < length && input[position] == '-') {
+                position++;
+            }
+            if (position >= length || !isDigit(input[position])) {
+                return false;
+            }
+            if (input[position] == '0') {
+                position++;
+            } else {
+                skipDigits();
+            }
+            if (position < length && input[position] == '.') {
+                position++;
+                if (skipDigits() == 0) {
+                    return false;
+                }
+            }
+            if (position < length && (input[position] == 'e' || input[position] == 'E')) {
+                position++;
+                if (position < length && (input[position] == '+' || input[position] == '-')) {
+                    position++;
+                }
+                if (skipDigits() == 0) {
+                    return false;
+                }
+            }
+            return position >= length || !isDigit(input[position]);
+        }
+        
+        private int skipDigits() {
+            int start = position;
+            while (position < length && isDigit(input[position])) {
+                position++;
+            }
+            return position - start;
+        }
+        
+        /**
+         * Numbers with up to 15 digits and no exponent are exact as mantissa / 10^scale,
+         * because both are exactly representable and the division is correctly rounded
+         */
+        private Double parseNumber(int start, int end) {
+            boolean negative = input[start] == '-';
+            long mantissa = 0;
+            int digits = 0;
+            int scale = -1;
+            for (int i = negative ? start + 1 : start; i < end; i++) {
+                byte b = input[i];
+                if (b == '.') {
+                    scale = 0;
+                } else if (isDigit(b)) {
+                    mantissa = mantissa * 10 + (b - '0');
+                    digits++;
+                    if (scale >= 0) {
+                        scale++;
+                    }
+                } else {
+                    digits = Integer.MAX_VALUE;
+                    break;
+                }
+                if (digits > 15) {
+                    break;
+                }
+            }
+            if (digits > 15) {
+                return Double.parseDouble(new String(input, start, end - start, StandardCharsets.US_ASCII));
+            }
+            double value = scale > 0 ? mantissa / POWERS_OF_TEN[scale] : mantissa;
+            return negative ? -value : value;
+        }
+        
+        private boolean readNull() {
+            return readLiteral("null");
+        }
+        
+        private boolean readLiteral(String literal) {
+            int end = position + literal.length();
+            if (end > length) {
+                return false;
+            }
+            for (int i = 0; i < literal.length(); i++) {
+                if (input[position + i] != literal.charAt(i)) {
+                    return false;
+                }
+            }
+            position = end;
+            return true;
+        }
+        
+        private boolean isKey(int start, int end, byte[] key) {
+            if (end - start != key.length) {
+                return false;
+            }
+            for (int i = 0; i < key.length; i++) {
+                if (input[start + i] != key[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        
+        private boolean consume(char expected) {
+            skipWhitespace();
+            if (position < length && input[position] == expected) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+        
+        private void skipWhitespace() {
+            while (position < length) {
+                byte b = input[position];
+                if (b != ' ' && b != '\n' && b != '\r' && b != '\t') {
+                    return;
+                }
+                position++;
+            }
+        }
+        
+        private static boolean isDigit(byte b) {
+            return b >= '0' && b <= '9';
+        }
+    }
+}
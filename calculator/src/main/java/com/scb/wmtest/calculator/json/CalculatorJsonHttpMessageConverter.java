@@ -0,0 +1,128 @@
+package com.scb.wmtest.calculator.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scb.wmtest.calculator.model.CalculateRequest;
+import com.scb.wmtest.calculator.model.CalculateResponse;
+import com.scb.wmtest.calculator.model.ErrorResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.Arrays;
+
+/**
+ * Reads {@link CalculateRequest} and writes {@link CalculateResponse} and
+ * {@link ErrorResponse} with {@link CalculatorJsonCodec} instead of Jackson
+ * databinding. Spring Boot puts converter beans ahead of its default ones, so this
+ * converter handles these types and every other type still goes to Jackson.
+ * <p>
+ * Each request thread keeps one {@link JsonWriter} and one input buffer, so the
+ * codec itself allocates nothing per request beyond the request object. Requests the
+ * codec does not understand are handed to Jackson. The codec ignores
+ * {@code spring.jackson.*} settings; set {@code calculator.json.codec.enabled=false}
+ * to go back to Jackson for these types as well.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class CalculatorJsonHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    private static final int MAX_BUFFERED_REQUEST = 64 * 1024;
+    
+    private static final ThreadLocal<JsonWriter> WRITERS = ThreadLocal.withInitial(JsonWriter::new);
+    private static final ThreadLocal<byte[][]> INPUT_BUFFERS = ThreadLocal.withInitial(() -> new byte[][] {new byte[512]});
+    
+    private final MappingJackson2HttpMessageConverter jackson;
+    private final boolean enabled;
+    
+    @Autowired
+    public CalculatorJsonHttpMessageConverter(ObjectMapper objectMapper,
+                                              @Value("${calculator.json.codec.enabled:true}") boolean enabled) {
+        super(MediaType.APPLICATION_JSON, new MediaType("application", "*+json"));
+        this.jackson = new MappingJackson2HttpMessageConverter(objectMapper);
+        this.enabled = enabled;
+    }
+    
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return clazz == CalculateRequest.class || clazz == CalculateResponse.class || clazz == ErrorResponse.class;
+    }
+    
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return enabled && clazz == CalculateRequest.class && canRead(mediaType);
+    }
+    
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return enabled && (clazz == CalculateResponse.class || clazz == ErrorResponse.class) && canWrite(mediaType);
+    }
+    
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        byte[][] holder = INPUT_BUFFERS.get();
+        byte[] buffer = holder[0];
+        int length = 0;
+        InputStream body = inputMessage.getBody();
+        int read;
+        while ((read = body.read(buffer, length, buffer.length - length)) > 0) {
+            length += read;
+            if (length == buffer.length) {
+                if (length >= MAX_BUFFERED_REQUEST) {
+                    return readWithJackson(clazz, inputMessage, Arrays.copyOf(buffer, length), body);
+                }
+                buffer = Arrays.copyOf(buffer, length * 2);
+                holder[0] = buffer;
+            }
+        }
+        CalculateRequest request = CalculatorJsonCodec.readCalculateRequest(buffer, length);
+        if (request != null) {
+            return request;
+        }
+        return readWithJackson(clazz, inputMessage, Arrays.copyOf(buffer, length), null);
+    }
+    
+    /**
+     * Replays the bytes read so far, followed by the rest of the body, to Jackson
+     */
+    private Object readWithJackson(Class<?> clazz, HttpInputMessage inputMessage, byte[] consumed, InputStream rest)
+            throws IOException, HttpMessageNotReadableException {
+        InputStream replay = rest == null
+                ? new ByteArrayInputStream(consumed)
+                : new SequenceInputStream(new ByteArrayInputStream(consumed), rest);
+        return jackson.read(clazz, new HttpInputMessage() {
+            @Override
+            public InputStream getBody() {
+                return replay;
+            }
+            
+            @Override
+            public HttpHeaders getHeaders() {
+                return inputMessage.getHeaders();
+            }
+        });
+    }
+    
+    @Override
+    protected void writeInternal(Object value, HttpOutputMessage outputMessage) throws IOException {
+        JsonWriter writer = WRITERS.get().reset();
+        if (value instanceof CalculateResponse) {
+            CalculatorJsonCodec.writeCalculateResponse(writer, (CalculateResponse) value);
+        } else {
+            CalculatorJsonCodec.writeErrorResponse(writer, (ErrorResponse) value);
+        }
+        outputMessage.getHeaders().setContentLength(writer.size());
+        writer.writeTo(outputMessage.getBody());
+    }
+}
@@ -0,0 +1,302 @@
+package com.scb.wmtest.calculator.json;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+
+/**
+ * Growable byte buffer that writes JSON tokens the way Jackson writes them, without
+ * going through intermediate strings. A writer is meant to be reused: after
+ * {@link #reset()} it keeps its buffer, so encoding a response allocates nothing once
+ * the buffer has grown to the response size.
+ */
+public final class JsonWriter {
+
+    private static final byte[] HEX = "0123456789ABCDEF".getBytes();
+    private static final byte[] NULL = {'n', 'u', 'l', 'l'};
+    
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    private static final long[] LONG_POWERS_OF_TEN = {
+        1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L, 10000000L, 100000000L, 1000000000L,
+        10000000000L, 100000000000L, 1000000000000L, 10000000000000L, 100000000000000L,
+        1000000000000000L, 10000000000000000L
+    };
+    
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    
+    /**
+     * The last formatted second, shared by all writers
+     */
+    private static volatile FormattedSecond lastSecond = new FormattedSecond(LocalDateTime.MIN);
+    
+    private byte[] buffer;
+    private int size;
+    
+    public JsonWriter() {
+        this(512);
+    }
+    
+    public JsonWriter(int initialCapacity) {
+        this.buffer = new byte[initialCapacity];
+    }
+    
+    public JsonWriter reset() {
+        size = 0;
+        return this;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, size);
+    }
+    
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(buffer, 0, size);
+    }
+    
+    public JsonWriter raw(char c) {
+        ensureCapacity(1);
+        buffer[size++] = (byte) c;
+        return this;
+    }
+    
+    public JsonWriter raw(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, size, bytes.length);
+        size += bytes.length;
+        return this;
+    }
+    
+    public JsonWriter nullValue() {
+        return raw(NULL);
+    }
+    
+    /**
+     * Writes a quoted string, escaping it as Jackson does: short escapes for common
+     * control characters, {@code \}{@code u00XX} for the other ones and UTF-8 for
+     * everything outside ASCII
+     */
+    public JsonWriter string(String value) {
+        if (value == null) {
+            return nullValue();
+        }
+        int length = value.length();
+        ensureCapacity(length + 2);
+        buffer[size++] = '"';
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x20 && c < 0x80 && c != '"' && c != '\\') {
+                ensureCapacity(1);
+                buffer[size++] = (byte) c;
+            } else if (c < 0x80) {
+                escape(c);
+            } else {
+                i = utf8(value, i, c);
+            }
+        }
+        return raw('"');
+    }
+    
+    private void escape(char c) {
+        ensureCapacity(6);
+        buffer[size++] = '\\';
+        switch (c) {
+            case '"':
+            case '\\':
+                buffer[size++] = (byte) c;
+                break;
+            case '\b':
+                buffer[size++] = 'b';
+                break;
+            case '\t':
+                buffer[size++] = 't';
+                break;
+            case '\n':
+                buffer[size++] = 'n';
+                break;
+            case '\f':
+                buffer[size++] = 'f';
+                break;
+            case '\r':
+                buffer[size++] = 'r';
+                break;
+            default:
+                buffer[size++] = 'u';
+                buffer[size++] = '0';
+                buffer[size++] = '0';
+                buffer[size++] = HEX[c >> 4];
+                buffer[size++] = HEX[c & 0xF];
+        }
+    }
+    
+    /**
+     * Encodes the character at {@code index} as UTF-8
+     *
+     * @return the index of the last character consumed, which is the next one for a surrogate pair
+     */
+    private int utf8(String value, int index, char c) {
+        ensureCapacity(4);
+        if (c < 0x800) {
+            buffer[size++] = (byte) (0xC0 | (c >> 6));
+            buffer[size++] = (byte) (0x80 | (c & 0x3F));
+        } else if (Character.isHighSurrogate(c) && index + 1 < value.length()
+                && Character.isLowSurrogate(value.charAt(index + 1))) {
+            int codePoint = Character.toCodePoint(c, value.charAt(index + 1));
+            buffer[size++] = (byte) (0xF0 | (codePoint >> 18));
+            buffer[size++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+            buffer[size++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+            buffer[size++] = (byte) (0x80 | (codePoint & 0x3F));
+            return index + 1;
+        } else if (Character.isSurrogate(c)) {
+            buffer[size++] = '?';
+        } else {
+            buffer[size++] = (byte) (0xE0 | (c >> 12));
+            buffer[size++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+            buffer[size++] = (byte) (0x80 | (c & 0x3F));
+        }
+        return index;
+    }
+    
+    /**
+     * Writes a double with the digits of {@link Double#toString(double)}, as Jackson
+     * does. Values in plain notation with up to 15 significant digits, which covers
+     * nearly all calculator results, are written straight from their decimal mantissa;
+     * the rest fall back to {@code Double.toString}. Non-finite values are written as
+     * strings.
+     */
+    public JsonWriter number(double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            return raw('"').ascii(Double.toString(value)).raw('"');
+        }
+        double magnitude = Math.abs(value);
+        if (magnitude == 0) {
+            return Double.doubleToRawLongBits(value) < 0 ? ascii("-0.0") : ascii("0.0");
+        }
+        if (magnitude >= 1e-3 && magnitude < 1e7) {
+            for (int scale = 1; scale <= 15; scale++) {
+                double scaled = magnitude * POWERS_OF_TEN[scale];
+                if (scaled >= 1e15) {
+                    break;
+                }
+                long mantissa = Math.round(scaled);
+                if (mantissa / POWERS_OF_TEN[scale] == magnitude) {
+                    if (value < 0) {
+                        raw('-');
+                    }
+                    return decimal(mantissa, scale);
+                }
+            }
+        }
+        return ascii(Double.toString(value));
+    }
+    
+    /**
+     * Writes {@code mantissa / 10^scale} in plain notation
+     */
+    private JsonWriter decimal(long mantissa, int scale) {
+        long integerPart = mantissa / LONG_POWERS_OF_TEN[scale];
+        long fraction = mantissa % LONG_POWERS_OF_TEN[scale];
+        number(integerPart);
+        ensureCapacity(scale + 1);
+        buffer[size++] = '.';
+        for (int i = scale - 1; i >= 0; i--) {
+            buffer[size + i] = (byte) ('0' + fraction % 10);
+            fraction /= 10;
+        }
+        size += scale;
+        return this;
+    }
+    
+    public JsonWriter number(long value) {
+        if (value < 0) {
+            if (value == Long.MIN_VALUE) {
+                return ascii(Long.toString(value));
+            }
+            raw('-');
+            value = -value;
+        }
+        long remaining = value;
+        int digits = 1;
+        while (remaining >= 10) {
+            remaining /= 10;
+            digits++;
+        }
+        ensureCapacity(digits);
+        for (int i = digits - 1; i >= 0; i--) {
+            buffer[size + i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        size += digits;
+        return this;
+    }
+    
+    /**
+     * Writes a timestamp as {@code "yyyy-MM-dd HH:mm:ss"}. Responses created within the
+     * same second share one formatted copy, so only the first response of each second
+     * pays for formatting.
+     */
+    public JsonWriter timestamp(LocalDateTime timestamp) {
+        if (timestamp == null) {
+            return nullValue();
+        }
+        FormattedSecond formatted = lastSecond;
+        if (!formatted.matches(timestamp)) {
+            formatted = new FormattedSecond(timestamp);
+            lastSecond = formatted;
+        }
+        return raw(formatted.quoted);
+    }
+    
+    private JsonWriter ascii(String value) {
+        int length = value.length();
+        ensureCapacity(length);
+        for (int i = 0; i < length; i++) {
+            buffer[size++] = (byte) value.charAt(i);
+        }
+        return this;
+    }
+    
+    private void ensureCapacity(int additional) {
+        if (size + additional > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + additional));
+        }
+    }
+    
+    /**
+     * A timestamp truncated to the second together with its quoted JSON form
+     */
+    private static final class FormattedSecond {
+    
+        private final int year;
+        private final int dayOfYear;
+        private final int secondOfDay;
+        private final byte[] quoted;
+        
+        FormattedSecond(LocalDateTime timestamp) {
+            this.year = timestamp.getYear();
+            this.dayOfYear = timestamp.getDayOfYear();
+            this.secondOfDay = secondOfDay(timestamp);
+            this.quoted = timestamp == LocalDateTime.MIN
+                    ? new byte[0]
+                    : ('"' + TIMESTAMP_FORMAT.format(timestamp) + '"').getBytes();
+        }
+        
+        boolean matches(LocalDateTime timestamp) {
+            return secondOfDay == secondOfDay(timestamp)
+                    && dayOfYear == timestamp.getDayOfYear()
+                    && year == timestamp.getYear();
+        }
+        
+        private static int secondOfDay(LocalDateTime timestamp) {
+            return timestamp.getHour() * 3600 + timestamp.getMinute() * 60 + timestamp.getSecond();
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.scb.wmtest.calculator.metrics;
+
+import com.scb.wmtest.calculator.operation.OperationRegistry;
+import com.scb.wmtest.calculator.operation.OperationStrategy;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency and error metrics of the request path:
+ * <ul>
+ * <li>{@code calculator.calculations}, a timer per operation and outcome</li>
+ * <li>{@code calculator.errors}, a counter per error code of the error responses sent</li>
+ * <li>{@code calculator.jwt.verifications}, a timer of bearer token checks per result</li>
+ * </ul>
+ * Timers publish client-side percentiles from an HdrHistogram and, for Prometheus, a
+ * percentile histogram, both bounded to the expected range of each timer. All meters
+ * of an operation are created when the binder is bound, directly in the bound registry,
+ * so recording a calculation is an identity map read and a histogram update, without
+ * allocation. Nothing is recorded until then.
+ */
+@Component
+public class CalculatorMetrics implements MeterBinder {
+
+    private static final double[] PERCENTILES = {0.5, 0.99, 0.999};
+    
+    private final OperationRegistry operationRegistry;
+    private final boolean enabled;
+    private final boolean percentileHistogram;
+    private final List<MeterRegistry> registries = new ArrayList<>();
+    private volatile Meters meters;
+    
+    @Autowired
+    public CalculatorMetrics(OperationRegistry operationRegistry,
+                             @Value("${calculator.metrics.enabled:true}") boolean enabled,
+                             @Value("${calculator.metrics.percentile-histogram:true}") boolean percentileHistogram) {
+        this.operationRegistry = operationRegistry;
+        this.enabled = enabled;
+        this.percentileHistogram = percentileHistogram;
+    }
+    
+    /**
+     * Metrics that record nothing
+     */
+    public static CalculatorMetrics disabled() {
+        return new CalculatorMetrics(new OperationRegistry(), false, false);
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    /**
+     * Records a calculation by a registered operation
+     *
+     * @param nanos how long the calculation took, including the result cache lookup
+     */
+    public void recordCalculation(OperationStrategy operation, boolean successful, long nanos) {
+        Meters current = meters;
+        if (current == null) {
+            return;
+        }
+        Timer timer = (successful ? current.successes : current.failures).get(operation);
+        if (timer != null) {
+            timer.record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+    
+    /**
+     * Counts an error response sent to a client
+     */
+    public void recordError(String errorCode) {
+        Meters current = meters;
+        if (current == null) {
+            return;
+        }
+        current.errors.computeIfAbsent(errorCode, code -> Counter.builder("calculator.errors")
+                .description("Error responses by error code")
+                .tag("code", code)
+                .register(current.registry)).increment();
+    }
+    
+    /**
+     * Records a bearer token check
+     */
+    public void recordTokenVerification(boolean valid, long nanos) {
+        Meters current = meters;
+        if (current == null) {
+            return;
+        }
+        (valid ? current.validTokens : current.invalidTokens).record(nanos, TimeUnit.NANOSECONDS);
+    }
+    
+    /**
+     * Creates the meters in the registry. Bound to more than one registry, the meters
+     * record into a composite of all of them.
+     */
+    @Override
+    public synchronized void bindTo(MeterRegistry registry) {
+        if (!enabled) {
+            return;
+        }
+        registries.add(registry);
+        MeterRegistry target = registry;
+        if (registries.size() > 1) {
+            CompositeMeterRegistry composite = new CompositeMeterRegistry();
+            registries.forEach(composite::add);
+            target = composite;
+        }
+        meters = new Meters(target);
+    }
+    
+    /**
+     * All meters of one registry
+     */
+    private final class Meters {
+    
+        private final MeterRegistry registry;
+        private final Map<OperationStrategy, Timer> successes = new IdentityHashMap<>();
+        private final Map<OperationStrategy, Timer> failures = new IdentityHashMap<>();
+        private final ConcurrentHashMap<String, Counter> errors = new ConcurrentHashMap<>();
+        private final Timer validTokens;
+        private final Timer invalidTokens;
+        
+        Meters(MeterRegistry registry) {
+            this.registry = registry;
+            for (String name : operationRegistry.getOperationNames()) {
+                OperationStrategy operation = operationRegistry.find(name);
+                successes.put(operation, calculationTimer(name, "success"));
+                failures.put(operation, calculationTimer(name, "error"));
+            }
+            this.validTokens = tokenTimer("valid");
+            this.invalidTokens = tokenTimer("invalid");
+        }
+        
+        private Timer calculationTimer(String operation, String outcome) {
+            return Timer.builder("calculator.calculations")
+                    .description("Calculations by operation and outcome")
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .publishPercentiles(PERCENTILES)
+                    .publishPercentileHistogram(percentileHistogram)
+                    .minimumExpectedValue(Duration.ofNanos(100))
+                    .maximumExpectedValue(Duration.ofSeconds(1))
+                    .register(registry);
+        }
+        
+        private Timer tokenTimer(String result) {
+            return Timer.builder("calculator.jwt.verifications")
+                    .description("Bearer token checks, including cached ones")
+                    .tag("result", result)
+                    .publishPercentiles(PERCENTILES)
+                    .publishPercentileHistogram(percentileHistogram)
+                    .minimumExpectedValue(Duration.ofNanos(100))
+                    .maximumExpectedValue(Duration.ofMillis(100))
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.scb.wmtest.calculator.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+/**
+ * Request model for batch calculator operations
+ */
+@Schema(description = "Calculator batch operation request")
+public class BatchCalculateRequest {
+    
+    public static final int MAX_OPERATIONS = 100_000;
+    
+    @Schema(description = "Operations to evaluate, in order", required = true)
+    @NotEmpty(message = "Operations cannot be empty")
+    @Size(max = MAX_OPERATIONS, message = "A batch cannot contain more than " + MAX_OPERATIONS + " operations")
+    private List<BatchOperation> operations;
+    
+    public BatchCalculateRequest() {
+    }
+    
+    public BatchCalculateRequest(List<BatchOperation> operations) {
+        this.operations = operations;
+    }
+    
+    public List<BatchOperation> getOperations() {
+        return operations;
+    }
+    
+    public void setOperations(List<BatchOperation> operations) {
+        this.operations = operations;
+    }
+}
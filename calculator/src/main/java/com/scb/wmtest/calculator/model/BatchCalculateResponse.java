@@ -0,0 +1,87 @@
+package com.scb.wmtest.calculator.model;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Response model for batch calculator operations
+ */
+@Schema(description = "Calculator batch operation response")
+public class BatchCalculateResponse {
+    
+    @Schema(description = "API version", example = "1.0")
+    private String apiVersion;
+    
+    @Schema(description = "Number of operations that completed successfully", example = "2")
+    private int succeeded;
+    
+    @Schema(description = "Number of operations that failed", example = "1")
+    private int failed;
+    
+    @Schema(description = "Per-operation results, in request order")
+    private List<BatchResult> results;
+    
+    @Schema(description = "Response timestamp")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime timestamp;
+    
+    public BatchCalculateResponse() {
+        this.timestamp = LocalDateTime.now();
+    }
+    
+    public BatchCalculateResponse(String apiVersion, List<BatchResult> results) {
+        this.apiVersion = apiVersion;
+        this.results = results;
+        for (BatchResult result : results) {
+            if (result.isSuccessful()) {
+                succeeded++;
+            } else {
+                failed++;
+            }
+        }
+        this.timestamp = LocalDateTime.now();
+    }
+    
+    public String getApiVersion() {
+        return apiVersion;
+    }
+    
+    public void setApiVersion(String apiVersion) {
+        this.apiVersion = apiVersion;
+    }
+    
+    public int getSucceeded() {
+        return succeeded;
+    }
+    
+    public void setSucceeded(int succeeded) {
+        this.succeeded = succeeded;
+    }
+    
+    public int getFailed() {
+        return failed;
+    }
+    
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+    
+    public List<BatchResult> getResults() {
+        return results;
+    }
+    
+    public void setResults(List<BatchResult> results) {
+        this.results = results;
+    }
+    
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+    
+    public void setTimestamp(LocalDateTime timestamp) {
+        this.timestamp = timestamp;
+    }
+}
@@ -0,0 +1,52 @@
+package com.scb.wmtest.calculator.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Single operation within a batch calculation request
+ */
+@Schema(description = "Calculator batch operation item")
+public class BatchOperation {
+    
+    @Schema(description = "Mathematical operation to perform", example = "divide", required = true)
+    private String action;
+    
+    @Schema(description = "First operand", example = "10.0", required = true)
+    private Double val1;
+    
+    @Schema(description = "Second operand, omitted for single operand operations", example = "5.0")
+    private Double val2;
+    
+    public BatchOperation() {
+    }
+    
+    public BatchOperation(String action, Double val1, Double val2) {
+        this.action = action;
+        this.val1 = val1;
+        this.val2 = val2;
+    }
+    
+    public String getAction() {
+        return action;
+    }
+    
+    public void setAction(String action) {
+        this.action = action;
+    }
+    
+    public Double getVal1() {
+        return val1;
+    }
+    
+    public void setVal1(Double val1) {
+        this.val1 = val1;
+    }
+    
+    public Double getVal2() {
+        return val2;
+    }
+    
+    public void setVal2(Double val2) {
+        this.val2 = val2;
+    }
+}
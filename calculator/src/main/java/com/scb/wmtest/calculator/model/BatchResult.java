@@ -0,0 +1,80 @@
+package com.scb.wmtest.calculator.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Outcome of a single operation within a batch calculation
+ */
+@Schema(description = "Calculator batch operation result")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchResult {
+    
+    @Schema(description = "Position of the operation in the request, counted from 0", example = "0")
+    private long index;
+    
+    @Schema(description = "Calculation result, absent when the operation failed", example = "2.0")
+    private Double result;
+    
+    @Schema(description = "Error code, absent when the operation succeeded", example = "DIVISION_BY_ZERO")
+    private String errorCode;
+    
+    @Schema(description = "Error description, absent when the operation succeeded")
+    private String message;
+    
+    public BatchResult() {
+    }
+    
+    public BatchResult(long index, Double result, String errorCode, String message) {
+        this.index = index;
+        this.result = result;
+        this.errorCode = errorCode;
+        this.message = message;
+    }
+    
+    public static BatchResult success(long index, double result) {
+        return new BatchResult(index, result, null, null);
+    }
+    
+    public static BatchResult failure(long index, String errorCode, String message) {
+        return new BatchResult(index, null, errorCode, message);
+    }
+    
+    @JsonIgnore
+    public boolean isSuccessful() {
+        return errorCode == null;
+    }
+    
+    public long getIndex() {
+        return index;
+    }
+    
+    public void setIndex(long index) {
+        this.index = index;
+    }
+    
+    public Double getResult() {
+        return result;
+    }
+    
+    public void setResult(Double result) {
+        this.result = result;
+    }
+    
+    public String getErrorCode() {
+        return errorCode;
+    }
+    
+    public void setErrorCode(String errorCode) {
+        this.errorCode = errorCode;
+    }
+    
+    public String getMessage() {
+        return message;
+    }
+    
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
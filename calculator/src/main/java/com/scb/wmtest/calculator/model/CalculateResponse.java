@@ -1,9 +1,11 @@
 package com.scb.wmtest.calculator.model;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 
 /**
  * Response model for calculator operations
@@ -24,6 +26,10 @@ public class CalculateResponse {
     @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
     private LocalDateTime timestamp;
     
+    @Schema(description = "Server time per request phase in microseconds, only sent when server timing is enabled")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Map<String, Long> timings;
+    
     public CalculateResponse() {
         this.timestamp = LocalDateTime.now();
     }
@@ -66,4 +72,12 @@ public class CalculateResponse {
     public void setTimestamp(LocalDateTime timestamp) {
         this.timestamp = timestamp;
     }
+    
+    public Map<String, Long> getTimings() {
+        return timings;
+    }
+    
+    public void setTimings(Map<String, Long> timings) {
+        this.timings = timings;
+    }
 }
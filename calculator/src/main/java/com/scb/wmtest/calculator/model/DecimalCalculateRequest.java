@@ -0,0 +1,99 @@
+package com.scb.wmtest.calculator.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import javax.validation.constraints.Digits;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Request model for calculations in decimal precision
+ */
+@Schema(description = "Decimal precision calculation request")
+public class DecimalCalculateRequest {
+
+    public static final int DEFAULT_PRECISION = 34;
+    
+    public static final int MAX_PRECISION = 1000;
+    
+    /**
+     * Most digits an operand may have before and after the decimal point, so that an
+     * operand such as 1E+1000000000 is rejected before any calculation expands it
+     */
+    public static final int MAX_OPERAND_DIGITS = 1000;
+    
+    @Schema(description = "Mathematical operation to perform", example = "divide", required = true)
+    @NotBlank(message = "Action cannot be blank")
+    private String action;
+    
+    @Schema(description = "First operand", example = "1", required = true)
+    @NotNull(message = "First value cannot be null")
+    @Digits(integer = MAX_OPERAND_DIGITS, fraction = MAX_OPERAND_DIGITS,
+            message = "First value cannot have more than " + MAX_OPERAND_DIGITS + " digits before or after the decimal point")
+    private BigDecimal val1;
+    
+    @Schema(description = "Second operand, omitted for single operand operations", example = "3")
+    @Digits(integer = MAX_OPERAND_DIGITS, fraction = MAX_OPERAND_DIGITS,
+            message = "Second value cannot have more than " + MAX_OPERAND_DIGITS + " digits before or after the decimal point")
+    private BigDecimal val2;
+    
+    @Schema(description = "Number of significant digits of the result", example = "34", defaultValue = "34")
+    @Min(value = 1, message = "Precision must be at least 1")
+    @Max(value = MAX_PRECISION, message = "Precision cannot be more than " + MAX_PRECISION)
+    private Integer precision;
+    
+    @Schema(description = "Rounding mode applied to the result", example = "HALF_EVEN", defaultValue = "HALF_EVEN")
+    private RoundingMode roundingMode;
+    
+    public DecimalCalculateRequest() {
+    }
+    
+    public DecimalCalculateRequest(String action, BigDecimal val1, BigDecimal val2) {
+        this.action = action;
+        this.val1 = val1;
+        this.val2 = val2;
+    }
+    
+    public String getAction() {
+        return action;
+    }
+    
+    public void setAction(String action) {
+        this.action = action;
+    }
+    
+    public BigDecimal getVal1() {
+        return val1;
+    }
+    
+    public void setVal1(BigDecimal val1) {
+        this.val1 = val1;
+    }
+    
+    public BigDecimal getVal2() {
+        return val2;
+    }
+    
+    public void setVal2(BigDecimal val2) {
+        this.val2 = val2;
+    }
+    
+    public Integer getPrecision() {
+        return precision;
+    }
+    
+    public void setPrecision(Integer precision) {
+        this.precision = precision;
+    }
+    
+    public RoundingMode getRoundingMode() {
+        return roundingMode;
+    }
+    
+    public void setRoundingMode(RoundingMode roundingMode) {
+        this.roundingMode = roundingMode;
+    }
+}
@@ -0,0 +1,95 @@
+package com.scb.wmtest.calculator.model;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+
+/**
+ * Response model for calculations in decimal precision
+ */
+@Schema(description = "Decimal precision calculation response")
+public class DecimalCalculateResponse {
+
+    @Schema(description = "API version", example = "1.0")
+    private String apiVersion;
+    
+    @Schema(description = "Operation parameters")
+    private Params params;
+    
+    @Schema(description = "Result as a decimal string, so that no digits are lost to a double",
+            example = "0.3333333333333333333333333333333333")
+    private String result;
+    
+    @Schema(description = "Number of significant digits the result was rounded to", example = "34")
+    private int precision;
+    
+    @Schema(description = "Rounding mode the result was rounded with", example = "HALF_EVEN")
+    private RoundingMode roundingMode;
+    
+    @Schema(description = "Response timestamp")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime timestamp;
+    
+    public DecimalCalculateResponse() {
+        this.timestamp = LocalDateTime.now();
+    }
+    
+    public DecimalCalculateResponse(String apiVersion, Params params, String result, int precision, RoundingMode roundingMode) {
+        this.apiVersion = apiVersion;
+        this.params = params;
+        this.result = result;
+        this.precision = precision;
+        this.roundingMode = roundingMode;
+        this.timestamp = LocalDateTime.now();
+    }
+    
+    public String getApiVersion() {
+        return apiVersion;
+    }
+    
+    public void setApiVersion(String apiVersion) {
+        this.apiVersion = apiVersion;
+    }
+    
+    public Params getParams() {
+        return params;
+    }
+    
+    public void setParams(Params params) {
+        this.params = params;
+    }
+    
+    public String getResult() {
+        return result;
+    }
+    
+    public void setResult(String result) {
+        this.result = result;
+    }
+    
+    public int getPrecision() {
+        return precision;
+    }
+    
+    public void setPrecision(int precision) {
+        this.precision = precision;
+    }
+    
+    public RoundingMode getRoundingMode() {
+        return roundingMode;
+    }
+    
+    public void setRoundingMode(RoundingMode roundingMode) {
+        this.roundingMode = roundingMode;
+    }
+    
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+    
+    public void setTimestamp(LocalDateTime timestamp) {
+        this.timestamp = timestamp;
+    }
+}
@@ -0,0 +1,45 @@
+package com.scb.wmtest.calculator.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.Size;
+import java.util.Map;
+
+/**
+ * Request model for expression evaluation
+ */
+@Schema(description = "Calculator expression request")
+public class ExpressionRequest {
+    
+    @Schema(description = "Expression over the calculator operations", example = "(a + b) * sqrt(c) / 100", required = true)
+    @NotBlank(message = "Expression cannot be blank")
+    @Size(max = 1000, message = "Expression cannot be longer than 1000 characters")
+    private String expression;
+    
+    @Schema(description = "Values of the variables referenced by the expression", example = "{\"a\": 10, \"b\": 5, \"c\": 16}")
+    private Map<String, Double> variables;
+    
+    public ExpressionRequest() {
+    }
+    
+    public ExpressionRequest(String expression, Map<String, Double> variables) {
+        this.expression = expression;
+        this.variables = variables;
+    }
+    
+    public String getExpression() {
+        return expression;
+    }
+    
+    public void setExpression(String expression) {
+        this.expression = expression;
+    }
+    
+    public Map<String, Double> getVariables() {
+        return variables;
+    }
+    
+    public void setVariables(Map<String, Double> variables) {
+        this.variables = variables;
+    }
+}
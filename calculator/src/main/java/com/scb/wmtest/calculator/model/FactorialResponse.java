@@ -0,0 +1,81 @@
+package com.scb.wmtest.calculator.model;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+/**
+ * Response model for exact factorials
+ */
+@Schema(description = "Exact factorial response")
+public class FactorialResponse {
+    
+    @Schema(description = "API version", example = "1.0")
+    private String apiVersion;
+    
+    @Schema(description = "Number the factorial was calculated for", example = "25")
+    private int n;
+    
+    @Schema(description = "Number of decimal digits in the result", example = "26")
+    private int digits;
+    
+    @Schema(description = "Exact factorial as a decimal string", example = "15511210043330985984000000")
+    private String result;
+    
+    @Schema(description = "Response timestamp")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime timestamp;
+    
+    public FactorialResponse() {
+        this.timestamp = LocalDateTime.now();
+    }
+    
+    public FactorialResponse(String apiVersion, int n, String result) {
+        this.apiVersion = apiVersion;
+        this.n = n;
+        this.digits = result.length();
+        this.result = result;
+        this.timestamp = LocalDateTime.now();
+    }
+    
+    public String getApiVersion() {
+        return apiVersion;
+    }
+    
+    public void setApiVersion(String apiVersion) {
+        this.apiVersion = apiVersion;
+    }
+    
+    public int getN() {
+        return n;
+    }
+    
+    public void setN(int n) {
+        this.n = n;
+    }
+    
+    public int getDigits() {
+        return digits;
+    }
+    
+    public void setDigits(int digits) {
+        this.digits = digits;
+    }
+    
+    public String getResult() {
+        return result;
+    }
+    
+    public void setResult(String result) {
+        this.result = result;
+    }
+    
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+    
+    public void setTimestamp(LocalDateTime timestamp) {
+        this.timestamp = timestamp;
+    }
+}
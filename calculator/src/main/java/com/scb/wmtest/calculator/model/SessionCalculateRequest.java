@@ -0,0 +1,64 @@
+package com.scb.wmtest.calculator.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Calculation message sent over a WebSocket calculation session
+ */
+@Schema(description = "Calculator session request message")
+public class SessionCalculateRequest {
+
+    @Schema(description = "Correlation id chosen by the client and echoed in the response", example = "42", required = true)
+    private String id;
+    
+    @Schema(description = "Mathematical operation to perform", example = "divide", required = true)
+    private String action;
+    
+    @Schema(description = "First operand", example = "10.0", required = true)
+    private Double val1;
+    
+    @Schema(description = "Second operand, omitted for single operand operations", example = "5.0")
+    private Double val2;
+    
+    public SessionCalculateRequest() {
+    }
+    
+    public SessionCalculateRequest(String id, String action, Double val1, Double val2) {
+        this.id = id;
+        this.action = action;
+        this.val1 = val1;
+        this.val2 = val2;
+    }
+    
+    public String getId() {
+        return id;
+    }
+    
+    public void setId(String id) {
+        this.id = id;
+    }
+    
+    public String getAction() {
+        return action;
+    }
+    
+    public void setAction(String action) {
+        this.action = action;
+    }
+    
+    public Double getVal1() {
+        return val1;
+    }
+    
+    public void setVal1(Double val1) {
+        this.val1 = val1;
+    }
+    
+    public Double getVal2() {
+        return val2;
+    }
+    
+    public void setVal2(Double val2) {
+        this.val2 = val2;
+    }
+}
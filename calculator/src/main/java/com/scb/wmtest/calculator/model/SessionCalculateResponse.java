@@ -0,0 +1,74 @@
+package com.scb.wmtest.calculator.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Outcome of one calculation message in a WebSocket calculation session
+ */
+@Schema(description = "Calculator session response message")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SessionCalculateResponse {
+
+    @Schema(description = "Correlation id of the request, absent if the request could not be read", example = "42")
+    private String id;
+    
+    @Schema(description = "Calculation result, absent when the calculation failed", example = "2.0")
+    private Double result;
+    
+    @Schema(description = "Error code, absent when the calculation succeeded", example = "DIVISION_BY_ZERO")
+    private String errorCode;
+    
+    @Schema(description = "Error description, absent when the calculation succeeded")
+    private String message;
+    
+    public SessionCalculateResponse() {
+    }
+    
+    public SessionCalculateResponse(String id, Double result, String errorCode, String message) {
+        this.id = id;
+        this.result = result;
+        this.errorCode = errorCode;
+        this.message = message;
+    }
+    
+    public static SessionCalculateResponse success(String id, double result) {
+        return new SessionCalculateResponse(id, result, null, null);
+    }
+    
+    public static SessionCalculateResponse failure(String id, String errorCode, String message) {
+        return new SessionCalculateResponse(id, null, errorCode, message);
+    }
+    
+    public String getId() {
+        return id;
+    }
+    
+    public void setId(String id) {
+        this.id = id;
+    }
+    
+    public Double getResult() {
+        return result;
+    }
+    
+    public void setResult(Double result) {
+        this.result = result;
+    }
+    
+    public String getErrorCode() {
+        return errorCode;
+    }
+    
+    public void setErrorCode(String errorCode) {
+        this.errorCode = errorCode;
+    }
+    
+    public String getMessage() {
+        return message;
+    }
+    
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,45 @@
+package com.scb.wmtest.calculator.operation;
+
+import java.util.function.DoubleBinaryOperator;
+
+/**
+ * Operation on two operands
+ */
+public interface BinaryOperationStrategy extends OperationStrategy {
+
+    /**
+     * Applies the operation
+     *
+     * @param val1 the first operand
+     * @param val2 the second operand
+     * @return the result of the operation
+     * @throws com.scb.wmtest.calculator.exception.CalculatorException if the operation is undefined for the operands
+     */
+    double apply(double val1, double val2);
+
+    /**
+     * Creates a named two operand operation from a function
+     *
+     * @param name the operation name
+     * @param function the function, responsible for its own domain checks
+     * @return the operation
+     */
+    static BinaryOperationStrategy of(String name, DoubleBinaryOperator function) {
+        return new BinaryOperationStrategy() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public double apply(double val1, double val2) {
+                return function.applyAsDouble(val1, val2);
+            }
+
+            @Override
+            public String toString() {
+                return name;
+            }
+        };
+    }
+}
@@ -0,0 +1,161 @@
+package com.scb.wmtest.calculator.operation;
+
+import com.scb.wmtest.calculator.CalculatorOperation;
+import com.scb.wmtest.calculator.exception.CalculatorErrors;
+import com.scb.wmtest.calculator.exception.CalculatorException;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * The calculator's own operations, one strategy per {@link CalculatorOperation}.
+ * <p>
+ * The static functions hold the domain checks and are shared by the strategies,
+ * the columnar kernels and compiled expressions, so every evaluation path reports
+ * the same error codes and messages.
+ */
+public final class BuiltInOperations {
+
+    /**
+     * Largest n whose factorial is representable as a double
+     */
+    public static final int MAX_DOUBLE_FACTORIAL = 170;
+    
+    private static final double[] FACTORIALS = new double[MAX_DOUBLE_FACTORIAL + 1];
+    
+    private static final Map<CalculatorOperation, OperationStrategy> STRATEGIES = new EnumMap<>(CalculatorOperation.class);
+    
+    static {
+        FACTORIALS[0] = 1;
+        for (int i = 1; i <= MAX_DOUBLE_FACTORIAL; i++) {
+            FACTORIALS[i] = FACTORIALS[i - 1] * i;
+        }
+    }
+
+    static {
+        binary(CalculatorOperation.SUM, (val1, val2) -> val1 + val2);
+        binary(CalculatorOperation.SUBTRACT, (val1, val2) -> val1 - val2);
+        binary(CalculatorOperation.MULTIPLY, (val1, val2) -> val1 * val2);
+        binary(CalculatorOperation.DIVIDE, BuiltInOperations::divide);
+        binary(CalculatorOperation.POWER, Math::pow);
+        binary(CalculatorOperation.PERCENTAGE, BuiltInOperations::percentage);
+        unary(CalculatorOperation.SQUARE_ROOT, BuiltInOperations::sqrt);
+        unary(CalculatorOperation.SQUARE, BuiltInOperations::square);
+        unary(CalculatorOperation.CUBE, BuiltInOperations::cube);
+        unary(CalculatorOperation.SIN, BuiltInOperations::sin);
+        unary(CalculatorOperation.COS, BuiltInOperations::cos);
+        unary(CalculatorOperation.TAN, BuiltInOperations::tan);
+        unary(CalculatorOperation.LOG, BuiltInOperations::log);
+        unary(CalculatorOperation.LN, BuiltInOperations::ln);
+        unary(CalculatorOperation.ABS, Math::abs);
+        unary(CalculatorOperation.FACTORIAL, BuiltInOperations::factorial);
+        unary(CalculatorOperation.RECIPROCAL, BuiltInOperations::reciprocal);
+    }
+
+    private BuiltInOperations() {
+    }
+
+    /**
+     * Strategy implementing a built-in operation
+     */
+    public static OperationStrategy get(CalculatorOperation operation) {
+        return STRATEGIES.get(operation);
+    }
+
+    private static void binary(CalculatorOperation operation, DoubleBinaryOperator function) {
+        STRATEGIES.put(operation, BinaryOperationStrategy.of(operation.getValue(), function));
+    }
+
+    private static void unary(CalculatorOperation operation, DoubleUnaryOperator function) {
+        STRATEGIES.put(operation, UnaryOperationStrategy.of(operation.getValue(), function));
+    }
+
+    public static double divide(double val1, double val2) {
+        if (val2 == 0) {
+            throw CalculatorErrors.DIVISION_BY_ZERO;
+        }
+        return val1 / val2;
+    }
+
+    public static double percentage(double val1, double val2) {
+        return (val1 * val2) / 100.0;
+    }
+
+    public static double sqrt(double val) {
+        if (val < 0) {
+            throw CalculatorErrors.NEGATIVE_SQUARE_ROOT;
+        }
+        return Math.sqrt(val);
+    }
+
+    public static double square(double val) {
+        return Math.pow(val, 2);
+    }
+
+    public static double cube(double val) {
+        return Math.pow(val, 3);
+    }
+
+    public static double sin(double val) {
+        return Math.sin(Math.toRadians(val));
+    }
+
+    public static double cos(double val) {
+        return Math.cos(Math.toRadians(val));
+    }
+
+    public static double tan(double val) {
+        return Math.tan(Math.toRadians(val));
+    }
+
+    public static double log(double val) {
+        if (val <= 0) {
+            throw CalculatorErrors.NON_POSITIVE_LOGARITHM;
+        }
+        return Math.log10(val);
+    }
+
+    public static double ln(double val) {
+        if (val <= 0) {
+            throw CalculatorErrors.NON_POSITIVE_NATURAL_LOGARITHM;
+        }
+        return Math.log(val);
+    }
+
+    public static double factorial(double val) {
+        if (val < 0 || val != Math.floor(val)) {
+            throw CalculatorErrors.INVALID_FACTORIAL;
+        }
+        return factorial((int) val);
+    }
+
+    /**
+     * Looks up the factorial of a non-negative integer in the precomputed table
+     *
+     * @param n the number to calculate factorial for
+     * @return the factorial result
+     * @throws CalculatorException if the factorial does not fit in a double
+     */
+    public static double factorial(int n) {
+        if (n > MAX_DOUBLE_FACTORIAL) {
+            throw CalculatorException.stackless("Factorial of " + n + " exceeds the range of a double, use the exact factorial endpoint", "RESULT_OVERFLOW");
+        }
+        return FACTORIALS[n];
+    }
+    
+    /**
+     * Whether {@link #factorial(int)} has a finite result for {@code n}
+     */
+    public static boolean hasDoubleFactorial(double n) {
+        return n >= 0 && n <= MAX_DOUBLE_FACTORIAL && n == Math.floor(n);
+    }
+
+    public static double reciprocal(double val) {
+        if (val == 0) {
+            throw CalculatorErrors.RECIPROCAL_OF_ZERO;
+        }
+        return 1.0 / val;
+    }
+}
@@ -0,0 +1,114 @@
+package com.scb.wmtest.calculator.operation;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Immutable string-keyed lookup table using a precomputed, case-folded perfect hash.
+ * <p>
+ * At construction a multiplier is searched for that sends every folded key to a
+ * distinct slot, so a lookup is one hash of the input, one multiply-shift and a
+ * single {@link String#equalsIgnoreCase} against the only possible candidate. Lookups
+ * do not allocate.
+ *
+ * @param <V> the value type
+ */
+public final class CaseInsensitiveIndex<V> {
+
+    private static final int MAX_BITS = 20;
+    private static final int ATTEMPTS_PER_SIZE = 4096;
+
+    private final String[] keys;
+    private final Object[] values;
+    private final int multiplier;
+    private final int shift;
+
+    /**
+     * Builds the index
+     *
+     * @param entries the entries to index, keys must be distinct ignoring case
+     * @throws IllegalArgumentException if two keys are equal ignoring case
+     */
+    public CaseInsensitiveIndex(Map<String, V> entries) {
+        int[] hashes = new int[entries.size()];
+        String[] names = entries.keySet().toArray(new String[0]);
+        for (int i = 0; i < names.length; i++) {
+            hashes[i] = foldedHash(names[i]);
+            for (int j = 0; j < i; j++) {
+                if (names[i].equalsIgnoreCase(names[j])) {
+                    throw new IllegalArgumentException("Duplicate key ignoring case: " + names[i]);
+                }
+            }
+        }
+
+        // Start at twice the key count and grow the table until a multiplier is found
+        int bits = 33 - Integer.numberOfLeadingZeros(Math.max(1, names.length) - 1);
+        int found = findMultiplier(hashes, bits);
+        while (found == 0 && bits < MAX_BITS) {
+            found = findMultiplier(hashes, ++bits);
+        }
+        if (found == 0) {
+            throw new IllegalArgumentException("No perfect hash found for " + names.length + " keys");
+        }
+
+        this.multiplier = found;
+        this.shift = 32 - bits;
+        this.keys = new String[1 << bits];
+        this.values = new Object[1 << bits];
+        for (int i = 0; i < names.length; i++) {
+            int slot = (hashes[i] * multiplier) >>> shift;
+            keys[slot] = names[i];
+            values[slot] = entries.get(names[i]);
+        }
+    }
+
+    /**
+     * Looks up a key ignoring case
+     *
+     * @param key the key, may be null
+     * @return the value, or null if the key is not indexed
+     */
+    @SuppressWarnings("unchecked")
+    public V get(String key) {
+        if (key == null) {
+            return null;
+        }
+        int slot = (foldedHash(key) * multiplier) >>> shift;
+        String candidate = keys[slot];
+        return candidate != null && candidate.equalsIgnoreCase(key) ? (V) values[slot] : null;
+    }
+
+    private static int findMultiplier(int[] hashes, int bits) {
+        int shift = 32 - bits;
+        boolean[] used = new boolean[1 << bits];
+        int candidate = 0x9E3779B9;
+        for (int attempt = 0; attempt < ATTEMPTS_PER_SIZE; attempt++) {
+            candidate = candidate * 0x2C1B3C6D + 0x297A2D39 | 1;
+            Arrays.fill(used, false);
+            boolean collision = false;
+            for (int hash : hashes) {
+                int slot = (hash * candidate) >>> shift;
+                if (used[slot]) {
+                    collision = true;
+                    break;
+                }
+                used[slot] = true;
+            }
+            if (!collision) {
+                return candidate;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Hash of the key folded the same way {@link String#equalsIgnoreCase} compares characters
+     */
+    private static int foldedHash(String key) {
+        int hash = 0;
+        for (int i = 0; i < key.length(); i++) {
+            hash = 31 * hash + Character.toLowerCase(Character.toUpperCase(key.charAt(i)));
+        }
+        return hash;
+    }
+}
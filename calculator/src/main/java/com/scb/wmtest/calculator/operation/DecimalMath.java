@@ -0,0 +1,457 @@
+package com.scb.wmtest.calculator.operation;
+
+import com.scb.wmtest.calculator.exception.CalculatorErrors;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+/**
+ * Arbitrary precision counterparts of the built-in operations.
+ * <p>
+ * Every function computes with a few guard digits beyond the requested
+ * {@link MathContext} and rounds once at the end. Square roots and logarithms use
+ * Newton iterations seeded from the double result, doubling the working precision
+ * on each step so that most iterations run at low precision. The power series of
+ * exp, sin and cos are summed in binary fixed point on {@link BigInteger}, which
+ * avoids a rounding decimal division per term. Trigonometric functions take
+ * degrees, like the double operations, and return exact values at multiples of
+ * 90 degrees.
+ */
+public final class DecimalMath {
+
+    private static final int GUARD_DIGITS = 10;
+    private static final double LOG2_10 = Math.log(10) / Math.log(2);
+    private static final BigInteger FIVE = BigInteger.valueOf(5);
+    private static final int DOUBLE_DIGITS = 15;
+    private static final long MAX_EXP_ARGUMENT = 1_000_000_000L;
+    private static final BigDecimal TWO = BigDecimal.valueOf(2);
+    private static final BigDecimal HALF = new BigDecimal("0.5");
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+    private static final BigDecimal FORTY_FIVE = BigDecimal.valueOf(45);
+    private static final BigDecimal NINETY = BigDecimal.valueOf(90);
+    private static final BigDecimal ONE_EIGHTY = BigDecimal.valueOf(180);
+    private static final BigInteger THREE_SIXTY = BigInteger.valueOf(360);
+    private static final BigDecimal SQRT_TEN = new BigDecimal("3.1622776601683793");
+    private static final long[] POWERS_OF_TEN = new long[19];
+    
+    private static volatile BigDecimal cachedPi = BigDecimal.ZERO;
+    private static volatile BigDecimal cachedLn10 = BigDecimal.ZERO;
+    
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+    
+    private DecimalMath() {
+    }
+    
+    /**
+     * Sum, computed in a long without intermediate allocation when both operands are integers that fit
+     */
+    public static BigDecimal add(BigDecimal val1, BigDecimal val2, MathContext mc) {
+        if (isSmallInteger(val1) && isSmallInteger(val2)) {
+            long x = val1.longValue();
+            long y = val2.longValue();
+            long sum = x + y;
+            if (((x ^ sum) & (y ^ sum)) >= 0) {
+                return fit(sum, mc);
+            }
+        }
+        return val1.add(val2, mc);
+    }
+    
+    /**
+     * Difference, computed in a long without intermediate allocation when both operands are integers that fit
+     */
+    public static BigDecimal subtract(BigDecimal val1, BigDecimal val2, MathContext mc) {
+        if (isSmallInteger(val1) && isSmallInteger(val2)) {
+            long x = val1.longValue();
+            long y = val2.longValue();
+            long difference = x - y;
+            if (((x ^ y) & (x ^ difference)) >= 0) {
+                return fit(difference, mc);
+            }
+        }
+        return val1.subtract(val2, mc);
+    }
+    
+    /**
+     * Product, computed in a long without intermediate allocation when both operands are small integers
+     */
+    public static BigDecimal multiply(BigDecimal val1, BigDecimal val2, MathContext mc) {
+        if (isSmallInteger(val1) && isSmallInteger(val2) && val1.precision() + val2.precision() <= 18) {
+            return fit(val1.longValue() * val2.longValue(), mc);
+        }
+        return val1.multiply(val2, mc);
+    }
+    
+    public static BigDecimal divide(BigDecimal val1, BigDecimal val2, MathContext mc) {
+        if (val2.signum() == 0) {
+            throw CalculatorErrors.DIVISION_BY_ZERO;
+        }
+        return val1.divide(val2, mc);
+    }
+    
+    public static BigDecimal percentage(BigDecimal val1, BigDecimal val2, MathContext mc) {
+        return val1.multiply(val2).divide(HUNDRED, mc);
+    }
+    
+    public static BigDecimal reciprocal(BigDecimal val, MathContext mc) {
+        if (val.signum() == 0) {
+            throw CalculatorErrors.RECIPROCAL_OF_ZERO;
+        }
+        return BigDecimal.ONE.divide(val, mc);
+    }
+    
+    /**
+     * Power. Integer exponents use repeated squaring, other exponents {@code exp(y * ln(x))}.
+     */
+    public static BigDecimal pow(BigDecimal base, BigDecimal exponent, MathContext mc) {
+        if (isInteger(exponent) && exponent.abs().compareTo(BigDecimal.valueOf(999_999_999)) <= 0) {
+            int n = exponent.intValueExact();
+            if (base.signum() == 0 && n < 0) {
+                throw CalculatorErrors.DIVISION_BY_ZERO;
+            }
+            return base.pow(n, mc);
+        }
+        if (base.signum() < 0) {
+            throw CalculatorErrors.NEGATIVE_FRACTIONAL_POWER;
+        }
+        if (base.signum() == 0) {
+            if (exponent.signum() < 0) {
+                throw CalculatorErrors.DIVISION_BY_ZERO;
+            }
+            return BigDecimal.ZERO;
+        }
+        // y * ln(x) needs as many more digits as it has integer digits, at most the 10 of MAX_EXP_ARGUMENT;
+        // ln(x) has no more integer digits than the decimal exponent of x, plus one
+        int integerDigits = digitsOf(exponent) + digitsOf((long) base.precision() - base.scale()) + 1;
+        MathContext working = working(mc, Math.min(integerDigits, digitsOf(MAX_EXP_ARGUMENT) + 1));
+        return exp(exponent.multiply(ln(base, working), working), working).round(mc);
+    }
+    
+    public static BigDecimal sqrt(BigDecimal val, MathContext mc) {
+        if (val.signum() < 0) {
+            throw CalculatorErrors.NEGATIVE_SQUARE_ROOT;
+        }
+        if (val.signum() == 0) {
+            return BigDecimal.ZERO;
+        }
+        int target = mc.getPrecision() + GUARD_DIGITS;
+        
+        // Scale by an even power of ten so the seed is computed on a double in range
+        int exponent = (val.precision() - val.scale()) & ~1;
+        double mantissa = val.scaleByPowerOfTen(-exponent).doubleValue();
+        BigDecimal root = new BigDecimal(Math.sqrt(mantissa)).scaleByPowerOfTen(exponent / 2);
+        
+        for (int precision = DOUBLE_DIGITS; ; ) {
+            precision = Math.min(precision * 2, target);
+            MathContext working = new MathContext(precision, RoundingMode.HALF_EVEN);
+            root = root.add(val.divide(root, working), working).multiply(HALF, working);
+            if (precision == target) {
+                break;
+            }
+        }
+        return stripZeros(root.round(mc), mc);
+    }
+    
+    /**
+     * Natural logarithm
+     */
+    public static BigDecimal ln(BigDecimal val, MathContext mc) {
+        if (val.signum() <= 0) {
+            throw CalculatorErrors.NON_POSITIVE_NATURAL_LOGARITHM;
+        }
+        if (val.compareTo(BigDecimal.ONE) == 0) {
+            return BigDecimal.ZERO;
+        }
+        // val = mantissa * 10^exponent with mantissa in [sqrt(0.1), sqrt(10)), so that ln(mantissa) and
+        // exponent * ln(10) never have opposite signs and similar magnitudes
+        int exponent = val.precision() - val.scale() - 1;
+        BigDecimal mantissa = val.scaleByPowerOfTen(-exponent);
+        if (mantissa.compareTo(SQRT_TEN) >= 0) {
+            exponent++;
+            mantissa = mantissa.movePointLeft(1);
+        }
+        // ln(mantissa) is about mantissa - 1; for a mantissa close to 1 the digits that cancel
+        // in mantissa - exp(y) have to be computed on top of the requested ones
+        BigDecimal distance = mantissa.subtract(BigDecimal.ONE);
+        int cancelled = distance.signum() == 0 ? 0 : Math.max(0, distance.scale() - distance.precision());
+        MathContext working = working(mc, digitsOf(exponent) + cancelled);
+        BigDecimal result = lnNear(mantissa, working);
+        if (exponent != 0) {
+            result = result.add(ln10(working).multiply(BigDecimal.valueOf(exponent)), working);
+        }
+        return result.round(mc);
+    }
+    
+    /**
+     * Base 10 logarithm, exact for powers of ten
+     */
+    public static BigDecimal log10(BigDecimal val, MathContext mc) {
+        if (val.signum() <= 0) {
+            throw CalculatorErrors.NON_POSITIVE_LOGARITHM;
+        }
+        BigDecimal stripped = val.stripTrailingZeros();
+        if (stripped.unscaledValue().equals(BigInteger.ONE)) {
+            return BigDecimal.valueOf(-stripped.scale());
+        }
+        MathContext working = working(mc, 0);
+        return ln(val, working).divide(ln10(working), mc);
+    }
+    
+    /**
+     * Exponential function
+     */
+    public static BigDecimal exp(BigDecimal val, MathContext mc) {
+        if (val.signum() == 0) {
+            return BigDecimal.ONE;
+        }
+        if (val.abs().compareTo(BigDecimal.valueOf(MAX_EXP_ARGUMENT)) > 0) {
+            throw CalculatorErrors.RESULT_OUT_OF_RANGE;
+        }
+        // exp(q ln 10 + r) = 10^q exp(r), which keeps the fixed point series small
+        int powerOfTen = 0;
+        if (val.abs().compareTo(BigDecimal.TEN) >= 0) {
+            MathContext reduction = working(mc, digitsOf(val));
+            BigDecimal ln10 = ln10(reduction);
+            BigDecimal quotient = val.divide(ln10, new MathContext(digitsOf(val) + 2)).setScale(0, RoundingMode.HALF_EVEN);
+            powerOfTen = quotient.intValueExact();
+            val = val.subtract(ln10.multiply(quotient), reduction);
+        }
+        
+        // Halve the argument k times so the series converges quickly, then square k times
+        int halvings = Math.max(0, 64 - Long.numberOfLeadingZeros(val.abs().longValue())) + 8;
+        int bits = fixedPointBits(mc) + halvings;
+        BigInteger one = BigInteger.ONE.shiftLeft(bits);
+        BigInteger reduced = toFixedPoint(val, bits - halvings);
+        BigInteger sum = one;
+        BigInteger term = one;
+        for (int i = 1; term.signum() != 0; i++) {
+            term = term.multiply(reduced).shiftRight(bits).divide(BigInteger.valueOf(i));
+            sum = sum.add(term);
+        }
+        for (int i = 0; i < halvings; i++) {
+            sum = sum.multiply(sum).shiftRight(bits);
+        }
+        return fromFixedPoint(sum, bits, mc).scaleByPowerOfTen(powerOfTen);
+    }
+    
+    public static BigDecimal sin(BigDecimal degrees, MathContext mc) {
+        return sinOrCos(degrees, 0, mc);
+    }
+    
+    public static BigDecimal cos(BigDecimal degrees, MathContext mc) {
+        return sinOrCos(degrees, 1, mc);
+    }
+    
+    public static BigDecimal tan(BigDecimal degrees, MathContext mc) {
+        MathContext working = working(mc, 0);
+        BigDecimal cos = cos(degrees, working);
+        if (cos.signum() == 0) {
+            throw CalculatorErrors.UNDEFINED_TANGENT;
+        }
+        return sin(degrees, working).divide(cos, mc);
+    }
+    
+    /**
+     * Pi to the given precision, computed with Machin's formula and cached at the highest precision requested
+     */
+    public static BigDecimal pi(MathContext mc) {
+        BigDecimal pi = cachedPi;
+        if (pi.precision() < mc.getPrecision() + GUARD_DIGITS) {
+            MathContext working = working(mc, GUARD_DIGITS);
+            pi = arctanOfInverse(5, working).multiply(BigDecimal.valueOf(16))
+                    .subtract(arctanOfInverse(239, working).multiply(BigDecimal.valueOf(4)), working);
+            cachedPi = pi;
+        }
+        return pi.round(mc);
+    }
+    
+    private static BigDecimal ln10(MathContext mc) {
+        BigDecimal ln10 = cachedLn10;
+        if (ln10.precision() < mc.getPrecision() + GUARD_DIGITS) {
+            ln10 = lnNear(BigDecimal.TEN, working(mc, GUARD_DIGITS));
+            cachedLn10 = ln10;
+        }
+        return ln10.round(mc);
+    }
+    
+    /**
+     * Natural logarithm of a value between 0.1 and 10 by Halley iteration on {@code exp(y) = val}, which triples the
+     * number of correct digits per step
+     */
+    private static BigDecimal lnNear(BigDecimal val, MathContext mc) {
+        int target = mc.getPrecision() + GUARD_DIGITS;
+        BigDecimal y = new BigDecimal(Math.log(val.doubleValue()));
+        for (int precision = DOUBLE_DIGITS; ; ) {
+            precision = Math.min(precision * 3, target);
+            MathContext working = new MathContext(precision, RoundingMode.HALF_EVEN);
+            BigDecimal expY = exp(y, working);
+            y = y.add(val.subtract(expY, working).multiply(TWO).divide(val.add(expY, working), working), working);
+            if (precision == target) {
+                break;
+            }
+        }
+        return y.round(mc);
+    }
+    
+    /**
+     * Sine (quadrantOffset 0) or cosine (quadrantOffset 1) of an angle in degrees
+     */
+    private static BigDecimal sinOrCos(BigDecimal degrees, int quadrantOffset, MathContext mc) {
+        BigDecimal angle = reduceDegrees(degrees.abs());
+        BigDecimal[] quadrantAndRest = angle.divideAndRemainder(NINETY);
+        int quadrant = (quadrantAndRest[0].intValue() + quadrantOffset) & 3;
+        BigDecimal rest = quadrantAndRest[1];
+        
+        // sin(90q + r) is sin(r), cos(r), -sin(r), -cos(r) for quadrants 0 to 3;
+        // sine is odd and cosine even
+        boolean useCos = (quadrant & 1) == 1;
+        boolean negate = (quadrant >= 2) != (quadrantOffset == 0 && degrees.signum() < 0);
+        if (rest.compareTo(FORTY_FIVE) > 0) {
+            // Keep the series argument below 45 degrees, where neither result is close to zero
+            rest = NINETY.subtract(rest);
+            useCos = !useCos;
+        }
+        BigDecimal result;
+        if (rest.signum() == 0) {
+            result = useCos ? BigDecimal.ONE : BigDecimal.ZERO;
+        } else {
+            MathContext working = working(mc, 0);
+            BigDecimal radians = rest.multiply(pi(working)).divide(ONE_EIGHTY, working);
+            result = useCos ? taylor(radians, 0, working) : radians.multiply(taylor(radians, 1, working), working);
+        }
+        return (negate ? result.negate() : result).round(mc);
+    }
+    
+    /**
+     * A non-negative angle modulo 360, computed on the unscaled value so that an angle with a
+     * large exponent such as 1E+1000000 is never expanded to all of its digits
+     */
+    private static BigDecimal reduceDegrees(BigDecimal degrees) {
+        if (degrees.compareTo(BigDecimal.valueOf(360)) < 0) {
+            return degrees;
+        }
+        BigInteger unscaled = degrees.unscaledValue();
+        int scale = degrees.scale();
+        if (scale > 0) {
+            // unscaled * 10^-scale mod 360 is (unscaled mod 360 * 10^scale) * 10^-scale
+            return new BigDecimal(unscaled.mod(THREE_SIXTY.multiply(BigInteger.TEN.pow(scale))), scale);
+        }
+        // unscaled * 10^-scale mod 360 is (unscaled mod 360) * (10^-scale mod 360) mod 360
+        BigInteger powerOfTen = BigInteger.TEN.modPow(BigInteger.valueOf(-(long) scale), THREE_SIXTY);
+        return new BigDecimal(unscaled.mod(THREE_SIXTY).multiply(powerOfTen).mod(THREE_SIXTY));
+    }
+    
+    /**
+     * Taylor series of cos(x) (firstPower 0) or of sin(x) / x (firstPower 1), both close to 1 for x up to pi / 4
+     */
+    private static BigDecimal taylor(BigDecimal x, int firstPower, MathContext mc) {
+        int bits = fixedPointBits(mc);
+        BigInteger fixedX = toFixedPoint(x, bits);
+        BigInteger xSquared = fixedX.multiply(fixedX).shiftRight(bits);
+        BigInteger term = BigInteger.ONE.shiftLeft(bits);
+        BigInteger sum = term;
+        for (int n = firstPower; term.signum() != 0; n += 2) {
+            term = term.multiply(xSquared).shiftRight(bits).divide(BigInteger.valueOf((long) (n + 1) * (n + 2))).negate();
+            sum = sum.add(term);
+        }
+        return fromFixedPoint(sum, bits, mc);
+    }
+    
+    /**
+     * arctan(1 / n) by its Taylor series
+     */
+    private static BigDecimal arctanOfInverse(int n, MathContext mc) {
+        BigDecimal nSquared = BigDecimal.valueOf((long) n * n);
+        BigDecimal power = BigDecimal.ONE.divide(BigDecimal.valueOf(n), mc);
+        BigDecimal sum = power;
+        BigDecimal epsilon = BigDecimal.ONE.movePointLeft(mc.getPrecision() + 1);
+        for (int k = 1; power.compareTo(epsilon) > 0; k++) {
+            power = power.divide(nSquared, mc);
+            BigDecimal term = power.divide(BigDecimal.valueOf(2L * k + 1), mc);
+            sum = (k & 1) == 1 ? sum.subtract(term, mc) : sum.add(term, mc);
+        }
+        return sum;
+    }
+    
+    /**
+     * Fraction bits of a binary fixed point number accurate to the context's precision, plus guard bits
+     */
+    private static int fixedPointBits(MathContext mc) {
+        return (int) (mc.getPrecision() * LOG2_10) + 32;
+    }
+    
+    /**
+     * {@code val * 2^bits}, truncated to an integer
+     */
+    private static BigInteger toFixedPoint(BigDecimal val, int bits) {
+        BigInteger shifted = val.unscaledValue().shiftLeft(bits);
+        int scale = val.scale();
+        return scale <= 0
+                ? shifted.multiply(BigInteger.TEN.pow(-scale))
+                : shifted.divide(BigInteger.TEN.pow(scale));
+    }
+    
+    /**
+     * {@code val / 2^bits}, which is exactly {@code val * 5^bits / 10^bits}, rounded to the context
+     */
+    private static BigDecimal fromFixedPoint(BigInteger val, int bits, MathContext mc) {
+        return new BigDecimal(val.multiply(FIVE.pow(bits)), bits).round(mc);
+    }
+    
+    private static MathContext working(MathContext mc, int extraDigits) {
+        return new MathContext(mc.getPrecision() + GUARD_DIGITS + extraDigits, RoundingMode.HALF_EVEN);
+    }
+    
+    /**
+     * Integers of at most 18 digits, whose long value is read without allocation
+     */
+    private static boolean isSmallInteger(BigDecimal val) {
+        return val.scale() == 0 && val.precision() <= 18;
+    }
+    
+    /**
+     * Drops the trailing zeros of an exact result, without switching small integers to exponent notation
+     */
+    private static BigDecimal stripZeros(BigDecimal val, MathContext mc) {
+        BigDecimal stripped = val.stripTrailingZeros();
+        return stripped.scale() < 0 && -stripped.scale() <= mc.getPrecision() ? stripped.setScale(0) : stripped;
+    }
+    
+    private static boolean isInteger(BigDecimal val) {
+        return val.signum() == 0 || val.scale() <= 0 || val.stripTrailingZeros().scale() <= 0;
+    }
+    
+    /**
+     * Converts an exact long result, rounding only when it has more digits than the context allows
+     */
+    private static BigDecimal fit(long value, MathContext mc) {
+        BigDecimal result = BigDecimal.valueOf(value);
+        return mc.getPrecision() == 0 || digitsOf(value) <= mc.getPrecision() ? result : result.round(mc);
+    }
+    
+    private static int digitsOf(long value) {
+        long magnitude = Math.abs(value);
+        if (magnitude < 0) {
+            return 19;
+        }
+        int digits = 1;
+        while (digits < POWERS_OF_TEN.length && magnitude >= POWERS_OF_TEN[digits]) {
+            digits++;
+        }
+        return digits;
+    }
+    
+    /**
+     * Number of integer digits of a value, at least 1
+     */
+    private static int digitsOf(BigDecimal value) {
+        return Math.max(1, value.precision() - value.scale());
+    }
+}
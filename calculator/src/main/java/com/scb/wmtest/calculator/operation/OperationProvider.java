@@ -0,0 +1,19 @@
+package com.scb.wmtest.calculator.operation;
+
+import java.util.Collection;
+
+/**
+ * Service provider interface for additional calculator operations.
+ * <p>
+ * Implementations are discovered with {@link java.util.ServiceLoader}: list the
+ * implementation class in {@code META-INF/services/com.scb.wmtest.calculator.operation.OperationProvider}
+ * on the classpath. Provided operations are registered after the built-in ones and
+ * must not reuse their names.
+ */
+public interface OperationProvider {
+
+    /**
+     * Operations contributed by this provider
+     */
+    Collection<? extends OperationStrategy> getOperations();
+}
@@ -0,0 +1,113 @@
+package com.scb.wmtest.calculator.operation;
+
+import com.scb.wmtest.calculator.CalculatorOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+/**
+ * Registry of every operation the calculator supports: the built-in
+ * {@link CalculatorOperation}s followed by operations contributed through the
+ * {@link OperationProvider} SPI. Lookup by name is case-insensitive and O(1).
+ */
+@Component
+public class OperationRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(OperationRegistry.class);
+
+    /**
+     * Built-in operations in the order they are advertised
+     */
+    private static final CalculatorOperation[] BUILT_IN_ORDER = {
+        CalculatorOperation.SUM, CalculatorOperation.SUBTRACT, CalculatorOperation.MULTIPLY,
+        CalculatorOperation.DIVIDE, CalculatorOperation.POWER, CalculatorOperation.PERCENTAGE,
+        CalculatorOperation.SQUARE_ROOT, CalculatorOperation.SQUARE, CalculatorOperation.CUBE,
+        CalculatorOperation.SIN, CalculatorOperation.COS, CalculatorOperation.TAN,
+        CalculatorOperation.LOG, CalculatorOperation.LN, CalculatorOperation.ABS,
+        CalculatorOperation.FACTORIAL, CalculatorOperation.RECIPROCAL
+    };
+
+    private final CaseInsensitiveIndex<OperationStrategy> index;
+    private final List<String> names;
+    private final List<String> binaryNames;
+
+    /**
+     * Creates a registry with the built-in operations and every provider found on
+     * the class path of this class
+     */
+    public OperationRegistry() {
+        this(ServiceLoader.load(OperationProvider.class, OperationRegistry.class.getClassLoader()));
+    }
+
+    /**
+     * Creates a registry with the built-in operations and the given providers
+     *
+     * @param providers providers of additional operations
+     * @throws IllegalStateException if two operations share a name
+     */
+    public OperationRegistry(Iterable<OperationProvider> providers) {
+        Map<String, OperationStrategy> operations = new LinkedHashMap<>();
+        for (CalculatorOperation operation : BUILT_IN_ORDER) {
+            register(operations, BuiltInOperations.get(operation));
+        }
+        for (OperationProvider provider : providers) {
+            for (OperationStrategy operation : provider.getOperations()) {
+                register(operations, operation);
+                logger.info("Registered operation '{}' from {}", operation.getName(), provider.getClass().getName());
+            }
+        }
+
+        List<String> binary = new ArrayList<>();
+        for (OperationStrategy operation : operations.values()) {
+            if (operation instanceof BinaryOperationStrategy) {
+                binary.add(operation.getName());
+            }
+        }
+        this.index = new CaseInsensitiveIndex<>(operations);
+        this.names = Collections.unmodifiableList(new ArrayList<>(operations.keySet()));
+        this.binaryNames = Collections.unmodifiableList(binary);
+    }
+
+    private static void register(Map<String, OperationStrategy> operations, OperationStrategy operation) {
+        if (!(operation instanceof BinaryOperationStrategy) && !(operation instanceof UnaryOperationStrategy)) {
+            throw new IllegalStateException("Operation '" + operation.getName() + "' must be a binary or unary operation strategy");
+        }
+        for (String name : operations.keySet()) {
+            if (name.equalsIgnoreCase(operation.getName())) {
+                throw new IllegalStateException("Duplicate operation name: " + operation.getName());
+            }
+        }
+        operations.put(operation.getName(), operation);
+    }
+
+    /**
+     * Looks up an operation by name, ignoring case
+     *
+     * @param name the operation name, may be null
+     * @return the operation or null if not found
+     */
+    public OperationStrategy find(String name) {
+        return index.get(name);
+    }
+
+    /**
+     * Names of all registered operations, built-in operations first
+     */
+    public List<String> getOperationNames() {
+        return names;
+    }
+
+    /**
+     * Names of all registered two operand operations
+     */
+    public List<String> getBinaryOperationNames() {
+        return binaryNames;
+    }
+}
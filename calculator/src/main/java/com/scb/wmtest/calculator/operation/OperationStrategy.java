@@ -0,0 +1,15 @@
+package com.scb.wmtest.calculator.operation;
+
+/**
+ * A calculator operation that can be looked up by name in the {@link OperationRegistry}.
+ * Implementations are either {@link BinaryOperationStrategy} or {@link UnaryOperationStrategy}
+ * and perform their own domain checks, throwing
+ * {@link com.scb.wmtest.calculator.exception.CalculatorException} for invalid operands.
+ */
+public interface OperationStrategy {
+
+    /**
+     * Name the operation is requested by, matched case-insensitively
+     */
+    String getName();
+}
@@ -0,0 +1,44 @@
+package com.scb.wmtest.calculator.operation;
+
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Operation on a single operand
+ */
+public interface UnaryOperationStrategy extends OperationStrategy {
+
+    /**
+     * Applies the operation
+     *
+     * @param val the operand
+     * @return the result of the operation
+     * @throws com.scb.wmtest.calculator.exception.CalculatorException if the operation is undefined for the operand
+     */
+    double apply(double val);
+
+    /**
+     * Creates a named single operand operation from a function
+     *
+     * @param name the operation name
+     * @param function the function, responsible for its own domain checks
+     * @return the operation
+     */
+    static UnaryOperationStrategy of(String name, DoubleUnaryOperator function) {
+        return new UnaryOperationStrategy() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public double apply(double val) {
+                return function.applyAsDouble(val);
+            }
+
+            @Override
+            public String toString() {
+                return name;
+            }
+        };
+    }
+}
@@ -0,0 +1,64 @@
+package com.scb.wmtest.calculator.profiling;
+
+import com.scb.wmtest.calculator.operation.OperationStrategy;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for a calculation by {@code CalculateService}, timed from before
+ * the result cache lookup until the result or the error. Used as
+ * <pre>
+ * CalculationEvent event = new CalculationEvent();
+ * event.begin();
+ * ...
+ * event.finish(operation, false, val1, val2, null);
+ * </pre>
+ * While no recording has the event enabled, {@link #begin()} and {@link #finish} do
+ * nothing and the JIT removes the allocation of the event.
+ */
+@Name(CalculationEvent.NAME)
+@Label("Calculation")
+@Category("Calculator")
+@Description("A calculation by CalculateService, including the result cache lookup")
+@StackTrace(false)
+public class CalculationEvent extends Event {
+
+    public static final String NAME = "com.scb.wmtest.calculator.Calculation";
+    
+    @Label("Operation")
+    String operation;
+    
+    @Label("Single Operand")
+    boolean single;
+    
+    @Label("First Operand")
+    double val1;
+    
+    @Label("Second Operand")
+    double val2;
+    
+    @Label("Error Code")
+    @Description("Error code of a failed calculation, null if it succeeded")
+    String errorCode;
+    
+    /**
+     * Ends the event and commits it if a recording wants it
+     *
+     * @param errorCode the error the calculation failed with, null if it succeeded
+     */
+    public void finish(OperationStrategy operation, boolean single, double val1, double val2, String errorCode) {
+        end();
+        if (shouldCommit()) {
+            this.operation = operation.getName();
+            this.single = single;
+            this.val1 = val1;
+            this.val2 = val2;
+            this.errorCode = errorCode;
+            commit();
+        }
+    }
+}
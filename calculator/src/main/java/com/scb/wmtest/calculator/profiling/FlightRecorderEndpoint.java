@@ -0,0 +1,158 @@
+package com.scb.wmtest.calculator.profiling;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Actuator endpoint at {@code /actuator/jfr} that records the running calculator with
+ * Java Flight Recorder, so a latency spike can be profiled without attaching to the host.
+ * <ul>
+ * <li>{@code POST /actuator/jfr} starts a recording, optionally for a {@code duration}
+ * such as {@code 30s}, at most {@code calculator.jfr.max-duration}</li>
+ * <li>{@code GET /actuator/jfr} shows the state of the recording</li>
+ * <li>{@code DELETE /actuator/jfr} stops it and returns the recording file, to open in
+ * JDK Mission Control</li>
+ * </ul>
+ * A recording uses the JDK's {@code calculator.jfr.settings} configuration plus a
+ * {@link CalculationEvent} per calculation and a {@link TokenVerificationEvent} per token
+ * check that took at least {@code calculator.jfr.threshold}. Only one recording runs at a
+ * time; the last file is kept until the next recording starts.
+ */
+@Component
+@WebEndpoint(id = "jfr")
+public class FlightRecorderEndpoint {
+
+    private final Configuration configuration;
+    private final Duration threshold;
+    private final Duration maxDuration;
+    
+    private Recording recording;
+    private Path file;
+    
+    @Autowired
+    public FlightRecorderEndpoint(@Value("${calculator.jfr.settings:profile}") String settings,
+                                  @Value("${calculator.jfr.threshold:0ms}") Duration threshold,
+                                  @Value("${calculator.jfr.max-duration:10m}") Duration maxDuration) {
+        try {
+            this.configuration = Configuration.getConfiguration(settings);
+        } catch (IOException | ParseException e) {
+            throw new IllegalArgumentException("Unknown Flight Recorder configuration '" + settings + "'", e);
+        }
+        this.threshold = threshold;
+        this.maxDuration = maxDuration;
+    }
+    
+    @ReadOperation
+    public synchronized Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        if (recording == null) {
+            status.put("state", "NONE");
+            return status;
+        }
+        status.put("state", recording.getState() == RecordingState.CLOSED ? RecordingState.STOPPED : recording.getState());
+        status.put("settings", configuration.getName());
+        status.put("startTime", recording.getStartTime());
+        status.put("stopTime", recording.getStopTime());
+        status.put("maxDuration", recording.getDuration());
+        status.put("size", recording.getState() == RecordingState.RUNNING ? recording.getSize() : size(file));
+        return status;
+    }
+    
+    /**
+     * Starts a recording, unless one is running already
+     *
+     * @param duration when to stop the recording by itself, at most and by default
+     *                 {@code calculator.jfr.max-duration}
+     */
+    @WriteOperation
+    public synchronized WebEndpointResponse<Map<String, Object>> start(@Nullable Duration duration) {
+        if (!FlightRecorder.isAvailable()) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_SERVICE_UNAVAILABLE);
+        }
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            return new WebEndpointResponse<>(status(), HttpStatus.CONFLICT.value());
+        }
+        close();
+        Recording started = new Recording(configuration);
+        started.setName("calculator");
+        started.enable(CalculationEvent.class).withThreshold(threshold);
+        started.enable(TokenVerificationEvent.class).withThreshold(threshold);
+        started.setDuration(duration == null || duration.compareTo(maxDuration) > 0 ? maxDuration : duration);
+        try {
+            file = Files.createTempFile("calculator-", ".jfr");
+            started.setDestination(file);
+        } catch (IOException e) {
+            started.close();
+            throw new UncheckedIOException(e);
+        }
+        started.start();
+        recording = started;
+        return new WebEndpointResponse<>(status());
+    }
+    
+    /**
+     * Stops the recording if it is still running and returns the recording file
+     */
+    @DeleteOperation(produces = "application/octet-stream")
+    public synchronized WebEndpointResponse<Resource> stop() {
+        if (recording == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        if (recording.getState() != RecordingState.CLOSED) {
+            // Stopping writes the destination file; a recording past its duration has written it already
+            if (recording.getState() == RecordingState.RUNNING) {
+                recording.stop();
+            }
+            recording.close();
+        }
+        return new WebEndpointResponse<>(new FileSystemResource(file));
+    }
+    
+    @PreDestroy
+    public synchronized void close() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+        if (file != null) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                // Left in the temporary directory
+            }
+            file = null;
+        }
+    }
+    
+    private static long size(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.scb.wmtest.calculator.profiling;
+
+import com.scb.wmtest.calculator.security.VerifiedToken;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for a bearer token check by {@code JwtUtil}, whether it was
+ * served from the verified token cache or parsed
+ */
+@Name(TokenVerificationEvent.NAME)
+@Label("Token Verification")
+@Category("Calculator")
+@Description("A bearer token check, including verified token cache lookups")
+@StackTrace(false)
+public class TokenVerificationEvent extends Event {
+
+    public static final String NAME = "com.scb.wmtest.calculator.TokenVerification";
+    
+    @Label("Valid")
+    boolean valid;
+    
+    @Label("Cached")
+    @Description("Whether the token was served from the verified token cache")
+    boolean cached;
+    
+    @Label("Username")
+    String username;
+    
+    /**
+     * Ends the event and commits it if a recording wants it
+     *
+     * @param token the verified token, null if the token was rejected
+     */
+    public void finish(VerifiedToken token, boolean cached) {
+        end();
+        if (shouldCommit()) {
+            this.valid = token != null;
+            this.cached = cached;
+            this.username = token != null ? token.getUsername() : null;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.scb.wmtest.calculator.ratelimit;
+
+/**
+ * Groups endpoints by what a request costs the server. Each class has its own limit,
+ * so a client running batches does not use up the allowance for single calculations.
+ */
+public enum CostClass {
+
+    /**
+     * Single calculations and the other cheap endpoints, limited per token subject.
+     * Each message of a WebSocket calculation session counts as one request.
+     */
+    STANDARD,
+    
+    /**
+     * Batches, streams, expressions, decimals and exact factorials, limited per token subject
+     */
+    HEAVY,
+    
+    /**
+     * Login and token refresh, limited per client address since there is no token yet
+     */
+    LOGIN;
+    
+    private static final String API_PREFIX = "/api/v1/calculator/";
+    
+    /**
+     * The class of a request path, or {@code null} if requests to it are not limited
+     */
+    public static CostClass of(String path) {
+        if (path.equals("/login") || path.equals("/refresh")) {
+            return LOGIN;
+        }
+        if (!path.startsWith(API_PREFIX)) {
+            return null;
+        }
+        String endpoint = path.substring(API_PREFIX.length());
+        if (endpoint.startsWith("batch") || endpoint.equals("expression")
+                || endpoint.equals("decimal") || endpoint.equals("factorial")) {
+            return HEAVY;
+        }
+        return STANDARD;
+    }
+}
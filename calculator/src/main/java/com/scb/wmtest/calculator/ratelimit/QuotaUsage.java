@@ -0,0 +1,43 @@
+package com.scb.wmtest.calculator.ratelimit;
+
+/**
+ * What one client has consumed of one {@link CostClass}, as reported by the
+ * {@link RateLimitEndpoint}
+ */
+public final class QuotaUsage {
+
+    private final long granted;
+    private final long rejected;
+    private final long available;
+    
+    QuotaUsage(long granted, long rejected, long available) {
+        this.granted = granted;
+        this.rejected = rejected;
+        this.available = available;
+    }
+    
+    static QuotaUsage of(TokenBucket bucket, long now) {
+        return new QuotaUsage(bucket.getGranted(), bucket.getRejected(), bucket.available(now));
+    }
+    
+    /**
+     * Requests let through since the client was last seen idle
+     */
+    public long getGranted() {
+        return granted;
+    }
+    
+    /**
+     * Requests answered with 429 since the client was last seen idle
+     */
+    public long getRejected() {
+        return rejected;
+    }
+    
+    /**
+     * Requests the client may send right now without waiting
+     */
+    public long getAvailable() {
+        return available;
+    }
+}
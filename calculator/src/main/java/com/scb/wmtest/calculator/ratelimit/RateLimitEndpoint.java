@@ -0,0 +1,34 @@
+package com.scb.wmtest.calculator.ratelimit;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Actuator endpoint at {@code /actuator/ratelimits} with what each client has consumed
+ * of its limits. {@code /actuator/ratelimits/{client}} shows a single token subject or
+ * client address.
+ */
+@Component
+@Endpoint(id = "ratelimits")
+public class RateLimitEndpoint {
+
+    private final RateLimiter rateLimiter;
+    
+    public RateLimitEndpoint(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+    
+    @ReadOperation
+    public Map<String, Map<CostClass, QuotaUsage>> clients() {
+        return rateLimiter.usage();
+    }
+    
+    @ReadOperation
+    public Map<CostClass, QuotaUsage> client(@Selector String client) {
+        return rateLimiter.usage(client);
+    }
+}
@@ -0,0 +1,85 @@
+package com.scb.wmtest.calculator.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scb.wmtest.calculator.model.ErrorResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies the {@link RateLimiter} after authentication: authenticated requests are
+ * limited per token subject, logins per client address. A request over its limit is
+ * answered with {@code 429 RATE_LIMITED} and a {@code Retry-After} header without
+ * reaching the controller. Unauthenticated API requests are left to authorization.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+    
+    @Autowired
+    public RateLimitFilter(RateLimiter rateLimiter, ObjectMapper objectMapper) {
+        this.rateLimiter = rateLimiter;
+        this.objectMapper = objectMapper;
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !rateLimiter.isEnabled();
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        CostClass costClass = CostClass.of(request.getRequestURI().substring(request.getContextPath().length()));
+        String client = null;
+        if (costClass == CostClass.LOGIN) {
+            client = request.getRemoteAddr();
+        } else if (costClass != null) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            client = authentication != null && authentication.isAuthenticated() ? authentication.getName() : null;
+        }
+        long wait = client != null ? rateLimiter.tryAcquire(costClass, client) : 0;
+        if (wait > 0) {
+            reject(response, wait);
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+    
+    private void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        long seconds = retryAfterSeconds(waitNanos);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), rateLimited(seconds));
+    }
+    
+    /**
+     * Whole seconds to wait, rounded up, as {@code Retry-After} takes no fractions
+     */
+    public static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+    
+    static ErrorResponse rateLimited(long retryAfterSeconds) {
+        return new ErrorResponse("RATE_LIMITED",
+                "Rate limit exceeded, retry after " + retryAfterSeconds + " s", LocalDateTime.now());
+    }
+}
@@ -0,0 +1,78 @@
+package com.scb.wmtest.calculator.ratelimit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.Optional;
+
+/**
+ * Reactive counterpart of {@link RateLimitFilter}, placed after the authentication
+ * filter so the token subject is in the Reactor context
+ */
+public class RateLimitWebFilter implements WebFilter {
+
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+    
+    public RateLimitWebFilter(RateLimiter rateLimiter, ObjectMapper objectMapper) {
+        this.rateLimiter = rateLimiter;
+        this.objectMapper = objectMapper;
+    }
+    
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!rateLimiter.isEnabled()) {
+            return chain.filter(exchange);
+        }
+        ServerHttpRequest request = exchange.getRequest();
+        CostClass costClass = CostClass.of(request.getPath().pathWithinApplication().value());
+        if (costClass == null) {
+            return chain.filter(exchange);
+        }
+        if (costClass == CostClass.LOGIN) {
+            InetSocketAddress address = request.getRemoteAddress();
+            String client = address != null ? address.getAddress().getHostAddress() : null;
+            return limit(exchange, chain, costClass, client);
+        }
+        return ReactiveSecurityContextHolder.getContext()
+                .map(SecurityContext::getAuthentication)
+                .filter(Authentication::isAuthenticated)
+                .map(authentication -> Optional.of(authentication.getName()))
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(client -> limit(exchange, chain, costClass, client.orElse(null)));
+    }
+    
+    private Mono<Void> limit(ServerWebExchange exchange, WebFilterChain chain, CostClass costClass, String client) {
+        long wait = client != null ? rateLimiter.tryAcquire(costClass, client) : 0;
+        if (wait == 0) {
+            return chain.filter(exchange);
+        }
+        long seconds = RateLimitFilter.retryAfterSeconds(wait);
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(RateLimitFilter.rateLimited(seconds));
+        } catch (JsonProcessingException e) {
+            return Mono.error(e);
+        }
+        DataBuffer buffer = response.bufferFactory().wrap(body);
+        return response.writeWith(Mono.just(buffer));
+    }
+}
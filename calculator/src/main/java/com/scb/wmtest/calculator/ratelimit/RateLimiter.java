@@ -0,0 +1,193 @@
+package com.scb.wmtest.calculator.ratelimit;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-client request limits, one {@link TokenBucket} per client and {@link CostClass}.
+ * <p>
+ * Clients are token subjects, or client addresses for {@link CostClass#LOGIN}. Looking
+ * up a client's bucket is a lock-free map read and taking a token a compare-and-set on
+ * that bucket alone, so clients never contend with each other. A bucket is created
+ * full when its client is first seen. A background sweep drops buckets that have
+ * refilled completely every {@code calculator.rate-limit.sweep-interval}, which forgets
+ * nothing. While a class tracks as many clients as allowed, clients it does not track
+ * yet share one bucket of that class until a sweep makes room; tracked clients keep
+ * their buckets, so flooding the limiter with new clients cannot reset anyone's limit.
+ */
+@Component
+public class RateLimiter implements MeterBinder {
+
+    private static final CostClass[] COST_CLASSES = CostClass.values();
+    
+    private final boolean enabled;
+    private final int maximumClients;
+    private final double[] rates = new double[COST_CLASSES.length];
+    private final int[] bursts = new int[COST_CLASSES.length];
+    private final ConcurrentHashMap<String, TokenBucket>[] buckets;
+    private final TokenBucket[] overflow = new TokenBucket[COST_CLASSES.length];
+    private final ScheduledExecutorService sweeper;
+    
+    private final LongAdder[] granted = new LongAdder[COST_CLASSES.length];
+    private final LongAdder[] rejected = new LongAdder[COST_CLASSES.length];
+    private final LongAdder overflowed = new LongAdder();
+    
+    @Autowired
+    @SuppressWarnings("unchecked")
+    public RateLimiter(@Value("${calculator.rate-limit.enabled:true}") boolean enabled,
+                       @Value("${calculator.rate-limit.standard.rate:1000}") double standardRate,
+                       @Value("${calculator.rate-limit.standard.burst:2000}") int standardBurst,
+                       @Value("${calculator.rate-limit.heavy.rate:50}") double heavyRate,
+                       @Value("${calculator.rate-limit.heavy.burst:100}") int heavyBurst,
+                       @Value("${calculator.rate-limit.login.rate:5}") double loginRate,
+                       @Value("${calculator.rate-limit.login.burst:20}") int loginBurst,
+                       @Value("${calculator.rate-limit.maximum-clients:100000}") int maximumClients,
+                       @Value("${calculator.rate-limit.sweep-interval:10s}") Duration sweepInterval) {
+        this.enabled = enabled && maximumClients > 0;
+        this.maximumClients = maximumClients;
+        rates[CostClass.STANDARD.ordinal()] = standardRate;
+        bursts[CostClass.STANDARD.ordinal()] = standardBurst;
+        rates[CostClass.HEAVY.ordinal()] = heavyRate;
+        bursts[CostClass.HEAVY.ordinal()] = heavyBurst;
+        rates[CostClass.LOGIN.ordinal()] = loginRate;
+        bursts[CostClass.LOGIN.ordinal()] = loginBurst;
+        this.buckets = new ConcurrentHashMap[COST_CLASSES.length];
+        long now = System.nanoTime();
+        for (int i = 0; i < COST_CLASSES.length; i++) {
+            buckets[i] = new ConcurrentHashMap<>();
+            overflow[i] = new TokenBucket(rates[i], bursts[i], now);
+            granted[i] = new LongAdder();
+            rejected[i] = new LongAdder();
+        }
+        if (this.enabled) {
+            this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "calculator-ratelimit-sweep");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long interval = Math.max(1, sweepInterval.toMillis());
+            sweeper.scheduleWithFixedDelay(this::sweep, interval, interval, TimeUnit.MILLISECONDS);
+        } else {
+            this.sweeper = null;
+        }
+    }
+    
+    /**
+     * A limiter that lets every request through
+     */
+    public static RateLimiter disabled() {
+        return new RateLimiter(false, 1, 1, 1, 1, 1, 1, 0, Duration.ZERO);
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    /**
+     * Takes a token from a client's bucket for a class
+     *
+     * @return 0 if the request may proceed, otherwise how many nanoseconds until it may
+     */
+    public long tryAcquire(CostClass costClass, String client) {
+        if (!enabled) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        int index = costClass.ordinal();
+        ConcurrentHashMap<String, TokenBucket> clients = buckets[index];
+        TokenBucket bucket = clients.get(client);
+        if (bucket == null) {
+            if (clients.size() >= maximumClients) {
+                bucket = overflow[index];
+                overflowed.increment();
+            } else {
+                bucket = clients.computeIfAbsent(client, key -> new TokenBucket(rates[index], bursts[index], now));
+            }
+        }
+        long wait = bucket.tryAcquire(now);
+        (wait == 0 ? granted : rejected)[index].increment();
+        return wait;
+    }
+    
+    /**
+     * Drops the buckets that have refilled completely
+     */
+    void sweep() {
+        long now = System.nanoTime();
+        for (ConcurrentHashMap<String, TokenBucket> clients : buckets) {
+            clients.values().removeIf(bucket -> bucket.isFull(now));
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        if (sweeper != null) {
+            sweeper.shutdownNow();
+        }
+    }
+    
+    /**
+     * What every tracked client has consumed, by client and class
+     */
+    public Map<String, Map<CostClass, QuotaUsage>> usage() {
+        long now = System.nanoTime();
+        Map<String, Map<CostClass, QuotaUsage>> usage = new TreeMap<>();
+        for (CostClass costClass : COST_CLASSES) {
+            buckets[costClass.ordinal()].forEach((client, bucket) ->
+                    usage.computeIfAbsent(client, key -> new TreeMap<>()).put(costClass, QuotaUsage.of(bucket, now)));
+        }
+        return usage;
+    }
+    
+    /**
+     * What one client has consumed, by class; empty if the client is not tracked
+     */
+    public Map<CostClass, QuotaUsage> usage(String client) {
+        long now = System.nanoTime();
+        Map<CostClass, QuotaUsage> usage = new TreeMap<>();
+        for (CostClass costClass : COST_CLASSES) {
+            TokenBucket bucket = buckets[costClass.ordinal()].get(client);
+            if (bucket != null) {
+                usage.put(costClass, QuotaUsage.of(bucket, now));
+            }
+        }
+        return usage;
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!enabled) {
+            return;
+        }
+        for (CostClass costClass : COST_CLASSES) {
+            int index = costClass.ordinal();
+            String tag = costClass.name().toLowerCase();
+            FunctionCounter.builder("calculator.ratelimit.requests", granted[index], LongAdder::sum)
+                    .tag("class", tag).tag("result", "granted")
+                    .description("Requests checked against the rate limits").register(registry);
+            FunctionCounter.builder("calculator.ratelimit.requests", rejected[index], LongAdder::sum)
+                    .tag("class", tag).tag("result", "rejected")
+                    .description("Requests checked against the rate limits").register(registry);
+            Gauge.builder("calculator.ratelimit.clients", buckets[index], Map::size)
+                    .tag("class", tag).description("Clients with a rate limit bucket").register(registry);
+        }
+        FunctionCounter.builder("calculator.ratelimit.overflow", overflowed, LongAdder::sum)
+                .description("Requests of untracked clients checked against the shared bucket while the limiter was full")
+                .register(registry);
+    }
+}
@@ -0,0 +1,79 @@
+package com.scb.wmtest.calculator.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket.
+ * <p>
+ * The bucket is kept as a single timestamp, the time at which it would be full again
+ * (the generic cell rate algorithm). Taking a token moves that time one refill
+ * interval further with a compare-and-set, and is refused if it would end up more
+ * than a full bucket ahead of now. This is equivalent to a bucket of {@code burst}
+ * tokens refilled at {@code rate} tokens per second, without a lock and without a
+ * separate refill step. Times are {@link System#nanoTime()} values.
+ */
+public final class TokenBucket {
+
+    private final long interval;
+    private final long capacity;
+    private final AtomicLong fullAt;
+    private final AtomicLong granted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    
+    /**
+     * A full bucket
+     *
+     * @param rate tokens refilled per second
+     * @param burst tokens in a full bucket
+     * @param now the current time
+     */
+    public TokenBucket(double rate, int burst, long now) {
+        this.interval = Math.max(1, (long) (1_000_000_000L / rate));
+        this.capacity = interval * Math.max(1, burst);
+        this.fullAt = new AtomicLong(now);
+    }
+    
+    /**
+     * Takes a token if there is one
+     *
+     * @return 0 if a token was taken, otherwise how many nanoseconds until there is one
+     */
+    public long tryAcquire(long now) {
+        while (true) {
+            long current = fullAt.get();
+            long next = (current - now > 0 ? current : now) + interval;
+            long excess = next - now - capacity;
+            if (excess > 0) {
+                rejected.incrementAndGet();
+                return excess;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                granted.incrementAndGet();
+                return 0;
+            }
+        }
+    }
+    
+    /**
+     * Whole tokens left in the bucket
+     */
+    public long available(long now) {
+        long debt = Math.max(0, fullAt.get() - now);
+        return (capacity - debt) / interval;
+    }
+    
+    /**
+     * Whether the bucket has refilled completely, so dropping it changes nothing
+     */
+    public boolean isFull(long now) {
+        return fullAt.get() - now <= 0;
+    }
+    
+    public long getGranted() {
+        return granted.get();
+    }
+    
+    public long getRejected() {
+        return rejected.get();
+    }
+}
@@ -0,0 +1,103 @@
+package com.scb.wmtest.calculator.security;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Authentication of a request that carried a verified bearer token.
+ * <p>
+ * Immutable, so one instance is created per {@link VerifiedToken} and shared by
+ * every request that sends that token. The principal is the username; there are no
+ * credentials or authorities, and details only if they were asked for with
+ * {@link #withDetails(Object)}.
+ */
+public final class JwtAuthentication implements Authentication {
+
+    private static final long serialVersionUID = 1L;
+    
+    private final String username;
+    private final Object details;
+    
+    public JwtAuthentication(String username) {
+        this(username, null);
+    }
+    
+    private JwtAuthentication(String username, Object details) {
+        this.username = username;
+        this.details = details;
+    }
+    
+    /**
+     * A copy of this authentication carrying request details
+     */
+    public JwtAuthentication withDetails(Object details) {
+        return new JwtAuthentication(username, details);
+    }
+    
+    @Override
+    public String getName() {
+        return username;
+    }
+    
+    @Override
+    public Object getPrincipal() {
+        return username;
+    }
+    
+    @Override
+    public Object getCredentials() {
+        return null;
+    }
+    
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return Collections.emptyList();
+    }
+    
+    @Override
+    public Object getDetails() {
+        return details;
+    }
+    
+    @Override
+    public boolean isAuthenticated() {
+        return true;
+    }
+    
+    /**
+     * @throws IllegalArgumentException when asked to mark the authentication as untrusted;
+     * clear the security context instead
+     */
+    @Override
+    public void setAuthenticated(boolean authenticated) {
+        if (!authenticated) {
+            throw new IllegalArgumentException("A JWT authentication cannot be made untrusted");
+        }
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof JwtAuthentication)) {
+            return false;
+        }
+        JwtAuthentication other = (JwtAuthentication) o;
+        return username.equals(other.username)
+                && (details == null ? other.details == null : details.equals(other.details));
+    }
+    
+    @Override
+    public int hashCode() {
+        return username.hashCode();
+    }
+    
+    @Override
+    public String toString() {
+        return "JwtAuthentication [username=" + username + ", details=" + details + "]";
+    }
+}
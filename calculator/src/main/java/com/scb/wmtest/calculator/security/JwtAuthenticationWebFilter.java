@@ -0,0 +1,43 @@
+package com.scb.wmtest.calculator.security;
+
+import com.scb.wmtest.calculator.metrics.CalculatorMetrics;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@link JwtRequestFilter}: authenticates a request that
+ * carries a valid bearer token by putting the token's {@link JwtAuthentication} in the
+ * Reactor context of the rest of the chain.
+ */
+public class JwtAuthenticationWebFilter implements WebFilter {
+
+    private final JwtUtil jwtUtil;
+
+    private final CalculatorMetrics metrics;
+
+    public JwtAuthenticationWebFilter(JwtUtil jwtUtil, CalculatorMetrics metrics) {
+        this.jwtUtil = jwtUtil;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        final String authorizationHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authorizationHeader == null || !authorizationHeader.startsWith("Bearer ")) {
+            return chain.filter(exchange);
+        }
+
+        long start = System.nanoTime();
+        VerifiedToken token = jwtUtil.verify(authorizationHeader, 7);
+        metrics.recordTokenVerification(token != null, System.nanoTime() - start);
+        if (token == null) {
+            return chain.filter(exchange);
+        }
+
+        return chain.filter(exchange).contextWrite(ReactiveSecurityContextHolder.withAuthentication(token.getAuthentication()));
+    }
+}
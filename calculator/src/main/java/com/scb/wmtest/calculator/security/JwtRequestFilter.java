@@ -1,10 +1,10 @@
 package com.scb.wmtest.calculator.security;
 
+import com.scb.wmtest.calculator.metrics.CalculatorMetrics;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.User;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -14,41 +14,59 @@ import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.util.Collections;
 
+/**
+ * Authenticates requests that carry a valid bearer token with the token's
+ * {@link JwtAuthentication}, which is shared by all requests sending the same token.
+ * Request details such as the remote address are only attached when
+ * {@code calculator.security.authentication-details} is set, since nothing in this
+ * application reads them. Token checks are timed by {@link CalculatorMetrics}.
+ */
 @Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class JwtRequestFilter extends OncePerRequestFilter {
 
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final WebAuthenticationDetailsSource detailsSource = new WebAuthenticationDetailsSource();
+
+    private final JwtUtil jwtUtil;
+
+    private final boolean authenticationDetails;
+
+    private final CalculatorMetrics metrics;
+
     @Autowired
-    private JwtUtil jwtUtil;
+    public JwtRequestFilter(JwtUtil jwtUtil,
+                            @Value("${calculator.security.authentication-details:false}") boolean authenticationDetails,
+                            CalculatorMetrics metrics) {
+        this.jwtUtil = jwtUtil;
+        this.authenticationDetails = authenticationDetails;
+        this.metrics = metrics;
+    }
+
+    public JwtRequestFilter(JwtUtil jwtUtil, boolean authenticationDetails) {
+        this(jwtUtil, authenticationDetails, CalculatorMetrics.disabled());
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
             throws ServletException, IOException {
         final String authorizationHeader = request.getHeader("Authorization");
 
-        String username = null;
-        String jwt = null;
-
-        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = authorizationHeader.substring(7);
-            try {
-                username = jwtUtil.extractUsername(jwt);
-            } catch (Exception e) {
-                // Invalid token
-            }
-        }
-
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            // In a real app, load user details from DB/service
-            UserDetails userDetails = User.withUsername(username).password("").authorities(Collections.emptyList()).build();
-            if (jwtUtil.validateToken(jwt, userDetails.getUsername())) {
-                UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        if (authorizationHeader != null && authorizationHeader.startsWith(BEARER_PREFIX)
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            long start = System.nanoTime();
+            VerifiedToken token = jwtUtil.verify(authorizationHeader, BEARER_PREFIX.length());
+            metrics.recordTokenVerification(token != null, System.nanoTime() - start);
+            if (token != null) {
+                JwtAuthentication authentication = token.getAuthentication();
+                if (authenticationDetails) {
+                    authentication = authentication.withDetails(detailsSource.buildDetails(request));
+                }
                 SecurityContextHolder.getContext().setAuthentication(authentication);
             }
         }
         chain.doFilter(request, response);
     }
-} 
\ No newline at end of file
+}
@@ -1,8 +1,11 @@
  package com.scb.wmtest.calculator.security;
 
+import com.scb.wmtest.calculator.profiling.TokenVerificationEvent;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.SignatureAlgorithm;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.util.Date;
@@ -14,6 +17,97 @@ import java.util.function.Function;
 public class JwtUtil {
     private final String SECRET_KEY = "mysecretkey123456";
     private final long JWT_TOKEN_VALIDITY = 1000 * 60 * 60; // 1 hour
+    private final long REFRESH_TOKEN_VALIDITY = 1000L * 60 * 60 * 24 * 7; // 1 week
+
+    /**
+     * Claim that marks refresh tokens, which are only accepted by {@link #verifyRefreshToken(String)}
+     */
+    static final String TOKEN_TYPE_CLAIM = "type";
+    static final String REFRESH_TOKEN_TYPE = "refresh";
+
+    private final VerifiedTokenCache verifiedTokens;
+
+    @Autowired
+    public JwtUtil(VerifiedTokenCache verifiedTokens) {
+        this.verifiedTokens = verifiedTokens;
+    }
+
+    public JwtUtil() {
+        this(VerifiedTokenCache.disabled());
+    }
+
+    /**
+     * Verifies a token and reads its claims in a single parse. Tokens that were
+     * verified before and have not expired since are served from the
+     * {@link VerifiedTokenCache} without parsing them at all.
+     *
+     * @return the verified token, or null if it is malformed, forged, expired, a refresh token or has no expiration
+     */
+    public VerifiedToken verify(String token) {
+        return verify(token, 0);
+    }
+
+    /**
+     * Verifies the token that ends {@code source} from index {@code from} on, such as the
+     * token in an Authorization header, without copying it out unless it has to be parsed
+     *
+     * @return the verified token, or null if it is malformed, forged, expired, a refresh token or has no expiration
+     */
+    public VerifiedToken verify(String source, int from) {
+        TokenVerificationEvent event = new TokenVerificationEvent();
+        event.begin();
+        long now = System.currentTimeMillis();
+        if (verifiedTokens.isEnabled()) {
+            VerifiedToken cached = verifiedTokens.get(source, from, now);
+            if (cached != null) {
+                event.finish(cached, true);
+                return cached;
+            }
+        }
+
+        VerifiedToken verified = verify(source.substring(from), false, now);
+        if (verified != null && verifiedTokens.isEnabled()) {
+            verifiedTokens.put(source, from, verified, now);
+        }
+        event.finish(verified, false);
+        return verified;
+    }
+
+    /**
+     * Verifies a refresh token. Refresh tokens are not cached; they are presented once
+     * per access token.
+     *
+     * @return the verified token, or null if it is not a valid refresh token
+     */
+    public VerifiedToken verifyRefreshToken(String token) {
+        return verify(token, true, System.currentTimeMillis());
+    }
+
+    private VerifiedToken verify(String token, boolean refresh, long now) {
+        Claims claims;
+        try {
+            claims = parseClaims(token);
+        } catch (RuntimeException e) {
+            // jjwt throws more than JwtException on some malformed input
+            return null;
+        }
+        Date expiration = claims.getExpiration();
+        if (claims.getSubject() == null || expiration == null
+                || refresh != REFRESH_TOKEN_TYPE.equals(claims.get(TOKEN_TYPE_CLAIM))) {
+            return null;
+        }
+        VerifiedToken verified = new VerifiedToken(claims.getSubject(), expiration.getTime());
+        return verified.isExpired(now) ? null : verified;
+    }
+
+    /**
+     * Checks the signature of a token and returns all of its claims
+     *
+     * @throws JwtException if the token is malformed, forged or expired
+     */
+    public Claims parseClaims(String token) {
+        return Jwts.parser().setSigningKey(SECRET_KEY).parseClaimsJws(token).getBody();
+    }
 
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
@@ -24,35 +118,38 @@ public class JwtUtil {
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = parseClaims(token);
         return claimsResolver.apply(claims);
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser().setSigningKey(SECRET_KEY).parseClaimsJws(token).getBody();
-    }
-
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public String generateToken(String username) {
+        Map<String, Object> claims = new HashMap<>();
+        return createToken(claims, username, JWT_TOKEN_VALIDITY);
     }
 
-    public String generateToken(String username) {
+    /**
+     * Issues a long-lived token that can only be exchanged for new access tokens, so a
+     * client does not have to send its password, and the server does not have to check
+     * it, every hour
+     */
+    public String generateRefreshToken(String username) {
         Map<String, Object> claims = new HashMap<>();
-        return createToken(claims, username);
+        claims.put(TOKEN_TYPE_CLAIM, REFRESH_TOKEN_TYPE);
+        return createToken(claims, username, REFRESH_TOKEN_VALIDITY);
     }
 
-    private String createToken(Map<String, Object> claims, String subject) {
+    private String createToken(Map<String, Object> claims, String subject, long validity) {
         return Jwts.builder()
                 .setClaims(claims)
                 .setSubject(subject)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + JWT_TOKEN_VALIDITY))
+                .setExpiration(new Date(System.currentTimeMillis() + validity))
                 .signWith(SignatureAlgorithm.HS256, SECRET_KEY)
                 .compact();
     }
 
     public Boolean validateToken(String token, String username) {
-        final String extractedUsername = extractUsername(token);
-        return (extractedUsername.equals(username) && !isTokenExpired(token));
+        final VerifiedToken verified = verify(token);
+        return verified != null && verified.getUsername().equals(username);
     }
 } 
\ No newline at end of file
@@ -0,0 +1,113 @@
+package com.scb.wmtest.calculator.security;
+
+import com.scb.wmtest.calculator.exception.CalculatorErrors;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Runs password checks on a small dedicated pool, so that a burst of logins costs at
+ * most that pool's share of the CPU and never holds the threads that serve calculations.
+ * <p>
+ * BCrypt is deliberately slow. The pool defaults to half the processors and a short
+ * queue; a login that finds the queue full fails at once with
+ * {@link CalculatorErrors#SERVER_BUSY} instead of waiting behind checks whose clients
+ * may have given up already.
+ */
+@Component
+public class PasswordVerifier implements MeterBinder {
+
+    private final ThreadPoolExecutor workers;
+    private final Scheduler scheduler;
+    
+    private final LongAdder verifications = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    
+    @Autowired
+    public PasswordVerifier(@Value("${calculator.auth.threads:0}") int threads,
+                            @Value("${calculator.auth.queue-size:32}") int queueSize) {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), runnable -> {
+                    Thread thread = new Thread(runnable, "calculator-auth-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.scheduler = Schedulers.fromExecutor(this::execute);
+    }
+    
+    /**
+     * Runs a password check on the pool
+     *
+     * @return the result of the check, completed with {@link CalculatorErrors#SERVER_BUSY}
+     *         if the queue is full
+     */
+    public <T> CompletableFuture<T> verify(Supplier<T> check) {
+        try {
+            return CompletableFuture.supplyAsync(check, this::execute);
+        } catch (RejectedExecutionException e) {
+            CompletableFuture<T> busy = new CompletableFuture<>();
+            busy.completeExceptionally(CalculatorErrors.SERVER_BUSY);
+            return busy;
+        }
+    }
+    
+    /**
+     * The pool as a scheduler, for reactive authentication managers. A rejected check
+     * fails with a {@link RejectedExecutionException}.
+     */
+    public Scheduler getScheduler() {
+        return scheduler;
+    }
+    
+    private void execute(Runnable check) {
+        try {
+            workers.execute(check);
+            verifications.increment();
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw e;
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        scheduler.dispose();
+        workers.shutdown();
+        try {
+            workers.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("calculator.auth.verifications", verifications, LongAdder::sum)
+                .description("Password checks accepted by the password verification pool")
+                .register(registry);
+        FunctionCounter.builder("calculator.auth.rejected", rejected, LongAdder::sum)
+                .description("Password checks rejected because the verification queue was full")
+                .register(registry);
+        Gauge.builder("calculator.auth.queued", workers, executor -> executor.getQueue().size())
+                .description("Password checks waiting for a verification thread")
+                .register(registry);
+    }
+}
@@ -0,0 +1,90 @@
+package com.scb.wmtest.calculator.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scb.wmtest.calculator.metrics.CalculatorMetrics;
+import com.scb.wmtest.calculator.ratelimit.RateLimitWebFilter;
+import com.scb.wmtest.calculator.ratelimit.RateLimiter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UserDetailsRepositoryReactiveAuthenticationManager;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.core.userdetails.MapReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.HttpStatusServerEntryPoint;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import org.springframework.web.cors.reactive.CorsConfigurationSource;
+import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
+
+/**
+ * Security for the reactive profile, with the same users, public paths and CORS
+ * settings as {@link SecurityConfig}
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveSecurityConfig {
+
+    @Bean
+    public ReactiveUserDetailsService userDetailsService() {
+        // In-memory user for demonstration. In real apps, use a DB/service.
+        return new MapReactiveUserDetailsService(
+                User.withUsername("user")
+                        .password(passwordEncoder().encode("password"))
+                        .authorities("USER")
+                        .build()
+        );
+    }
+
+    @Bean
+    public PasswordEncoder passwordEncoder() {
+        return new BCryptPasswordEncoder();
+    }
+
+    /**
+     * Checks passwords on the {@link PasswordVerifier} pool, so BCrypt never runs on a Netty event loop
+     */
+    @Bean
+    public ReactiveAuthenticationManager authenticationManager(ReactiveUserDetailsService userDetailsService,
+                                                               PasswordVerifier passwordVerifier) {
+        UserDetailsRepositoryReactiveAuthenticationManager authenticationManager =
+                new UserDetailsRepositoryReactiveAuthenticationManager(userDetailsService);
+        authenticationManager.setPasswordEncoder(passwordEncoder());
+        authenticationManager.setScheduler(passwordVerifier.getScheduler());
+        return authenticationManager;
+    }
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http, JwtUtil jwtUtil,
+                                                         RateLimiter rateLimiter, ObjectMapper objectMapper,
+                                                         CalculatorMetrics metrics) {
+        http.csrf().disable()
+            .cors().and()
+            .httpBasic().disable()
+            .formLogin().disable()
+            .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+            .exceptionHandling()
+                .authenticationEntryPoint(new HttpStatusServerEntryPoint(HttpStatus.FORBIDDEN))
+            .and()
+            .authorizeExchange()
+                .pathMatchers(SecurityConfig.PUBLIC_PATHS).permitAll()
+                .anyExchange().authenticated();
+
+        http.addFilterAt(new JwtAuthenticationWebFilter(jwtUtil, metrics), SecurityWebFiltersOrder.AUTHENTICATION);
+        http.addFilterAfter(new RateLimitWebFilter(rateLimiter, objectMapper), SecurityWebFiltersOrder.AUTHENTICATION);
+        return http.build();
+    }
+
+    @Bean
+    public CorsConfigurationSource corsConfigurationSource() {
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/**", SecurityConfig.corsConfiguration());
+        return source;
+    }
+}
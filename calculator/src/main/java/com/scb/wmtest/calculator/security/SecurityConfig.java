@@ -1,6 +1,9 @@
 package com.scb.wmtest.calculator.security;
 
+import com.scb.wmtest.calculator.ratelimit.RateLimitFilter;
+import com.scb.wmtest.calculator.websocket.WebSocketConfig;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -16,11 +19,22 @@ import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 @Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class SecurityConfig {
 
+    /**
+     * Paths served without a token, on both the servlet and the reactive stack
+     */
+    static final String[] PUBLIC_PATHS = {
+        "/login", "/refresh", "/swagger-ui.html", "/swagger-ui/**", "/v3/api-docs/**", "/api-docs/**", "/actuator/health", "/actuator/prometheus"
+    };
+
     @Autowired
     private JwtRequestFilter jwtRequestFilter;
 
+    @Autowired
+    private RateLimitFilter rateLimitFilter;
+
     @Bean
     public UserDetailsService userDetailsService() {
         // In-memory user for demonstration. In real apps, use a DB/service.
@@ -42,25 +56,34 @@ public class SecurityConfig {
         http.csrf().disable()
             .cors().and()  // Enable CORS
             .authorizeRequests()
-                .antMatchers("/login", "/swagger-ui.html", "/swagger-ui/**", "/v3/api-docs/**", "/api-docs/**", "/actuator/health").permitAll()
+                .antMatchers(PUBLIC_PATHS).permitAll()
+                // Authenticated by the handshake interceptor, which also accepts the token as a query parameter
+                .antMatchers(WebSocketConfig.SESSION_PATH).permitAll()
                 .anyRequest().authenticated()
             .and()
             .sessionManagement().sessionCreationPolicy(SessionCreationPolicy.STATELESS);
 
         http.addFilterBefore(jwtRequestFilter, UsernamePasswordAuthenticationFilter.class);
+        http.addFilterAfter(rateLimitFilter, UsernamePasswordAuthenticationFilter.class);
         return http.build();
     }
 
     @Bean
     public org.springframework.web.cors.CorsConfigurationSource corsConfigurationSource() {
+        org.springframework.web.cors.UrlBasedCorsConfigurationSource source = new org.springframework.web.cors.UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/**", corsConfiguration());
+        return source;
+    }
+    
+    /**
+     * CORS settings shared with {@link ReactiveSecurityConfig}
+     */
+    static org.springframework.web.cors.CorsConfiguration corsConfiguration() {
         org.springframework.web.cors.CorsConfiguration configuration = new org.springframework.web.cors.CorsConfiguration();
         configuration.setAllowedOriginPatterns(java.util.Arrays.asList("*"));
         configuration.setAllowedMethods(java.util.Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(java.util.Arrays.asList("*"));
         configuration.setAllowCredentials(true);
-        
-        org.springframework.web.cors.UrlBasedCorsConfigurationSource source = new org.springframework.web.cors.UrlBasedCorsConfigurationSource();
-        source.registerCorsConfiguration("/**", configuration);
-        return source;
+        return configuration;
     }
 } 
\ No newline at end of file
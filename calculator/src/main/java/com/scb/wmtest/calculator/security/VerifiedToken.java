@@ -0,0 +1,49 @@
+package com.scb.wmtest.calculator.security;
+
+import java.util.Date;
+
+/**
+ * The claims of a token whose signature has been checked, as far as this
+ * application uses them
+ */
+public final class VerifiedToken {
+
+    private final String username;
+    private final long expiresAt;
+    private final JwtAuthentication authentication;
+    
+    public VerifiedToken(String username, long expiresAt) {
+        this.username = username;
+        this.expiresAt = expiresAt;
+        this.authentication = new JwtAuthentication(username);
+    }
+    
+    public String getUsername() {
+        return username;
+    }
+    
+    /**
+     * The authentication of requests carrying this token, the same instance every time
+     */
+    public JwtAuthentication getAuthentication() {
+        return authentication;
+    }
+    
+    /**
+     * Expiration time in milliseconds since the epoch
+     */
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+    
+    public Date getExpiration() {
+        return new Date(expiresAt);
+    }
+    
+    /**
+     * Whether the token has expired at the given time in milliseconds since the epoch
+     */
+    public boolean isExpired(long now) {
+        return now >= expiresAt;
+    }
+}
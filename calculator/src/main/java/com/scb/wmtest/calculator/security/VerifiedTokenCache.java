@@ -0,0 +1,212 @@
+package com.scb.wmtest.calculator.security;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of verified tokens, so a client that sends the same bearer token on
+ * every request pays for signature verification and claims parsing once.
+ * <p>
+ * Entries are keyed on the SHA-256 digest of the token rather than the token itself,
+ * which keeps entries small and makes it infeasible to craft a different token that
+ * hits the entry of a verified one. Tokens are hashed straight from the request
+ * header into per thread buffers, so a cache hit allocates nothing. An entry is served only until its token expires,
+ * to the millisecond, and is dropped when it is found expired. When the cache is full
+ * expired entries are swept first; if none are, an arbitrary entry makes room.
+ */
+@Component
+public class VerifiedTokenCache implements MeterBinder {
+
+    private static final ThreadLocal<Hasher> HASHERS = ThreadLocal.withInitial(Hasher::new);
+    
+    private final boolean enabled;
+    private final int maximumSize;
+    private final ConcurrentHashMap<Digest, VerifiedToken> tokens = new ConcurrentHashMap<>();
+    
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    
+    @Autowired
+    public VerifiedTokenCache(@Value("${calculator.jwt.cache.enabled:true}") boolean enabled,
+                              @Value("${calculator.jwt.cache.maximum-size:10000}") int maximumSize) {
+        this.enabled = enabled && maximumSize > 0;
+        this.maximumSize = maximumSize;
+    }
+    
+    /**
+     * A cache that caches nothing
+     */
+    public static VerifiedTokenCache disabled() {
+        return new VerifiedTokenCache(false, 0);
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    /**
+     * Looks up a verified token
+     *
+     * @param source the token, or a string the token ends, such as an Authorization header
+     * @param from where the token starts in {@code source}
+     * @param now the current time in milliseconds since the epoch
+     * @return the token, or null if it is not cached or has expired
+     */
+    public VerifiedToken get(String source, int from, long now) {
+        Digest probe = HASHERS.get().digest(source, from);
+        VerifiedToken token = probe != null ? tokens.get(probe) : null;
+        if (token != null && token.isExpired(now)) {
+            tokens.remove(probe, token);
+            token = null;
+        }
+        if (token == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return token;
+    }
+    
+    /**
+     * Caches a verified token, given the same way as to {@link #get(String, int, long)}
+     */
+    public void put(String source, int from, VerifiedToken token, long now) {
+        Digest probe = HASHERS.get().digest(source, from);
+        if (probe == null) {
+            return;
+        }
+        Digest digest = probe.copy();
+        if (tokens.size() >= maximumSize && !tokens.containsKey(digest)) {
+            makeRoom(now);
+        }
+        tokens.put(digest, token);
+    }
+    
+    private void makeRoom(long now) {
+        tokens.values().removeIf(token -> token.isExpired(now));
+        Iterator<Map.Entry<Digest, VerifiedToken>> entries = tokens.entrySet().iterator();
+        while (tokens.size() >= maximumSize && entries.hasNext()) {
+            entries.next();
+            entries.remove();
+            evictions.increment();
+        }
+    }
+    
+    public int size() {
+        return tokens.size();
+    }
+    
+    public long getHitCount() {
+        return hits.sum();
+    }
+    
+    public long getMissCount() {
+        return misses.sum();
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!enabled) {
+            return;
+        }
+        FunctionCounter.builder("calculator.jwt.cache.requests", hits, LongAdder::sum)
+                .tag("result", "hit").description("Verified token cache lookups").register(registry);
+        FunctionCounter.builder("calculator.jwt.cache.requests", misses, LongAdder::sum)
+                .tag("result", "miss").description("Verified token cache lookups").register(registry);
+        FunctionCounter.builder("calculator.jwt.cache.evictions", evictions, LongAdder::sum)
+                .description("Unexpired tokens evicted to make room").register(registry);
+        Gauge.builder("calculator.jwt.cache.size", this, VerifiedTokenCache::size)
+                .description("Cached verified tokens").register(registry);
+    }
+    
+    /**
+     * SHA-256 digest of a token
+     */
+    private static final class Digest {
+    
+        private final byte[] bytes;
+        private int hash;
+        
+        Digest(byte[] bytes) {
+            this.bytes = bytes;
+            rehash();
+        }
+        
+        void rehash() {
+            hash = (bytes[0] & 0xFF) << 24 | (bytes[1] & 0xFF) << 16 | (bytes[2] & 0xFF) << 8 | (bytes[3] & 0xFF);
+        }
+        
+        Digest copy() {
+            return new Digest(bytes.clone());
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Digest && MessageDigest.isEqual(bytes, ((Digest) o).bytes);
+        }
+        
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+    
+    /**
+     * Per thread hashing state, so looking up a token allocates nothing. The digest it
+     * returns is overwritten by the next one and must be copied to be kept.
+     */
+    private static final class Hasher {
+    
+        private final MessageDigest sha256;
+        private final Digest probe = new Digest(new byte[32]);
+        private byte[] input = new byte[512];
+        
+        Hasher() {
+            try {
+                sha256 = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 is not available", e);
+            }
+        }
+        
+        /**
+         * @return the digest, or null if the token has characters outside ASCII, which no
+         * valid token has and which could not be told apart after narrowing them to bytes
+         */
+        Digest digest(String source, int from) {
+            int length = source.length() - from;
+            if (input.length < length) {
+                input = new byte[Math.max(length, input.length * 2)];
+            }
+            for (int i = 0; i < length; i++) {
+                char c = source.charAt(from + i);
+                if (c >= 0x80) {
+                    return null;
+                }
+                input[i] = (byte) c;
+            }
+            try {
+                sha256.update(input, 0, length);
+                sha256.digest(probe.bytes, 0, probe.bytes.length);
+            } catch (DigestException e) {
+                throw new IllegalStateException("Cannot digest token", e);
+            }
+            probe.rehash();
+            return probe;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.scb.wmtest.calculator.services;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.scb.wmtest.calculator.model.BatchOperation;
+import com.scb.wmtest.calculator.model.BatchResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Evaluates a stream of newline delimited JSON operations into a stream of newline
+ * delimited JSON results, one result per record and in record order.
+ * <p>
+ * Records are read from the input as they arrive and each result is written as soon
+ * as its record is evaluated, so memory use is bounded by the largest record
+ * regardless of the size of the input. Output is flushed whenever no more input is
+ * available without blocking. Both streams are blocking: when the client stops
+ * reading results the writes block, no more records are read, and TCP flow control
+ * slows the upload down in turn.
+ * <p>
+ * Malformed records and records longer than {@code calculator.stream.max-record-bytes}
+ * are reported in their own result and do not end the stream. Blank lines are skipped.
+ */
+@Service
+public class BatchStreamService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchStreamService.class);
+    
+    private static final int READ_SIZE = 8192;
+    
+    private final CalculateService calculateService;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader operationReader;
+    private final ObjectWriter resultWriter;
+    private final int maxRecordBytes;
+    
+    @Autowired
+    public BatchStreamService(CalculateService calculateService, ObjectMapper objectMapper,
+                              @Value("${calculator.stream.max-record-bytes:65536}") int maxRecordBytes) {
+        this.calculateService = calculateService;
+        this.objectMapper = objectMapper;
+        this.operationReader = objectMapper.readerFor(BatchOperation.class);
+        this.resultWriter = objectMapper.writerFor(BatchResult.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.maxRecordBytes = maxRecordBytes;
+    }
+    
+    /**
+     * Evaluates every record of the input and writes its result to the output
+     *
+     * @return the number of records evaluated
+     * @throws IOException if reading the input or writing the output fails
+     */
+    public long calculate(InputStream input, OutputStream output) throws IOException {
+        byte[] buffer = new byte[Math.max(maxRecordBytes, READ_SIZE)];
+        int start = 0;
+        int end = 0;
+        boolean skippingOversizedRecord = false;
+        long records = 0;
+        long failed = 0;
+        
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(output);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        // Records are terminated by a newline rather than separated by the default space
+        generator.setRootValueSeparator(null);
+        
+        while (true) {
+            int newline = indexOf(buffer, start, end, (byte) '\n');
+            if (newline >= 0) {
+                if (skippingOversizedRecord) {
+                    skippingOversizedRecord = false;
+                } else if (!isBlank(buffer, start, newline)) {
+                    BatchResult result = evaluate(records++, buffer, start, newline);
+                    failed += result.isSuccessful() ? 0 : 1;
+                    write(generator, result);
+                }
+                start = newline + 1;
+                continue;
+            }
+            
+            if (start > 0) {
+                System.arraycopy(buffer, start, buffer, 0, end - start);
+                end -= start;
+                start = 0;
+            }
+            if (end == buffer.length) {
+                if (!skippingOversizedRecord) {
+                    failed++;
+                    write(generator, BatchResult.failure(records++, "RECORD_TOO_LARGE",
+                            "Record exceeds " + maxRecordBytes + " bytes"));
+                    skippingOversizedRecord = true;
+                }
+                end = 0;
+            }
+            
+            if (input.available() <= 0) {
+                generator.flush();
+            }
+            int read = input.read(buffer, end, buffer.length - end);
+            if (read < 0) {
+                break;
+            }
+            end += read;
+        }
+        
+        if (!skippingOversizedRecord && !isBlank(buffer, start, end)) {
+            BatchResult result = evaluate(records++, buffer, start, end);
+            failed += result.isSuccessful() ? 0 : 1;
+            write(generator, result);
+        }
+        generator.flush();
+        
+        if (logger.isDebugEnabled()) {
+            logger.debug("Streamed batch calculation completed: {} records, {} failed", records, failed);
+        }
+        return records;
+    }
+    
+    private BatchResult evaluate(long index, byte[] buffer, int start, int end) {
+        BatchOperation operation;
+        try {
+            operation = operationReader.readValue(buffer, start, end - start);
+        } catch (JsonProcessingException e) {
+            return BatchResult.failure(index, "MALFORMED_RECORD", "Record is not a JSON operation");
+        } catch (IOException e) {
+            return BatchResult.failure(index, "MALFORMED_RECORD", "Record cannot be read");
+        }
+        return calculateService.performBatchOperation(index, operation);
+    }
+    
+    private void write(JsonGenerator generator, BatchResult result) throws IOException {
+        resultWriter.writeValue(generator, result);
+        generator.writeRaw('\n');
+    }
+    
+    private static int indexOf(byte[] buffer, int from, int to, byte value) {
+        for (int i = from; i < to; i++) {
+            if (buffer[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    private static boolean isBlank(byte[] buffer, int from, int to) {
+        for (int i = from; i < to; i++) {
+            byte b = buffer[i];
+            if (b != ' ' && b != '\t' && b != '\r') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
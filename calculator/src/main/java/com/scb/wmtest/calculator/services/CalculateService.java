@@ -1,24 +1,80 @@
 package com.scb.wmtest.calculator.services;
 
 import com.scb.wmtest.calculator.CalculatorOperation;
+import com.scb.wmtest.calculator.audit.CalculationAuditLog;
+import com.scb.wmtest.calculator.cache.CachedResult;
+import com.scb.wmtest.calculator.cache.CalculationKey;
+import com.scb.wmtest.calculator.cache.ResultCache;
+import com.scb.wmtest.calculator.coalescing.RequestCoalescer;
+import com.scb.wmtest.calculator.exception.CalculatorErrors;
 import com.scb.wmtest.calculator.exception.CalculatorException;
+import com.scb.wmtest.calculator.metrics.CalculatorMetrics;
+import com.scb.wmtest.calculator.model.BatchOperation;
+import com.scb.wmtest.calculator.model.BatchResult;
+import com.scb.wmtest.calculator.operation.BinaryOperationStrategy;
+import com.scb.wmtest.calculator.operation.BuiltInOperations;
+import com.scb.wmtest.calculator.operation.OperationRegistry;
+import com.scb.wmtest.calculator.operation.OperationStrategy;
+import com.scb.wmtest.calculator.operation.UnaryOperationStrategy;
+import com.scb.wmtest.calculator.profiling.CalculationEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 /**
- * Service for performing calculator operations
+ * Service for performing calculator operations.
+ * <p>
+ * Individual calculations are written to the {@link CalculationAuditLog} rather
+ * than logged on the request thread, timed per operation by {@link CalculatorMetrics} and,
+ * while a Flight Recorder recording enables them, recorded as {@link CalculationEvent}s.
  */
 @Service
 public class CalculateService {
-    
+
     private static final Logger logger = LoggerFactory.getLogger(CalculateService.class);
     
+    private final OperationRegistry operationRegistry;
+    
+    private final ResultCache resultCache;
+    
+    private final CalculationAuditLog auditLog;
+    
+    private final RequestCoalescer coalescer;
+    
+    private final CalculatorMetrics metrics;
+    
+    private final String supportedBinaryOperations;
+    
+    @Autowired
+    public CalculateService(OperationRegistry operationRegistry, ResultCache resultCache, CalculationAuditLog auditLog,
+                            RequestCoalescer coalescer, CalculatorMetrics metrics) {
+        this.operationRegistry = operationRegistry;
+        this.resultCache = resultCache;
+        this.auditLog = auditLog;
+        this.coalescer = coalescer;
+        this.metrics = metrics;
+        this.supportedBinaryOperations = String.join(", ", operationRegistry.getBinaryOperationNames());
+    }
+    
+    /**
+     * A service over the built-in operations and {@code OperationProvider}s on the class
+     * path, with result caching, coalescing, auditing and metrics all off. For tests and
+     * benchmarks; construct the service directly to turn one of them on.
+     */
+    public static CalculateService standalone() {
+        return new CalculateService(new OperationRegistry(), ResultCache.disabled(), CalculationAuditLog.disabled(),
+                RequestCoalescer.disabled(), CalculatorMetrics.disabled());
+    }
+    
     /**
      * Performs the specified mathematical operation on two numbers
-     * 
+     *
      * @param action the mathematical operation to perform
      * @param val1 the first operand
      * @param val2 the second operand
@@ -26,167 +82,322 @@ public class CalculateService {
      * @throws CalculatorException if the operation is invalid or division by zero occurs
      */
     public double performAction(String action, double val1, double val2) {
-        logger.info("Performing calculation: {} {} {}", val1, action, val2);
+        return tryPerformAction(action, val1, val2).getValue();
+    }
+    
+    /**
+     * Performs the specified mathematical operation on two numbers, returning an
+     * invalid operation or a domain error such as division by zero as a failed
+     * result. Domain errors are stackless and mostly preallocated, so a failed
+     * calculation costs about as much as a successful one.
+     *
+     * @param action the mathematical operation to perform
+     * @param val1 the first operand
+     * @param val2 the second operand
+     * @return the value of the calculation or the error it failed with
+     */
+    public CalculationResult tryPerformAction(String action, double val1, double val2) {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Performing calculation: {} {} {}", val1, action, val2);
+        }
         
-        CalculatorOperation operation = CalculatorOperation.fromValue(action);
+        OperationStrategy operation = operationRegistry.find(action);
         if (operation == null) {
-            logger.error("Invalid operation requested: {}", action);
-            throw new CalculatorException("Invalid operation: " + action + ". Supported operations: sum, subtract, multiply, divide, power, percentage", "INVALID_OPERATION");
+            String message = "Invalid operation: " + action + ". Supported operations: " + supportedBinaryOperations;
+            auditLog.recordFailure(action, false, val1, val2, "INVALID_OPERATION", message);
+            return CalculationResult.failure(CalculatorException.stackless(message, "INVALID_OPERATION"));
         }
         
-        double result;
-        try {
-            switch (operation) {
-                case SUM:
-                    result = val1 + val2;
-                    break;
-                case SUBTRACT:
-                    result = val1 - val2;
-                    break;
-                case MULTIPLY:
-                    result = val1 * val2;
-                    break;
-                case DIVIDE:
-                    if (val2 == 0) {
-                        logger.error("Division by zero attempted: {} / {}", val1, val2);
-                        throw new CalculatorException("Division by zero is not allowed", "DIVISION_BY_ZERO");
-                    }
-                    result = val1 / val2;
-                    break;
-                case POWER:
-                    result = Math.pow(val1, val2);
-                    break;
-                case PERCENTAGE:
-                    result = (val1 * val2) / 100.0;
-                    break;
-                default:
-                    logger.error("Unsupported operation: {}", operation);
-                    throw new CalculatorException("Unsupported operation: " + operation, "UNSUPPORTED_OPERATION");
-            }
-            
-            logger.info("Calculation completed successfully: {} {} {} = {}", val1, action, val2, result);
-            return result;
-            
-        } catch (CalculatorException e) {
-            // Re-throw CalculatorException as-is
-            throw e;
-        } catch (ArithmeticException e) {
-            logger.error("Arithmetic exception during calculation: {} {} {}", val1, action, val2, e.getMessage());
-            throw new CalculatorException("Arithmetic error: " + e.getMessage(), "ARITHMETIC_ERROR");
-        } catch (Exception e) {
-            logger.error("Unexpected error during calculation: {} {} {}", val1, action, val2, e.getMessage());
-            throw new CalculatorException("Unexpected error during calculation", "CALCULATION_ERROR");
+        CalculationEvent event = new CalculationEvent();
+        event.begin();
+        long start = System.nanoTime();
+        CalculationResult result = calculate(operation, val1, val2);
+        metrics.recordCalculation(operation, result.isSuccessful(), System.nanoTime() - start);
+        if (result.isSuccessful()) {
+            event.finish(operation, false, val1, val2, null);
+            auditLog.recordSuccess(operation.getName(), false, val1, val2, result.getValue());
+        } else {
+            CalculatorException error = result.getError();
+            event.finish(operation, false, val1, val2, error.getErrorCode());
+            auditLog.recordFailure(action, false, val1, val2, error.getErrorCode(), error.getMessage());
         }
+        return result;
     }
-
+    
     /**
      * Performs the specified mathematical operation on a single number
-     * 
+     *
      * @param action the mathematical operation to perform
      * @param val the operand
      * @return the result of the calculation
      * @throws CalculatorException if the operation is invalid
      */
     public double performSingleAction(String action, double val) {
-        logger.info("Performing single calculation: {} {}", action, val);
+        return tryPerformSingleAction(action, val).getValue();
+    }
+    
+    /**
+     * Performs the specified mathematical operation on a single number, returning an
+     * invalid operation or a domain error such as the square root of a negative
+     * number as a failed result
+     *
+     * @param action the mathematical operation to perform
+     * @param val the operand
+     * @return the value of the calculation or the error it failed with
+     */
+    public CalculationResult tryPerformSingleAction(String action, double val) {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Performing single calculation: {} {}", action, val);
+        }
         
-        CalculatorOperation operation = CalculatorOperation.fromValue(action);
+        OperationStrategy operation = operationRegistry.find(action);
         if (operation == null) {
-            logger.error("Invalid operation requested: {}", action);
-            throw new CalculatorException("Invalid operation: " + action, "INVALID_OPERATION");
+            String message = "Invalid operation: " + action;
+            auditLog.recordFailure(action, true, val, 0, "INVALID_OPERATION", message);
+            return CalculationResult.failure(CalculatorException.stackless(message, "INVALID_OPERATION"));
+        }
+        
+        CalculationEvent event = new CalculationEvent();
+        event.begin();
+        long start = System.nanoTime();
+        CalculationResult result = calculateSingle(operation, val);
+        metrics.recordCalculation(operation, result.isSuccessful(), System.nanoTime() - start);
+        if (result.isSuccessful()) {
+            event.finish(operation, true, val, 0, null);
+            auditLog.recordSuccess(operation.getName(), true, val, 0, result.getValue());
+        } else {
+            CalculatorException error = result.getError();
+            event.finish(operation, true, val, 0, error.getErrorCode());
+            auditLog.recordFailure(action, true, val, 0, error.getErrorCode(), error.getMessage());
+        }
+        return result;
+    }
+    
+    /**
+     * Performs a binary operation element-wise over primitive columns. The operation
+     * is resolved once and the columns are processed in a single tight loop that does
+     * not allocate, log or throw per element. Elements whose operation is undefined
+     * (e.g. division by zero) get {@code NaN} in {@code result} and their bit set in
+     * {@code errors}: bit {@code i % 64} of {@code errors[i / 64]}.
+     *
+     * @param operation the binary operation to perform
+     * @param val1 the first operand column
+     * @param val2 the second operand column, same length as {@code val1}
+     * @param result receives the results, at least as long as {@code val1}
+     * @param errors receives the error bitmap, at least {@code (val1.length + 63) / 64} words
+     * @return the number of elements that failed
+     * @throws CalculatorException if the operation is not binary or the columns do not line up
+     */
+    public int performAction(CalculatorOperation operation, double[] val1, double[] val2, double[] result, long[] errors) {
+        if (operation == null) {
+            throw new CalculatorException("Operation cannot be null", "INVALID_OPERATION");
+        }
+        if (val1 == null || val2 == null || val1.length != val2.length) {
+            throw new CalculatorException("Operand columns must be non-null and of equal length", "INVALID_INPUT");
+        }
+        int n = val1.length;
+        checkOutputs(n, result, errors);
+        
+        int failed = ColumnarKernels.binary(operation, val1, val2, result, errors, n);
+        if (failed < 0) {
+            throw new CalculatorException("Unsupported operation: " + operation, "UNSUPPORTED_OPERATION");
+        }
+        return failed;
+    }
+    
+    /**
+     * Performs a single operand operation element-wise over a primitive column, with
+     * the same result and error bitmap conventions as
+     * {@link #performAction(CalculatorOperation, double[], double[], double[], long[])}.
+     *
+     * @param operation the single operand operation to perform
+     * @param val the operand column
+     * @param result receives the results, at least as long as {@code val}
+     * @param errors receives the error bitmap, at least {@code (val.length + 63) / 64} words
+     * @return the number of elements that failed
+     * @throws CalculatorException if the operation is not single operand or the columns do not line up
+     */
+    public int performSingleAction(CalculatorOperation operation, double[] val, double[] result, long[] errors) {
+        if (operation == null) {
+            throw new CalculatorException("Operation cannot be null", "INVALID_OPERATION");
+        }
+        if (val == null) {
+            throw new CalculatorException("Operand column cannot be null", "INVALID_INPUT");
+        }
+        int n = val.length;
+        checkOutputs(n, result, errors);
+        
+        int failed = ColumnarKernels.unary(operation, val, result, errors, n);
+        if (failed < 0) {
+            throw new CalculatorException("Unsupported operation: " + operation, "UNSUPPORTED_OPERATION");
+        }
+        return failed;
+    }
+    
+    private static void checkOutputs(int n, double[] result, long[] errors) {
+        int words = ColumnarKernels.errorWords(n);
+        if (result == null || result.length < n || errors == null || errors.length < words) {
+            throw new CalculatorException("Result column or error bitmap is too small for " + n + " elements", "INVALID_INPUT");
+        }
+        Arrays.fill(errors, 0, words, 0L);
+    }
+    
+    /**
+     * Performs a batch of operations in a single pass. Operations without a second
+     * operand are evaluated as single operand operations. A failing operation is
+     * reported in its own result and does not abort the rest of the batch.
+     *
+     * @param operations the operations to perform, in order
+     * @return one result per operation, in request order
+     */
+    public List<BatchResult> performBatch(List<BatchOperation> operations) {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Performing batch calculation of {} operations", operations.size());
+        }
+        
+        List<BatchResult> results = new ArrayList<>(operations.size());
+        int failed = 0;
+        for (int i = 0; i < operations.size(); i++) {
+            BatchResult result = performBatchOperation(i, operations.get(i));
+            if (!result.isSuccessful()) {
+                failed++;
+            }
+            results.add(result);
+        }
+        
+        if (logger.isDebugEnabled()) {
+            logger.debug("Batch calculation completed: {} succeeded, {} failed", operations.size() - failed, failed);
+        }
+        return results;
+    }
+    
+    /**
+     * Performs one operation of a batch or of a stream of operations
+     *
+     * @param index the position of the operation, reported in its result
+     * @param item the operation, invalid if it lacks an action or its first operand
+     * @return the result or the error of the operation, never thrown
+     */
+    public BatchResult performBatchOperation(long index, BatchOperation item) {
+        if (item == null || item.getAction() == null || item.getVal1() == null) {
+            return BatchResult.failure(index, "INVALID_INPUT", "Action and first value are required");
+        }
+        
+        OperationStrategy operation = operationRegistry.find(item.getAction());
+        if (operation == null) {
+            return BatchResult.failure(index, "INVALID_OPERATION", "Invalid operation: " + item.getAction());
         }
         
-        double result;
+        boolean single = item.getVal2() == null;
+        double val1 = item.getVal1();
+        double val2 = single ? 0 : item.getVal2();
+        CalculationEvent event = new CalculationEvent();
+        event.begin();
+        long start = System.nanoTime();
+        CalculationResult result = single ? calculateSingle(operation, val1) : calculate(operation, val1, val2);
+        metrics.recordCalculation(operation, result.isSuccessful(), System.nanoTime() - start);
+        if (result.isSuccessful()) {
+            event.finish(operation, single, val1, val2, null);
+            return BatchResult.success(index, result.getValue());
+        }
+        CalculatorException error = result.getError();
+        event.finish(operation, single, val1, val2, error.getErrorCode());
+        return BatchResult.failure(index, error.getErrorCode(), error.getMessage());
+    }
+    
+    /**
+     * Applies a binary operation, consulting the result cache if the operation is cached
+     * and sharing the calculation with identical concurrent ones if it is coalesced.
+     * Unexpected errors are returned as failed results as well.
+     */
+    private CalculationResult calculate(OperationStrategy operation, double val1, double val2) {
+        boolean cacheable = resultCache.isCached(operation);
+        if (cacheable) {
+            CachedResult cached = resultCache.get(operation, false, val1, val2);
+            if (cached != null) {
+                return cached.isSuccessful()
+                        ? CalculationResult.success(cached.getValue())
+                        : CalculationResult.failure(cached.getError());
+            }
+        }
         try {
-            switch (operation) {
-                case SQUARE_ROOT:
-                    if (val < 0) {
-                        throw new CalculatorException("Cannot calculate square root of negative number", "INVALID_INPUT");
-                    }
-                    result = Math.sqrt(val);
-                    break;
-                case SQUARE:
-                    result = Math.pow(val, 2);
-                    break;
-                case CUBE:
-                    result = Math.pow(val, 3);
-                    break;
-                case SIN:
-                    result = Math.sin(Math.toRadians(val));
-                    break;
-                case COS:
-                    result = Math.cos(Math.toRadians(val));
-                    break;
-                case TAN:
-                    result = Math.tan(Math.toRadians(val));
-                    break;
-                case LOG:
-                    if (val <= 0) {
-                        throw new CalculatorException("Cannot calculate logarithm of non-positive number", "INVALID_INPUT");
-                    }
-                    result = Math.log10(val);
-                    break;
-                case LN:
-                    if (val <= 0) {
-                        throw new CalculatorException("Cannot calculate natural logarithm of non-positive number", "INVALID_INPUT");
-                    }
-                    result = Math.log(val);
-                    break;
-                case ABS:
-                    result = Math.abs(val);
-                    break;
-                case FACTORIAL:
-                    if (val < 0 || val != Math.floor(val)) {
-                        throw new CalculatorException("Factorial is only defined for non-negative integers", "INVALID_INPUT");
-                    }
-                    result = calculateFactorial((int) val);
-                    break;
-                case RECIPROCAL:
-                    if (val == 0) {
-                        throw new CalculatorException("Cannot calculate reciprocal of zero", "DIVISION_BY_ZERO");
-                    }
-                    result = 1.0 / val;
-                    break;
-                default:
-                    logger.error("Unsupported single operation: {}", operation);
-                    throw new CalculatorException("Unsupported operation: " + operation, "UNSUPPORTED_OPERATION");
+            double result = coalescer.isCoalesced(operation)
+                    ? coalescer.calculations().execute(new CalculationKey(operation, false, val1, val2),
+                            () -> apply(operation, val1, val2))
+                    : apply(operation, val1, val2);
+            if (cacheable) {
+                resultCache.put(operation, false, val1, val2, result);
             }
-            
-            logger.info("Single calculation completed successfully: {} {} = {}", action, val, result);
-            return result;
-            
+            return CalculationResult.success(result);
         } catch (CalculatorException e) {
-            // Re-throw CalculatorException as-is
-            throw e;
+            if (cacheable) {
+                resultCache.putFailure(operation, false, val1, val2, e);
+            }
+            return CalculationResult.failure(e);
         } catch (ArithmeticException e) {
-            logger.error("Arithmetic exception during calculation: {} {}", action, val, e.getMessage());
-            throw new CalculatorException("Arithmetic error: " + e.getMessage(), "ARITHMETIC_ERROR");
+            logger.error("Arithmetic exception during calculation: {} {} {}: {}", val1, operation.getName(), val2, e.getMessage());
+            return CalculationResult.failure(new CalculatorException("Arithmetic error: " + e.getMessage(), "ARITHMETIC_ERROR"));
         } catch (Exception e) {
-            logger.error("Unexpected error during calculation: {} {}", action, val, e.getMessage());
-            throw new CalculatorException("Unexpected error during calculation", "CALCULATION_ERROR");
+            logger.error("Unexpected error during calculation: {} {} {}: {}", val1, operation.getName(), val2, e.getMessage());
+            return CalculationResult.failure(new CalculatorException("Unexpected error during calculation", "CALCULATION_ERROR"));
         }
     }
-
+    
     /**
-     * Calculates factorial of a non-negative integer
-     * 
-     * @param n the number to calculate factorial for
-     * @return the factorial result
+     * Applies a single operand operation, consulting the result cache if the operation is cached
+     * and sharing the calculation with identical concurrent ones if it is coalesced.
+     * Unexpected errors are returned as failed results as well.
      */
-    private double calculateFactorial(int n) {
-        if (n == 0 || n == 1) {
-            return 1;
+    private CalculationResult calculateSingle(OperationStrategy operation, double val) {
+        boolean cacheable = resultCache.isCached(operation);
+        if (cacheable) {
+            CachedResult cached = resultCache.get(operation, true, val, 0);
+            if (cached != null) {
+                return cached.isSuccessful()
+                        ? CalculationResult.success(cached.getValue())
+                        : CalculationResult.failure(cached.getError());
+            }
         }
-        double result = 1;
-        for (int i = 2; i <= n; i++) {
-            result *= i;
+        try {
+            double result = coalescer.isCoalesced(operation)
+                    ? coalescer.calculations().execute(new CalculationKey(operation, true, val, 0),
+                            () -> applySingle(operation, val))
+                    : applySingle(operation, val);
+            if (cacheable) {
+                resultCache.put(operation, true, val, 0, result);
+            }
+            return CalculationResult.success(result);
+        } catch (CalculatorException e) {
+            if (cacheable) {
+                resultCache.putFailure(operation, true, val, 0, e);
+            }
+            return CalculationResult.failure(e);
+        } catch (ArithmeticException e) {
+            logger.error("Arithmetic exception during calculation: {} {}: {}", operation.getName(), val, e.getMessage());
+            return CalculationResult.failure(new CalculatorException("Arithmetic error: " + e.getMessage(), "ARITHMETIC_ERROR"));
+        } catch (Exception e) {
+            logger.error("Unexpected error during calculation: {} {}: {}", operation.getName(), val, e.getMessage());
+            return CalculationResult.failure(new CalculatorException("Unexpected error during calculation", "CALCULATION_ERROR"));
         }
-        return result;
+    }
+    
+    private static double apply(OperationStrategy operation, double val1, double val2) {
+        if (!(operation instanceof BinaryOperationStrategy)) {
+            throw CalculatorException.stackless("Unsupported operation: " + operation.getName(), "UNSUPPORTED_OPERATION");
+        }
+        return ((BinaryOperationStrategy) operation).apply(val1, val2);
+    }
+    
+    private static double applySingle(OperationStrategy operation, double val) {
+        if (!(operation instanceof UnaryOperationStrategy)) {
+            throw CalculatorException.stackless("Unsupported operation: " + operation.getName(), "UNSUPPORTED_OPERATION");
+        }
+        return ((UnaryOperationStrategy) operation).apply(val);
     }
     
     /**
      * Validates the input parameters for a calculation
-     * 
+     *
      * @param action the mathematical operation
      * @param val1 the first operand
      * @param val2 the second operand
@@ -197,14 +408,14 @@ public class CalculateService {
             throw new CalculatorException("Action cannot be null or empty", "INVALID_INPUT");
         }
         
-        CalculatorOperation operation = CalculatorOperation.fromValue(action);
+        OperationStrategy operation = operationRegistry.find(action);
         if (operation == null) {
             throw new CalculatorException("Invalid operation: " + action, "INVALID_OPERATION");
         }
         
         // Additional validation for division
-        if (operation == CalculatorOperation.DIVIDE && val2 == 0) {
-            throw new CalculatorException("Division by zero is not allowed", "DIVISION_BY_ZERO");
+        if (operation == BuiltInOperations.get(CalculatorOperation.DIVIDE) && val2 == 0) {
+            throw CalculatorErrors.DIVISION_BY_ZERO;
         }
         
         logger.debug("Input validation passed for operation: {} with values: {}, {}", action, val1, val2);
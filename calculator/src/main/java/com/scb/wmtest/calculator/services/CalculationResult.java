@@ -0,0 +1,54 @@
+package com.scb.wmtest.calculator.services;
+
+import com.scb.wmtest.calculator.exception.CalculatorException;
+
+/**
+ * Outcome of a single calculation: either a value or the error it failed with.
+ * <p>
+ * Returned by {@link CalculateService#tryPerformAction(String, double, double)} and
+ * {@link CalculateService#tryPerformSingleAction(String, double)} so that expected
+ * domain errors reach the caller as a value instead of unwinding the stack. The
+ * error is a {@link CalculatorException#stackless(String, String) stackless}
+ * exception and only gets thrown if the caller asks for the value.
+ */
+public final class CalculationResult {
+
+    private final double value;
+    private final CalculatorException error;
+    
+    private CalculationResult(double value, CalculatorException error) {
+        this.value = value;
+        this.error = error;
+    }
+    
+    public static CalculationResult success(double value) {
+        return new CalculationResult(value, null);
+    }
+    
+    public static CalculationResult failure(CalculatorException error) {
+        return new CalculationResult(Double.NaN, error);
+    }
+    
+    public boolean isSuccessful() {
+        return error == null;
+    }
+    
+    /**
+     * Returns the result of the calculation
+     *
+     * @throws CalculatorException if the calculation failed
+     */
+    public double getValue() {
+        if (error != null) {
+            throw error;
+        }
+        return value;
+    }
+    
+    /**
+     * The error the calculation failed with, or {@code null} if it succeeded
+     */
+    public CalculatorException getError() {
+        return error;
+    }
+}
@@ -0,0 +1,187 @@
+package com.scb.wmtest.calculator.services;
+
+import com.scb.wmtest.calculator.CalculatorOperation;
+import com.scb.wmtest.calculator.operation.BuiltInOperations;
+
+/**
+ * Tight per-operation loops over primitive columns.
+ * <p>
+ * The loops switch on the built-in {@link CalculatorOperation} rather than calling
+ * through {@link com.scb.wmtest.calculator.operation.OperationStrategy}, because a
+ * megamorphic call per element would keep the JIT from vectorizing them.
+ * <p>
+ * Every kernel computes its column in one straight loop and then marks invalid
+ * elements in a separate branch-free pass, so the arithmetic loops stay simple
+ * enough for the JIT to unroll and vectorize. Failed elements are flagged in the
+ * error bitmap (bit {@code i % 64} of word {@code i / 64}) and their result is
+ * set to {@code NaN}. Nothing in here allocates or logs.
+ */
+final class ColumnarKernels {
+
+    private ColumnarKernels() {
+    }
+    
+    /**
+     * Number of bitmap words needed to flag {@code length} elements
+     */
+    static int errorWords(int length) {
+        return (length + 63) >>> 6;
+    }
+    
+    static int binary(CalculatorOperation operation, double[] a, double[] b, double[] out, long[] errors, int n) {
+        switch (operation) {
+            case SUM:
+                for (int i = 0; i < n; i++) {
+                    out[i] = a[i] + b[i];
+                }
+                return 0;
+            case SUBTRACT:
+                for (int i = 0; i < n; i++) {
+                    out[i] = a[i] - b[i];
+                }
+                return 0;
+            case MULTIPLY:
+                for (int i = 0; i < n; i++) {
+                    out[i] = a[i] * b[i];
+                }
+                return 0;
+            case DIVIDE:
+                for (int i = 0; i < n; i++) {
+                    out[i] = a[i] / b[i];
+                }
+                return markZero(b, out, errors, n);
+            case POWER:
+                for (int i = 0; i < n; i++) {
+                    out[i] = Math.pow(a[i], b[i]);
+                }
+                return 0;
+            case PERCENTAGE:
+                for (int i = 0; i < n; i++) {
+                    out[i] = (a[i] * b[i]) / 100.0;
+                }
+                return 0;
+            default:
+                return -1;
+        }
+    }
+    
+    static int unary(CalculatorOperation operation, double[] a, double[] out, long[] errors, int n) {
+        switch (operation) {
+            case SQUARE_ROOT:
+                for (int i = 0; i < n; i++) {
+                    out[i] = Math.sqrt(a[i]);
+                }
+                return markNegative(a, out, errors, n);
+            case SQUARE:
+                for (int i = 0; i < n; i++) {
+                    out[i] = Math.pow(a[i], 2);
+                }
+                return 0;
+            case CUBE:
+                for (int i = 0; i < n; i++) {
+                    out[i] = Math.pow(a[i], 3);
+                }
+                return 0;
+            case SIN:
+                for (int i = 0; i < n; i++) {
+                    out[i] = Math.sin(Math.toRadians(a[i]));
+                }
+                return 0;
+            case COS:
+                for (int i = 0; i < n; i++) {
+                    out[i] = Math.cos(Math.toRadians(a[i]));
+                }
+                return 0;
+            case TAN:
+                for (int i = 0; i < n; i++) {
+                    out[i] = Math.tan(Math.toRadians(a[i]));
+                }
+                return 0;
+            case LOG:
+                for (int i = 0; i < n; i++) {
+                    out[i] = Math.log10(a[i]);
+                }
+                return markNonPositive(a, out, errors, n);
+            case LN:
+                for (int i = 0; i < n; i++) {
+                    out[i] = Math.log(a[i]);
+                }
+                return markNonPositive(a, out, errors, n);
+            case ABS:
+                for (int i = 0; i < n; i++) {
+                    out[i] = Math.abs(a[i]);
+                }
+                return 0;
+            case FACTORIAL:
+                return factorial(a, out, errors, n);
+            case RECIPROCAL:
+                for (int i = 0; i < n; i++) {
+                    out[i] = 1.0 / a[i];
+                }
+                return markZero(a, out, errors, n);
+            default:
+                return -1;
+        }
+    }
+    
+    private static int factorial(double[] a, double[] out, long[] errors, int n) {
+        int failed = 0;
+        for (int i = 0; i < n; i++) {
+            double v = a[i];
+            if (!BuiltInOperations.hasDoubleFactorial(v)) {
+                errors[i >>> 6] |= 1L << i;
+                out[i] = Double.NaN;
+                failed++;
+            } else {
+                out[i] = BuiltInOperations.factorial((int) v);
+            }
+        }
+        return failed;
+    }
+    
+    private static int markZero(double[] operand, double[] out, long[] errors, int n) {
+        int failed = 0;
+        for (int i = 0; i < n; i++) {
+            long bit = operand[i] == 0 ? 1L : 0L;
+            errors[i >>> 6] |= bit << i;
+            failed += (int) bit;
+        }
+        return failed == 0 ? 0 : poison(out, errors, n, failed);
+    }
+    
+    private static int markNegative(double[] operand, double[] out, long[] errors, int n) {
+        int failed = 0;
+        for (int i = 0; i < n; i++) {
+            long bit = operand[i] < 0 ? 1L : 0L;
+            errors[i >>> 6] |= bit << i;
+            failed += (int) bit;
+        }
+        return failed == 0 ? 0 : poison(out, errors, n, failed);
+    }
+    
+    private static int markNonPositive(double[] operand, double[] out, long[] errors, int n) {
+        int failed = 0;
+        for (int i = 0; i < n; i++) {
+            long bit = operand[i] <= 0 ? 1L : 0L;
+            errors[i >>> 6] |= bit << i;
+            failed += (int) bit;
+        }
+        return failed == 0 ? 0 : poison(out, errors, n, failed);
+    }
+    
+    /**
+     * Overwrites flagged results with NaN, visiting only the set bits
+     */
+    private static int poison(double[] out, long[] errors, int n, int failed) {
+        int words = errorWords(n);
+        for (int w = 0; w < words; w++) {
+            long word = errors[w];
+            while (word != 0) {
+                int i = (w << 6) + Long.numberOfTrailingZeros(word);
+                out[i] = Double.NaN;
+                word &= word - 1;
+            }
+        }
+        return failed;
+    }
+}
@@ -0,0 +1,172 @@
+package com.scb.wmtest.calculator.services;
+
+import com.scb.wmtest.calculator.CalculatorOperation;
+import com.scb.wmtest.calculator.coalescing.RequestCoalescer;
+import com.scb.wmtest.calculator.exception.CalculatorErrors;
+import com.scb.wmtest.calculator.exception.CalculatorException;
+import com.scb.wmtest.calculator.operation.DecimalMath;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.util.Arrays;
+
+/**
+ * Service for performing calculator operations in decimal precision.
+ * <p>
+ * Supports every built-in {@link CalculatorOperation}. Operations contributed through
+ * {@link com.scb.wmtest.calculator.operation.OperationProvider} only have a double
+ * implementation and are rejected here. Identical calculations requested concurrently
+ * share one computation through the {@link RequestCoalescer}.
+ */
+@Service
+public class DecimalCalculateService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DecimalCalculateService.class);
+    
+    private final FactorialService factorialService;
+    
+    private final RequestCoalescer coalescer;
+    
+    @Autowired
+    public DecimalCalculateService(FactorialService factorialService, RequestCoalescer coalescer) {
+        this.factorialService = factorialService;
+        this.coalescer = coalescer;
+    }
+    
+    public DecimalCalculateService(FactorialService factorialService) {
+        this(factorialService, RequestCoalescer.disabled());
+    }
+    
+    /**
+     * Performs the specified mathematical operation on two numbers
+     *
+     * @param action the mathematical operation to perform
+     * @param val1 the first operand
+     * @param val2 the second operand
+     * @param mc the precision and rounding mode of the result
+     * @return the result of the calculation
+     * @throws CalculatorException if the operation is invalid or not defined for the operands
+     */
+    public BigDecimal performAction(String action, BigDecimal val1, BigDecimal val2, MathContext mc) {
+        logger.debug("Performing decimal calculation: {} {} {} ({})", val1, action, val2, mc);
+        
+        CalculatorOperation operation = resolve(action);
+        try {
+            BigDecimal result = coalescer.decimals().execute(Arrays.asList(operation, val1, val2, mc),
+                    () -> calculate(operation, val1, val2, mc));
+            logger.debug("Decimal calculation completed successfully: {} {} {} = {}", val1, action, val2, result);
+            return result;
+        
+        } catch (CalculatorException e) {
+            logger.debug("Decimal calculation failed: {} {} {}: {}", val1, action, val2, e.getMessage());
+            throw e;
+        } catch (ArithmeticException e) {
+            logger.error("Arithmetic exception during decimal calculation: {} {} {}: {}", val1, action, val2, e.getMessage());
+            throw new CalculatorException("Arithmetic error: " + e.getMessage(), "ARITHMETIC_ERROR");
+        }
+    }
+    
+    /**
+     * Performs the specified mathematical operation on a single number
+     *
+     * @param action the mathematical operation to perform
+     * @param val the operand
+     * @param mc the precision and rounding mode of the result
+     * @return the result of the calculation
+     * @throws CalculatorException if the operation is invalid or not defined for the operand
+     */
+    public BigDecimal performSingleAction(String action, BigDecimal val, MathContext mc) {
+        logger.debug("Performing single decimal calculation: {} {} ({})", action, val, mc);
+        
+        CalculatorOperation operation = resolve(action);
+        try {
+            BigDecimal result = coalescer.decimals().execute(Arrays.asList(operation, val, mc),
+                    () -> calculateSingle(operation, val, mc));
+            logger.debug("Single decimal calculation completed successfully: {} {} = {}", action, val, result);
+            return result;
+        
+        } catch (CalculatorException e) {
+            logger.debug("Single decimal calculation failed: {} {}: {}", action, val, e.getMessage());
+            throw e;
+        } catch (ArithmeticException e) {
+            logger.error("Arithmetic exception during decimal calculation: {} {}: {}", action, val, e.getMessage());
+            throw new CalculatorException("Arithmetic error: " + e.getMessage(), "ARITHMETIC_ERROR");
+        }
+    }
+    
+    private static CalculatorOperation resolve(String action) {
+        CalculatorOperation operation = CalculatorOperation.fromValue(action);
+        if (operation == null) {
+            logger.debug("Invalid decimal operation requested: {}", action);
+            throw new CalculatorException("Invalid operation: " + action, "INVALID_OPERATION");
+        }
+        return operation;
+    }
+    
+    private static BigDecimal calculate(CalculatorOperation operation, BigDecimal val1, BigDecimal val2, MathContext mc) {
+        switch (operation) {
+            case SUM:
+                return DecimalMath.add(val1, val2, mc);
+            case SUBTRACT:
+                return DecimalMath.subtract(val1, val2, mc);
+            case MULTIPLY:
+                return DecimalMath.multiply(val1, val2, mc);
+            case DIVIDE:
+                return DecimalMath.divide(val1, val2, mc);
+            case POWER:
+                return DecimalMath.pow(val1, val2, mc);
+            case PERCENTAGE:
+                return DecimalMath.percentage(val1, val2, mc);
+            default:
+                throw new CalculatorException("Unsupported operation: " + operation.getValue(), "UNSUPPORTED_OPERATION");
+        }
+    }
+    
+    private BigDecimal calculateSingle(CalculatorOperation operation, BigDecimal val, MathContext mc) {
+        switch (operation) {
+            case SQUARE_ROOT:
+                return DecimalMath.sqrt(val, mc);
+            case SQUARE:
+                return val.pow(2, mc);
+            case CUBE:
+                return val.pow(3, mc);
+            case SIN:
+                return DecimalMath.sin(val, mc);
+            case COS:
+                return DecimalMath.cos(val, mc);
+            case TAN:
+                return DecimalMath.tan(val, mc);
+            case LOG:
+                return DecimalMath.log10(val, mc);
+            case LN:
+                return DecimalMath.ln(val, mc);
+            case ABS:
+                return val.abs(mc);
+            case FACTORIAL:
+                return factorial(val, mc);
+            case RECIPROCAL:
+                return DecimalMath.reciprocal(val, mc);
+            default:
+                throw new CalculatorException("Unsupported operation: " + operation.getValue(), "UNSUPPORTED_OPERATION");
+        }
+    }
+    
+    private BigDecimal factorial(BigDecimal val, MathContext mc) {
+        int n;
+        try {
+            n = val.intValueExact();
+        } catch (ArithmeticException e) {
+            n = -1;
+        }
+        if (n < 0) {
+            throw CalculatorErrors.INVALID_FACTORIAL;
+        }
+        BigInteger factorial = factorialService.exactFactorial(n);
+        return new BigDecimal(factorial).round(mc);
+    }
+}
@@ -0,0 +1,96 @@
+package com.scb.wmtest.calculator.services;
+
+import com.scb.wmtest.calculator.exception.CalculatorException;
+import com.scb.wmtest.calculator.expression.Expression;
+import com.scb.wmtest.calculator.expression.ExpressionCompiler;
+import com.scb.wmtest.calculator.expression.ExpressionParser;
+import com.scb.wmtest.calculator.expression.ParsedExpression;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Service for evaluating calculator expressions. Expressions are parsed and compiled
+ * to bytecode once and cached by their text. The cache is bounded and drops the least
+ * recently used expression when full, since recompiling a hot expression costs a new
+ * class loader and a generated class.
+ */
+@Service
+public class ExpressionService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ExpressionService.class);
+    
+    private final ExpressionCompiler compiler = new ExpressionCompiler();
+    private final Map<String, Expression> cache;
+    
+    public ExpressionService(@Value("${calculator.expression.cache-size:1000}") int cacheSize) {
+        this.cache = new LinkedHashMap<String, Expression>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Expression> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+    
+    /**
+     * Evaluates an expression against bound variables
+     *
+     * @param expression the expression text
+     * @param variables values for the variables referenced by the expression
+     * @return the result of the expression
+     * @throws CalculatorException if the expression is malformed, a variable is unbound or an operation fails
+     */
+    public double evaluate(String expression, Map<String, Double> variables) {
+        logger.debug("Evaluating expression: {} with variables {}", expression, variables);
+        
+        double result = compile(expression).evaluate(variables);
+        
+        if (logger.isDebugEnabled()) {
+            logger.debug("Expression evaluated successfully: {} = {}", expression, result);
+        }
+        return result;
+    }
+    
+    /**
+     * Returns the compiled form of an expression, compiling and caching it on first use
+     *
+     * @param expression the expression text
+     * @return the compiled expression
+     * @throws CalculatorException if the expression is malformed
+     */
+    public Expression compile(String expression) {
+        if (expression == null) {
+            throw new CalculatorException("Expression cannot be null or empty", "INVALID_EXPRESSION");
+        }
+        Expression compiled;
+        synchronized (cache) {
+            compiled = cache.get(expression);
+        }
+        if (compiled == null) {
+            // Compiled outside the lock; a concurrent miss on the same text keeps the first
+            ParsedExpression parsed = ExpressionParser.parse(expression);
+            compiled = new Expression(parsed, compiler.compile(parsed));
+            logger.debug("Compiled expression: {}", expression);
+            synchronized (cache) {
+                Expression existing = cache.putIfAbsent(expression, compiled);
+                if (existing != null) {
+                    compiled = existing;
+                }
+            }
+        }
+        return compiled;
+    }
+    
+    /**
+     * Number of cached expressions
+     */
+    int cacheSize() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.scb.wmtest.calculator.services;
+
+import com.scb.wmtest.calculator.coalescing.RequestCoalescer;
+import com.scb.wmtest.calculator.exception.CalculatorErrors;
+import com.scb.wmtest.calculator.exception.CalculatorException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Service for exact factorials of large numbers.
+ * <p>
+ * Uses Luschny's prime swing algorithm: {@code n! = ((n/2)!)^2 * swing(n)}, where the
+ * swing factor is a product of prime powers read off a sieve. The prime powers of
+ * each swing factor are multiplied as a balanced product tree, split across a
+ * dedicated fork-join pool once the tree is large enough to benefit.
+ */
+@Service
+public class FactorialService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(FactorialService.class);
+    
+    /**
+     * Below this many factors a product tree is multiplied on the calling thread
+     */
+    private static final int PARALLEL_THRESHOLD = 256;
+    
+    private static final long[] SMALL_FACTORIALS = new long[21];
+    
+    static {
+        SMALL_FACTORIALS[0] = 1;
+        for (int i = 1; i < SMALL_FACTORIALS.length; i++) {
+            SMALL_FACTORIALS[i] = SMALL_FACTORIALS[i - 1] * i;
+        }
+    }
+    
+    private final int maxN;
+    private final ForkJoinPool pool;
+    private final RequestCoalescer coalescer;
+    
+    @Autowired
+    public FactorialService(@Value("${calculator.factorial.max-exact:100000}") int maxN, RequestCoalescer coalescer) {
+        this(maxN, coalescer, new ForkJoinPool(Runtime.getRuntime().availableProcessors()));
+    }
+    
+    /**
+     * A service without coalescing that splits products across the common pool, so it
+     * owns no threads and needs no {@link #shutdown()}
+     */
+    public FactorialService(int maxN) {
+        this(maxN, RequestCoalescer.disabled(), ForkJoinPool.commonPool());
+    }
+    
+    private FactorialService(int maxN, RequestCoalescer coalescer, ForkJoinPool pool) {
+        this.maxN = maxN;
+        this.pool = pool;
+        this.coalescer = coalescer;
+    }
+    
+    /**
+     * Calculates the exact factorial of a non-negative integer
+     *
+     * @param n the number to calculate factorial for
+     * @return the exact factorial
+     * @throws CalculatorException if n is negative or above the configured limit
+     */
+    public BigInteger exactFactorial(int n) {
+        if (n < 0) {
+            throw CalculatorErrors.INVALID_FACTORIAL;
+        }
+        if (n > maxN) {
+            throw new CalculatorException("Exact factorial is limited to n <= " + maxN, "INVALID_INPUT");
+        }
+        
+        long start = System.nanoTime();
+        BigInteger result = factorial(n, sieve(n));
+        if (logger.isDebugEnabled()) {
+            logger.debug("Exact factorial of {} computed in {} ms", n, (System.nanoTime() - start) / 1_000_000);
+        }
+        return result;
+    }
+    
+    /**
+     * Calculates the exact factorial of a non-negative integer as a decimal string.
+     * Concurrent requests for the same n share one calculation and one conversion,
+     * which for large n takes about as long as the calculation itself.
+     *
+     * @param n the number to calculate factorial for
+     * @return the exact factorial in decimal
+     * @throws CalculatorException if n is negative or above the configured limit
+     */
+    public String exactFactorialString(int n) {
+        return coalescer.factorials().execute(n, () -> exactFactorial(n).toString());
+    }
+    
+    /**
+     * Shuts down the dedicated pool; the common pool ignores this
+     */
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+    
+    private BigInteger factorial(int n, BitSet composites) {
+        if (n < SMALL_FACTORIALS.length) {
+            return BigInteger.valueOf(SMALL_FACTORIALS[n]);
+        }
+        BigInteger half = factorial(n / 2, composites);
+        return half.multiply(half).multiply(swing(n, composites));
+    }
+    
+    /**
+     * Swing factor {@code n! / ((n/2)!)^2}: the product of {@code p^e} over the primes
+     * {@code p <= n}, where {@code e} counts the odd values of {@code n / p^k} for {@code k >= 1}
+     */
+    private BigInteger swing(int n, BitSet composites) {
+        List<BigInteger> factors = new ArrayList<>();
+        long pending = 1;
+        for (int p = 2; p <= n; p = composites.nextClearBit(p + 1)) {
+            long power = 1;
+            for (int q = n / p; q > 0; q /= p) {
+                if ((q & 1) == 1) {
+                    power *= p;
+                }
+            }
+            if (power == 1) {
+                continue;
+            }
+            if (pending > Long.MAX_VALUE / power) {
+                factors.add(BigInteger.valueOf(pending));
+                pending = power;
+            } else {
+                pending *= power;
+            }
+        }
+        factors.add(BigInteger.valueOf(pending));
+        
+        if (factors.size() < PARALLEL_THRESHOLD) {
+            return product(factors, 0, factors.size());
+        }
+        return pool.invoke(new ProductTask(factors, 0, factors.size()));
+    }
+    
+    private static BigInteger product(List<BigInteger> factors, int from, int to) {
+        if (to - from == 1) {
+            return factors.get(from);
+        }
+        int middle = (from + to) >>> 1;
+        return product(factors, from, middle).multiply(product(factors, middle, to));
+    }
+    
+    /**
+     * Sieve of Eratosthenes, set bits mark composites
+     */
+    private static BitSet sieve(int n) {
+        BitSet composites = new BitSet(n + 1);
+        for (int p = 2; (long) p * p <= n; p = composites.nextClearBit(p + 1)) {
+            for (int multiple = p * p; multiple <= n; multiple += p) {
+                composites.set(multiple);
+            }
+        }
+        return composites;
+    }
+    
+    /**
+     * Balanced product of a range of factors, forking both halves while they are large
+     */
+    private static final class ProductTask extends RecursiveTask<BigInteger> {
+        
+        private final List<BigInteger> factors;
+        private final int from;
+        private final int to;
+        
+        ProductTask(List<BigInteger> factors, int from, int to) {
+            this.factors = factors;
+            this.from = from;
+            this.to = to;
+        }
+        
+        @Override
+        protected BigInteger compute() {
+            if (to - from < PARALLEL_THRESHOLD) {
+                return product(factors, from, to);
+            }
+            int middle = (from + to) >>> 1;
+            ProductTask left = new ProductTask(factors, from, middle);
+            left.fork();
+            BigInteger right = new ProductTask(factors, middle, to).compute();
+            return left.join().multiply(right);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.scb.wmtest.calculator.timing;
+
+import javax.servlet.ServletRequest;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Time spent in each phase of one request, reported in the {@code Server-Timing}
+ * response header. The request is divided by marks: each mark charges the time since
+ * the previous mark, or since the request arrived, to its phase.
+ * <p>
+ * A request is timed by one thread at a time, so nothing here is synchronized.
+ */
+public final class ServerTiming {
+
+    public static final String HEADER = "Server-Timing";
+    
+    static final String ATTRIBUTE = ServerTiming.class.getName();
+    
+    /**
+     * Phases of a request, in the order they happen
+     */
+    public enum Phase {
+    
+        /**
+         * The security filter chain, including rate limiting, up to the controller
+         */
+        AUTH("auth"),
+        
+        /**
+         * Reading, binding and validating the request
+         */
+        VALIDATION("validation"),
+        
+        /**
+         * The controller method, including the calculation
+         */
+        COMPUTE("compute"),
+        
+        /**
+         * Writing the response body
+         */
+        SERIALIZATION("serialization");
+        
+        private final String metricName;
+        
+        Phase(String metricName) {
+            this.metricName = metricName;
+        }
+        
+        public String getMetricName() {
+            return metricName;
+        }
+    }
+    
+    private static final Phase[] PHASES = Phase.values();
+    
+    private final long start;
+    private final long[] nanos = new long[PHASES.length];
+    private long last;
+    private long total = -1;
+    
+    /**
+     * @param start when the request arrived, in {@link System#nanoTime()}
+     */
+    public ServerTiming(long start) {
+        this.start = start;
+        this.last = start;
+        Arrays.fill(nanos, -1);
+    }
+    
+    /**
+     * The timing of a request, or {@code null} if the request is not timed
+     */
+    public static ServerTiming of(ServletRequest request) {
+        return (ServerTiming) request.getAttribute(ATTRIBUTE);
+    }
+    
+    /**
+     * Charges the time since the previous mark to a phase
+     */
+    public void mark(Phase phase, long now) {
+        int i = phase.ordinal();
+        nanos[i] = Math.max(nanos[i], 0) + now - last;
+        last = now;
+    }
+    
+    /**
+     * Ends the request
+     */
+    public void finish(long now) {
+        total = now - start;
+    }
+    
+    /**
+     * Time spent in a phase, or -1 if the request did not reach it
+     */
+    public long getNanos(Phase phase) {
+        return nanos[phase.ordinal()];
+    }
+    
+    /**
+     * The phases measured so far in microseconds, in phase order
+     */
+    public Map<String, Long> toMicros() {
+        Map<String, Long> micros = new LinkedHashMap<>();
+        for (Phase phase : PHASES) {
+            long phaseNanos = nanos[phase.ordinal()];
+            if (phaseNanos >= 0) {
+                micros.put(phase.getMetricName(), phaseNanos / 1000);
+            }
+        }
+        return micros;
+    }
+    
+    /**
+     * The header value, such as {@code auth;dur=0.052, compute;dur=0.003, total;dur=0.061}.
+     * Durations are in milliseconds as the header requires, to the microsecond.
+     */
+    public String toHeaderValue() {
+        StringBuilder value = new StringBuilder(128);
+        for (Phase phase : PHASES) {
+            long phaseNanos = nanos[phase.ordinal()];
+            if (phaseNanos >= 0) {
+                appendMetric(value, phase.getMetricName(), phaseNanos);
+            }
+        }
+        if (total >= 0) {
+            appendMetric(value, "total", total);
+        }
+        return value.toString();
+    }
+    
+    private static void appendMetric(StringBuilder value, String name, long nanos) {
+        if (value.length() > 0) {
+            value.append(", ");
+        }
+        long micros = nanos / 1000;
+        long fraction = micros % 1000;
+        value.append(name).append(";dur=").append(micros / 1000).append('.');
+        if (fraction < 100) {
+            value.append(fraction < 10 ? "00" : "0");
+        }
+        value.append(fraction);
+    }
+}
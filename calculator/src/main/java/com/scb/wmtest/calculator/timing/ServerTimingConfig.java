@@ -0,0 +1,47 @@
+package com.scb.wmtest.calculator.timing;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcRegistrations;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+/**
+ * Times the phases of each request when {@code calculator.server-timing.enabled} is
+ * set. Otherwise none of the timing filter and handler adapter exists, so requests
+ * pay nothing for it.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "calculator.server-timing.enabled", havingValue = "true")
+public class ServerTimingConfig {
+
+    @Bean
+    public ServerTimingFilter serverTimingFilter() {
+        return new ServerTimingFilter();
+    }
+    
+    /**
+     * Runs the filter just before Spring Security, so that the auth phase is the
+     * security filter chain
+     */
+    @Bean
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilterRegistration(ServerTimingFilter filter) {
+        FilterRegistrationBean<ServerTimingFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+    
+    @Bean
+    public WebMvcRegistrations serverTimingMvcRegistrations() {
+        return new WebMvcRegistrations() {
+            @Override
+            public RequestMappingHandlerAdapter getRequestMappingHandlerAdapter() {
+                return new ServerTimingHandlerAdapter();
+            }
+        };
+    }
+}
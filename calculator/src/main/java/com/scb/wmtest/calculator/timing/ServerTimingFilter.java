@@ -0,0 +1,61 @@
+package com.scb.wmtest.calculator.timing;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Starts the {@link ServerTiming} of each request and adds the {@code Server-Timing}
+ * header when the request ends. The header has to be set before the body is written,
+ * and serialization can only be measured after, so the response body is held back
+ * until the request ends. Streamed batches are not timed, since holding them back
+ * would delay every result until the last one.
+ */
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        return contentType != null && contentType.startsWith(MediaType.APPLICATION_NDJSON_VALUE);
+    }
+    
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        HttpServletResponse responseToUse = response;
+        if (!isAsyncDispatch(request)) {
+            request.setAttribute(ServerTiming.ATTRIBUTE, new ServerTiming(System.nanoTime()));
+            responseToUse = new ContentCachingResponseWrapper(response);
+        }
+        try {
+            chain.doFilter(request, responseToUse);
+        } finally {
+            if (!isAsyncStarted(request)) {
+                complete(request, responseToUse);
+            }
+        }
+    }
+    
+    private static void complete(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ServerTiming timing = ServerTiming.of(request);
+        ContentCachingResponseWrapper body = WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class);
+        if (timing == null || body == null) {
+            return;
+        }
+        timing.finish(System.nanoTime());
+        body.setHeader(ServerTiming.HEADER, timing.toHeaderValue());
+        body.copyBodyToResponse();
+    }
+}
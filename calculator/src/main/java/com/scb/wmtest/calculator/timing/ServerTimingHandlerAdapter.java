@@ -0,0 +1,69 @@
+package com.scb.wmtest.calculator.timing;
+
+import com.scb.wmtest.calculator.model.CalculateResponse;
+import org.springframework.http.HttpEntity;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import org.springframework.web.servlet.mvc.method.annotation.ServletInvocableHandlerMethod;
+
+/**
+ * Marks the phases of a timed request around the controller method: everything before
+ * the handler is invoked is {@link ServerTiming.Phase#AUTH}, resolving its arguments
+ * is {@link ServerTiming.Phase#VALIDATION}, the method itself
+ * {@link ServerTiming.Phase#COMPUTE} and handling its return value
+ * {@link ServerTiming.Phase#SERIALIZATION}. A {@link CalculateResponse} also gets the
+ * phases up to compute in its {@code timings} field.
+ */
+public class ServerTimingHandlerAdapter extends RequestMappingHandlerAdapter {
+
+    @Override
+    protected ServletInvocableHandlerMethod createInvocableHandlerMethod(HandlerMethod handlerMethod) {
+        return new TimedHandlerMethod(handlerMethod);
+    }
+    
+    /**
+     * Created for each request, like the handler method it replaces
+     */
+    private static final class TimedHandlerMethod extends ServletInvocableHandlerMethod {
+    
+        private ServerTiming timing;
+        
+        TimedHandlerMethod(HandlerMethod handlerMethod) {
+            super(handlerMethod);
+        }
+        
+        @Override
+        public void invokeAndHandle(ServletWebRequest webRequest, ModelAndViewContainer mavContainer,
+                                    Object... providedArgs) throws Exception {
+            timing = ServerTiming.of(webRequest.getRequest());
+            if (timing == null) {
+                super.invokeAndHandle(webRequest, mavContainer, providedArgs);
+                return;
+            }
+            timing.mark(ServerTiming.Phase.AUTH, System.nanoTime());
+            super.invokeAndHandle(webRequest, mavContainer, providedArgs);
+            timing.mark(ServerTiming.Phase.SERIALIZATION, System.nanoTime());
+        }
+        
+        @Override
+        protected Object doInvoke(Object... args) throws Exception {
+            if (timing == null) {
+                return super.doInvoke(args);
+            }
+            timing.mark(ServerTiming.Phase.VALIDATION, System.nanoTime());
+            Object returnValue;
+            try {
+                returnValue = super.doInvoke(args);
+            } finally {
+                timing.mark(ServerTiming.Phase.COMPUTE, System.nanoTime());
+            }
+            Object body = returnValue instanceof HttpEntity ? ((HttpEntity<?>) returnValue).getBody() : returnValue;
+            if (body instanceof CalculateResponse) {
+                ((CalculateResponse) body).setTimings(timing.toMicros());
+            }
+            return returnValue;
+        }
+    }
+}
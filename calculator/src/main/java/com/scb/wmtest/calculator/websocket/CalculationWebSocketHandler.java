@@ -0,0 +1,191 @@
+package com.scb.wmtest.calculator.websocket;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scb.wmtest.calculator.exception.CalculatorException;
+import com.scb.wmtest.calculator.model.SessionCalculateRequest;
+import com.scb.wmtest.calculator.model.SessionCalculateResponse;
+import com.scb.wmtest.calculator.ratelimit.CostClass;
+import com.scb.wmtest.calculator.ratelimit.RateLimitFilter;
+import com.scb.wmtest.calculator.ratelimit.RateLimiter;
+import com.scb.wmtest.calculator.services.CalculateService;
+import com.scb.wmtest.calculator.services.CalculationResult;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Serves calculation sessions: a client authenticates once at the handshake and then
+ * streams calculation messages over one WebSocket.
+ * <p>
+ * Every message carries a correlation id. Calculations run on a small worker pool and
+ * each response is sent as soon as its calculation completes, so responses may arrive
+ * in a different order than the requests. Each message takes a {@link CostClass#STANDARD}
+ * token from the rate limit of the user the session was opened for, like a single
+ * calculation over HTTP. Sends go through a
+ * {@link ConcurrentWebSocketSessionDecorator}, which buffers responses while another
+ * worker is sending and closes sessions whose client stops reading. A session is
+ * closed when the token it was opened with expires; the client reconnects with a
+ * fresh token.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class CalculationWebSocketHandler extends TextWebSocketHandler implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(CalculationWebSocketHandler.class);
+    
+    private static final int SEND_TIME_LIMIT_MILLIS = 10_000;
+    private static final int SEND_BUFFER_LIMIT_BYTES = 512 * 1024;
+    
+    private final CalculateService calculateService;
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+    private final ThreadPoolExecutor workers;
+    private final ConcurrentHashMap<String, WebSocketSession> sessions = new ConcurrentHashMap<>();
+    
+    private final LongAdder messages = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    
+    @Autowired
+    public CalculationWebSocketHandler(CalculateService calculateService, RateLimiter rateLimiter,
+                                       ObjectMapper objectMapper,
+                                       @Value("${calculator.websocket.threads:0}") int threads,
+                                       @Value("${calculator.websocket.queue-size:10000}") int queueSize) {
+        this.calculateService = calculateService;
+        this.rateLimiter = rateLimiter;
+        this.objectMapper = objectMapper;
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), runnable -> {
+                    Thread thread = new Thread(runnable, "calculator-ws-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+    
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) {
+        sessions.put(session.getId(),
+                new ConcurrentWebSocketSessionDecorator(session, SEND_TIME_LIMIT_MILLIS, SEND_BUFFER_LIMIT_BYTES));
+        logger.debug("Calculation session {} opened for {}", session.getId(),
+                session.getAttributes().get(JwtHandshakeInterceptor.USERNAME_ATTRIBUTE));
+    }
+    
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        sessions.remove(session.getId());
+        logger.debug("Calculation session {} closed: {}", session.getId(), status);
+    }
+    
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) throws IOException {
+        WebSocketSession sender = sessions.get(session.getId());
+        if (sender == null) {
+            return;
+        }
+        Long expiration = (Long) session.getAttributes().get(JwtHandshakeInterceptor.EXPIRATION_ATTRIBUTE);
+        if (expiration != null && expiration < System.currentTimeMillis()) {
+            session.close(CloseStatus.POLICY_VIOLATION.withReason("Token expired"));
+            return;
+        }
+        messages.increment();
+        long wait = rateLimiter.tryAcquire(CostClass.STANDARD,
+                (String) session.getAttributes().get(JwtHandshakeInterceptor.USERNAME_ATTRIBUTE));
+        
+        SessionCalculateRequest request;
+        try {
+            request = objectMapper.readValue(message.getPayload(), SessionCalculateRequest.class);
+        } catch (JsonProcessingException e) {
+            send(sender, SessionCalculateResponse.failure(null, "MALFORMED_MESSAGE", "Malformed calculation message"));
+            return;
+        }
+        if (wait > 0) {
+            long seconds = RateLimitFilter.retryAfterSeconds(wait);
+            send(sender, SessionCalculateResponse.failure(request.getId(), "RATE_LIMITED",
+                    "Rate limit exceeded, retry after " + seconds + " s"));
+            return;
+        }
+        if (request.getId() == null || request.getAction() == null || request.getVal1() == null) {
+            send(sender, SessionCalculateResponse.failure(request.getId(), "VALIDATION_ERROR", "id, action and val1 are required"));
+            return;
+        }
+        
+        try {
+            workers.execute(() -> send(sender, calculate(request)));
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            send(sender, SessionCalculateResponse.failure(request.getId(), "SERVER_BUSY", "Too many calculations in progress"));
+        }
+    }
+    
+    private SessionCalculateResponse calculate(SessionCalculateRequest request) {
+        CalculationResult result = request.getVal2() == null
+                ? calculateService.tryPerformSingleAction(request.getAction(), request.getVal1())
+                : calculateService.tryPerformAction(request.getAction(), request.getVal1(), request.getVal2());
+        if (!result.isSuccessful()) {
+            CalculatorException error = result.getError();
+            return SessionCalculateResponse.failure(request.getId(), error.getErrorCode(), error.getMessage());
+        }
+        return SessionCalculateResponse.success(request.getId(), result.getValue());
+    }
+    
+    private void send(WebSocketSession session, SessionCalculateResponse response) {
+        if (!session.isOpen()) {
+            return;
+        }
+        try {
+            session.sendMessage(new TextMessage(objectMapper.writeValueAsString(response)));
+        } catch (IOException e) {
+            logger.debug("Cannot send to calculation session {}: {}", session.getId(), e.getMessage());
+        } catch (RuntimeException e) {
+            // The decorator closes sessions whose client does not keep up
+            logger.debug("Calculation session {} dropped: {}", session.getId(), e.getMessage());
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+        try {
+            workers.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("calculator.websocket.sessions", sessions, ConcurrentHashMap::size)
+                .description("Open WebSocket calculation sessions")
+                .register(registry);
+        FunctionCounter.builder("calculator.websocket.messages", messages, LongAdder::sum)
+                .description("Calculation messages received over WebSocket")
+                .register(registry);
+        FunctionCounter.builder("calculator.websocket.rejected", rejected, LongAdder::sum)
+                .description("WebSocket calculations rejected because the worker queue was full")
+                .register(registry);
+    }
+}
@@ -0,0 +1,56 @@
+package com.scb.wmtest.calculator.websocket;
+
+import com.scb.wmtest.calculator.security.JwtUtil;
+import com.scb.wmtest.calculator.security.VerifiedToken;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.HandshakeInterceptor;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.Map;
+
+/**
+ * Authenticates a WebSocket calculation session once, at the handshake. The token is
+ * taken from the {@code Authorization: Bearer} header or, for browsers, which cannot
+ * set headers on a WebSocket, from the {@code access_token} query parameter.
+ */
+public class JwtHandshakeInterceptor implements HandshakeInterceptor {
+
+    static final String USERNAME_ATTRIBUTE = "calculator.username";
+    static final String EXPIRATION_ATTRIBUTE = "calculator.tokenExpiration";
+    
+    private final JwtUtil jwtUtil;
+    
+    public JwtHandshakeInterceptor(JwtUtil jwtUtil) {
+        this.jwtUtil = jwtUtil;
+    }
+    
+    @Override
+    public boolean beforeHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                                   WebSocketHandler wsHandler, Map<String, Object> attributes) {
+        String token = token(request);
+        VerifiedToken verified = token != null ? jwtUtil.verify(token) : null;
+        if (verified != null) {
+            attributes.put(USERNAME_ATTRIBUTE, verified.getUsername());
+            attributes.put(EXPIRATION_ATTRIBUTE, verified.getExpiresAt());
+            return true;
+        }
+        response.setStatusCode(HttpStatus.UNAUTHORIZED);
+        return false;
+    }
+    
+    @Override
+    public void afterHandshake(ServerHttpRequest request, ServerHttpResponse response,
+                               WebSocketHandler wsHandler, Exception exception) {
+    }
+    
+    private static String token(ServerHttpRequest request) {
+        String authorizationHeader = request.getHeaders().getFirst("Authorization");
+        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
+            return authorizationHeader.substring(7);
+        }
+        return UriComponentsBuilder.fromUri(request.getURI()).build().getQueryParams().getFirst("access_token");
+    }
+}
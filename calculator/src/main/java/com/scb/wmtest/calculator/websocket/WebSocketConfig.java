@@ -0,0 +1,44 @@
+package com.scb.wmtest.calculator.websocket;
+
+import com.scb.wmtest.calculator.security.JwtUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+/**
+ * Registers the calculation session endpoint. The path is public in
+ * {@code SecurityConfig}; the token is checked by {@link JwtHandshakeInterceptor}.
+ */
+@Configuration
+@EnableWebSocket
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class WebSocketConfig implements WebSocketConfigurer {
+
+    public static final String SESSION_PATH = "/api/v1/calculator/ws";
+    
+    private final CalculationWebSocketHandler handler;
+    private final JwtUtil jwtUtil;
+    private final boolean enabled;
+    
+    @Autowired
+    public WebSocketConfig(CalculationWebSocketHandler handler, JwtUtil jwtUtil,
+                           @Value("${calculator.websocket.enabled:true}") boolean enabled) {
+        this.handler = handler;
+        this.jwtUtil = jwtUtil;
+        this.enabled = enabled;
+    }
+    
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        if (!enabled) {
+            return;
+        }
+        registry.addHandler(handler, SESSION_PATH)
+                .addInterceptors(new JwtHandshakeInterceptor(jwtUtil))
+                .setAllowedOriginPatterns("*");
+    }
+}
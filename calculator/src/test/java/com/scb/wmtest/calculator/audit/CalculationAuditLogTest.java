@@ -0,0 +1,149 @@
+package com.scb.wmtest.calculator.audit;
+
+import com.scb.wmtest.calculator.cache.ResultCache;
+import com.scb.wmtest.calculator.coalescing.RequestCoalescer;
+import com.scb.wmtest.calculator.exception.CalculatorException;
+import com.scb.wmtest.calculator.metrics.CalculatorMetrics;
+import com.scb.wmtest.calculator.operation.OperationRegistry;
+import com.scb.wmtest.calculator.services.CalculateService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CalculationAuditLog and its ring buffer
+ */
+class CalculationAuditLogTest {
+
+    private final List<String> written = new CopyOnWriteArrayList<>();
+
+    private void write(AuditEvent event) {
+        written.add(event.isFailure()
+                ? event.action + " " + event.val1 + " " + event.errorCode
+                : event.action + " " + event.val1 + " " + event.result);
+    }
+
+    @Test
+    @DisplayName("Should write recorded calculations in order on the drain thread")
+    void testRecordsInOrder() {
+        CalculationAuditLog auditLog = new CalculationAuditLog(true, 2048, 1.0, 0, this::write);
+        for (int i = 0; i < 1000; i++) {
+            auditLog.recordSuccess("sqrt", true, i, 0, Math.sqrt(i));
+        }
+        auditLog.recordFailure("sqrt", true, -1, 0, "INVALID_INPUT", "Cannot calculate square root of negative number");
+        auditLog.shutdown();
+
+        assertEquals(1001, written.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals("sqrt " + (double) i + " " + Math.sqrt(i), written.get(i));
+        }
+        assertEquals("sqrt -1.0 INVALID_INPUT", written.get(1000));
+    }
+
+    @Test
+    @DisplayName("Should sample and rate limit successes but never failures")
+    void testSamplingAndRateLimits() {
+        CalculationAuditLog sampled = new CalculationAuditLog(true, 1024, 0.0, 0, this::write);
+        for (int i = 0; i < 100; i++) {
+            sampled.recordSuccess("sum", false, i, 1, i + 1);
+            sampled.recordFailure("divide", false, i, 0, "DIVISION_BY_ZERO", "Division by zero is not allowed");
+        }
+        sampled.shutdown();
+        assertEquals(100, sampled.getSampledOutCount());
+        assertEquals(100, written.size());
+
+        written.clear();
+        CalculationAuditLog limited = new CalculationAuditLog(true, 1024, 1.0, 5, this::write);
+        for (int i = 0; i < 100; i++) {
+            limited.recordSuccess("sum", false, i, 1, i + 1);
+            limited.recordSuccess("power", false, i, 2, i * i);
+        }
+        limited.shutdown();
+        // The loop may straddle a second boundary, which opens a new window
+        assertTrue(limited.getRateLimitedCount() >= 180, "rate limited " + limited.getRateLimitedCount());
+        assertTrue(written.stream().anyMatch(line -> line.startsWith("sum ")));
+        assertTrue(written.stream().anyMatch(line -> line.startsWith("power ")));
+    }
+
+    @Test
+    @DisplayName("Should drop successes but still deliver failures when the buffer is full")
+    void testFullBuffer() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch blocked = new CountDownLatch(1);
+        CalculationAuditLog auditLog = new CalculationAuditLog(true, 4, 1.0, 0, event -> {
+            if (!event.isFailure()) {
+                blocked.countDown();
+                awaitQuietly(release);
+            }
+            write(event);
+        });
+
+        auditLog.recordSuccess("sqrt", true, 4, 0, 2);
+        assertTrue(blocked.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 20; i++) {
+            auditLog.recordSuccess("sqrt", true, 4, 0, 2);
+            auditLog.recordFailure("log", true, -i, 0, "INVALID_INPUT", "Cannot calculate logarithm of non-positive number");
+        }
+        release.countDown();
+        auditLog.shutdown();
+
+        assertTrue(auditLog.getDroppedCount() > 0);
+        assertEquals(20, written.stream().filter(line -> line.startsWith("log ")).count());
+    }
+
+    @Test
+    @DisplayName("Should not lose or duplicate events recorded from many threads")
+    void testConcurrentProducers() throws InterruptedException {
+        CalculationAuditLog auditLog = new CalculationAuditLog(true, 1 << 16, 1.0, 0, this::write);
+        Thread[] producers = new Thread[4];
+        for (int t = 0; t < producers.length; t++) {
+            producers[t] = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    auditLog.recordSuccess("sum", false, i, 1, i + 1);
+                }
+            });
+            producers[t].start();
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        auditLog.shutdown();
+
+        assertEquals(40_000, auditLog.getRecordedCount() + auditLog.getDroppedCount());
+        assertEquals(auditLog.getRecordedCount(), written.size());
+    }
+
+    @Test
+    @DisplayName("Should audit calculations performed by CalculateService")
+    void testCalculateService() {
+        CalculationAuditLog auditLog = new CalculationAuditLog(true, 64, 1.0, 0, this::write);
+        CalculateService calculateService = new CalculateService(new OperationRegistry(), ResultCache.disabled(), auditLog,
+                RequestCoalescer.disabled(), CalculatorMetrics.disabled());
+
+        calculateService.performAction("SUM", 10, 5);
+        calculateService.performSingleAction("sqrt", 16);
+        assertThrows(CalculatorException.class, () -> calculateService.performAction("divide", 1, 0));
+        assertThrows(CalculatorException.class, () -> calculateService.performAction("modulo", 1, 2));
+        auditLog.shutdown();
+
+        assertEquals(4, written.size());
+        assertEquals("sum 10.0 15.0", written.get(0));
+        assertEquals("sqrt 16.0 4.0", written.get(1));
+        assertEquals("divide 1.0 DIVISION_BY_ZERO", written.get(2));
+        assertEquals("modulo 1.0 INVALID_OPERATION", written.get(3));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.scb.wmtest.calculator.binary;
+
+import com.scb.wmtest.calculator.CalculatorOperation;
+import com.scb.wmtest.calculator.exception.CalculatorException;
+import com.scb.wmtest.calculator.services.CalculateService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the binary protocol server and client
+ */
+class BinaryCalculatorServerTest {
+
+    private BinaryCalculatorServer server;
+    private BinaryCalculatorClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new BinaryCalculatorServer(CalculateService.standalone(), true, "127.0.0.1", 0);
+        client = new BinaryCalculatorClient("127.0.0.1", server.getPort());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        client.close();
+        server.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should calculate binary and single operand operations")
+    void testCalculate() {
+        assertEquals(15.0, client.calculate(CalculatorOperation.SUM, 10, 5));
+        assertEquals(2.5, client.calculate(CalculatorOperation.DIVIDE, 10, 4));
+        assertEquals(4.0, client.calculate(CalculatorOperation.SQUARE_ROOT, 16));
+        assertEquals(120.0, client.calculate(CalculatorOperation.FACTORIAL, 5));
+    }
+
+    @Test
+    @DisplayName("Should report the error code and message of failed calculations")
+    void testErrors() {
+        CalculatorException e = assertThrows(CalculatorException.class,
+                () -> client.calculate(CalculatorOperation.DIVIDE, 1, 0));
+        assertEquals("DIVISION_BY_ZERO", e.getErrorCode());
+        assertEquals("Division by zero is not allowed", e.getMessage());
+
+        e = assertThrows(CalculatorException.class, () -> client.calculate(CalculatorOperation.SUM, 1));
+        assertEquals("UNSUPPORTED_OPERATION", e.getErrorCode());
+
+        // The connection is still usable after a failure
+        assertEquals(3.0, client.calculate(CalculatorOperation.SUM, 1, 2));
+    }
+
+    @Test
+    @DisplayName("Should answer pipelined requests from many threads")
+    void testPipelining() throws InterruptedException {
+        int perThread = 5_000;
+        List<List<CompletableFuture<Double>>> results = new ArrayList<>();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            List<CompletableFuture<Double>> futures = new ArrayList<>(perThread);
+            results.add(futures);
+            int offset = t * perThread;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    futures.add(client.submit(CalculatorOperation.MULTIPLY, offset + i, 2));
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        for (int t = 0; t < threads.length; t++) {
+            for (int i = 0; i < perThread; i++) {
+                assertEquals(2.0 * (t * perThread + i), results.get(t).get(i).join());
+            }
+        }
+        assertEquals(0, client.getPendingCount());
+    }
+
+    @Test
+    @DisplayName("Should answer unknown opcodes and close the connection on malformed frames")
+    void testRawFrames() throws IOException {
+        try (Socket socket = new Socket("127.0.0.1", server.getPort())) {
+            DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+            DataInputStream in = new DataInputStream(socket.getInputStream());
+
+            out.writeInt(BinaryProtocol.BINARY_REQUEST_LENGTH);
+            out.writeLong(42);
+            out.writeByte(200);
+            out.writeDouble(1);
+            out.writeDouble(2);
+            out.flush();
+
+            int length = in.readInt();
+            assertEquals(42, in.readLong());
+            assertEquals(BinaryProtocol.STATUS_FAILURE, in.readByte());
+            byte[] code = new byte[in.readUnsignedByte()];
+            in.readFully(code);
+            assertEquals("INVALID_OPERATION", new String(code, "US-ASCII"));
+            in.skipBytes(length - 8 - 1 - 1 - code.length);
+
+            out.writeInt(3);
+            out.writeLong(43);
+            out.flush();
+            assertEquals(-1, in.read());
+        }
+    }
+
+    @Test
+    @DisplayName("Should fail pending and new requests once the client is closed")
+    void testClosedClient() throws IOException {
+        client.close();
+        assertThrows(UncheckedIOException.class, () -> client.calculate(CalculatorOperation.SUM, 1, 2));
+    }
+}
@@ -0,0 +1,146 @@
+package com.scb.wmtest.calculator.cache;
+
+import com.scb.wmtest.calculator.CalculatorOperation;
+import com.scb.wmtest.calculator.audit.CalculationAuditLog;
+import com.scb.wmtest.calculator.coalescing.RequestCoalescer;
+import com.scb.wmtest.calculator.exception.CalculatorException;
+import com.scb.wmtest.calculator.metrics.CalculatorMetrics;
+import com.scb.wmtest.calculator.operation.BuiltInOperations;
+import com.scb.wmtest.calculator.operation.OperationRegistry;
+import com.scb.wmtest.calculator.operation.OperationStrategy;
+import com.scb.wmtest.calculator.operation.UnaryOperationStrategy;
+import com.scb.wmtest.calculator.services.CalculateService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ResultCache
+ */
+class ResultCacheTest {
+
+    private static final String[] OPERATIONS = {"power", "sqrt", "divide"};
+
+    private static final OperationStrategy SQRT = BuiltInOperations.get(CalculatorOperation.SQUARE_ROOT);
+
+    private static final OperationStrategy POWER = BuiltInOperations.get(CalculatorOperation.POWER);
+
+    @Test
+    @DisplayName("Should return cached results and count hits and misses")
+    void testHitsAndMisses() {
+        ResultCache cache = new ResultCache(true, 1000, OPERATIONS, true);
+
+        assertNull(cache.get(POWER, false, 2, 10));
+        cache.put(POWER, false, 2, 10, 1024);
+
+        assertEquals(1024, cache.get(POWER, false, 2, 10).getValue());
+        assertNull(cache.get(POWER, false, 10, 2));
+        assertNull(cache.get(SQRT, true, 2, 0));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(3, cache.getMissCount());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    @DisplayName("Should key on the raw operand bits")
+    void testRawBits() {
+        ResultCache cache = new ResultCache(true, 1000, OPERATIONS, true);
+        cache.put(POWER, false, 0.0, -1, Double.POSITIVE_INFINITY);
+
+        assertNull(cache.get(POWER, false, -0.0, -1));
+        assertEquals(Double.POSITIVE_INFINITY, cache.get(POWER, false, 0.0, -1).getValue());
+    }
+
+    @Test
+    @DisplayName("Should cache failures unless caching of errors is turned off")
+    void testFailures() {
+        CalculatorException error = new CalculatorException("Cannot calculate square root of negative number", "INVALID_INPUT");
+
+        ResultCache cache = new ResultCache(true, 1000, OPERATIONS, true);
+        cache.putFailure(SQRT, true, -4, 0, error);
+        CachedResult cached = cache.get(SQRT, true, -4, 0);
+        assertFalse(cached.isSuccessful());
+        CalculatorException rethrown = assertThrows(CalculatorException.class, cached::getValue);
+        assertEquals("INVALID_INPUT", rethrown.getErrorCode());
+        assertEquals(error.getMessage(), rethrown.getMessage());
+
+        ResultCache withoutErrors = new ResultCache(true, 1000, OPERATIONS, false);
+        withoutErrors.putFailure(SQRT, true, -4, 0, error);
+        assertNull(withoutErrors.get(SQRT, true, -4, 0));
+    }
+
+    @Test
+    @DisplayName("Should keep frequently used entries when a scan of one-off operands goes through")
+    void testFrequencyAwareAdmission() {
+        ResultCache cache = new ResultCache(true, 16, OPERATIONS, true);
+        for (int i = 0; i < 16; i++) {
+            cache.get(SQRT, true, i, 0);
+            cache.put(SQRT, true, i, 0, Math.sqrt(i));
+        }
+        // Entry 0 is used until its counters saturate, then the others are touched so
+        // that it is the eviction candidate. Collisions can only raise a new key's
+        // estimate up to the same maximum, never above it, so no one-off key may replace
+        // entry 0 however the keys hash.
+        for (int round = 0; round < 20; round++) {
+            assertNotNull(cache.get(SQRT, true, 0, 0));
+        }
+        for (int i = 1; i < 16; i++) {
+            assertNotNull(cache.get(SQRT, true, i, 0));
+        }
+
+        for (int i = 1000; i < 1050; i++) {
+            if (cache.get(SQRT, true, i, 0) == null) {
+                cache.put(SQRT, true, i, 0, Math.sqrt(i));
+            }
+        }
+
+        for (int i = 0; i < 16; i++) {
+            assertNotNull(cache.get(SQRT, true, i, 0), "hot entry " + i);
+        }
+        assertEquals(16, cache.size());
+        assertEquals(50, cache.getRejectionCount());
+        assertEquals(0, cache.getEvictionCount());
+    }
+
+    @Test
+    @DisplayName("Should match configured operation names regardless of case")
+    void testMixedCaseOperation() {
+        OperationStrategy cube = UnaryOperationStrategy.of("CubeRoot", Math::cbrt);
+        ResultCache cache = new ResultCache(true, 1000, new String[] {"cuberoot"}, true);
+
+        assertTrue(cache.isCached(cube));
+        assertFalse(cache.isCached(SQRT));
+        cache.put(cube, true, 27, 0, 3);
+        assertEquals(3, cache.get(cube, true, 27, 0).getValue());
+    }
+
+    @Test
+    @DisplayName("Should cache only the configured operations when used by CalculateService")
+    void testCalculateService() {
+        ResultCache cache = new ResultCache(true, 1000, OPERATIONS, true);
+        CalculateService calculateService = new CalculateService(new OperationRegistry(), cache, CalculationAuditLog.disabled(),
+                RequestCoalescer.disabled(), CalculatorMetrics.disabled());
+
+        assertEquals(4.0, calculateService.performSingleAction("sqrt", 16));
+        assertEquals(4.0, calculateService.performSingleAction("SQRT", 16));
+        assertEquals(15.0, calculateService.performAction("sum", 10, 5));
+        assertEquals(15.0, calculateService.performAction("sum", 10, 5));
+        for (int i = 0; i < 2; i++) {
+            CalculatorException e = assertThrows(CalculatorException.class,
+                    () -> calculateService.performAction("divide", 1, 0));
+            assertEquals("DIVISION_BY_ZERO", e.getErrorCode());
+        }
+
+        assertEquals(2, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    @DisplayName("Should cache nothing when disabled")
+    void testDisabled() {
+        ResultCache cache = ResultCache.disabled();
+        assertFalse(cache.isEnabled());
+        assertFalse(cache.isCached(SQRT));
+    }
+}
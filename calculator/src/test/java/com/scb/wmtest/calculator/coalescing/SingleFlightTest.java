@@ -0,0 +1,167 @@
+package com.scb.wmtest.calculator.coalescing;
+
+import com.scb.wmtest.calculator.audit.CalculationAuditLog;
+import com.scb.wmtest.calculator.cache.ResultCache;
+import com.scb.wmtest.calculator.exception.CalculatorException;
+import com.scb.wmtest.calculator.metrics.CalculatorMetrics;
+import com.scb.wmtest.calculator.operation.BinaryOperationStrategy;
+import com.scb.wmtest.calculator.operation.OperationProvider;
+import com.scb.wmtest.calculator.operation.OperationRegistry;
+import com.scb.wmtest.calculator.services.CalculateService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SingleFlight and its use by CalculateService
+ */
+class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should run one computation for concurrent callers of the same key")
+    void testCoalescing() throws Exception {
+        // Given
+        SingleFlight<String, String> flight = new SingleFlight<>("test", true);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger computations = new AtomicInteger();
+
+        // When
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> flight.execute("key", () -> {
+                computations.incrementAndGet();
+                await(release);
+                return new String("value");
+            })));
+        }
+        awaitCount(flight::getCoalescedCount, CALLERS - 1);
+        release.countDown();
+
+        // Then
+        String first = results.get(0).get(10, TimeUnit.SECONDS);
+        for (Future<String> result : results) {
+            assertSame(first, result.get(10, TimeUnit.SECONDS));
+        }
+        assertEquals(1, computations.get());
+        assertEquals(1, flight.getExecutionCount());
+        assertEquals(CALLERS - 1, flight.getCoalescedCount());
+        assertEquals(0.875, flight.getCoalescingRatio());
+        assertEquals(0, flight.getInFlightCount());
+    }
+
+    @Test
+    @DisplayName("Should hand the exception of a failed computation to every waiting caller")
+    void testFailure() throws Exception {
+        // Given
+        SingleFlight<String, String> flight = new SingleFlight<>("test", true);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // When
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> flight.execute("key", () -> {
+                await(release);
+                throw new CalculatorException("Failed", "CALCULATION_ERROR");
+            })));
+        }
+        awaitCount(flight::getCoalescedCount, CALLERS - 1);
+        release.countDown();
+
+        // Then
+        for (Future<String> result : results) {
+            Exception e = assertThrows(Exception.class, () -> result.get(10, TimeUnit.SECONDS));
+            assertTrue(e.getCause() instanceof CalculatorException);
+            assertEquals("CALCULATION_ERROR", ((CalculatorException) e.getCause()).getErrorCode());
+        }
+        assertEquals(0, flight.getInFlightCount());
+    }
+
+    @Test
+    @DisplayName("Should compute afresh once a computation has completed")
+    void testNoMemoization() {
+        // Given
+        SingleFlight<String, Integer> flight = new SingleFlight<>("test", true);
+        AtomicInteger computations = new AtomicInteger();
+
+        // When
+        flight.execute("key", computations::incrementAndGet);
+        int second = flight.execute("key", computations::incrementAndGet);
+
+        // Then
+        assertEquals(2, second);
+        assertEquals(2, flight.getExecutionCount());
+        assertEquals(0, flight.getCoalescedCount());
+    }
+
+    @Test
+    @DisplayName("Should share a slow configured operation between concurrent identical calculations")
+    void testCalculateService() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger computations = new AtomicInteger();
+        BinaryOperationStrategy slow = BinaryOperationStrategy.of("Slow", (a, b) -> {
+            computations.incrementAndGet();
+            await(release);
+            return a + b;
+        });
+        OperationProvider provider = () -> Collections.singletonList(slow);
+        RequestCoalescer coalescer = new RequestCoalescer(true, new String[] {"slow"});
+        CalculateService calculateService = new CalculateService(new OperationRegistry(Collections.singletonList(provider)),
+                ResultCache.disabled(), CalculationAuditLog.disabled(), coalescer, CalculatorMetrics.disabled());
+
+        // When
+        List<Future<Double>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> calculateService.performAction("slow", 1, 2)));
+        }
+        awaitCount(coalescer.calculations()::getCoalescedCount, CALLERS - 1);
+        release.countDown();
+
+        // Then
+        for (Future<Double> result : results) {
+            assertEquals(3.0, result.get(10, TimeUnit.SECONDS));
+        }
+        assertEquals(1, computations.get());
+        assertTrue(coalescer.isCoalesced(slow));
+        assertEquals(3.0, calculateService.performAction("sum", 1, 2));
+        assertFalse(coalescer.isCoalesced(new OperationRegistry().find("sum")));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void awaitCount(LongSupplier count, long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (count.getAsLong() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(expected, count.getAsLong());
+    }
+}
@@ -0,0 +1,89 @@
+package com.scb.wmtest.calculator.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scb.wmtest.calculator.security.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for the login and refresh endpoints
+ */
+@SpringBootTest
+@AutoConfigureWebMvc
+@ActiveProfiles("test")
+class AuthControllerIntegrationTest {
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+    }
+
+    @Test
+    @DisplayName("Should issue an access token and a refresh token, and renew the access token")
+    void testLoginAndRefresh() throws Exception {
+        // Given
+        MvcResult login = mockMvc.perform(post("/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"user\",\"password\":\"password\"}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        JsonNode tokens = objectMapper.readTree(mockMvc.perform(asyncDispatch(login))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+        String accessToken = tokens.get("token").asText();
+        String refreshToken = tokens.get("refreshToken").asText();
+
+        // When
+        JsonNode refreshed = objectMapper.readTree(mockMvc.perform(post("/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"refreshToken\":\"" + refreshToken + "\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+
+        // Then
+        assertTrue(jwtUtil.validateToken(accessToken, "user"));
+        assertTrue(jwtUtil.validateToken(refreshed.get("token").asText(), "user"));
+        assertFalse(jwtUtil.validateToken(refreshToken, "user"));
+    }
+
+    @Test
+    @DisplayName("Should not renew with an access token")
+    void testRefreshRejectsAccessToken() throws Exception {
+        // Given
+        String accessToken = jwtUtil.generateToken("user");
+
+        // When & Then
+        mockMvc.perform(post("/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"refreshToken\":\"" + accessToken + "\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("INVALID_TOKEN"));
+    }
+}
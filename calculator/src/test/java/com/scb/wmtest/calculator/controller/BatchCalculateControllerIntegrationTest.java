@@ -0,0 +1,103 @@
+package com.scb.wmtest.calculator.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scb.wmtest.calculator.model.BatchCalculateRequest;
+import com.scb.wmtest.calculator.model.BatchOperation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for the batch calculation endpoint
+ */
+@SpringBootTest
+@AutoConfigureWebMvc
+@ActiveProfiles("test")
+class BatchCalculateControllerIntegrationTest {
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+    }
+
+    @Test
+    @DisplayName("Should return per-item results for a batch")
+    void testBatch() throws Exception {
+        // Given
+        BatchCalculateRequest request = new BatchCalculateRequest(Arrays.asList(
+            new BatchOperation("sum", 10.0, 5.0),
+            new BatchOperation("divide", 10.0, 0.0),
+            new BatchOperation("sqrt", 16.0, null)
+        ));
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/calculator/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.apiVersion").value("1.0"))
+                .andExpect(jsonPath("$.succeeded").value(2))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.results[0].result").value(15))
+                .andExpect(jsonPath("$.results[1].errorCode").value("DIVISION_BY_ZERO"))
+                .andExpect(jsonPath("$.results[1].result").doesNotExist())
+                .andExpect(jsonPath("$.results[2].result").value(4));
+    }
+
+    @Test
+    @DisplayName("Should reject an empty batch")
+    void testEmptyBatch() throws Exception {
+        // Given
+        BatchCalculateRequest request = new BatchCalculateRequest(Collections.emptyList());
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/calculator/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("VALIDATION_ERROR"));
+    }
+
+    @Test
+    @DisplayName("Should stream newline delimited results for newline delimited operations")
+    void testStream() throws Exception {
+        // Given
+        String records = "{\"action\":\"sum\",\"val1\":10,\"val2\":5}\n"
+                + "garbage\n"
+                + "{\"action\":\"sqrt\",\"val1\":16}\n";
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/calculator/batch/stream")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .content(records))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(
+                        "{\"index\":0,\"result\":15.0}\n"
+                        + "{\"index\":1,\"errorCode\":\"MALFORMED_RECORD\",\"message\":\"Record is not a JSON operation\"}\n"
+                        + "{\"index\":2,\"result\":4.0}\n"));
+    }
+}
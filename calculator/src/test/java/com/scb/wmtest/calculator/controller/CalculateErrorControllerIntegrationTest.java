@@ -0,0 +1,72 @@
+package com.scb.wmtest.calculator.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for the error responses of the calculate endpoints
+ */
+@SpringBootTest
+@AutoConfigureWebMvc
+@ActiveProfiles("test")
+class CalculateErrorControllerIntegrationTest {
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+    }
+
+    @Test
+    @DisplayName("Should answer domain errors with 400 and the error code")
+    void testDomainErrors() throws Exception {
+        mockMvc.perform(get("/api/v1/calculator/calculate")
+                .param("action", "divide")
+                .param("val1", "10")
+                .param("val2", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("DIVISION_BY_ZERO"))
+                .andExpect(jsonPath("$.message").value("Division by zero is not allowed"))
+                .andExpect(jsonPath("$.timestamp").exists());
+
+        mockMvc.perform(get("/api/v1/calculator/calculate/single")
+                .param("action", "sqrt")
+                .param("val", "-4"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("INVALID_INPUT"));
+    }
+
+    @Test
+    @DisplayName("Should answer invalid operations and body domain errors with 400")
+    void testInvalidOperation() throws Exception {
+        mockMvc.perform(get("/api/v1/calculator/calculate")
+                .param("action", "modulo")
+                .param("val1", "10")
+                .param("val2", "3"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("INVALID_OPERATION"));
+
+        mockMvc.perform(post("/api/v1/calculator/calculate")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"action\":\"divide\",\"val1\":10,\"val2\":0}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("DIVISION_BY_ZERO"));
+    }
+}
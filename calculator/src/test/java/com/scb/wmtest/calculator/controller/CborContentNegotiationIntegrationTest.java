@@ -0,0 +1,135 @@
+package com.scb.wmtest.calculator.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.scb.wmtest.calculator.model.BatchCalculateRequest;
+import com.scb.wmtest.calculator.model.BatchOperation;
+import com.scb.wmtest.calculator.model.CalculateRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for CBOR request and response bodies on the calculate endpoints
+ */
+@SpringBootTest
+@AutoConfigureWebMvc
+@ActiveProfiles("test")
+class CborContentNegotiationIntegrationTest {
+
+    private static final MediaType APPLICATION_CBOR = MediaType.valueOf("application/cbor");
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    private final ObjectMapper cborMapper = new ObjectMapper(new CBORFactory());
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+    }
+
+    private JsonNode cbor(byte[] body) throws Exception {
+        return cborMapper.readTree(body);
+    }
+
+    @Test
+    @DisplayName("Should answer in CBOR when the client accepts it, with doubles as 8 byte floats")
+    void testCborResponse() throws Exception {
+        byte[] body = mockMvc.perform(get("/api/v1/calculator/calculate")
+                .param("action", "divide")
+                .param("val1", "1")
+                .param("val2", "3")
+                .accept(APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode response = cbor(body);
+        assertEquals("divide", response.get("params").get("action").asText());
+        assertTrue(response.get("data").get("result").isDouble());
+        assertEquals(1.0 / 3, response.get("data").get("result").doubleValue());
+        assertTrue(response.get("timestamp").isTextual());
+    }
+
+    @Test
+    @DisplayName("Should read CBOR request bodies and answer errors in CBOR")
+    void testCborRequest() throws Exception {
+        byte[] request = cborMapper.writeValueAsBytes(new CalculateRequest("multiply", 2.5, 4.0));
+        byte[] body = mockMvc.perform(post("/api/v1/calculator/calculate")
+                .contentType(APPLICATION_CBOR)
+                .accept(APPLICATION_CBOR)
+                .content(request))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        assertEquals(10.0, cbor(body).get("data").get("result").doubleValue());
+
+        request = cborMapper.writeValueAsBytes(new CalculateRequest("divide", 1.0, 0.0));
+        body = mockMvc.perform(post("/api/v1/calculator/calculate")
+                .contentType(APPLICATION_CBOR)
+                .accept(APPLICATION_CBOR)
+                .content(request))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertEquals("DIVISION_BY_ZERO", cbor(body).get("errorCode").asText());
+    }
+
+    @Test
+    @DisplayName("Should calculate CBOR batches")
+    void testCborBatch() throws Exception {
+        byte[] request = cborMapper.writeValueAsBytes(new BatchCalculateRequest(Arrays.asList(
+                new BatchOperation("sum", 1.0, 2.0),
+                new BatchOperation("sqrt", 16.0, null),
+                new BatchOperation("divide", 1.0, 0.0))));
+        byte[] body = mockMvc.perform(post("/api/v1/calculator/batch")
+                .contentType(APPLICATION_CBOR)
+                .accept(APPLICATION_CBOR)
+                .content(request))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode response = cbor(body);
+        assertEquals(2, response.get("succeeded").asInt());
+        assertEquals(3.0, response.get("results").get(0).get("result").doubleValue());
+        assertEquals(4.0, response.get("results").get(1).get("result").doubleValue());
+        assertEquals("DIVISION_BY_ZERO", response.get("results").get(2).get("errorCode").asText());
+    }
+
+    @Test
+    @DisplayName("Should keep JSON as the default")
+    void testJsonDefault() throws Exception {
+        mockMvc.perform(get("/api/v1/calculator/calculate")
+                .param("action", "sum")
+                .param("val1", "1")
+                .param("val2", "2")
+                .accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.data.result").value(3.0));
+
+        mockMvc.perform(post("/api/v1/calculator/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"operations\":[{\"action\":\"sum\",\"val1\":1,\"val2\":2}]}"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+    }
+}
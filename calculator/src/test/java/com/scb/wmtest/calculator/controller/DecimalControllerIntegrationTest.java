@@ -0,0 +1,112 @@
+package com.scb.wmtest.calculator.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scb.wmtest.calculator.model.DecimalCalculateRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for the decimal precision endpoint
+ */
+@SpringBootTest
+@AutoConfigureWebMvc
+@ActiveProfiles("test")
+class DecimalControllerIntegrationTest {
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+    }
+
+    @Test
+    @DisplayName("Should calculate in decimal precision via POST request")
+    void testCalculateDecimal() throws Exception {
+        // Given
+        DecimalCalculateRequest request = new DecimalCalculateRequest("divide", new BigDecimal("2"), new BigDecimal("3"));
+        request.setPrecision(20);
+        request.setRoundingMode(RoundingMode.DOWN);
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/calculator/decimal")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.params.action").value("divide"))
+                .andExpect(jsonPath("$.result").value("0.66666666666666666666"))
+                .andExpect(jsonPath("$.precision").value(20))
+                .andExpect(jsonPath("$.roundingMode").value("DOWN"));
+    }
+
+    @Test
+    @DisplayName("Should default to 34 digits and HALF_EVEN rounding")
+    void testCalculateDecimalSingle() throws Exception {
+        // Given
+        String request = "{\"action\": \"sum\", \"val1\": 0.1, \"val2\": 0.2}";
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/calculator/decimal")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(request))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.result").value("0.3"))
+                .andExpect(jsonPath("$.precision").value(34))
+                .andExpect(jsonPath("$.roundingMode").value("HALF_EVEN"));
+
+        mockMvc.perform(post("/api/v1/calculator/decimal")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"action\": \"sqrt\", \"val1\": 2}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.result").value("1.414213562373095048801688724209698"));
+    }
+
+    @Test
+    @DisplayName("Should reject a precision above the limit")
+    void testPrecisionTooLarge() throws Exception {
+        // Given
+        DecimalCalculateRequest request = new DecimalCalculateRequest("sqrt", new BigDecimal("2"), null);
+        request.setPrecision(DecimalCalculateRequest.MAX_PRECISION + 1);
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/calculator/decimal")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should reject operands with too many digits before or after the decimal point")
+    void testOperandTooLarge() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/v1/calculator/decimal")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"action\":\"sin\",\"val1\":1E+999999999}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/v1/calculator/decimal")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"action\":\"sum\",\"val1\":1,\"val2\":1E-1001}"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,76 @@
+package com.scb.wmtest.calculator.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scb.wmtest.calculator.model.ExpressionRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for the expression endpoint
+ */
+@SpringBootTest
+@AutoConfigureWebMvc
+@ActiveProfiles("test")
+class ExpressionControllerIntegrationTest {
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+    }
+
+    @Test
+    @DisplayName("Should evaluate an expression via POST request")
+    void testEvaluateExpression() throws Exception {
+        // Given
+        Map<String, Double> variables = new HashMap<>();
+        variables.put("a", 10.0);
+        variables.put("b", 5.0);
+        variables.put("c", 16.0);
+        ExpressionRequest request = new ExpressionRequest("(a + b) * sqrt(c) / 100", variables);
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/calculator/expression")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.params.action").value("(a + b) * sqrt(c) / 100"))
+                .andExpect(jsonPath("$.data.result").value(0.6));
+    }
+
+    @Test
+    @DisplayName("Should return error for malformed expression")
+    void testMalformedExpression() throws Exception {
+        // Given
+        ExpressionRequest request = new ExpressionRequest("(a + ", null);
+
+        // When & Then
+        mockMvc.perform(post("/api/v1/calculator/expression")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("INVALID_EXPRESSION"));
+    }
+}
@@ -0,0 +1,85 @@
+package com.scb.wmtest.calculator.controller;
+
+import com.scb.wmtest.calculator.profiling.CalculationEvent;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for the Flight Recorder endpoint
+ */
+@SpringBootTest
+@AutoConfigureWebMvc
+@ActiveProfiles("test")
+class FlightRecorderEndpointIntegrationTest {
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+    }
+
+    @Test
+    @DisplayName("Should record calculations between start and stop and return the recording")
+    void testRecording(@TempDir Path directory) throws Exception {
+        // Given
+        mockMvc.perform(post("/actuator/jfr")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"duration\":\"30s\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("RUNNING"))
+                .andExpect(jsonPath("$.maxDuration").value("PT30S"));
+        mockMvc.perform(post("/actuator/jfr")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}"))
+                .andExpect(status().isConflict());
+
+        // When
+        mockMvc.perform(get("/api/v1/calculator/calculate")
+                .param("action", "multiply")
+                .param("val1", "6")
+                .param("val2", "7"))
+                .andExpect(status().isOk());
+        byte[] recording = mockMvc.perform(delete("/actuator/jfr"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_OCTET_STREAM))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Then
+        Path file = Files.write(directory.resolve("calculator.jfr"), recording);
+        List<RecordedEvent> calculations = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals(CalculationEvent.NAME))
+                .collect(Collectors.toList());
+        assertEquals(1, calculations.size());
+        assertEquals("multiply", calculations.get(0).getString("operation"));
+        mockMvc.perform(get("/actuator/jfr"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("STOPPED"));
+    }
+}
@@ -0,0 +1,149 @@
+package com.scb.wmtest.calculator.controller;
+
+import com.scb.wmtest.calculator.security.JwtUtil;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration test for calculation latency while many clients log in at once. Password
+ * checks run on a single thread with a short queue, and rate limiting is off so that
+ * the logins reach it.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "calculator.auth.threads=1",
+        "calculator.auth.queue-size=4",
+        "calculator.rate-limit.enabled=false",
+        "logging.level.com.scb.wmtest.calculator=INFO",
+        "logging.level.org.springframework.web=INFO"
+})
+@ActiveProfiles("test")
+class LoginStormIntegrationTest {
+
+    private static final int CALCULATIONS = 300;
+
+    private static final long INTERVAL = TimeUnit.MILLISECONDS.toNanos(2);
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Test
+    @DisplayName("Should keep calculation latency close to the baseline during a login storm")
+    void testCalculationLatencyDuringLoginStorm() throws Exception {
+        // Given
+        HttpEntity<Void> calculation = new HttpEntity<>(bearer(jwtUtil.generateToken("user")));
+        measureCalculations(calculation);
+        long baseline = p99(measureCalculations(calculation));
+        long checkNanos = passwordCheckNanos();
+
+        // When: many more clients log in at once than the pool checks passwords
+        int clients = 16;
+        AtomicBoolean storming = new AtomicBoolean(true);
+        LongAdder accepted = new LongAdder();
+        LongAdder rejected = new LongAdder();
+        HttpHeaders json = new HttpHeaders();
+        json.setContentType(MediaType.APPLICATION_JSON);
+        HttpEntity<String> login = new HttpEntity<>("{\"username\":\"user\",\"password\":\"password\"}", json);
+        ExecutorService loginClients = Executors.newFixedThreadPool(clients);
+        for (int i = 0; i < clients; i++) {
+            loginClients.execute(() -> {
+                while (storming.get()) {
+                    ResponseEntity<String> response = restTemplate.postForEntity("/login", login, String.class);
+                    if (response.getStatusCode() == HttpStatus.OK) {
+                        accepted.increment();
+                    } else {
+                        // A rejected client backs off instead of spinning on the CPU the test measures
+                        rejected.increment();
+                        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(50));
+                    }
+                }
+            });
+        }
+        long duringStorm;
+        try {
+            Thread.sleep(200);
+            duringStorm = p99(measureCalculations(calculation));
+        } finally {
+            storming.set(false);
+            loginClients.shutdown();
+            loginClients.awaitTermination(10, TimeUnit.SECONDS);
+        }
+
+        // Then: calculations share the CPU with the password checks, but never wait behind
+        // the queued ones, which would take five checks or more
+        assertTrue(accepted.sum() > 0);
+        assertTrue(rejected.sum() > 0);
+        assertTrue(duringStorm < baseline + 2 * checkNanos,
+                "p99 calculation latency " + duringStorm / 1000 + " us during the storm, " + baseline / 1000
+                        + " us before, one password check takes " + checkNanos / 1000 + " us");
+    }
+
+    /**
+     * Requests one calculation every interval and returns how late each response
+     * arrived relative to when the request was due, so time spent waiting for a CPU
+     * or a server thread counts
+     */
+    private long[] measureCalculations(HttpEntity<Void> calculation) {
+        long[] latencies = new long[CALCULATIONS];
+        long due = System.nanoTime() + INTERVAL;
+        for (int i = 0; i < CALCULATIONS; i++) {
+            long now;
+            while ((now = System.nanoTime()) < due) {
+                LockSupport.parkNanos(due - now);
+            }
+            ResponseEntity<String> response = restTemplate.exchange(
+                    "/api/v1/calculator/calculate?action=sum&val1=" + i + "&val2=2", HttpMethod.GET, calculation, String.class);
+            latencies[i] = System.nanoTime() - due;
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            due = Math.max(due + INTERVAL, System.nanoTime());
+        }
+        return latencies;
+    }
+
+    private static long passwordCheckNanos() {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
+        String hash = encoder.encode("password");
+        long checkNanos = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            encoder.matches("password", hash);
+            checkNanos = Math.min(checkNanos, System.nanoTime() - start);
+        }
+        return checkNanos;
+    }
+
+    private static HttpHeaders bearer(String token) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        return headers;
+    }
+
+    private static long p99(long[] latencies) {
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        return sorted[(int) Math.ceil(sorted.length * 0.99) - 1];
+    }
+}
@@ -0,0 +1,63 @@
+package com.scb.wmtest.calculator.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for the Prometheus scrape endpoint
+ */
+@SpringBootTest
+@AutoConfigureWebMvc
+@AutoConfigureMetrics
+@ActiveProfiles("test")
+class MetricsEndpointIntegrationTest {
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+    }
+
+    @Test
+    @DisplayName("Should publish calculation latency and error codes for Prometheus")
+    void testPrometheus() throws Exception {
+        // Given
+        mockMvc.perform(get("/api/v1/calculator/calculate")
+                .param("action", "sum")
+                .param("val1", "1")
+                .param("val2", "2"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/calculator/calculate")
+                .param("action", "divide")
+                .param("val1", "1")
+                .param("val2", "0"))
+                .andExpect(status().isBadRequest());
+
+        // When & Then
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString(
+                        "calculator_calculations_seconds_bucket{operation=\"sum\",outcome=\"success\"")))
+                .andExpect(content().string(containsString(
+                        "calculator_calculations_seconds{operation=\"divide\",outcome=\"error\",quantile=\"0.99\",}")))
+                .andExpect(content().string(containsString(
+                        "calculator_errors_total{code=\"DIVISION_BY_ZERO\",}")));
+    }
+}
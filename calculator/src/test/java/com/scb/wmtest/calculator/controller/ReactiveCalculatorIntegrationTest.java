@@ -0,0 +1,242 @@
+package com.scb.wmtest.calculator.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the calculator API on the reactive profile, served by
+ * WebFlux on Netty with JWT authentication
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({"test", "reactive"})
+class ReactiveCalculatorIntegrationTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    private String login() {
+        Map<?, ?> response = webTestClient.post().uri("/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"username\":\"user\",\"password\":\"password\"}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Map.class)
+                .returnResult().getResponseBody();
+        assertNotNull(response);
+        return (String) response.get("token");
+    }
+
+    @Test
+    @DisplayName("Should reject requests without a valid token")
+    void testRequiresToken() {
+        webTestClient.get().uri("/api/v1/calculator/calculate?action=sum&val1=1&val2=2")
+                .exchange()
+                .expectStatus().isForbidden();
+
+        webTestClient.get().uri("/api/v1/calculator/calculate?action=sum&val1=1&val2=2")
+                .header("Authorization", "Bearer not-a-token")
+                .exchange()
+                .expectStatus().isForbidden();
+    }
+
+    @Test
+    @DisplayName("Should calculate with a token from the login endpoint")
+    void testCalculate() {
+        String token = login();
+
+        webTestClient.get().uri("/api/v1/calculator/calculate?action=sum&val1=10&val2=5")
+                .header("Authorization", "Bearer " + token)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.params.action").isEqualTo("sum")
+                .jsonPath("$.data.result").isEqualTo(15.0);
+
+        webTestClient.post().uri("/api/v1/calculator/decimal")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"action\":\"divide\",\"val1\":2,\"val2\":3,\"precision\":20}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.result").isEqualTo("0.66666666666666666667");
+    }
+
+    @Test
+    @DisplayName("Should serve batches, expressions and exact factorials off the event loop")
+    void testHeavyEndpoints() {
+        String token = login();
+
+        webTestClient.post().uri("/api/v1/calculator/batch")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"operations\":[{\"action\":\"sum\",\"val1\":10,\"val2\":5},{\"action\":\"divide\",\"val1\":1,\"val2\":0}]}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.results[0].result").isEqualTo(15.0)
+                .jsonPath("$.results[1].errorCode").isEqualTo("DIVISION_BY_ZERO");
+
+        webTestClient.post().uri("/api/v1/calculator/expression")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"expression\":\"(a + b) * sqrt(c)\",\"variables\":{\"a\":1,\"b\":2,\"c\":16}}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.result").isEqualTo(12.0);
+
+        webTestClient.get().uri("/api/v1/calculator/factorial?n=25")
+                .header("Authorization", "Bearer " + token)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.result").isEqualTo("15511210043330985984000000");
+
+        webTestClient.get().uri("/api/v1/calculator/factorial?n=-1")
+                .header("Authorization", "Bearer " + token)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.errorCode").isEqualTo("INVALID_INPUT");
+    }
+
+    @Test
+    @DisplayName("Should renew the access token with the refresh token from the login endpoint")
+    void testRefresh() {
+        Map<?, ?> login = webTestClient.post().uri("/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"username\":\"user\",\"password\":\"password\"}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Map.class)
+                .returnResult().getResponseBody();
+        assertNotNull(login);
+
+        Map<?, ?> refreshed = webTestClient.post().uri("/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"refreshToken\":\"" + login.get("refreshToken") + "\"}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Map.class)
+                .returnResult().getResponseBody();
+        assertNotNull(refreshed);
+
+        webTestClient.get().uri("/api/v1/calculator/calculate?action=sum&val1=1&val2=2")
+                .header("Authorization", "Bearer " + refreshed.get("token"))
+                .exchange()
+                .expectStatus().isOk();
+
+        webTestClient.get().uri("/api/v1/calculator/calculate?action=sum&val1=1&val2=2")
+                .header("Authorization", "Bearer " + login.get("refreshToken"))
+                .exchange()
+                .expectStatus().isForbidden();
+
+        webTestClient.post().uri("/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"refreshToken\":\"" + login.get("token") + "\"}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.errorCode").isEqualTo("INVALID_TOKEN");
+    }
+
+    @Test
+    @DisplayName("Should count requests against the caller's rate limit")
+    void testRateLimitConsumption() {
+        String token = login();
+
+        webTestClient.get().uri("/api/v1/calculator/calculate?action=sum&val1=1&val2=2")
+                .header("Authorization", "Bearer " + token)
+                .exchange()
+                .expectStatus().isOk();
+
+        webTestClient.get().uri("/actuator/ratelimits/user")
+                .header("Authorization", "Bearer " + token)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.STANDARD.granted").value(granted -> assertTrue(((Number) granted).longValue() >= 1))
+                .jsonPath("$.STANDARD.available").exists();
+    }
+
+    @Test
+    @DisplayName("Should answer errors with the same error responses as the servlet stack")
+    void testErrors() {
+        String token = login();
+
+        webTestClient.get().uri("/api/v1/calculator/calculate?action=divide&val1=1&val2=0")
+                .header("Authorization", "Bearer " + token)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.errorCode").isEqualTo("DIVISION_BY_ZERO");
+
+        webTestClient.get().uri("/api/v1/calculator/calculate?action=sum&val1=abc&val2=0")
+                .header("Authorization", "Bearer " + token)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.errorCode").isEqualTo("TYPE_MISMATCH")
+                .jsonPath("$.message").isEqualTo("Invalid parameter type for val1. Expected: Double");
+
+        webTestClient.post().uri("/api/v1/calculator/calculate")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"action\":\"modulo\",\"val1\":1,\"val2\":2}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.errorCode").isEqualTo("VALIDATION_ERROR");
+    }
+
+    @Test
+    @DisplayName("Should answer in CBOR when the client accepts it")
+    void testCbor() throws Exception {
+        String token = login();
+        MediaType cbor = MediaType.valueOf("application/cbor");
+
+        byte[] body = webTestClient.get().uri("/api/v1/calculator/calculate?action=divide&val1=1&val2=4")
+                .header("Authorization", "Bearer " + token)
+                .accept(cbor)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(cbor)
+                .expectBody(byte[].class)
+                .returnResult().getResponseBody();
+
+        JsonNode response = new ObjectMapper(new CBORFactory()).readTree(body);
+        assertEquals(0.25, response.get("data").get("result").doubleValue());
+    }
+
+    @Test
+    @DisplayName("Should stream newline delimited results")
+    void testStream() {
+        String token = login();
+
+        String body = webTestClient.post().uri("/api/v1/calculator/batch/stream")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .bodyValue("{\"action\":\"sum\",\"val1\":10,\"val2\":5}\n{\"action\":\"divide\",\"val1\":1,\"val2\":0}\n")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .returnResult().getResponseBody();
+
+        assertEquals("{\"index\":0,\"result\":15.0}\n"
+                + "{\"index\":1,\"errorCode\":\"DIVISION_BY_ZERO\",\"message\":\"Division by zero is not allowed\"}\n", body);
+    }
+}
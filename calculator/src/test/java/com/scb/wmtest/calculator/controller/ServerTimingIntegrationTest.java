@@ -0,0 +1,88 @@
+package com.scb.wmtest.calculator.controller;
+
+import com.scb.wmtest.calculator.timing.ServerTiming;
+import com.scb.wmtest.calculator.timing.ServerTimingFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for the Server-Timing breakdown of requests
+ */
+@SpringBootTest(properties = "calculator.server-timing.enabled=true")
+@AutoConfigureWebMvc
+@ActiveProfiles("test")
+class ServerTimingIntegrationTest {
+
+    private static final String DURATION = ";dur=\\d+\\.\\d{3}";
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private ServerTimingFilter serverTimingFilter;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext)
+                .addFilters(serverTimingFilter)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should break a calculation down into auth, validation, compute and serialization")
+    void testCalculation() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/v1/calculator/calculate")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"action\":\"divide\",\"val1\":1,\"val2\":4}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.result").value(0.25))
+                .andExpect(header().string(ServerTiming.HEADER, matchesPattern(
+                        "auth" + DURATION + ", validation" + DURATION + ", compute" + DURATION
+                                + ", serialization" + DURATION + ", total" + DURATION)))
+                .andExpect(jsonPath("$.timings.auth").isNumber())
+                .andExpect(jsonPath("$.timings.validation").isNumber())
+                .andExpect(jsonPath("$.timings.compute").isNumber())
+                .andExpect(jsonPath("$.timings.serialization").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Should time requests that fail validation up to the failure")
+    void testValidationError() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/v1/calculator/calculate")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"action\":\"\",\"val1\":1,\"val2\":4}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(header().string(ServerTiming.HEADER, matchesPattern(
+                        "auth" + DURATION + ", total" + DURATION)));
+    }
+
+    @Test
+    @DisplayName("Should not hold back streamed results")
+    void testStreamIsNotTimed() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/v1/calculator/batch/stream")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content("{\"action\":\"sum\",\"val1\":10,\"val2\":5}\n"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(ServerTiming.HEADER))
+                .andExpect(content().string("{\"index\":0,\"result\":15.0}\n"));
+    }
+}
@@ -5,6 +5,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
@@ -42,6 +43,19 @@ class GlobalExceptionHandlerTest {
         assertNotNull(response.getBody().getTimestamp());
     }
 
+    @Test
+    @DisplayName("Should answer an overloaded server with 503 and Retry-After")
+    void testHandleServerBusy() {
+        // When
+        ResponseEntity<ErrorResponse> response = exceptionHandler.handleCalculatorException(CalculatorErrors.SERVER_BUSY);
+
+        // Then
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("1", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertNotNull(response.getBody());
+        assertEquals("SERVER_BUSY", response.getBody().getErrorCode());
+    }
+
     @Test
     @DisplayName("Should handle ArithmeticException correctly")
     void testHandleArithmeticException() {
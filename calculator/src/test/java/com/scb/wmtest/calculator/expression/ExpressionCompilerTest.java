@@ -0,0 +1,100 @@
+package com.scb.wmtest.calculator.expression;
+
+import com.scb.wmtest.calculator.exception.CalculatorException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for expression parsing and compilation
+ */
+class ExpressionCompilerTest {
+
+    private final ExpressionCompiler compiler = new ExpressionCompiler();
+
+    @Test
+    @DisplayName("Should evaluate compiled expressions like the interpreter")
+    void testCompiledMatchesInterpreted() {
+        // Given
+        Map<String, Double> variables = new HashMap<>();
+        variables.put("a", 10.0);
+        variables.put("b", 5.0);
+        variables.put("c", 16.0);
+        String[] expressions = {
+            "(a + b) * sqrt(c) / 100",
+            "a - b - c",
+            "2 ^ 3 ^ 2",
+            "-a ^ 2",
+            "percentage(a, 15) + power(b, 2)",
+            "factorial(b) / reciprocal(4)",
+            "abs(-c) + ln(a) - log(100) + sin(90) + cos(0) + tan(45)",
+            "square(a) + cube(b) * 1.5e-1",
+            "sum(a, multiply(b, c))"
+        };
+
+        for (String text : expressions) {
+            // When
+            Expression expression = compile(text);
+
+            // Then
+            assertEquals(expression.interpret(variables), expression.evaluate(variables), text);
+        }
+    }
+
+    @Test
+    @DisplayName("Should honour operator precedence and associativity")
+    void testPrecedence() {
+        assertEquals(14.0, compile("2 + 3 * 4").evaluate(null));
+        assertEquals(20.0, compile("(2 + 3) * 4").evaluate(null));
+        assertEquals(512.0, compile("2 ^ 3 ^ 2").evaluate(null));
+        assertEquals(-4.0, compile("-2 ^ 2").evaluate(null));
+        assertEquals(0.5, compile("2 ^ -1").evaluate(null));
+        assertEquals(1.0, compile("8 / 4 / 2").evaluate(null));
+    }
+
+    @Test
+    @DisplayName("Should list variables in order of first appearance")
+    void testVariables() {
+        Expression expression = compile("y * x + y");
+
+        assertEquals(Arrays.asList("y", "x"), expression.getVariables());
+        assertEquals(8.0, expression.getCompiled().evaluate(new double[] {2, 3}));
+    }
+
+    @Test
+    @DisplayName("Should raise calculator errors from compiled code")
+    void testDomainErrors() {
+        Map<String, Double> variables = new HashMap<>();
+        variables.put("x", 0.0);
+
+        CalculatorException division = assertThrows(CalculatorException.class, () -> compile("1 / x").evaluate(variables));
+        assertEquals("DIVISION_BY_ZERO", division.getErrorCode());
+
+        CalculatorException sqrt = assertThrows(CalculatorException.class, () -> compile("sqrt(x - 1)").evaluate(variables));
+        assertEquals("INVALID_INPUT", sqrt.getErrorCode());
+
+        CalculatorException unbound = assertThrows(CalculatorException.class, () -> compile("x + y").evaluate(variables));
+        assertEquals("INVALID_INPUT", unbound.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("Should reject malformed expressions")
+    void testMalformed() {
+        String[] malformed = {"", "1 +", "(1 + 2", "1 2", "unknown(1)", "sqrt(1, 2)", "power(1)", "1.2.3", "#"};
+
+        for (String text : malformed) {
+            CalculatorException exception = assertThrows(CalculatorException.class, () -> ExpressionParser.parse(text), text);
+            assertEquals("INVALID_EXPRESSION", exception.getErrorCode());
+        }
+    }
+
+    private Expression compile(String text) {
+        ParsedExpression parsed = ExpressionParser.parse(text);
+        return new Expression(parsed, compiler.compile(parsed));
+    }
+}
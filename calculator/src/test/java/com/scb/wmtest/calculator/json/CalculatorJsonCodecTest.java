@@ -0,0 +1,147 @@
+package com.scb.wmtest.calculator.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scb.wmtest.calculator.model.CalculateRequest;
+import com.scb.wmtest.calculator.model.CalculateResponse;
+import com.scb.wmtest.calculator.model.Data;
+import com.scb.wmtest.calculator.model.ErrorResponse;
+import com.scb.wmtest.calculator.model.Params;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that the hand-written codec matches the Jackson object mapper byte for byte
+ */
+class CalculatorJsonCodecTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final JsonWriter writer = new JsonWriter(16);
+
+    private String write(CalculateResponse response) {
+        CalculatorJsonCodec.writeCalculateResponse(writer.reset(), response);
+        return new String(writer.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private String write(ErrorResponse response) {
+        CalculatorJsonCodec.writeErrorResponse(writer.reset(), response);
+        return new String(writer.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private CalculateRequest read(String json) {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        return CalculatorJsonCodec.readCalculateRequest(bytes, bytes.length);
+    }
+
+    @Test
+    @DisplayName("Should write calculate responses like Jackson")
+    void testCalculateResponse() throws Exception {
+        double[] results = {15.0, -2.5, 0.1, 1.0 / 3, 0.0, -0.0, 1e7, 123456.789, 0.001, 9.99e-4,
+                Double.MAX_VALUE, Double.MIN_VALUE, Double.NaN, Double.NEGATIVE_INFINITY, 4.35, 2.675};
+        for (double result : results) {
+            CalculateResponse response = new CalculateResponse("1.0", new Params("sum"), new Data(result));
+            assertEquals(objectMapper.writeValueAsString(response), write(response), "result " + result);
+        }
+        CalculateResponse empty = new CalculateResponse();
+        assertEquals(objectMapper.writeValueAsString(empty), write(empty));
+        empty.setTimestamp(null);
+        assertEquals(objectMapper.writeValueAsString(empty), write(empty));
+    }
+
+    @Test
+    @DisplayName("Should write request timings like Jackson")
+    void testTimings() throws Exception {
+        CalculateResponse response = new CalculateResponse("1.0", new Params("sum"), new Data(3));
+        Map<String, Long> timings = new LinkedHashMap<>();
+        timings.put("auth", 52L);
+        timings.put("validation", 0L);
+        timings.put("compute", 1234567L);
+        response.setTimings(timings);
+        assertEquals(objectMapper.writeValueAsString(response), write(response));
+        timings.put("compute", null);
+        assertEquals(objectMapper.writeValueAsString(response), write(response));
+    }
+
+    @Test
+    @DisplayName("Should write error responses with escaped and non-ASCII messages like Jackson")
+    void testErrorResponse() throws Exception {
+        String[] messages = {"Division by zero is not allowed", "quote \" backslash \\ slash /",
+                "control \b\t\n\f\r\u0001\u001f", "café € 😀", null};
+        for (String message : messages) {
+            ErrorResponse response = new ErrorResponse("DIVISION_BY_ZERO", message, LocalDateTime.now());
+            assertEquals(objectMapper.writeValueAsString(response), write(response));
+        }
+    }
+
+    @Test
+    @DisplayName("Should format random doubles with the digits of Double.toString")
+    void testNumbers() {
+        Random random = new Random(42);
+        for (int i = 0; i < 200_000; i++) {
+            double[] values = {
+                Double.longBitsToDouble(random.nextLong()),
+                random.nextDouble() * Math.pow(10, random.nextInt(12) - 4),
+                Math.round(random.nextDouble() * 1e6) / Math.pow(10, random.nextInt(8)),
+                random.nextInt(20_000_000) - 10_000_000.0
+            };
+            for (double value : values) {
+                writer.reset().number(value);
+                String expected = Double.isNaN(value) || Double.isInfinite(value)
+                        ? "\"" + value + "\"" : Double.toString(value);
+                assertEquals(expected, new String(writer.toByteArray(), StandardCharsets.US_ASCII));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should reuse one formatted timestamp per second")
+    void testTimestamp() {
+        LocalDateTime timestamp = LocalDateTime.of(2024, 2, 29, 23, 59, 59, 1_000);
+        writer.reset().timestamp(timestamp);
+        assertEquals("\"2024-02-29 23:59:59\"", new String(writer.toByteArray(), StandardCharsets.US_ASCII));
+        writer.reset().timestamp(timestamp.plusNanos(999_000_000 - 1_000));
+        assertEquals("\"2024-02-29 23:59:59\"", new String(writer.toByteArray(), StandardCharsets.US_ASCII));
+        writer.reset().timestamp(timestamp.plusSeconds(1));
+        assertEquals("\"2024-03-01 00:00:00\"", new String(writer.toByteArray(), StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    @DisplayName("Should read requests like Jackson")
+    void testReadRequest() throws Exception {
+        String[] inputs = {
+            "{\"action\":\"sum\",\"val1\":10,\"val2\":5}",
+            " { \"val2\" : -0.25 , \"action\" : \"divide\" , \"val1\" : 1e3 }\n",
+            "{\"action\":\"café\",\"val1\":null,\"val2\":123456789012345678}",
+            "{\"action\":null,\"extra\":\"x\",\"flag\":true,\"n\":-1.5E-3,\"val1\":0.1}",
+            "{}"
+        };
+        for (String input : inputs) {
+            CalculateRequest expected = objectMapper.readValue(input, CalculateRequest.class);
+            CalculateRequest actual = read(input);
+            assertNotNull(actual, input);
+            assertEquals(expected.getAction(), actual.getAction(), input);
+            assertEquals(expected.getVal1(), actual.getVal1(), input);
+            assertEquals(expected.getVal2(), actual.getVal2(), input);
+        }
+    }
+
+    @Test
+    @DisplayName("Should leave unsupported or malformed input to Jackson")
+    void testFallback() {
+        String[] inputs = {
+            "", "[]", "{\"action\":\"sum\"", "{\"action\":\"s\\u0075m\"}", "{\"val1\":\"10\"}",
+            "{\"val1\":01}", "{\"val1\":1.}", "{\"nested\":{\"a\":1}}", "{\"action\":\"sum\"} trailing"
+        };
+        for (String input : inputs) {
+            assertNull(read(input), input);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.scb.wmtest.calculator.metrics;
+
+import com.scb.wmtest.calculator.audit.CalculationAuditLog;
+import com.scb.wmtest.calculator.cache.ResultCache;
+import com.scb.wmtest.calculator.coalescing.RequestCoalescer;
+import com.scb.wmtest.calculator.model.BatchOperation;
+import com.scb.wmtest.calculator.operation.OperationRegistry;
+import com.scb.wmtest.calculator.services.CalculateService;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CalculatorMetrics
+ */
+class CalculatorMetricsTest {
+
+    private final OperationRegistry operationRegistry = new OperationRegistry();
+
+    private CalculateService calculateService(CalculatorMetrics metrics) {
+        return new CalculateService(operationRegistry, ResultCache.disabled(), CalculationAuditLog.disabled(),
+                RequestCoalescer.disabled(), metrics);
+    }
+
+    @Test
+    @DisplayName("Should time calculations per operation, successes and errors apart")
+    void testCalculationTimers() {
+        // Given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CalculatorMetrics metrics = new CalculatorMetrics(operationRegistry, true, true);
+        metrics.bindTo(registry);
+        CalculateService calculateService = calculateService(metrics);
+
+        // When
+        calculateService.tryPerformAction("divide", 1, 2);
+        calculateService.tryPerformAction("DIVIDE", 3, 4);
+        calculateService.tryPerformAction("divide", 1, 0);
+        calculateService.tryPerformSingleAction("sqrt", 16);
+        calculateService.performBatchOperation(0, new BatchOperation("sqrt", -1.0, null));
+        calculateService.tryPerformAction("modulo", 1, 2);
+
+        // Then
+        Timer divide = registry.get("calculator.calculations").tags("operation", "divide", "outcome", "success").timer();
+        assertEquals(2, divide.count());
+        assertEquals(1, registry.get("calculator.calculations").tags("operation", "divide", "outcome", "error").timer().count());
+        assertEquals(1, registry.get("calculator.calculations").tags("operation", "sqrt", "outcome", "success").timer().count());
+        assertEquals(1, registry.get("calculator.calculations").tags("operation", "sqrt", "outcome", "error").timer().count());
+        assertEquals(2 * operationRegistry.getOperationNames().size(), registry.find("calculator.calculations").timers().size());
+
+        HistogramSnapshot snapshot = divide.takeSnapshot();
+        assertEquals(3, snapshot.percentileValues().length);
+        assertTrue(snapshot.percentileValues()[1].value(TimeUnit.NANOSECONDS) > 0);
+        assertTrue(divide.max(TimeUnit.NANOSECONDS) > 0);
+    }
+
+    @Test
+    @DisplayName("Should count error responses per code and time token checks")
+    void testErrorsAndTokens() {
+        // Given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CalculatorMetrics metrics = new CalculatorMetrics(operationRegistry, true, false);
+        metrics.bindTo(registry);
+
+        // When
+        metrics.recordError("DIVISION_BY_ZERO");
+        metrics.recordError("DIVISION_BY_ZERO");
+        metrics.recordError("INVALID_OPERATION");
+        metrics.recordTokenVerification(true, 1_000);
+        metrics.recordTokenVerification(false, 2_000);
+
+        // Then
+        assertEquals(2, registry.get("calculator.errors").tag("code", "DIVISION_BY_ZERO").counter().count());
+        assertEquals(1, registry.get("calculator.errors").tag("code", "INVALID_OPERATION").counter().count());
+        assertEquals(1, registry.get("calculator.jwt.verifications").tag("result", "valid").timer().count());
+        assertEquals(2_000, registry.get("calculator.jwt.verifications").tag("result", "invalid").timer()
+                .totalTime(TimeUnit.NANOSECONDS));
+    }
+
+    @Test
+    @DisplayName("Should record nothing when disabled")
+    void testDisabled() {
+        // Given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CalculatorMetrics metrics = new CalculatorMetrics(operationRegistry, false, true);
+        metrics.bindTo(registry);
+
+        // When
+        calculateService(metrics).tryPerformAction("sum", 1, 2);
+        metrics.recordError("DIVISION_BY_ZERO");
+
+        // Then
+        assertTrue(registry.getMeters().isEmpty());
+    }
+}
@@ -0,0 +1,84 @@
+package com.scb.wmtest.calculator.operation;
+
+import com.scb.wmtest.calculator.CalculatorOperation;
+import com.scb.wmtest.calculator.exception.CalculatorException;
+import com.scb.wmtest.calculator.services.CalculateService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for OperationRegistry and CaseInsensitiveIndex
+ */
+class OperationRegistryTest {
+
+    @Test
+    @DisplayName("Should register every built-in operation in advertised order")
+    void testBuiltInOperations() {
+        OperationRegistry registry = new OperationRegistry(Collections.emptyList());
+
+        assertEquals(CalculatorOperation.values().length, registry.getOperationNames().size());
+        assertEquals("sum", registry.getOperationNames().get(0));
+        assertEquals("subtract", registry.getOperationNames().get(1));
+        assertEquals("multiply", registry.getOperationNames().get(2));
+        assertEquals("divide", registry.getOperationNames().get(3));
+        for (CalculatorOperation operation : CalculatorOperation.values()) {
+            assertSame(BuiltInOperations.get(operation), registry.find(operation.getValue().toUpperCase()));
+        }
+    }
+
+    @Test
+    @DisplayName("Should discover operations through the service loader")
+    void testServiceLoader() {
+        OperationRegistry registry = new OperationRegistry();
+
+        OperationStrategy hypot = registry.find("HYPOT");
+        assertTrue(hypot instanceof BinaryOperationStrategy);
+        assertEquals(5.0, ((BinaryOperationStrategy) hypot).apply(3, 4));
+        assertTrue(registry.getOperationNames().contains("negate"));
+        assertTrue(registry.getBinaryOperationNames().contains("hypot"));
+        assertFalse(registry.getBinaryOperationNames().contains("negate"));
+    }
+
+    @Test
+    @DisplayName("Should dispatch provided operations through CalculateService")
+    void testProvidedOperationsInService() {
+        CalculateService calculateService = CalculateService.standalone();
+
+        assertEquals(5.0, calculateService.performAction("hypot", 3, 4));
+        assertEquals(-2.0, calculateService.performSingleAction("negate", 2));
+        CalculatorException exception = assertThrows(CalculatorException.class,
+            () -> calculateService.performAction("negate", 1, 2));
+        assertEquals("UNSUPPORTED_OPERATION", exception.getErrorCode());
+    }
+
+    @Test
+    @DisplayName("Should reject operations that reuse a name")
+    void testDuplicateNames() {
+        OperationProvider provider = () -> Collections.singletonList(BinaryOperationStrategy.of("SUM", Double::sum));
+
+        assertThrows(IllegalStateException.class, () -> new OperationRegistry(Collections.singletonList(provider)));
+    }
+
+    @Test
+    @DisplayName("Should find every key ignoring case and nothing else")
+    void testCaseInsensitiveIndex() {
+        Map<String, Integer> entries = new HashMap<>();
+        for (int i = 0; i < 200; i++) {
+            entries.put("key" + i, i);
+        }
+        CaseInsensitiveIndex<Integer> index = new CaseInsensitiveIndex<>(entries);
+
+        for (int i = 0; i < 200; i++) {
+            assertEquals(i, index.get("KEY" + i));
+        }
+        assertNull(index.get("key200"));
+        assertNull(index.get(""));
+        assertNull(index.get(null));
+    }
+}
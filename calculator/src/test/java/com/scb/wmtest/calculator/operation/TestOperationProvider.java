@@ -0,0 +1,18 @@
+package com.scb.wmtest.calculator.operation;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Operation provider registered through META-INF/services for tests
+ */
+public class TestOperationProvider implements OperationProvider {
+
+    @Override
+    public Collection<? extends OperationStrategy> getOperations() {
+        return Arrays.asList(
+            BinaryOperationStrategy.of("hypot", Math::hypot),
+            UnaryOperationStrategy.of("negate", val -> -val)
+        );
+    }
+}
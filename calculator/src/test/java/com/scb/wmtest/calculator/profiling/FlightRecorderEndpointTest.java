@@ -0,0 +1,101 @@
+package com.scb.wmtest.calculator.profiling;
+
+import com.scb.wmtest.calculator.model.BatchOperation;
+import com.scb.wmtest.calculator.security.JwtUtil;
+import com.scb.wmtest.calculator.services.CalculateService;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.Resource;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for FlightRecorderEndpoint and the calculator's Flight Recorder events
+ */
+class FlightRecorderEndpointTest {
+
+    private final FlightRecorderEndpoint endpoint = new FlightRecorderEndpoint("default", Duration.ZERO,
+            Duration.ofMinutes(1));
+
+    @AfterEach
+    void tearDown() {
+        endpoint.close();
+    }
+
+    @Test
+    @DisplayName("Should record calculations and token checks with their operation and outcome")
+    void testRecordsCalculatorEvents() throws Exception {
+        // Given
+        CalculateService calculateService = CalculateService.standalone();
+        JwtUtil jwtUtil = new JwtUtil();
+        assertEquals(200, endpoint.start(null).getStatus());
+        assertEquals("RUNNING", endpoint.status().get("state").toString());
+
+        // When
+        calculateService.performAction("sum", 1, 2);
+        calculateService.tryPerformAction("divide", 1, 0);
+        calculateService.performBatchOperation(0, new BatchOperation("sqrt", 16.0, null));
+        jwtUtil.verify("Bearer " + jwtUtil.generateToken("user"), 7);
+        jwtUtil.verify("Bearer forged", 7);
+        WebEndpointResponse<Resource> response = endpoint.stop();
+
+        // Then
+        assertEquals(200, response.getStatus());
+        List<RecordedEvent> events = RecordingFile.readAllEvents(response.getBody().getFile().toPath());
+
+        List<RecordedEvent> calculations = named(events, CalculationEvent.NAME);
+        assertEquals(3, calculations.size());
+        assertEquals("sum", calculations.get(0).getString("operation"));
+        assertEquals(1.0, calculations.get(0).getDouble("val1"));
+        assertEquals(2.0, calculations.get(0).getDouble("val2"));
+        assertNull(calculations.get(0).getString("errorCode"));
+        assertEquals("divide", calculations.get(1).getString("operation"));
+        assertEquals("DIVISION_BY_ZERO", calculations.get(1).getString("errorCode"));
+        assertEquals("sqrt", calculations.get(2).getString("operation"));
+        assertTrue(calculations.get(2).getBoolean("single"));
+        assertFalse(calculations.get(0).getDuration().isNegative());
+
+        List<RecordedEvent> tokens = named(events, TokenVerificationEvent.NAME);
+        assertEquals(2, tokens.size());
+        assertTrue(tokens.get(0).getBoolean("valid"));
+        assertEquals("user", tokens.get(0).getString("username"));
+        assertFalse(tokens.get(1).getBoolean("valid"));
+
+        assertEquals("STOPPED", endpoint.status().get("state").toString());
+    }
+
+    @Test
+    @DisplayName("Should run one recording at a time")
+    void testOneRecordingAtATime() {
+        // Given
+        assertEquals(404, endpoint.stop().getStatus());
+        assertEquals("NONE", endpoint.status().get("state"));
+
+        // When
+        WebEndpointResponse<Map<String, Object>> first = endpoint.start(Duration.ofHours(1));
+        WebEndpointResponse<Map<String, Object>> second = endpoint.start(null);
+
+        // Then
+        assertEquals(200, first.getStatus());
+        assertEquals(Duration.ofMinutes(1), first.getBody().get("maxDuration"));
+        assertEquals(409, second.getStatus());
+        assertEquals(200, endpoint.stop().getStatus());
+        assertEquals(200, endpoint.start(Duration.ofSeconds(10)).getStatus());
+    }
+
+    private static List<RecordedEvent> named(List<RecordedEvent> events, String name) {
+        return events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .sorted((a, b) -> a.getStartTime().compareTo(b.getStartTime()))
+                .collect(Collectors.toList());
+    }
+}
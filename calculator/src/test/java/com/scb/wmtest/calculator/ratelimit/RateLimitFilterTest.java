@@ -0,0 +1,78 @@
+package com.scb.wmtest.calculator.ratelimit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.scb.wmtest.calculator.security.JwtUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RateLimitFilter
+ */
+class RateLimitFilterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should answer 429 with Retry-After once a subject has used up its limit")
+    void testRejectsOverLimit() throws Exception {
+        // Given
+        RateLimitFilter filter = new RateLimitFilter(new RateLimiter(true, 0.5, 2, 1, 1, 1, 1, 100, Duration.ofMinutes(1)), objectMapper);
+        SecurityContextHolder.getContext().setAuthentication(
+                new JwtUtil().verify(new JwtUtil().generateToken("user")).getAuthentication());
+        AtomicInteger served = new AtomicInteger();
+
+        // When
+        MockHttpServletResponse first = perform(filter, "/api/v1/calculator/calculate", served);
+        MockHttpServletResponse second = perform(filter, "/api/v1/calculator/calculate", served);
+        MockHttpServletResponse third = perform(filter, "/api/v1/calculator/calculate", served);
+
+        // Then
+        assertEquals(200, first.getStatus());
+        assertEquals(200, second.getStatus());
+        assertEquals(429, third.getStatus());
+        assertEquals("2", third.getHeader("Retry-After"));
+        JsonNode body = objectMapper.readTree(third.getContentAsString());
+        assertEquals("RATE_LIMITED", body.get("errorCode").asText());
+        assertEquals(2, served.get());
+    }
+
+    @Test
+    @DisplayName("Should limit logins per client address and leave anonymous API requests to authorization")
+    void testLoginsAndAnonymousRequests() throws Exception {
+        // Given
+        RateLimitFilter filter = new RateLimitFilter(new RateLimiter(true, 1, 1, 1, 1, 1, 1, 100, Duration.ofMinutes(1)), objectMapper);
+        AtomicInteger served = new AtomicInteger();
+
+        // When & Then
+        assertEquals(200, perform(filter, "/login", served).getStatus());
+        assertEquals(429, perform(filter, "/login", served).getStatus());
+        assertEquals(200, perform(filter, "/api/v1/calculator/calculate", served).getStatus());
+        assertEquals(200, perform(filter, "/api/v1/calculator/calculate", served).getStatus());
+        assertEquals(200, perform(filter, "/actuator/health", served).getStatus());
+        assertEquals(4, served.get());
+    }
+
+    private static MockHttpServletResponse perform(RateLimitFilter filter, String path, AtomicInteger served)
+            throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, (req, res) -> served.incrementAndGet());
+        return response;
+    }
+}
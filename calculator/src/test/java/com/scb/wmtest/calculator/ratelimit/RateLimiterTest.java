@@ -0,0 +1,176 @@
+package com.scb.wmtest.calculator.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TokenBucket and RateLimiter
+ */
+class RateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final Duration SWEEP_INTERVAL = Duration.ofMinutes(1);
+
+    @Test
+    @DisplayName("Should grant a full burst, then one token per refill interval")
+    void testTokenBucket() {
+        // Given: 10 tokens per second, 3 at once
+        long now = 1_000 * SECOND;
+        TokenBucket bucket = new TokenBucket(10, 3, now);
+
+        // When & Then
+        assertEquals(3, bucket.available(now));
+        assertEquals(0, bucket.tryAcquire(now));
+        assertEquals(0, bucket.tryAcquire(now));
+        assertEquals(0, bucket.tryAcquire(now));
+        assertEquals(SECOND / 10, bucket.tryAcquire(now));
+        assertEquals(0, bucket.available(now));
+        assertFalse(bucket.isFull(now));
+
+        assertEquals(SECOND / 20, bucket.tryAcquire(now + SECOND / 20));
+        assertEquals(0, bucket.tryAcquire(now + SECOND / 10));
+        assertEquals(SECOND / 10, bucket.tryAcquire(now + SECOND / 10));
+
+        assertTrue(bucket.isFull(now + SECOND));
+        assertEquals(3, bucket.available(now + SECOND));
+        assertEquals(4, bucket.getGranted());
+        assertEquals(3, bucket.getRejected());
+    }
+
+    @Test
+    @DisplayName("Should keep separate limits per client and cost class")
+    void testPerClientAndClass() {
+        // Given
+        RateLimiter limiter = new RateLimiter(true, 1, 2, 1, 1, 1, 1, 100, SWEEP_INTERVAL);
+
+        // When & Then
+        assertEquals(0, limiter.tryAcquire(CostClass.STANDARD, "alice"));
+        assertEquals(0, limiter.tryAcquire(CostClass.STANDARD, "alice"));
+        assertTrue(limiter.tryAcquire(CostClass.STANDARD, "alice") > 0);
+        assertEquals(0, limiter.tryAcquire(CostClass.HEAVY, "alice"));
+        assertTrue(limiter.tryAcquire(CostClass.HEAVY, "alice") > 0);
+        assertEquals(0, limiter.tryAcquire(CostClass.STANDARD, "bob"));
+
+        Map<CostClass, QuotaUsage> alice = limiter.usage("alice");
+        assertEquals(2, alice.get(CostClass.STANDARD).getGranted());
+        assertEquals(1, alice.get(CostClass.STANDARD).getRejected());
+        assertEquals(0, alice.get(CostClass.STANDARD).getAvailable());
+        assertEquals(1, alice.get(CostClass.HEAVY).getGranted());
+        assertFalse(alice.containsKey(CostClass.LOGIN));
+        assertEquals(2, limiter.usage().size());
+        assertTrue(limiter.usage("carol").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should grant exactly one burst to many threads racing for the same bucket")
+    void testConcurrentAcquire() throws Exception {
+        // Given: a bucket that does not refill noticeably during the test
+        RateLimiter limiter = new RateLimiter(true, 0.001, 1000, 1, 1, 1, 1, 100, SWEEP_INTERVAL);
+        int threads = 8;
+        AtomicInteger granted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int j = 0; j < 500; j++) {
+                    if (limiter.tryAcquire(CostClass.STANDARD, "user") == 0) {
+                        granted.incrementAndGet();
+                    }
+                }
+            });
+            workers[i].start();
+        }
+
+        // When
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        // Then
+        assertEquals(1000, granted.get());
+        assertEquals(3000, limiter.usage("user").get(CostClass.STANDARD).getRejected());
+    }
+
+    @Test
+    @DisplayName("Should let untracked clients share a bucket while full instead of dropping tracked ones")
+    void testMaximumClients() {
+        // Given: two tracked clients, each with one token left
+        RateLimiter limiter = new RateLimiter(true, 0.001, 2, 1, 1, 1, 1, 2, SWEEP_INTERVAL);
+        limiter.tryAcquire(CostClass.STANDARD, "alice");
+        limiter.tryAcquire(CostClass.STANDARD, "bob");
+
+        // When: new clients arrive
+        long carol = limiter.tryAcquire(CostClass.STANDARD, "carol");
+        long dave = limiter.tryAcquire(CostClass.STANDARD, "dave");
+        long erin = limiter.tryAcquire(CostClass.STANDARD, "erin");
+
+        // Then: they share one bucket and the tracked clients keep theirs
+        assertEquals(0, carol);
+        assertEquals(0, dave);
+        assertTrue(erin > 0);
+        assertEquals(2, limiter.usage().size());
+        assertTrue(limiter.usage("carol").isEmpty());
+        assertEquals(0, limiter.tryAcquire(CostClass.STANDARD, "alice"));
+        assertTrue(limiter.tryAcquire(CostClass.STANDARD, "alice") > 0);
+        limiter.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should sweep only buckets that have refilled completely")
+    void testSweep() {
+        // Given: a standard bucket that stays drained and a heavy one that refills at once
+        RateLimiter limiter = new RateLimiter(true, 0.001, 1, 1e9, 1, 1, 1, 2, SWEEP_INTERVAL);
+        limiter.tryAcquire(CostClass.STANDARD, "alice");
+        limiter.tryAcquire(CostClass.HEAVY, "bob");
+
+        // When
+        limiter.sweep();
+
+        // Then
+        assertTrue(limiter.usage("alice").containsKey(CostClass.STANDARD));
+        assertTrue(limiter.usage("bob").isEmpty());
+        assertTrue(limiter.tryAcquire(CostClass.STANDARD, "alice") > 0);
+        limiter.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should let everything through when disabled")
+    void testDisabled() {
+        RateLimiter limiter = RateLimiter.disabled();
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(0, limiter.tryAcquire(CostClass.LOGIN, "127.0.0.1"));
+        }
+        assertTrue(limiter.usage().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should classify request paths by cost")
+    void testCostClasses() {
+        assertEquals(CostClass.LOGIN, CostClass.of("/login"));
+        assertEquals(CostClass.LOGIN, CostClass.of("/refresh"));
+        assertEquals(CostClass.STANDARD, CostClass.of("/api/v1/calculator/calculate"));
+        assertEquals(CostClass.STANDARD, CostClass.of("/api/v1/calculator/calculate/single"));
+        assertEquals(CostClass.HEAVY, CostClass.of("/api/v1/calculator/batch"));
+        assertEquals(CostClass.HEAVY, CostClass.of("/api/v1/calculator/batch/stream"));
+        assertEquals(CostClass.HEAVY, CostClass.of("/api/v1/calculator/expression"));
+        assertEquals(CostClass.HEAVY, CostClass.of("/api/v1/calculator/decimal"));
+        assertEquals(CostClass.HEAVY, CostClass.of("/api/v1/calculator/factorial"));
+        assertNull(CostClass.of("/actuator/health"));
+        assertNull(CostClass.of("/swagger-ui.html"));
+    }
+}
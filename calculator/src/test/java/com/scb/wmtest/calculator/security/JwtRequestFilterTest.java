@@ -0,0 +1,89 @@
+package com.scb.wmtest.calculator.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+
+import javax.servlet.FilterChain;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for JwtRequestFilter
+ */
+class JwtRequestFilterTest {
+
+    private final JwtUtil jwtUtil = new JwtUtil(new VerifiedTokenCache(true, 100));
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should authenticate every request with the same token with the same authentication")
+    void testSharedAuthentication() throws Exception {
+        // Given
+        JwtRequestFilter filter = filter(false);
+        String token = jwtUtil.generateToken("user");
+
+        // When
+        Authentication first = authenticate(filter, "Bearer " + token);
+        Authentication second = authenticate(filter, "Bearer " + token);
+
+        // Then
+        assertNotNull(first);
+        assertSame(first, second);
+        assertEquals("user", first.getName());
+        assertTrue(first.isAuthenticated());
+        assertNull(first.getDetails());
+        assertTrue(first.getAuthorities().isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> first.setAuthenticated(false));
+    }
+
+    @Test
+    @DisplayName("Should attach request details only when configured to")
+    void testDetails() throws Exception {
+        // Given
+        JwtRequestFilter filter = filter(true);
+
+        // When
+        Authentication authentication = authenticate(filter, "Bearer " + jwtUtil.generateToken("user"));
+
+        // Then
+        assertEquals("user", authentication.getName());
+        assertTrue(authentication.getDetails() instanceof WebAuthenticationDetails);
+    }
+
+    @Test
+    @DisplayName("Should leave requests with invalid or missing tokens unauthenticated")
+    void testInvalidTokens() throws Exception {
+        JwtRequestFilter filter = filter(false);
+
+        assertNull(authenticate(filter, null));
+        assertNull(authenticate(filter, "Basic dXNlcjpwYXNzd29yZA=="));
+        assertNull(authenticate(filter, "Bearer not-a-token"));
+    }
+
+    private JwtRequestFilter filter(boolean authenticationDetails) {
+        return new JwtRequestFilter(jwtUtil, authenticationDetails);
+    }
+
+    private static Authentication authenticate(JwtRequestFilter filter, String authorization) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/calculator/calculate");
+        if (authorization != null) {
+            request.addHeader("Authorization", authorization);
+        }
+        AtomicReference<Authentication> authentication = new AtomicReference<>();
+        FilterChain chain = (req, res) -> authentication.set(SecurityContextHolder.getContext().getAuthentication());
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        SecurityContextHolder.clearContext();
+        return authentication.get();
+    }
+}
@@ -0,0 +1,50 @@
+package com.scb.wmtest.calculator.security;
+
+import com.scb.wmtest.calculator.exception.CalculatorErrors;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PasswordVerifier
+ */
+class PasswordVerifierTest {
+
+    @Test
+    @DisplayName("Should reject checks beyond the queue at once")
+    void testRejectsWhenQueueIsFull() throws Exception {
+        // Given
+        PasswordVerifier verifier = new PasswordVerifier(1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> running = verifier.verify(() -> await(release));
+        CompletableFuture<Boolean> queued = verifier.verify(() -> true);
+
+        // When
+        CompletableFuture<Boolean> rejected = verifier.verify(() -> true);
+
+        // Then
+        assertTrue(rejected.isCompletedExceptionally());
+        CompletionException e = assertThrows(CompletionException.class, rejected::join);
+        assertSame(CalculatorErrors.SERVER_BUSY, e.getCause());
+
+        release.countDown();
+        assertTrue(running.get(5, TimeUnit.SECONDS));
+        assertTrue(queued.get(5, TimeUnit.SECONDS));
+        verifier.shutdown();
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.scb.wmtest.calculator.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for JwtUtil token verification and the VerifiedTokenCache
+ */
+class VerifiedTokenCacheTest {
+
+    @Test
+    @DisplayName("Should verify a token once and serve it from the cache afterwards")
+    void testVerifyCaches() {
+        // Given
+        VerifiedTokenCache cache = new VerifiedTokenCache(true, 100);
+        JwtUtil jwtUtil = new JwtUtil(cache);
+        String token = jwtUtil.generateToken("user");
+
+        // When
+        VerifiedToken first = jwtUtil.verify(token);
+        VerifiedToken second = jwtUtil.verify(token);
+
+        // Then
+        assertNotNull(first);
+        assertEquals("user", first.getUsername());
+        assertTrue(first.getExpiresAt() > System.currentTimeMillis());
+        assertSame(first, second);
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.getHitCount());
+        assertTrue(jwtUtil.validateToken(token, "user"));
+        assertFalse(jwtUtil.validateToken(token, "other"));
+    }
+
+    @Test
+    @DisplayName("Should reject malformed and forged tokens without caching them")
+    void testRejectsInvalidTokens() {
+        // Given
+        VerifiedTokenCache cache = new VerifiedTokenCache(true, 100);
+        JwtUtil jwtUtil = new JwtUtil(cache);
+        String token = jwtUtil.generateToken("user");
+        String forged = token.substring(0, token.lastIndexOf('.') + 1) + "forged";
+
+        // When & Then
+        assertNull(jwtUtil.verify("not-a-token"));
+        assertNull(jwtUtil.verify(forged));
+        assertNull(jwtUtil.verify(forged));
+        assertEquals(0, cache.size());
+        assertFalse(jwtUtil.validateToken(forged, "user"));
+    }
+
+    @Test
+    @DisplayName("Should keep refresh tokens and access tokens apart")
+    void testRefreshTokens() {
+        // Given
+        VerifiedTokenCache cache = new VerifiedTokenCache(true, 100);
+        JwtUtil jwtUtil = new JwtUtil(cache);
+        String accessToken = jwtUtil.generateToken("user");
+        String refreshToken = jwtUtil.generateRefreshToken("user");
+
+        // When
+        VerifiedToken refreshed = jwtUtil.verifyRefreshToken(refreshToken);
+
+        // Then
+        assertNotNull(refreshed);
+        assertEquals("user", refreshed.getUsername());
+        assertTrue(refreshed.getExpiresAt() > System.currentTimeMillis() + 24 * 60 * 60 * 1000L);
+        assertNull(jwtUtil.verify(refreshToken));
+        assertNull(jwtUtil.verifyRefreshToken(accessToken));
+        assertNull(jwtUtil.verifyRefreshToken("not-a-token"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("Should stop serving a cached token the millisecond it expires")
+    void testExpiry() {
+        // Given
+        VerifiedTokenCache cache = new VerifiedTokenCache(true, 100);
+        cache.put("token", 0, new VerifiedToken("user", 1000), 0);
+
+        // When & Then
+        assertNotNull(cache.get("token", 0, 999));
+        assertNull(cache.get("token", 0, 1000));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("Should stay within its maximum size, sweeping expired tokens first")
+    void testBounded() {
+        // Given
+        VerifiedTokenCache cache = new VerifiedTokenCache(true, 10);
+        for (int i = 0; i < 10; i++) {
+            cache.put("expiring" + i, 0, new VerifiedToken("user", i < 5 ? 100 : 10_000), 0);
+        }
+
+        // When
+        cache.put("new", 0, new VerifiedToken("user", 10_000), 500);
+
+        // Then
+        assertEquals(6, cache.size());
+        assertNotNull(cache.get("new", 0, 500));
+        assertNotNull(cache.get("expiring9", 0, 500));
+
+        for (int i = 0; i < 100; i++) {
+            cache.put("more" + i, 0, new VerifiedToken("user", 10_000), 500);
+        }
+        assertEquals(10, cache.size());
+    }
+
+    @Test
+    @DisplayName("Should verify every time when the cache is disabled")
+    void testDisabled() {
+        // Given
+        JwtUtil jwtUtil = new JwtUtil();
+        String token = jwtUtil.generateToken("user");
+
+        // When
+        VerifiedToken first = jwtUtil.verify(token);
+        VerifiedToken second = jwtUtil.verify(token);
+
+        // Then
+        assertEquals("user", first.getUsername());
+        assertNotSame(first, second);
+    }
+
+    @Test
+    @DisplayName("Should look a token up in place inside a header and never match non-ASCII lookalikes")
+    void testHeaderLookup() {
+        // Given
+        VerifiedTokenCache cache = new VerifiedTokenCache(true, 100);
+        JwtUtil jwtUtil = new JwtUtil(cache);
+        String token = jwtUtil.generateToken("user");
+        VerifiedToken verified = jwtUtil.verify(token);
+
+        // When & Then
+        assertSame(verified, jwtUtil.verify("Bearer " + token, 7));
+        assertSame(verified.getAuthentication(), jwtUtil.verify("Bearer " + token, 7).getAuthentication());
+        String lookalike = token.replace('J', '\u0141');
+        assertNotEquals(token, lookalike);
+        assertNull(cache.get(lookalike, 0, System.currentTimeMillis()));
+        assertNull(jwtUtil.verify(lookalike));
+    }
+}
@@ -0,0 +1,132 @@
+package com.scb.wmtest.calculator.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for BatchStreamService
+ */
+class BatchStreamServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private BatchStreamService batchStreamService;
+
+    @BeforeEach
+    void setUp() {
+        batchStreamService = new BatchStreamService(CalculateService.standalone(), objectMapper, 128);
+    }
+
+    @Test
+    @DisplayName("Should write one result per record in record order")
+    void testRecords() throws IOException {
+        // Given
+        String input = "{\"action\":\"sum\",\"val1\":10,\"val2\":5}\n"
+                + "{\"action\":\"divide\",\"val1\":10,\"val2\":0}\n"
+                + "{\"action\":\"sqrt\",\"val1\":16}";
+
+        // When
+        List<JsonNode> results = calculate(input);
+
+        // Then
+        assertEquals(3, results.size());
+        assertEquals(0, results.get(0).get("index").asLong());
+        assertEquals(15.0, results.get(0).get("result").asDouble());
+        assertEquals("DIVISION_BY_ZERO", results.get(1).get("errorCode").asText());
+        assertEquals(4.0, results.get(2).get("result").asDouble());
+        assertEquals(2, results.get(2).get("index").asLong());
+    }
+
+    @Test
+    @DisplayName("Should skip blank lines and accept CRLF line endings")
+    void testBlankLines() throws IOException {
+        // Given
+        String input = "\n{\"action\":\"sum\",\"val1\":1,\"val2\":2}\r\n  \r\n{\"action\":\"multiply\",\"val1\":3,\"val2\":4}\r\n\n";
+
+        // When
+        List<JsonNode> results = calculate(input);
+
+        // Then
+        assertEquals(2, results.size());
+        assertEquals(3.0, results.get(0).get("result").asDouble());
+        assertEquals(12.0, results.get(1).get("result").asDouble());
+        assertEquals(1, results.get(1).get("index").asLong());
+    }
+
+    @Test
+    @DisplayName("Should report malformed and oversized records without ending the stream")
+    void testBadRecords() throws IOException {
+        // Given
+        StringBuilder oversized = new StringBuilder("{\"action\":\"sum\",\"val1\":1,\"val2\":2,\"padding\":\"");
+        for (int i = 0; i < 10_000; i++) {
+            oversized.append('x');
+        }
+        oversized.append("\"}");
+        String input = "not json\n"
+                + oversized + "\n"
+                + "{\"action\":\"sum\",\"val1\":1,\"val2\":2}\n";
+
+        // When
+        List<JsonNode> results = calculate(input);
+
+        // Then
+        assertEquals(3, results.size());
+        assertEquals("MALFORMED_RECORD", results.get(0).get("errorCode").asText());
+        assertEquals("RECORD_TOO_LARGE", results.get(1).get("errorCode").asText());
+        assertEquals(3.0, results.get(2).get("result").asDouble());
+        assertEquals(2, results.get(2).get("index").asLong());
+    }
+
+    @Test
+    @DisplayName("Should evaluate a large stream read in small chunks")
+    void testLargeStream() throws IOException {
+        // Given
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 10_000; i++) {
+            input.append("{\"action\":\"sum\",\"val1\":").append(i).append(",\"val2\":1}\n");
+        }
+        InputStream trickle = new ByteArrayInputStream(input.toString().getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                return super.read(b, off, Math.min(len, 7));
+            }
+        };
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // When
+        long records = batchStreamService.calculate(trickle, output);
+
+        // Then
+        assertEquals(10_000, records);
+        List<JsonNode> results = parse(output);
+        assertEquals(10_000, results.size());
+        assertEquals(10_000.0, results.get(9_999).get("result").asDouble());
+    }
+
+    private List<JsonNode> calculate(String input) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        batchStreamService.calculate(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), output);
+        return parse(output);
+    }
+
+    private List<JsonNode> parse(ByteArrayOutputStream output) throws IOException {
+        List<JsonNode> results = new ArrayList<>();
+        for (String line : output.toString("UTF-8").split("\n")) {
+            results.add(objectMapper.readTree(line));
+        }
+        return results;
+    }
+}
@@ -0,0 +1,92 @@
+package com.scb.wmtest.calculator.services;
+
+import com.scb.wmtest.calculator.model.BatchOperation;
+import com.scb.wmtest.calculator.model.BatchResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CalculateService batch evaluation
+ */
+class CalculateServiceBatchTest {
+
+    private CalculateService calculateService;
+
+    @BeforeEach
+    void setUp() {
+        calculateService = CalculateService.standalone();
+    }
+
+    @Test
+    @DisplayName("Should evaluate binary and single operand operations in order")
+    void testMixedBatch() {
+        // Given
+        List<BatchOperation> operations = Arrays.asList(
+            new BatchOperation("sum", 10.0, 5.0),
+            new BatchOperation("sqrt", 16.0, null),
+            new BatchOperation("percentage", 200.0, 15.0)
+        );
+
+        // When
+        List<BatchResult> results = calculateService.performBatch(operations);
+
+        // Then
+        assertEquals(3, results.size());
+        assertEquals(15.0, results.get(0).getResult());
+        assertEquals(4.0, results.get(1).getResult());
+        assertEquals(30.0, results.get(2).getResult());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i, results.get(i).getIndex());
+            assertTrue(results.get(i).isSuccessful());
+        }
+    }
+
+    @Test
+    @DisplayName("Should report failures per item without aborting the batch")
+    void testFailuresDoNotAbortBatch() {
+        // Given
+        List<BatchOperation> operations = Arrays.asList(
+            new BatchOperation("divide", 10.0, 0.0),
+            new BatchOperation("invalid", 1.0, 2.0),
+            new BatchOperation("sqrt", -1.0, null),
+            new BatchOperation(null, 1.0, 2.0),
+            new BatchOperation("multiply", 3.0, 4.0)
+        );
+
+        // When
+        List<BatchResult> results = calculateService.performBatch(operations);
+
+        // Then
+        assertEquals("DIVISION_BY_ZERO", results.get(0).getErrorCode());
+        assertNull(results.get(0).getResult());
+        assertEquals("INVALID_OPERATION", results.get(1).getErrorCode());
+        assertEquals("INVALID_INPUT", results.get(2).getErrorCode());
+        assertEquals("INVALID_INPUT", results.get(3).getErrorCode());
+        assertEquals(12.0, results.get(4).getResult());
+        assertNull(results.get(4).getErrorCode());
+    }
+
+    @Test
+    @DisplayName("Should evaluate large batches")
+    void testLargeBatch() {
+        // Given
+        List<BatchOperation> operations = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            operations.add(new BatchOperation("multiply", (double) i, 2.0));
+        }
+
+        // When
+        List<BatchResult> results = calculateService.performBatch(operations);
+
+        // Then
+        assertEquals(50_000, results.size());
+        assertEquals(99_998.0, results.get(49_999).getResult());
+    }
+}
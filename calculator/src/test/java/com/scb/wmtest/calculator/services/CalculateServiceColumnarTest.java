@@ -0,0 +1,150 @@
+package com.scb.wmtest.calculator.services;
+
+import com.scb.wmtest.calculator.CalculatorOperation;
+import com.scb.wmtest.calculator.exception.CalculatorException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the columnar CalculateService entry points
+ */
+class CalculateServiceColumnarTest {
+
+    private static final CalculatorOperation[] BINARY = {
+        CalculatorOperation.SUM, CalculatorOperation.SUBTRACT, CalculatorOperation.MULTIPLY,
+        CalculatorOperation.DIVIDE, CalculatorOperation.POWER, CalculatorOperation.PERCENTAGE
+    };
+
+    private CalculateService calculateService;
+
+    @BeforeEach
+    void setUp() {
+        calculateService = CalculateService.standalone();
+    }
+
+    @Test
+    @DisplayName("Should match scalar results for every binary operation")
+    void testBinaryMatchesScalar() {
+        // Given
+        int n = 1000;
+        double[] a = column(n, 1);
+        double[] b = column(n, 2);
+        b[7] = 0;
+        b[130] = 0;
+        double[] result = new double[n];
+        long[] errors = new long[(n + 63) / 64];
+
+        for (CalculatorOperation operation : BINARY) {
+            // When
+            int failed = calculateService.performAction(operation, a, b, result, errors);
+
+            // Then
+            int expectedFailures = 0;
+            for (int i = 0; i < n; i++) {
+                boolean flagged = (errors[i / 64] & (1L << (i % 64))) != 0;
+                try {
+                    double expected = calculateService.performAction(operation.getValue(), a[i], b[i]);
+                    assertFalse(flagged, operation + " flagged element " + i);
+                    assertEquals(expected, result[i], operation + " element " + i);
+                } catch (CalculatorException e) {
+                    expectedFailures++;
+                    assertTrue(flagged, operation + " did not flag element " + i);
+                    assertTrue(Double.isNaN(result[i]));
+                }
+            }
+            assertEquals(expectedFailures, failed);
+        }
+    }
+
+    @Test
+    @DisplayName("Should match scalar results for every single operand operation")
+    void testUnaryMatchesScalar() {
+        // Given
+        int n = 300;
+        double[] a = column(n, 3);
+        a[0] = 0;
+        a[1] = 5;
+        a[2] = 2.5;
+        double[] result = new double[n];
+        long[] errors = new long[(n + 63) / 64];
+
+        for (CalculatorOperation operation : CalculatorOperation.values()) {
+            if (contains(BINARY, operation)) {
+                continue;
+            }
+
+            // When
+            int failed = calculateService.performSingleAction(operation, a, result, errors);
+
+            // Then
+            int expectedFailures = 0;
+            for (int i = 0; i < n; i++) {
+                boolean flagged = (errors[i / 64] & (1L << (i % 64))) != 0;
+                try {
+                    double expected = calculateService.performSingleAction(operation.getValue(), a[i]);
+                    assertFalse(flagged, operation + " flagged element " + i);
+                    assertEquals(expected, result[i], operation + " element " + i);
+                } catch (CalculatorException e) {
+                    expectedFailures++;
+                    assertTrue(flagged, operation + " did not flag element " + i);
+                }
+            }
+            assertEquals(expectedFailures, failed);
+        }
+    }
+
+    @Test
+    @DisplayName("Should clear stale error bits between calls")
+    void testErrorsCleared() {
+        // Given
+        double[] a = {1, 2, 3};
+        double[] result = new double[3];
+        long[] errors = {-1L};
+
+        // When
+        int failed = calculateService.performAction(CalculatorOperation.DIVIDE, a, a, result, errors);
+
+        // Then
+        assertEquals(0, failed);
+        assertEquals(0L, errors[0]);
+    }
+
+    @Test
+    @DisplayName("Should reject mismatched columns and wrong arity")
+    void testInvalidArguments() {
+        double[] a = new double[65];
+        double[] b = new double[64];
+
+        assertEquals("INVALID_INPUT", assertThrows(CalculatorException.class, () ->
+            calculateService.performAction(CalculatorOperation.SUM, a, b, new double[65], new long[2])).getErrorCode());
+        assertEquals("INVALID_INPUT", assertThrows(CalculatorException.class, () ->
+            calculateService.performAction(CalculatorOperation.SUM, a, a, new double[65], new long[1])).getErrorCode());
+        assertEquals("UNSUPPORTED_OPERATION", assertThrows(CalculatorException.class, () ->
+            calculateService.performAction(CalculatorOperation.SQUARE_ROOT, a, a, new double[65], new long[2])).getErrorCode());
+        assertEquals("UNSUPPORTED_OPERATION", assertThrows(CalculatorException.class, () ->
+            calculateService.performSingleAction(CalculatorOperation.SUM, a, new double[65], new long[2])).getErrorCode());
+    }
+
+    private static double[] column(int n, long seed) {
+        Random random = new Random(seed);
+        double[] column = new double[n];
+        for (int i = 0; i < n; i++) {
+            column[i] = random.nextInt(40) - 10 + (random.nextBoolean() ? 0 : random.nextDouble());
+        }
+        return column;
+    }
+
+    private static boolean contains(CalculatorOperation[] operations, CalculatorOperation operation) {
+        for (CalculatorOperation candidate : operations) {
+            if (candidate == operation) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,89 @@
+package com.scb.wmtest.calculator.services;
+
+import com.scb.wmtest.calculator.audit.CalculationAuditLog;
+import com.scb.wmtest.calculator.cache.ResultCache;
+import com.scb.wmtest.calculator.coalescing.RequestCoalescer;
+import com.scb.wmtest.calculator.exception.CalculatorErrors;
+import com.scb.wmtest.calculator.exception.CalculatorException;
+import com.scb.wmtest.calculator.metrics.CalculatorMetrics;
+import com.scb.wmtest.calculator.operation.OperationRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the error-as-value calculation path of CalculateService
+ */
+class CalculateServiceResultTest {
+
+    private final CalculateService calculateService = CalculateService.standalone();
+
+    @Test
+    @DisplayName("Should return successful results as values")
+    void testSuccess() {
+        CalculationResult result = calculateService.tryPerformAction("divide", 10, 4);
+        assertTrue(result.isSuccessful());
+        assertNull(result.getError());
+        assertEquals(2.5, result.getValue());
+
+        assertEquals(4.0, calculateService.tryPerformSingleAction("SQRT", 16).getValue());
+    }
+
+    @Test
+    @DisplayName("Should return preallocated stackless errors for domain failures")
+    void testDomainErrors() {
+        CalculationResult divide = calculateService.tryPerformAction("divide", 1, 0);
+        assertFalse(divide.isSuccessful());
+        assertSame(CalculatorErrors.DIVISION_BY_ZERO, divide.getError());
+        assertSame(divide.getError(), calculateService.tryPerformAction("divide", 2, 0).getError());
+
+        CalculatorException sqrt = calculateService.tryPerformSingleAction("sqrt", -1).getError();
+        assertEquals("INVALID_INPUT", sqrt.getErrorCode());
+        assertEquals(0, sqrt.getStackTrace().length);
+    }
+
+    @Test
+    @DisplayName("Should report invalid operations without a stack trace")
+    void testInvalidOperation() {
+        CalculatorException error = calculateService.tryPerformAction("modulo", 1, 2).getError();
+        assertEquals("INVALID_OPERATION", error.getErrorCode());
+        assertTrue(error.getMessage().startsWith("Invalid operation: modulo"));
+        assertEquals(0, error.getStackTrace().length);
+
+        assertEquals("UNSUPPORTED_OPERATION", calculateService.tryPerformAction("sqrt", 1, 2).getError().getErrorCode());
+    }
+
+    @Test
+    @DisplayName("Should still throw from the value based methods")
+    void testPerformActionThrows() {
+        CalculatorException e = assertThrows(CalculatorException.class, () -> calculateService.performAction("divide", 1, 0));
+        assertEquals("DIVISION_BY_ZERO", e.getErrorCode());
+        assertThrows(CalculatorException.class, () -> calculateService.tryPerformSingleAction("ln", 0).getValue());
+    }
+
+    @Test
+    @DisplayName("Should return cached failures without throwing")
+    void testCachedFailure() {
+        ResultCache cache = new ResultCache(true, 100, new String[] {"log"}, true);
+        CalculateService cachedService = new CalculateService(new OperationRegistry(), cache, CalculationAuditLog.disabled(),
+                RequestCoalescer.disabled(), CalculatorMetrics.disabled());
+
+        CalculationResult first = cachedService.tryPerformSingleAction("log", -5);
+        CalculationResult second = cachedService.tryPerformSingleAction("log", -5);
+        assertEquals(1, cache.getHitCount());
+        assertEquals(first.getError().getMessage(), second.getError().getMessage());
+        assertEquals(0, second.getError().getStackTrace().length);
+    }
+
+    @Test
+    @DisplayName("Should not let callers alter a shared error")
+    void testSharedErrorIsImmutable() {
+        CalculatorException error = CalculatorErrors.DIVISION_BY_ZERO;
+        error.addSuppressed(new RuntimeException("suppressed"));
+        error.setStackTrace(new StackTraceElement[] {new StackTraceElement("A", "b", "C.java", 1)});
+        assertEquals(0, error.getSuppressed().length);
+        assertEquals(0, error.getStackTrace().length);
+        assertThrows(IllegalStateException.class, () -> error.initCause(new RuntimeException()));
+    }
+}
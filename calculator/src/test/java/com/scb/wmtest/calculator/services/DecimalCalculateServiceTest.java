@@ -0,0 +1,189 @@
+package com.scb.wmtest.calculator.services;
+
+import com.scb.wmtest.calculator.exception.CalculatorException;
+import com.scb.wmtest.calculator.operation.DecimalMath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for DecimalCalculateService and DecimalMath
+ */
+class DecimalCalculateServiceTest {
+
+    private static final MathContext MC50 = new MathContext(50, RoundingMode.HALF_EVEN);
+
+    private static final String PI = "3.14159265358979323846264338327950288419716939937510582097494459";
+    private static final String SQRT2 = "1.41421356237309504880168872420969807856967187537694807317667974";
+    private static final String LN2 = "0.693147180559945309417232121458176568075500134360255254120680009";
+    private static final String E = "2.71828182845904523536028747135266249775724709369995957496696763";
+    private static final String LN10 = "2.30258509299404568401799145468436420760110148862877297603332790";
+
+    private FactorialService factorialService;
+
+    private DecimalCalculateService decimalCalculateService;
+
+    @BeforeEach
+    void setUp() {
+        factorialService = new FactorialService(100_000);
+        decimalCalculateService = new DecimalCalculateService(factorialService);
+    }
+
+    @Test
+    @DisplayName("Should be exact where double arithmetic is not")
+    void testExactArithmetic() {
+        assertEquals(new BigDecimal("0.3"), decimalCalculateService.performAction("sum", new BigDecimal("0.1"), new BigDecimal("0.2"), MC50));
+        assertEquals(new BigDecimal("0.7"), decimalCalculateService.performAction("subtract", new BigDecimal("1.1"), new BigDecimal("0.4"), MC50));
+        assertEquals(new BigDecimal("12.5"), decimalCalculateService.performAction("percentage", new BigDecimal("250"), new BigDecimal("5"), MC50));
+        assertEquals(new BigDecimal("0.33333333333333333333333333333333333333333333333333"),
+                decimalCalculateService.performAction("divide", BigDecimal.ONE, new BigDecimal("3"), MC50));
+    }
+
+    @Test
+    @DisplayName("Should round integer results of the long fast path to the requested precision")
+    void testIntegerFastPath() {
+        MathContext mc = new MathContext(3, RoundingMode.HALF_UP);
+        assertEquals(new BigDecimal("579"), decimalCalculateService.performAction("sum", new BigDecimal("123"), new BigDecimal("456"), MC50));
+        assertEquals(new BigDecimal("1.24E+4"), decimalCalculateService.performAction("sum", new BigDecimal("12345"), new BigDecimal("5"), mc));
+        assertEquals(new BigDecimal("-333"), decimalCalculateService.performAction("subtract", new BigDecimal("123"), new BigDecimal("456"), MC50));
+        assertEquals(new BigDecimal("56088"), decimalCalculateService.performAction("multiply", new BigDecimal("123"), new BigDecimal("456"), MC50));
+
+        BigDecimal max = BigDecimal.valueOf(Long.MAX_VALUE);
+        assertEquals(max.add(max), decimalCalculateService.performAction("sum", max, max, MathContext.UNLIMITED));
+        assertEquals(max.multiply(max), decimalCalculateService.performAction("multiply", max, max, MathContext.UNLIMITED));
+    }
+
+    @Test
+    @DisplayName("Should calculate constants and transcendental functions to the requested precision")
+    void testHighPrecisionFunctions() {
+        assertEquals(new BigDecimal(SQRT2).round(MC50), decimalCalculateService.performSingleAction("sqrt", new BigDecimal("2"), MC50));
+        assertEquals(new BigDecimal(LN2).round(MC50), decimalCalculateService.performSingleAction("ln", new BigDecimal("2"), MC50));
+        assertEquals(new BigDecimal(LN10).round(MC50), decimalCalculateService.performSingleAction("ln", BigDecimal.TEN, MC50));
+        assertEquals(new BigDecimal(E).round(MC50), DecimalMath.exp(BigDecimal.ONE, MC50));
+        assertEquals(new BigDecimal(PI).round(MC50), DecimalMath.pi(MC50));
+        assertEquals(new BigDecimal(SQRT2).round(MC50),
+                decimalCalculateService.performAction("power", new BigDecimal("2"), new BigDecimal("0.5"), MC50));
+    }
+
+    @Test
+    @DisplayName("Should keep the relative precision for results close to zero")
+    void testSmallTrigonometricResults() {
+        MathContext mc = new MathContext(34, RoundingMode.HALF_EVEN);
+        BigDecimal expected = new BigDecimal("1.745329251994329576923690768488613E-32");
+        assertEquals(expected, decimalCalculateService.performSingleAction("sin", new BigDecimal("1E-30"), mc));
+        assertEquals(expected, decimalCalculateService.performSingleAction("cos", new BigDecimal("89.999999999999999999999999999999"), mc));
+        assertEquals(new BigDecimal("4.539992976248485153559151556055061E-5"), DecimalMath.exp(new BigDecimal("-10"), mc));
+        assertEquals(new BigDecimal("8.806818225662921587261496007644561E+4342"), DecimalMath.exp(new BigDecimal("10000"), mc));
+    }
+
+    @Test
+    @DisplayName("Should keep the requested precision for logarithms of arguments close to 1")
+    void testLogarithmsCloseToOne() {
+        MathContext mc = new MathContext(34, RoundingMode.HALF_EVEN);
+        BigDecimal belowOne = new BigDecimal("0.99999999999999999999999");
+        assertEquals(new BigDecimal("-1.000000000000000000000005000000000E-23"),
+                decimalCalculateService.performSingleAction("ln", belowOne, mc));
+        assertEquals(new BigDecimal("9.999999999999999999999950000000000E-24"),
+                decimalCalculateService.performSingleAction("ln", new BigDecimal("1.00000000000000000000001"), mc));
+        assertEquals(new BigDecimal("-4.342944819032518276511310903890146E-24"),
+                decimalCalculateService.performSingleAction("log", belowOne, mc));
+        assertEquals(new BigDecimal("0.9999999999999999999999950000000000"),
+                decimalCalculateService.performAction("power", belowOne, new BigDecimal("0.5"), mc));
+        assertEquals(new BigDecimal(LN2).negate().round(MC50),
+                decimalCalculateService.performSingleAction("ln", new BigDecimal("0.5"), MC50));
+    }
+
+    @Test
+    @DisplayName("Should reduce angles with large exponents without expanding them")
+    void testLargeAngles() {
+        MathContext mc = new MathContext(34, RoundingMode.HALF_EVEN);
+        // 10^n mod 360 is 280 for every n >= 3, and sin(280) = -sin(80)
+        BigDecimal sin80 = decimalCalculateService.performSingleAction("sin", new BigDecimal("80"), mc);
+        assertEquals(sin80.negate(), decimalCalculateService.performSingleAction("sin", new BigDecimal("1E+999999999"), mc));
+        assertEquals(sin80.negate(), decimalCalculateService.performSingleAction("sin", new BigDecimal("1000.000"), mc));
+        assertEquals(sin80, decimalCalculateService.performSingleAction("sin", new BigDecimal("-1E+999999999"), mc));
+        assertEquals(decimalCalculateService.performSingleAction("sin", new BigDecimal("30.5"), mc),
+                decimalCalculateService.performSingleAction("sin", new BigDecimal("750.5"), mc));
+        assertEquals("-0.5", decimalCalculateService.performSingleAction("sin", new BigDecimal("-390"), mc)
+                .stripTrailingZeros().toString());
+    }
+
+    @Test
+    @DisplayName("Should give exact results where they exist")
+    void testExactResults() {
+        assertEquals("12", decimalCalculateService.performSingleAction("sqrt", new BigDecimal("144"), MC50).toString());
+        assertEquals("1.5", decimalCalculateService.performSingleAction("sqrt", new BigDecimal("2.25"), MC50).toString());
+        assertEquals("-3", decimalCalculateService.performSingleAction("log", new BigDecimal("0.001"), MC50).toString());
+        assertEquals("0", decimalCalculateService.performSingleAction("sin", new BigDecimal("180"), MC50).toString());
+        assertEquals("-1", decimalCalculateService.performSingleAction("cos", new BigDecimal("-180"), MC50).toString());
+        assertEquals("0.5", decimalCalculateService.performSingleAction("sin", new BigDecimal("30"), MC50).stripTrailingZeros().toString());
+        assertEquals("1", decimalCalculateService.performSingleAction("tan", new BigDecimal("45"), MC50).stripTrailingZeros().toString());
+        assertEquals("0.125", decimalCalculateService.performAction("power", new BigDecimal("2"), new BigDecimal("-3"), MC50).toString());
+        assertEquals("3628800", decimalCalculateService.performSingleAction("factorial", BigDecimal.TEN, MC50).toString());
+    }
+
+    @Test
+    @DisplayName("Should agree with the double operations")
+    void testAgreesWithDouble() {
+        CalculateService calculateService = CalculateService.standalone();
+        MathContext mc = new MathContext(40, RoundingMode.HALF_EVEN);
+        String[] unary = {"sqrt", "square", "cube", "sin", "cos", "tan", "log", "ln", "abs", "reciprocal"};
+        double[] values = {0.001, 0.5, 1.7, 3, 47.25, 1234.5, 98765.4321};
+        for (String action : unary) {
+            for (double value : values) {
+                double expected = calculateService.performSingleAction(action, value);
+                double actual = decimalCalculateService.performSingleAction(action, new BigDecimal(value), mc).doubleValue();
+                assertEquals(expected, actual, Math.abs(expected) * 1e-12 + 1e-14, action + "(" + value + ")");
+            }
+        }
+        for (double base : values) {
+            double expected = calculateService.performAction("power", base, 2.5);
+            double actual = decimalCalculateService.performAction("power", new BigDecimal(base), new BigDecimal("2.5"), mc).doubleValue();
+            assertEquals(expected, actual, Math.abs(expected) * 1e-12, "power(" + base + ")");
+        }
+    }
+
+    @Test
+    @DisplayName("Should round factorials beyond the double range instead of overflowing")
+    void testLargeFactorial() {
+        BigDecimal result = decimalCalculateService.performSingleAction("factorial", new BigDecimal("1000"), new MathContext(10));
+        assertEquals("4.023872601E+2567", result.toString());
+    }
+
+    @Test
+    @DisplayName("Should apply the requested rounding mode")
+    void testRoundingMode() {
+        BigDecimal two = new BigDecimal("2");
+        BigDecimal three = new BigDecimal("3");
+        assertEquals(new BigDecimal("0.67"), decimalCalculateService.performAction("divide", two, three, new MathContext(2, RoundingMode.HALF_UP)));
+        assertEquals(new BigDecimal("0.66"), decimalCalculateService.performAction("divide", two, three, new MathContext(2, RoundingMode.DOWN)));
+    }
+
+    @Test
+    @DisplayName("Should report invalid operands and operations with calculator error codes")
+    void testErrors() {
+        MathContext unnecessary = new MathContext(5, RoundingMode.UNNECESSARY);
+        assertErrorCode("DIVISION_BY_ZERO", () -> decimalCalculateService.performAction("divide", BigDecimal.ONE, BigDecimal.ZERO, MC50));
+        assertErrorCode("DIVISION_BY_ZERO", () -> decimalCalculateService.performSingleAction("reciprocal", BigDecimal.ZERO, MC50));
+        assertErrorCode("INVALID_INPUT", () -> decimalCalculateService.performSingleAction("sqrt", new BigDecimal("-1"), MC50));
+        assertErrorCode("INVALID_INPUT", () -> decimalCalculateService.performSingleAction("ln", BigDecimal.ZERO, MC50));
+        assertErrorCode("INVALID_INPUT", () -> decimalCalculateService.performSingleAction("tan", new BigDecimal("270"), MC50));
+        assertErrorCode("INVALID_INPUT", () -> decimalCalculateService.performSingleAction("factorial", new BigDecimal("2.5"), MC50));
+        assertErrorCode("INVALID_INPUT", () -> decimalCalculateService.performAction("power", new BigDecimal("-8"), new BigDecimal("0.5"), MC50));
+        assertErrorCode("INVALID_OPERATION", () -> decimalCalculateService.performAction("modulo", BigDecimal.ONE, BigDecimal.ONE, MC50));
+        assertErrorCode("UNSUPPORTED_OPERATION", () -> decimalCalculateService.performAction("sqrt", BigDecimal.ONE, BigDecimal.ONE, MC50));
+        assertErrorCode("UNSUPPORTED_OPERATION", () -> decimalCalculateService.performSingleAction("sum", BigDecimal.ONE, MC50));
+        assertErrorCode("ARITHMETIC_ERROR", () -> decimalCalculateService.performAction("divide", BigDecimal.ONE, new BigDecimal("3"), unnecessary));
+    }
+
+    private static void assertErrorCode(String errorCode, Runnable calculation) {
+        CalculatorException exception = assertThrows(CalculatorException.class, calculation::run);
+        assertEquals(errorCode, exception.getErrorCode());
+    }
+}
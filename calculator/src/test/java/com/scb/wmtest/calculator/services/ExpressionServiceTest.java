@@ -0,0 +1,66 @@
+package com.scb.wmtest.calculator.services;
+
+import com.scb.wmtest.calculator.expression.Expression;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ExpressionService
+ */
+class ExpressionServiceTest {
+
+    @Test
+    @DisplayName("Should evaluate an expression with bound variables")
+    void testEvaluate() {
+        ExpressionService expressionService = new ExpressionService(10);
+
+        double result = expressionService.evaluate("x * 2 + 1", Collections.singletonMap("x", 4.0));
+
+        assertEquals(9.0, result);
+    }
+
+    @Test
+    @DisplayName("Should reuse the compiled form of a cached expression")
+    void testCache() {
+        ExpressionService expressionService = new ExpressionService(10);
+
+        Expression first = expressionService.compile("a + b");
+        Expression second = expressionService.compile("a + b");
+
+        assertSame(first, second);
+    }
+
+    @Test
+    @DisplayName("Should keep the cache within its size limit")
+    void testCacheBounded() {
+        ExpressionService expressionService = new ExpressionService(2);
+
+        Expression first = expressionService.compile("1 + 1");
+        expressionService.compile("2 + 2");
+        expressionService.compile("3 + 3");
+        expressionService.compile("4 + 4");
+
+        assertEquals(2.0, first.evaluate(null));
+        assertEquals(8.0, expressionService.compile("4 + 4").evaluate(null));
+    }
+
+    @Test
+    @DisplayName("Should keep a repeatedly used expression while one-off expressions pass through")
+    void testCacheKeepsHotExpression() {
+        ExpressionService expressionService = new ExpressionService(10);
+        Expression hot = expressionService.compile("(a + b) * c");
+
+        for (int i = 0; i < 200; i++) {
+            expressionService.compile("x + " + i);
+            if (i % 5 == 4) {
+                assertSame(hot, expressionService.compile("(a + b) * c"), "after " + (i + 1) + " one-off expressions");
+            }
+        }
+
+        assertEquals(10, expressionService.cacheSize());
+    }
+}
@@ -0,0 +1,70 @@
+package com.scb.wmtest.calculator.services;
+
+import com.scb.wmtest.calculator.exception.CalculatorException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for FactorialService and the double factorial table
+ */
+class FactorialServiceTest {
+
+    private FactorialService factorialService;
+
+    @BeforeEach
+    void setUp() {
+        factorialService = new FactorialService(100_000);
+    }
+
+    @Test
+    @DisplayName("Should match the naive product for small and medium n")
+    void testExactFactorial() {
+        BigInteger expected = BigInteger.ONE;
+        for (int n = 0; n <= 2000; n++) {
+            if (n > 0) {
+                expected = expected.multiply(BigInteger.valueOf(n));
+            }
+            assertEquals(expected, factorialService.exactFactorial(n), "n = " + n);
+        }
+    }
+
+    @Test
+    @DisplayName("Should match the naive product when the product is split across the pool")
+    void testParallelExactFactorial() {
+        int n = 20_000;
+        BigInteger expected = BigInteger.ONE;
+        for (int i = 2; i <= n; i++) {
+            expected = expected.multiply(BigInteger.valueOf(i));
+        }
+
+        assertEquals(expected, factorialService.exactFactorial(n));
+    }
+
+    @Test
+    @DisplayName("Should reject negative n and n above the limit")
+    void testInvalidInput() {
+        FactorialService limited = new FactorialService(10);
+        assertEquals("INVALID_INPUT", assertThrows(CalculatorException.class,
+            () -> limited.exactFactorial(-1)).getErrorCode());
+        assertEquals("INVALID_INPUT", assertThrows(CalculatorException.class,
+            () -> limited.exactFactorial(11)).getErrorCode());
+    }
+
+    @Test
+    @DisplayName("Should serve double factorials from the table and report overflow")
+    void testDoubleFactorial() {
+        CalculateService calculateService = CalculateService.standalone();
+
+        double exact170 = factorialService.exactFactorial(170).doubleValue();
+        assertEquals(120.0, calculateService.performSingleAction("factorial", 5));
+        assertEquals(exact170, calculateService.performSingleAction("factorial", 170), exact170 * 1e-12);
+        CalculatorException exception = assertThrows(CalculatorException.class,
+            () -> calculateService.performSingleAction("factorial", 171));
+        assertEquals("RESULT_OVERFLOW", exception.getErrorCode());
+    }
+}
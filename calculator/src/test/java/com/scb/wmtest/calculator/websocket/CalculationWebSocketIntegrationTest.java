@@ -0,0 +1,144 @@
+package com.scb.wmtest.calculator.websocket;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.scb.wmtest.calculator.security.JwtUtil;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for WebSocket calculation sessions
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "calculator.rate-limit.standard.rate=0.001",
+        "calculator.rate-limit.standard.burst=300"})
+@ActiveProfiles("test")
+class CalculationWebSocketIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final BlockingQueue<String> received = new LinkedBlockingQueue<>();
+
+    private WebSocketSession connect(String query, WebSocketHttpHeaders headers) throws Exception {
+        URI uri = URI.create("ws://localhost:" + port + WebSocketConfig.SESSION_PATH + query);
+        return new StandardWebSocketClient().doHandshake(new TextWebSocketHandler() {
+            @Override
+            protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+                received.add(message.getPayload());
+            }
+        }, headers, uri).get(5, TimeUnit.SECONDS);
+    }
+
+    private JsonNode next() throws Exception {
+        String payload = received.poll(5, TimeUnit.SECONDS);
+        assertNotNull(payload, "No response within 5 seconds");
+        return objectMapper.readTree(payload);
+    }
+
+    @Test
+    @DisplayName("Should refuse the handshake without a valid token")
+    void testRequiresToken() {
+        assertThrows(ExecutionException.class, () -> connect("", new WebSocketHttpHeaders()));
+        assertThrows(ExecutionException.class, () -> connect("?access_token=not-a-token", new WebSocketHttpHeaders()));
+    }
+
+    @Test
+    @DisplayName("Should answer every pipelined message with its correlation id")
+    void testPipelinedCalculations() throws Exception {
+        WebSocketHttpHeaders headers = new WebSocketHttpHeaders();
+        headers.add("Authorization", "Bearer " + jwtUtil.generateToken("user"));
+        WebSocketSession session = connect("", headers);
+
+        int count = 200;
+        for (int i = 0; i < count; i++) {
+            session.sendMessage(new TextMessage("{\"id\":\"" + i + "\",\"action\":\"sum\",\"val1\":" + i + ",\"val2\":1}"));
+        }
+        session.sendMessage(new TextMessage("{\"id\":\"sqrt\",\"action\":\"sqrt\",\"val1\":16}"));
+        session.sendMessage(new TextMessage("{\"id\":\"div\",\"action\":\"divide\",\"val1\":1,\"val2\":0}"));
+
+        Map<String, JsonNode> responses = new HashMap<>();
+        for (int i = 0; i < count + 2; i++) {
+            JsonNode response = next();
+            responses.put(response.get("id").asText(), response);
+        }
+        for (int i = 0; i < count; i++) {
+            assertEquals(i + 1.0, responses.get(String.valueOf(i)).get("result").asDouble());
+        }
+        assertEquals(4.0, responses.get("sqrt").get("result").asDouble());
+        assertEquals("DIVISION_BY_ZERO", responses.get("div").get("errorCode").asText());
+        assertFalse(responses.get("div").has("result"));
+        session.close();
+    }
+
+    @Test
+    @DisplayName("Should accept the token as a query parameter and report malformed messages")
+    void testMalformedMessages() throws Exception {
+        WebSocketSession session = connect("?access_token=" + jwtUtil.generateToken("user"), new WebSocketHttpHeaders());
+
+        session.sendMessage(new TextMessage("not json"));
+        assertEquals("MALFORMED_MESSAGE", next().get("errorCode").asText());
+
+        session.sendMessage(new TextMessage("{\"id\":\"1\",\"val1\":2}"));
+        JsonNode response = next();
+        assertEquals("1", response.get("id").asText());
+        assertEquals("VALIDATION_ERROR", response.get("errorCode").asText());
+
+        session.sendMessage(new TextMessage("{\"id\":\"2\",\"action\":\"modulo\",\"val1\":2,\"val2\":1}"));
+        assertEquals("INVALID_OPERATION", next().get("errorCode").asText());
+        assertTrue(session.isOpen());
+        session.close();
+    }
+
+    @Test
+    @DisplayName("Should take a rate limit token per message and reject messages over the limit")
+    void testRateLimitedMessages() throws Exception {
+        // Given: the handshake took one of the 300 tokens, which do not refill during the test
+        WebSocketHttpHeaders headers = new WebSocketHttpHeaders();
+        headers.add("Authorization", "Bearer " + jwtUtil.generateToken("limited"));
+        WebSocketSession session = connect("", headers);
+
+        // When
+        int count = 400;
+        for (int i = 0; i < count; i++) {
+            session.sendMessage(new TextMessage("{\"id\":\"" + i + "\",\"action\":\"sum\",\"val1\":" + i + ",\"val2\":1}"));
+        }
+
+        // Then
+        int limited = 0;
+        for (int i = 0; i < count; i++) {
+            JsonNode response = next();
+            if (response.has("errorCode")) {
+                assertEquals("RATE_LIMITED", response.get("errorCode").asText());
+                assertTrue(Integer.parseInt(response.get("id").asText()) >= 299);
+                limited++;
+            }
+        }
+        assertEquals(count - 299, limited);
+        assertTrue(session.isOpen());
+        session.close();
+    }
+}